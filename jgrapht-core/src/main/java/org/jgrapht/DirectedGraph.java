@@ -39,6 +39,7 @@
 package org.jgrapht;
 
 import java.util.*;
+import java.util.function.*;
 
 
 /**
@@ -77,6 +78,23 @@ public interface DirectedGraph<V, E>
      */
     Set<E> incomingEdgesOf(V vertex);
 
+    /**
+     * Performs the given action for each edge incoming into the specified
+     * vertex, in the order of {@link #incomingEdgesOf(Object)}. The graph must
+     * not be modified by the action.
+     *
+     * @param vertex the vertex whose incoming edges are to be visited.
+     * @param action the action to be performed for each edge.
+     *
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    default void forEachIncomingEdge(V vertex, Consumer<? super E> action)
+    {
+        for (E e : incomingEdgesOf(vertex)) {
+            action.accept(e);
+        }
+    }
+
     /**
      * Returns the "out degree" of the specified vertex. An out degree of a
      * vertex in a directed graph is the number of outward directed edges from
@@ -98,6 +116,23 @@ public interface DirectedGraph<V, E>
      * @return a set of all edges outgoing from the specified vertex.
      */
     Set<E> outgoingEdgesOf(V vertex);
+
+    /**
+     * Performs the given action for each edge outgoing from the specified
+     * vertex, in the order of {@link #outgoingEdgesOf(Object)}. The graph must
+     * not be modified by the action.
+     *
+     * @param vertex the vertex whose outgoing edges are to be visited.
+     * @param action the action to be performed for each edge.
+     *
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    default void forEachOutgoingEdge(V vertex, Consumer<? super E> action)
+    {
+        for (E e : outgoingEdgesOf(vertex)) {
+            action.accept(e);
+        }
+    }
 }
 
 // End DirectedGraph.java
@@ -42,6 +42,7 @@
 package org.jgrapht;
 
 import java.util.*;
+import java.util.function.*;
 
 
 /**
@@ -276,6 +277,26 @@ public interface Graph<V, E>
      */
     Set<E> edgesOf(V vertex);
 
+    /**
+     * Performs the given action for each edge touching the specified vertex,
+     * in the order of {@link #edgesOf(Object)}. Implementations may override
+     * this method to walk their internal edge containers directly, without
+     * creating intermediate sets or iterators. The graph must not be modified
+     * by the action.
+     *
+     * @param vertex the vertex whose touching edges are to be visited.
+     * @param action the action to be performed for each edge.
+     *
+     * @throws IllegalArgumentException if vertex is not found in the graph.
+     * @throws NullPointerException if vertex or action is <code>null</code>.
+     */
+    default void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        for (E e : edgesOf(vertex)) {
+            action.accept(e);
+        }
+    }
+
     /**
      * Removes all the edges in this graph that are also contained in the
      * specified edge collection. After this call returns, this graph will
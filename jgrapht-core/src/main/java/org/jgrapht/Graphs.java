@@ -294,9 +294,9 @@ public abstract class Graphs
     {
         List<V> neighbors = new ArrayList<>();
 
-        for (E e : g.edgesOf(vertex)) {
-            neighbors.add(getOppositeVertex(g, e, vertex));
-        }
+        g.forEachEdgeOf(
+            vertex,
+            e -> neighbors.add(getOppositeVertex(g, e, vertex)));
 
         return neighbors;
     }
@@ -316,12 +316,11 @@ public abstract class Graphs
         DirectedGraph<V, E> g,
         V vertex)
     {
-        List<V> predecessors = new ArrayList<>();
-        Set<? extends E> edges = g.incomingEdgesOf(vertex);
+        List<V> predecessors = new ArrayList<>(g.inDegreeOf(vertex));
 
-        for (E e : edges) {
-            predecessors.add(getOppositeVertex(g, e, vertex));
-        }
+        g.forEachIncomingEdge(
+            vertex,
+            e -> predecessors.add(g.getEdgeSource(e)));
 
         return predecessors;
     }
@@ -341,12 +340,11 @@ public abstract class Graphs
         DirectedGraph<V, E> g,
         V vertex)
     {
-        List<V> successors = new ArrayList<>();
-        Set<? extends E> edges = g.outgoingEdgesOf(vertex);
+        List<V> successors = new ArrayList<>(g.outDegreeOf(vertex));
 
-        for (E e : edges) {
-            successors.add(getOppositeVertex(g, e, vertex));
-        }
+        g.forEachOutgoingEdge(
+            vertex,
+            e -> successors.add(g.getEdgeTarget(e)));
 
         return successors;
     }
@@ -378,6 +376,74 @@ public abstract class Graphs
         }
     }
 
+    /**
+     * Returns an immutable snapshot of the specified directed graph, stored in
+     * compressed sparse row format. The edge weights are copied, so later
+     * modifications of the graph are not reflected in the snapshot. If the
+     * specified graph is already such a snapshot, just returns it.
+     *
+     * @param g the graph to freeze
+     *
+     * @return an immutable snapshot of the graph
+     *
+     * @see CsrDirectedGraph
+     */
+    public static <V, E> CsrDirectedGraph<V, E> freeze(DirectedGraph<V, E> g)
+    {
+        if (g instanceof CsrDirectedGraph<?, ?>) {
+            return (CsrDirectedGraph<V, E>) g;
+        }
+        return new CsrDirectedGraph<>(g);
+    }
+
+    /**
+     * Returns an immutable snapshot of the specified undirected graph, stored
+     * in compressed sparse row format. The edge weights are copied, so later
+     * modifications of the graph are not reflected in the snapshot. If the
+     * specified graph is already such a snapshot, just returns it.
+     *
+     * @param g the graph to freeze
+     *
+     * @return an immutable snapshot of the graph
+     *
+     * @see CsrUndirectedGraph
+     */
+    public static <V, E> CsrUndirectedGraph<V, E> freeze(
+        UndirectedGraph<V, E> g)
+    {
+        if (g instanceof CsrUndirectedGraph<?, ?>) {
+            return (CsrUndirectedGraph<V, E>) g;
+        }
+        return new CsrUndirectedGraph<>(g);
+    }
+
+    /**
+     * Returns an immutable snapshot of the specified graph, stored in
+     * compressed sparse row format. The snapshot is a {@link DirectedGraph}
+     * or an {@link UndirectedGraph} like the specified graph.
+     *
+     * @param g the graph to freeze
+     *
+     * @return an immutable snapshot of the graph
+     *
+     * @throws IllegalArgumentException if the graph is neither DirectedGraph
+     * nor UndirectedGraph.
+     *
+     * @see #freeze(DirectedGraph)
+     * @see #freeze(UndirectedGraph)
+     */
+    public static <V, E> CsrGraph<V, E> freeze(Graph<V, E> g)
+    {
+        if (g instanceof DirectedGraph<?, ?>) {
+            return freeze((DirectedGraph<V, E>) g);
+        } else if (g instanceof UndirectedGraph<?, ?>) {
+            return freeze((UndirectedGraph<V, E>) g);
+        } else {
+            throw new IllegalArgumentException(
+                "Graph must be either DirectedGraph or UndirectedGraph");
+        }
+    }
+
     /**
      * Tests whether an edge is incident to a vertex.
      *
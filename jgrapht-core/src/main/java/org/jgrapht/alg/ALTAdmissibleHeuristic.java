@@ -0,0 +1,466 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------
+ * ALTAdmissibleHeuristic.java
+ * ---------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+
+
+/**
+ * The landmark heuristic of the ALT algorithm (A*, landmarks and the triangle
+ * inequality) by Goldberg and Harrelson, for graphs whose vertices carry no
+ * geometric information. A few vertices of the graph are chosen as landmarks,
+ * and the distances from every landmark to all vertices and from all vertices
+ * to every landmark are computed once. Given a landmark L, the triangle
+ * inequality yields the lower bounds d(L,t) - d(L,v) and d(v,L) - d(t,L) for
+ * the distance d(v,t), and the estimate is the largest of these bounds over all
+ * landmarks.
+ *
+ * <p>The estimate is consistent, so {@link AStarShortestPath} still finds the
+ * shortest paths, but explores much fewer vertices than without a heuristic if
+ * the landmarks are well spread over the border of the graph. Two selection
+ * strategies are offered, see {@link LandmarkSelection}. Each landmark costs
+ * two arrays of doubles of the size of the graph; a few landmarks, say 8 to
+ * 16, are typically enough.</p>
+ *
+ * <p>The distances are computed on a {@link CsrGraph snapshot} of the graph,
+ * see {@link Graphs#freeze(Graph)}. The heuristic is no longer admissible if
+ * edge weights of the graph decrease afterwards. Vertices added afterwards get
+ * the estimate 0. Edge weights must be non-negative. The searches computing
+ * the distances run in parallel if a {@link ForkJoinPool} is given; the
+ * selection of the landmarks by a strategy is sequential, as every landmark
+ * depends on the previous ones.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see AStarShortestPath
+ * @see IndexedDijkstraShortestPaths
+ */
+public class ALTAdmissibleHeuristic<V, E>
+    implements AStarAdmissibleHeuristic<V>
+{
+    private static final long SEED = 0x5DEECE66DL;
+
+    /**
+     * Strategies to select the landmarks.
+     */
+    public enum LandmarkSelection
+    {
+        /**
+         * Every landmark is the vertex farthest away from the landmarks chosen
+         * before. The first landmark is the vertex farthest away from an
+         * arbitrary vertex. Vertices unreachable from the chosen landmarks are
+         * preferred, so every part of the graph gets a landmark.
+         */
+        FARTHEST,
+
+        /**
+         * The avoid strategy of Goldberg and Werneck. Grows a shortest path
+         * tree from a random vertex and weighs every vertex with the gap
+         * between its distance and the current estimate. The next landmark is
+         * a leaf found by descending into the heaviest subtrees not containing
+         * a landmark. Thus the landmarks are placed where the current ones
+         * perform worst. The first landmark is chosen as by {@link #FARTHEST}.
+         */
+        AVOID
+    }
+
+    private final CsrGraph<V, E> graph;
+    private final int [] landmarks;
+
+    /* distances from and to the landmarks, indexed by landmark and vertex */
+    private final double [][] fromLandmark;
+    private final double [][] toLandmark;
+
+    /**
+     * Creates a new heuristic which selects the given number of landmarks by
+     * the {@link LandmarkSelection#FARTHEST farthest} strategy.
+     *
+     * @param graph the graph
+     * @param landmarkCount the number of landmarks, at most the number of
+     * vertices of the graph are used
+     *
+     * @throws IllegalArgumentException if the number of landmarks is not
+     * positive or if the graph has a negative edge weight
+     */
+    public ALTAdmissibleHeuristic(Graph<V, E> graph, int landmarkCount)
+    {
+        this(graph, landmarkCount, LandmarkSelection.FARTHEST, null);
+    }
+
+    /**
+     * Creates a new heuristic which selects the given number of landmarks by
+     * the given strategy.
+     *
+     * @param graph the graph
+     * @param landmarkCount the number of landmarks, at most the number of
+     * vertices of the graph are used
+     * @param selection the strategy selecting the landmarks
+     * @param pool the pool running the searches, or <code>null</code> to run
+     * them sequentially
+     *
+     * @throws IllegalArgumentException if the number of landmarks is not
+     * positive or if the graph has a negative edge weight
+     */
+    public ALTAdmissibleHeuristic(
+        Graph<V, E> graph,
+        int landmarkCount,
+        LandmarkSelection selection,
+        ForkJoinPool pool)
+    {
+        if (landmarkCount < 1) {
+            throw new IllegalArgumentException(
+                "number of landmarks must be positive");
+        }
+        if (selection == null) {
+            throw new NullPointerException("selection is null");
+        }
+        this.graph = Graphs.freeze(graph);
+
+        int k = Math.min(landmarkCount, this.graph.vertexCount());
+        this.landmarks = new int[k];
+        this.fromLandmark = new double[k][];
+        this.toLandmark = new double[k][];
+        if (k == 0) {
+            return;
+        }
+
+        // the selection computes the distances from the landmarks
+        IndexedDijkstraShortestPaths<V, E> search =
+            new IndexedDijkstraShortestPaths<>(this.graph, false, null);
+        boolean [] chosen = new boolean[this.graph.vertexCount()];
+        if (selection == LandmarkSelection.FARTHEST) {
+            selectFarthest(search, chosen, k);
+        } else {
+            selectFarthest(search, chosen, 1);
+            selectAvoid(search, chosen);
+        }
+        computeDistances(false, pool);
+    }
+
+    /**
+     * Creates a new heuristic with the given landmarks.
+     *
+     * @param graph the graph
+     * @param landmarks the landmarks
+     * @param pool the pool running the searches, or <code>null</code> to run
+     * them sequentially
+     *
+     * @throws IllegalArgumentException if a landmark is not contained in the
+     * graph or if the graph has a negative edge weight
+     */
+    public ALTAdmissibleHeuristic(
+        Graph<V, E> graph,
+        Collection<? extends V> landmarks,
+        ForkJoinPool pool)
+    {
+        this.graph = Graphs.freeze(graph);
+        this.landmarks = new int[landmarks.size()];
+        this.fromLandmark = new double[this.landmarks.length][];
+        this.toLandmark = new double[this.landmarks.length][];
+
+        int i = 0;
+        for (V landmark : landmarks) {
+            int v = this.graph.indexOfVertex(landmark);
+            if (v < 0) {
+                throw new IllegalArgumentException(
+                    "graph must contain the landmark: " + landmark);
+            }
+            this.landmarks[i++] = v;
+        }
+        computeDistances(true, pool);
+    }
+
+    /**
+     * Returns the landmarks, in the order of their selection.
+     *
+     * @return the landmarks
+     */
+    public List<V> getLandmarks()
+    {
+        List<V> result = new ArrayList<>(landmarks.length);
+        for (int landmark : landmarks) {
+            result.add(graph.getVertexAt(landmark));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the lower bound of the distance between the given vertices.
+     * The estimate is Double.POSITIVE_INFINITY if the landmarks prove that the
+     * target vertex is unreachable from the source vertex.
+     *
+     * @see AStarAdmissibleHeuristic#getCostEstimate(Object, Object)
+     */
+    @Override public double getCostEstimate(V sourceVertex, V targetVertex)
+    {
+        int s = graph.indexOfVertex(sourceVertex);
+        int t = graph.indexOfVertex(targetVertex);
+        if ((s < 0) || (t < 0)) {
+            return 0.0;
+        }
+        return estimate(s, t, landmarks.length);
+    }
+
+    /**
+     * Computes the estimate from the first landmarks. Differences of two
+     * infinite distances are NaN and thus ignored by the comparisons.
+     */
+    private double estimate(int s, int t, int count)
+    {
+        double estimate = 0.0;
+        for (int i = 0; i < count; i++) {
+            double [] from = fromLandmark[i];
+            double bound = from[t] - from[s];
+            if (bound > estimate) {
+                estimate = bound;
+            }
+            double [] to = toLandmark[i];
+            if (to != null) {
+                bound = to[s] - to[t];
+                if (bound > estimate) {
+                    estimate = bound;
+                }
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Selects the given number of first landmarks by the farthest strategy.
+     */
+    private void selectFarthest(
+        IndexedDijkstraShortestPaths<V, E> search,
+        boolean [] chosen,
+        int count)
+    {
+        int n = graph.vertexCount();
+        double [] minDistance = new double[n];
+
+        search.computeAt(0, -1);
+        for (int v = 0; v < n; v++) {
+            minDistance[v] = search.getDistanceAt(v);
+        }
+        int next = farthest(minDistance, chosen);
+        Arrays.fill(minDistance, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < count; i++) {
+            addLandmark(search, chosen, i, next);
+            double [] row = fromLandmark[i];
+            for (int v = 0; v < n; v++) {
+                minDistance[v] = Math.min(minDistance[v], row[v]);
+            }
+            next = farthest(minDistance, chosen);
+        }
+    }
+
+    /**
+     * Returns the vertex with the largest distance which is not a landmark,
+     * unreachable vertices come first.
+     */
+    private static int farthest(double [] distances, boolean [] chosen)
+    {
+        int best = -1;
+        for (int v = 0; v < distances.length; v++) {
+            if (!chosen[v] && ((best < 0) || (distances[v] > distances[best])))
+            {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Selects the remaining landmarks by the avoid strategy.
+     */
+    private void selectAvoid(
+        IndexedDijkstraShortestPaths<V, E> search,
+        boolean [] chosen)
+    {
+        int n = graph.vertexCount();
+        Random random = new Random(SEED);
+        int [] firstChild = new int[n];
+        int [] nextSibling = new int[n];
+        int [] order = new int[n];
+        double [] size = new double[n];
+
+        for (int i = 1; i < landmarks.length; i++) {
+            int root;
+            do {
+                root = random.nextInt(n);
+            } while (chosen[root]);
+            search.computeAt(root, -1);
+
+            // link the shortest path tree and list its vertices in preorder
+            Arrays.fill(firstChild, -1);
+            for (int w = 0; w < n; w++) {
+                int e = search.getPredecessorEdgeAt(w);
+                if (e >= 0) {
+                    int parent = graph.getOppositeVertexAt(e, w);
+                    nextSibling[w] = firstChild[parent];
+                    firstChild[parent] = w;
+                }
+            }
+            int count = 0;
+            order[count++] = root;
+            for (int j = 0; j < count; j++) {
+                for (int c = firstChild[order[j]]; c >= 0; c = nextSibling[c]) {
+                    order[count++] = c;
+                }
+            }
+
+            // the size of a subtree is the sum of the gaps between distance
+            // and estimate of its vertices, or NaN if it contains a landmark
+            for (int j = count - 1; j >= 0; j--) {
+                int v = order[j];
+                if (chosen[v]) {
+                    size[v] = Double.NaN;
+                    continue;
+                }
+                double s = search.getDistanceAt(v) - estimate(root, v, i);
+                for (int c = firstChild[v]; c >= 0; c = nextSibling[c]) {
+                    s += size[c];
+                }
+                size[v] = s;
+            }
+
+            // descend into the heaviest subtrees until a leaf is reached
+            int v = root;
+            for (;;) {
+                int best = -1;
+                for (int c = firstChild[v]; c >= 0; c = nextSibling[c]) {
+                    if ((size[c] > 0.0)
+                        && ((best < 0) || (size[c] > size[best])))
+                    {
+                        best = c;
+                    }
+                }
+                if (best < 0) {
+                    break;
+                }
+                v = best;
+            }
+            addLandmark(search, chosen, i, v);
+        }
+    }
+
+    private void addLandmark(
+        IndexedDijkstraShortestPaths<V, E> search,
+        boolean [] chosen,
+        int i,
+        int landmark)
+    {
+        landmarks[i] = landmark;
+        chosen[landmark] = true;
+        fromLandmark[i] = distances(search, landmark);
+        if (!(graph instanceof DirectedGraph<?, ?>)) {
+            toLandmark[i] = fromLandmark[i];
+        }
+    }
+
+    /**
+     * Computes the missing rows of distances.
+     */
+    private void computeDistances(boolean forward, ForkJoinPool pool)
+    {
+        boolean directed = graph instanceof DirectedGraph<?, ?>;
+        List<Runnable> rows = new ArrayList<>();
+        for (int i = 0; i < landmarks.length; i++) {
+            int index = i;
+            if (forward) {
+                rows.add(
+                    () -> {
+                        fromLandmark[index] =
+                            distances(newSearch(false), landmarks[index]);
+                        if (!directed) {
+                            toLandmark[index] = fromLandmark[index];
+                        }
+                    });
+            }
+            if (directed) {
+                rows.add(
+                    () -> toLandmark[index] =
+                        distances(newSearch(true), landmarks[index]));
+            }
+        }
+
+        if ((pool == null) || (rows.size() <= 1)) {
+            for (Runnable row : rows) {
+                row.run();
+            }
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(rows.size());
+        for (Runnable row : rows) {
+            tasks.add(ForkJoinTask.adapt(row));
+        }
+        pool.invoke(
+            new RecursiveAction() {
+                private static final long serialVersionUID =
+                    3904162247862313509L;
+
+                @Override protected void compute()
+                {
+                    invokeAll(tasks);
+                }
+            });
+    }
+
+    private IndexedDijkstraShortestPaths<V, E> newSearch(boolean reverse)
+    {
+        return new IndexedDijkstraShortestPaths<>(graph, reverse, null);
+    }
+
+    private double [] distances(
+        IndexedDijkstraShortestPaths<V, E> search,
+        int source)
+    {
+        search.computeAt(source, -1);
+        double [] row = new double[graph.vertexCount()];
+        for (int v = 0; v < row.length; v++) {
+            row[v] = search.getDistanceAt(v);
+        }
+        return row;
+    }
+}
+
+// End ALTAdmissibleHeuristic.java
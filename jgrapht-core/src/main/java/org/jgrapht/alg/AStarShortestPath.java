@@ -50,15 +50,17 @@ import org.jgrapht.util.*;
  * Undirected graphs, as well as Multi-Graphs and Mixed-Graphs. It's ok if the
  * graph changes in between invocations of the {@link #getShortestPath(Object,
  * Object, AStarAdmissibleHeuristic)} getShortestPath} method; no new instance
- * of this class has to be created. The heuristic is implemented using a
- * FibonacciHeap data structure to maintain the set of open nodes. However,
+ * of this class has to be created. The heuristic is implemented using an
+ * {@link AddressableHeap} to maintain the set of open nodes, by default a
+ * FibonacciHeap. A {@link RadixHeap} may only be used with a consistent
+ * heuristic, since otherwise the f-scores are not monotone. However,
  * there still exist several approaches in literature to improve the performance
  * of this heuristic which one could consider to implement. Another issue to
  * take into consideration is the following: given to candidate nodes, i, j to
  * expand, where f(i)=f(j), g(i)&gt;g(j), h(i)&lt;g(j), f(i)=g(i)+h(i), g(i) is
  * the actual distance from the source node to i, h(i) is the estimated distance
  * from i to the target node. Usually a depth-first search is desired, so
- * ideally we would expand node i first. Using the FibonacciHeap, this is not
+ * ideally we would expand node i first. Using the heap, this is not
  * necessarily the case though. This could be improved in a later version.
  *
  * @author Joris Kinable
@@ -70,7 +72,8 @@ public class AStarShortestPath<V, E>
 {
     private final Graph<V, E> graph;
 
-    //List of open nodes
+    //List of open nodes, only set if the open list is a Fibonacci heap, as
+    //with the default heap factory
     protected FibonacciHeap<V> openList;
     protected Map<V, FibonacciHeapNode<V>> vertexToHeapNodeMap;
 
@@ -90,12 +93,39 @@ public class AStarShortestPath<V, E>
     //Counter which keeps track of the number of expanded nodes
     protected int numberOfExpandedNodes;
 
+    //Factory of the open list
+    private final AddressableHeapFactory heapFactory;
+
+    //Open list created by the factory and its handles
+    private AddressableHeap<V> heap;
+    private Map<V, AddressableHeap.Handle<V>> heapHandles;
+
     public AStarShortestPath(Graph<V, E> graph)
+    {
+        this(graph, AddressableHeapFactory.FIBONACCI_HEAP);
+    }
+
+    /**
+     * Creates a new instance which maintains the open nodes in heaps created
+     * by the given factory. The fields {@link #openList} and {@link
+     * #vertexToHeapNodeMap} are only set if the factory creates Fibonacci
+     * heaps, and are <code>null</code> otherwise.
+     *
+     * @param graph the graph to be searched
+     * @param heapFactory the factory of the open list
+     */
+    public AStarShortestPath(
+        Graph<V, E> graph,
+        AddressableHeapFactory heapFactory)
     {
         if (graph == null) {
             throw new IllegalArgumentException("Graph cannot be null!");
         }
+        if (heapFactory == null) {
+            throw new IllegalArgumentException("Heap factory cannot be null!");
+        }
         this.graph = graph;
+        this.heapFactory = heapFactory;
     }
 
     /**
@@ -106,8 +136,16 @@ public class AStarShortestPath<V, E>
     private void initialize(AStarAdmissibleHeuristic<V> admissibleHeuristic)
     {
         this.admissibleHeuristic = admissibleHeuristic;
-        openList = new FibonacciHeap<>();
-        vertexToHeapNodeMap = new HashMap<>();
+        heap = heapFactory.createHeap();
+        heapHandles = new HashMap<>();
+        if (heap instanceof FibonacciHeap<?>) {
+            // the handles of a Fibonacci heap are its nodes
+            openList = (FibonacciHeap<V>) heap;
+            vertexToHeapNodeMap = TypeUtil.uncheckedCast(heapHandles, null);
+        } else {
+            openList = null;
+            vertexToHeapNodeMap = null;
+        }
         closedList = new HashSet<>();
         gScoreMap = new HashMap<>();
         cameFrom = new HashMap<>();
@@ -140,12 +178,12 @@ public class AStarShortestPath<V, E>
 
         this.initialize(admissibleHeuristic);
         gScoreMap.put(sourceVertex, 0.0);
-        FibonacciHeapNode<V> heapNode = new FibonacciHeapNode<>(sourceVertex);
-        openList.insert(heapNode, 0.0);
-        vertexToHeapNodeMap.put(sourceVertex, heapNode);
+        heapHandles.put(
+            sourceVertex,
+            heap.insert(sourceVertex, 0.0));
 
         do {
-            FibonacciHeapNode<V> currentNode = openList.removeMin();
+            AddressableHeap.Handle<V> currentNode = heap.removeMin();
 
             //Check whether we reached the target vertex
             if (currentNode.getData() == targetVertex) {
@@ -159,13 +197,15 @@ public class AStarShortestPath<V, E>
             //We haven't reached the target vertex yet; expand the node
             expandNode(currentNode, targetVertex);
             closedList.add(currentNode.getData());
-        } while (!openList.isEmpty());
+        } while (!heap.isEmpty());
 
         //No path exists from sourceVertex to TargetVertex
         return null;
     }
 
-    private void expandNode(FibonacciHeapNode<V> currentNode, V endVertex)
+    private void expandNode(
+        AddressableHeap.Handle<V> currentNode,
+        V endVertex)
     {
         numberOfExpandedNodes++;
 
@@ -189,7 +229,7 @@ public class AStarShortestPath<V, E>
             double gScore_current = gScoreMap.get(currentNode.getData());
             double tentativeGScore = gScore_current + graph.getEdgeWeight(edge);
 
-            if (!vertexToHeapNodeMap.containsKey(successor)
+            if (!heapHandles.containsKey(successor)
                 || (tentativeGScore < gScoreMap.get(successor)))
             {
                 cameFrom.put(successor, edge);
@@ -198,14 +238,13 @@ public class AStarShortestPath<V, E>
                 double fScore =
                     tentativeGScore
                     + admissibleHeuristic.getCostEstimate(successor, endVertex);
-                if (!vertexToHeapNodeMap.containsKey(successor)) {
-                    FibonacciHeapNode<V> heapNode =
-                            new FibonacciHeapNode<>(successor);
-                    openList.insert(heapNode, fScore);
-                    vertexToHeapNodeMap.put(successor, heapNode);
+                if (!heapHandles.containsKey(successor)) {
+                    heapHandles.put(
+                        successor,
+                        heap.insert(successor, fScore));
                 } else {
-                    openList.decreaseKey(
-                        vertexToHeapNodeMap.get(successor),
+                    heap.decreaseKey(
+                        heapHandles.get(successor),
                         fScore);
                 }
             }
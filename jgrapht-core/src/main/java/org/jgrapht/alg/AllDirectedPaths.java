@@ -36,6 +36,8 @@
 package org.jgrapht.alg;
 
 import java.util.*;
+import java.util.function.*;
+import java.util.stream.*;
 
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
@@ -109,15 +111,7 @@ public class AllDirectedPaths<V, E>
         boolean simplePathsOnly,
         Integer maxPathLength)
     {
-        if ((maxPathLength != null) && (maxPathLength < 0)) {
-            throw new IllegalArgumentException(
-                "maxPathLength must be non-negative if defined");
-        }
-
-        if (!simplePathsOnly && (maxPathLength == null)) {
-            throw new IllegalArgumentException(
-                "If search is not restricted to simple paths, a maximum path length must be set to avoid infinite cycles");
-        }
+        assertArguments(simplePathsOnly, maxPathLength);
 
         if ((sourceVertices.isEmpty()) || (targetVertices.isEmpty())) {
             return Collections.emptyList();
@@ -137,6 +131,108 @@ public class AllDirectedPaths<V, E>
             edgeMinDistancesFromTargets);
     }
 
+    /**
+     * Enumerate all paths from the source vertex to the target vertex
+     * lazily, see {@link #streamAllPaths(Set, Set, boolean, Integer)}.
+     *
+     * @param sourceVertex the source vertex
+     * @param targetVertex the target vertex
+     * @param simplePathsOnly if true, only search simple
+     * (non-self-intersecting) paths
+     * @param maxPathLength maximum number of edges to allow in a path (if null,
+     * all paths are considered)
+     *
+     * @return a stream of the paths from the source to the target
+     */
+    public Stream<GraphPath<V, E>> streamAllPaths(
+        V sourceVertex,
+        V targetVertex,
+        boolean simplePathsOnly,
+        Integer maxPathLength)
+    {
+        return streamAllPaths(
+            Collections.singleton(sourceVertex),
+            Collections.singleton(targetVertex),
+            simplePathsOnly,
+            maxPathLength);
+    }
+
+    /**
+     * Enumerate all paths from the source vertices to the target vertices
+     * lazily. The stream contains the same paths as the list returned by
+     * {@link #getAllPaths(Set, Set, boolean, Integer)}, but they are
+     * generated one at a time by a depth-first search which only keeps the
+     * current path, so that memory does not grow with the number of paths.
+     *
+     * <p>The returned stream is sequential. A parallel stream distributes the
+     * subtrees of the search below the edges leaving the source vertices
+     * among its threads. The order of the paths is not defined. The graph
+     * must not be modified while the stream is consumed.</p>
+     *
+     * @param sourceVertices the source vertices
+     * @param targetVertices the target vertices
+     * @param simplePathsOnly if true, only search simple
+     * (non-self-intersecting) paths
+     * @param maxPathLength maximum number of edges to allow in a path (if null,
+     * all paths are considered)
+     *
+     * @return a stream of the paths from the sources to the targets
+     * containing no more than maxPathLength edges
+     */
+    public Stream<GraphPath<V, E>> streamAllPaths(
+        Set<V> sourceVertices,
+        Set<V> targetVertices,
+        boolean simplePathsOnly,
+        Integer maxPathLength)
+    {
+        assertArguments(simplePathsOnly, maxPathLength);
+
+        if (sourceVertices.isEmpty() || targetVertices.isEmpty()) {
+            return Stream.empty();
+        }
+
+        Map<E, Integer> edgeMinDistancesFromTargets =
+            edgeMinDistancesBackwards(targetVertices, maxPathLength);
+
+        List<E> firstEdges = new ArrayList<>();
+        for (V source : sourceVertices) {
+            for (E edge : graph.outgoingEdgesOf(source)) {
+                if (edgeMinDistancesFromTargets.containsKey(edge)
+                    && (!simplePathsOnly
+                        || !source.equals(graph.getEdgeTarget(edge))))
+                {
+                    firstEdges.add(edge);
+                }
+            }
+        }
+
+        return StreamSupport.stream(
+            new PathSpliterator(
+                targetVertices,
+                simplePathsOnly,
+                maxPathLength,
+                edgeMinDistancesFromTargets,
+                firstEdges,
+                0,
+                firstEdges.size()),
+            false);
+    }
+
+    private static void assertArguments(
+        boolean simplePathsOnly,
+        Integer maxPathLength)
+    {
+        if ((maxPathLength != null) && (maxPathLength < 0)) {
+            throw new IllegalArgumentException(
+                "maxPathLength must be non-negative if defined");
+        }
+
+        if (!simplePathsOnly && (maxPathLength == null)) {
+            throw new IllegalArgumentException(
+                "If search is not restricted to simple paths, a maximum path length must be set to avoid infinite cycles");
+        }
+    }
+
     /**
      * Compute the minimum number of edges in a path to the targets through each
      * edge, so long as it is not greater than a bound.
@@ -262,8 +358,17 @@ public class AllDirectedPaths<V, E>
             for (E edge : graph.outgoingEdgesOf(source)) {
                 assert graph.getEdgeSource(edge).equals(source);
 
-                if (edgeMinDistancesFromTargets.containsKey(edge)) {
-                    List<E> path = Collections.singletonList(edge);
+                if (!edgeMinDistancesFromTargets.containsKey(edge)
+                    || (simplePathsOnly
+                        && source.equals(graph.getEdgeTarget(edge))))
+                {
+                    continue;
+                }
+                List<E> path = Collections.singletonList(edge);
+                if (targetVertices.contains(graph.getEdgeTarget(edge))) {
+                    completePaths.add(makePath(path));
+                }
+                if ((maxPathLength == null) || (maxPathLength > 1)) {
                     incompletePaths.add(path);
                 }
             }
@@ -349,6 +454,157 @@ public class AllDirectedPaths<V, E>
         double weight = edges.size();
         return new GraphWalk<>(graph, source, target, edges, weight);
     }
+
+    /**
+     * Enumerates the paths starting with a range of first edges by a
+     * depth-first search. Splitting hands over a part of the first edges
+     * which have not been searched yet.
+     */
+    private class PathSpliterator
+        implements Spliterator<GraphPath<V, E>>
+    {
+        private final Set<V> targetVertices;
+        private final boolean simplePathsOnly;
+        private final Integer maxPathLength;
+        private final Map<E, Integer> edgeMinDistancesFromTargets;
+        private final List<E> firstEdges;
+        private int next;
+        private final int end;
+
+        private final List<E> path = new ArrayList<>();
+        private final Set<V> pathVertices = new HashSet<>();
+        private final Deque<Iterator<E>> stack = new ArrayDeque<>();
+
+        PathSpliterator(
+            Set<V> targetVertices,
+            boolean simplePathsOnly,
+            Integer maxPathLength,
+            Map<E, Integer> edgeMinDistancesFromTargets,
+            List<E> firstEdges,
+            int next,
+            int end)
+        {
+            this.targetVertices = targetVertices;
+            this.simplePathsOnly = simplePathsOnly;
+            this.maxPathLength = maxPathLength;
+            this.edgeMinDistancesFromTargets = edgeMinDistancesFromTargets;
+            this.firstEdges = firstEdges;
+            this.next = next;
+            this.end = end;
+        }
+
+        /**
+         * @see Spliterator#tryAdvance(Consumer)
+         */
+        @Override public boolean tryAdvance(
+            Consumer<? super GraphPath<V, E>> action)
+        {
+            for (;;) {
+                E edge;
+                if (stack.isEmpty()) {
+                    if (next >= end) {
+                        return false;
+                    }
+                    edge = firstEdges.get(next++);
+                    pathVertices.add(graph.getEdgeSource(edge));
+                } else {
+                    Iterator<E> edges = stack.peek();
+                    if (!edges.hasNext()) {
+                        pop();
+                        continue;
+                    }
+                    edge = edges.next();
+                    if (!canExtend(edge)) {
+                        continue;
+                    }
+                }
+                if (push(edge)) {
+                    action.accept(makePath(new ArrayList<>(path)));
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * @see Spliterator#trySplit()
+         */
+        @Override public Spliterator<GraphPath<V, E>> trySplit()
+        {
+            int remaining = end - next;
+            if ((remaining < 1) || (stack.isEmpty() && (remaining < 2))) {
+                return null;
+            }
+            int mid = next + ((remaining + 1) / 2);
+            Spliterator<GraphPath<V, E>> prefix =
+                new PathSpliterator(
+                    targetVertices,
+                    simplePathsOnly,
+                    maxPathLength,
+                    edgeMinDistancesFromTargets,
+                    firstEdges,
+                    next,
+                    mid);
+            next = mid;
+            return prefix;
+        }
+
+        /**
+         * @see Spliterator#estimateSize()
+         */
+        @Override public long estimateSize()
+        {
+            return (stack.isEmpty() && (next >= end)) ? 0 : Long.MAX_VALUE;
+        }
+
+        /**
+         * @see Spliterator#characteristics()
+         */
+        @Override public int characteristics()
+        {
+            return NONNULL;
+        }
+
+        private boolean canExtend(E edge)
+        {
+            Integer distance = edgeMinDistancesFromTargets.get(edge);
+            return (distance != null)
+                && ((maxPathLength == null)
+                    || ((distance + path.size()) <= maxPathLength))
+                && (!simplePathsOnly
+                    || !pathVertices.contains(graph.getEdgeTarget(edge)));
+        }
+
+        /**
+         * Appends an edge to the path.
+         *
+         * @return true if the path ends at a target
+         */
+        private boolean push(E edge)
+        {
+            V vertex = graph.getEdgeTarget(edge);
+            path.add(edge);
+            if (simplePathsOnly) {
+                pathVertices.add(vertex);
+            }
+            stack.push(
+                ((maxPathLength == null) || (path.size() < maxPathLength))
+                ? graph.outgoingEdgesOf(vertex).iterator()
+                : Collections.<E>emptyIterator());
+            return targetVertices.contains(vertex);
+        }
+
+        private void pop()
+        {
+            stack.pop();
+            E edge = path.remove(path.size() - 1);
+            if (simplePathsOnly) {
+                pathVertices.remove(graph.getEdgeTarget(edge));
+            }
+            if (path.isEmpty()) {
+                pathVertices.clear();
+            }
+        }
+    }
 }
 
 // End AllDirectedPaths.java
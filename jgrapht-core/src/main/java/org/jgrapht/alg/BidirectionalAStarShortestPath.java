@@ -0,0 +1,292 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------------
+ * BidirectionalAStarShortestPath.java
+ * -----------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * A bidirectional version of the A* shortest path algorithm. A forward search
+ * from the source is guided by a heuristic estimating the distances to the
+ * target, and a backward search from the target by a heuristic estimating the
+ * distances from the source.
+ *
+ * <p>The two heuristics are combined into the average potential p(v) =
+ * (h<sub>f</sub>(v) - h<sub>r</sub>(v)) / 2, which the forward search adds to
+ * its distances and the backward search subtracts from them, as proposed by
+ * Ikeda et al. Since the potentials of both searches sum to zero, the
+ * stopping rule of the bidirectional Dijkstra search stays correct: the
+ * search stops when the sum of the minimum keys of both frontiers reaches the
+ * length of the best path found so far. This requires both heuristics to be
+ * consistent, such as {@link ALTAdmissibleHeuristic} or the euclidean
+ * distance. Vertices for which a heuristic returns an infinite estimate are
+ * not on any path and are skipped.</p>
+ *
+ * <p>The forward heuristic is called as <code>getCostEstimate(v,
+ * target)</code> and must estimate the distance from v to the target. The
+ * reverse heuristic is called as <code>getCostEstimate(v, source)</code> and
+ * must estimate the distance from the source to v, which is the distance
+ * from v to the source in the edge reversed graph. For undirected graphs and
+ * symmetric heuristics, both may be the same instance.</p>
+ *
+ * <p>Edge weights must be non-negative. The graph may change between
+ * searches.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see AStarShortestPath
+ * @see BidirectionalDijkstraShortestPath
+ */
+public class BidirectionalAStarShortestPath<V, E>
+{
+    private final Graph<V, E> graph;
+    private final AStarAdmissibleHeuristic<V> forwardHeuristic;
+    private final AStarAdmissibleHeuristic<V> reverseHeuristic;
+    private final AddressableHeapFactory heapFactory;
+
+    private int numberOfExpandedNodes;
+
+    /**
+     * Creates a new instance using the same heuristic in both directions,
+     * which must be symmetric.
+     *
+     * @param graph the graph to be searched
+     * @param heuristic the heuristic estimating the distance between two
+     * vertices in either direction
+     */
+    public BidirectionalAStarShortestPath(
+        Graph<V, E> graph,
+        AStarAdmissibleHeuristic<V> heuristic)
+    {
+        this(graph, heuristic, heuristic);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param graph the graph to be searched
+     * @param forwardHeuristic the heuristic estimating the distance from a
+     * vertex to the target
+     * @param reverseHeuristic the heuristic estimating the distance from the
+     * source to a vertex
+     */
+    public BidirectionalAStarShortestPath(
+        Graph<V, E> graph,
+        AStarAdmissibleHeuristic<V> forwardHeuristic,
+        AStarAdmissibleHeuristic<V> reverseHeuristic)
+    {
+        this(
+            graph,
+            forwardHeuristic,
+            reverseHeuristic,
+            AddressableHeapFactory.FIBONACCI_HEAP);
+    }
+
+    /**
+     * Creates a new instance which maintains the search frontiers in heaps
+     * created by the given factory.
+     *
+     * @param graph the graph to be searched
+     * @param forwardHeuristic the heuristic estimating the distance from a
+     * vertex to the target
+     * @param reverseHeuristic the heuristic estimating the distance from the
+     * source to a vertex
+     * @param heapFactory the factory of the frontier heaps
+     */
+    public BidirectionalAStarShortestPath(
+        Graph<V, E> graph,
+        AStarAdmissibleHeuristic<V> forwardHeuristic,
+        AStarAdmissibleHeuristic<V> reverseHeuristic,
+        AddressableHeapFactory heapFactory)
+    {
+        if (graph == null) {
+            throw new IllegalArgumentException("Graph cannot be null!");
+        }
+        if ((forwardHeuristic == null) || (reverseHeuristic == null)) {
+            throw new IllegalArgumentException("Heuristic cannot be null!");
+        }
+        if (heapFactory == null) {
+            throw new IllegalArgumentException("Heap factory cannot be null!");
+        }
+        this.graph = graph;
+        this.forwardHeuristic = forwardHeuristic;
+        this.reverseHeuristic = reverseHeuristic;
+        this.heapFactory = heapFactory;
+    }
+
+    /**
+     * Calculates (and returns) the shortest path from the sourceVertex to the
+     * targetVertex. Note: each time you invoke this method, the path gets
+     * recomputed.
+     *
+     * @param sourceVertex source vertex
+     * @param targetVertex target vertex
+     *
+     * @return the shortest path from sourceVertex to targetVertex, or null if
+     * no path exists
+     *
+     * @throws IllegalArgumentException if one of the vertices is not
+     * contained in the graph
+     */
+    public GraphPath<V, E> getShortestPath(V sourceVertex, V targetVertex)
+    {
+        if (!graph.containsVertex(sourceVertex)
+            || !graph.containsVertex(targetVertex))
+        {
+            throw new IllegalArgumentException(
+                "Source or target vertex not contained in the graph!");
+        }
+        numberOfExpandedNodes = 0;
+
+        if (sourceVertex.equals(targetVertex)) {
+            return new GraphWalk<>(
+                graph,
+                sourceVertex,
+                targetVertex,
+                Collections.singletonList(sourceVertex),
+                Collections.emptyList(),
+                0d);
+        }
+
+        BidirectionalSearchFrontier<V, E> forwardFrontier =
+            new BidirectionalSearchFrontier<>(graph, heapFactory);
+        BidirectionalSearchFrontier<V, E> backwardFrontier =
+            BidirectionalSearchFrontier.backward(graph, heapFactory);
+        Map<V, Double> potentials = new HashMap<>();
+
+        double sourcePotential =
+            potential(potentials, sourceVertex, sourceVertex, targetVertex);
+        double targetPotential =
+            potential(potentials, targetVertex, sourceVertex, targetVertex);
+        if (Double.isNaN(sourcePotential) || Double.isNaN(targetPotential)) {
+            return null;
+        }
+        forwardFrontier.updateDistance(sourceVertex, null, 0d, sourcePotential);
+        backwardFrontier.updateDistance(
+            targetVertex,
+            null,
+            0d,
+            -targetPotential);
+
+        double bestPath = Double.POSITIVE_INFINITY;
+        V bestPathCommonVertex = null;
+
+        BidirectionalSearchFrontier<V, E> frontier = forwardFrontier;
+        BidirectionalSearchFrontier<V, E> otherFrontier = backwardFrontier;
+        double sign = 1.0;
+
+        while (!frontier.isEmpty() && !otherFrontier.isEmpty()
+            && ((frontier.minKey() + otherFrontier.minKey()) < bestPath))
+        {
+            V v = frontier.removeMin();
+            double vDistance = frontier.getDistance(v);
+            numberOfExpandedNodes++;
+
+            for (E e : frontier.edgesOf(v)) {
+                V u = Graphs.getOppositeVertex(frontier.graph, e, v);
+                double p = potential(potentials, u, sourceVertex, targetVertex);
+                if (Double.isNaN(p)) {
+                    continue;
+                }
+                double uDistance = vDistance + frontier.graph.getEdgeWeight(e);
+                frontier.updateDistance(u, e, uDistance, uDistance + sign * p);
+
+                double pathDistance = uDistance + otherFrontier.getDistance(u);
+                if (pathDistance < bestPath) {
+                    bestPath = pathDistance;
+                    bestPathCommonVertex = u;
+                }
+            }
+
+            BidirectionalSearchFrontier<V, E> tmpFrontier = frontier;
+            frontier = otherFrontier;
+            otherFrontier = tmpFrontier;
+            sign = -sign;
+        }
+
+        if (bestPathCommonVertex == null) {
+            return null;
+        }
+        return BidirectionalSearchFrontier.createPath(
+            forwardFrontier,
+            backwardFrontier,
+            sourceVertex,
+            targetVertex,
+            bestPath,
+            bestPathCommonVertex);
+    }
+
+    /**
+     * Returns how many nodes have been expanded by both searches in the last
+     * invocation. A node is expanded if it is removed from a frontier.
+     *
+     * @return number of expanded nodes
+     */
+    public int getNumberOfExpandedNodes()
+    {
+        return numberOfExpandedNodes;
+    }
+
+    /**
+     * Returns the potential of the forward search at a vertex, or NaN if the
+     * vertex is not on a path from the source to the target.
+     */
+    private double potential(
+        Map<V, Double> potentials,
+        V v,
+        V source,
+        V target)
+    {
+        Double p = potentials.get(v);
+        if (p == null) {
+            double toTarget = forwardHeuristic.getCostEstimate(v, target);
+            double fromSource = reverseHeuristic.getCostEstimate(v, source);
+            p = (Double.isInfinite(toTarget) || Double.isInfinite(fromSource))
+                ? Double.NaN : ((toTarget - fromSource) / 2.0);
+            potentials.put(v, p);
+        }
+        return p;
+    }
+}
+
+// End BidirectionalAStarShortestPath.java
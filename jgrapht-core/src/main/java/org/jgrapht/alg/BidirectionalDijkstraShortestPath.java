@@ -37,20 +37,13 @@
 package org.jgrapht.alg;
 
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
-import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.Graphs;
-import org.jgrapht.graph.EdgeReversedGraph;
 import org.jgrapht.graph.GraphWalk;
-import org.jgrapht.util.FibonacciHeap;
-import org.jgrapht.util.FibonacciHeapNode;
+import org.jgrapht.util.AddressableHeapFactory;
 
 /**
  * A bidirectional version of Dijkstra's algorithm.
@@ -112,6 +105,35 @@ public final class BidirectionalDijkstraShortestPath<V, E>
         V startVertex,
         V endVertex,
         double radius)
+    {
+        this(
+            graph,
+            startVertex,
+            endVertex,
+            radius,
+            AddressableHeapFactory.FIBONACCI_HEAP);
+    }
+
+    /**
+     * Creates the instance and executes the bidirectional Dijkstra shortest
+     * path algorithm, using heaps created by the given factory for both search
+     * frontiers. An instance is only good for a single search; after
+     * construction, it can be accessed to retrieve information about the found
+     * path.
+     *
+     * @param graph the input graph
+     * @param startVertex the vertex at which the path should start
+     * @param endVertex the vertex at which the path should end
+     * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY
+     *        for unbounded search
+     * @param heapFactory the factory of the priority queues
+     */
+    public BidirectionalDijkstraShortestPath(
+        Graph<V, E> graph,
+        V startVertex,
+        V endVertex,
+        double radius,
+        AddressableHeapFactory heapFactory)
     {
         if (graph == null) {
             throw new IllegalArgumentException("Input graph cannot be null");
@@ -128,8 +150,12 @@ public final class BidirectionalDijkstraShortestPath<V, E>
             throw new IllegalArgumentException("Radius must be non-negative");
         }
 
-        this.path = new AlgorithmDetails(graph, startVertex, endVertex, radius)
-            .run();
+        this.path = new AlgorithmDetails(
+            graph,
+            startVertex,
+            endVertex,
+            radius,
+            heapFactory).run();
     }
 
     /**
@@ -201,8 +227,8 @@ public final class BidirectionalDijkstraShortestPath<V, E>
     class AlgorithmDetails
     {
 
-        private final SearchFrontier forwardFrontier;
-        private final SearchFrontier backwardFrontier;
+        private final BidirectionalSearchFrontier<V, E> forwardFrontier;
+        private final BidirectionalSearchFrontier<V, E> backwardFrontier;
 
         private final V source;
         private final V target;
@@ -212,15 +238,13 @@ public final class BidirectionalDijkstraShortestPath<V, E>
             Graph<V, E> graph,
             V source,
             V target,
-            double radius)
+            double radius,
+            AddressableHeapFactory heapFactory)
         {
-            this.forwardFrontier = new SearchFrontier(graph);
-            if (graph instanceof DirectedGraph) {
-                this.backwardFrontier = new SearchFrontier(
-                    new EdgeReversedGraph<>(((DirectedGraph<V, E>) graph)));
-            } else {
-                this.backwardFrontier = new SearchFrontier(graph);
-            }
+            this.forwardFrontier =
+                new BidirectionalSearchFrontier<>(graph, heapFactory);
+            this.backwardFrontier =
+                BidirectionalSearchFrontier.backward(graph, heapFactory);
             this.source = source;
             this.target = target;
             this.radius = radius;
@@ -249,24 +273,23 @@ public final class BidirectionalDijkstraShortestPath<V, E>
             double bestPath = Double.POSITIVE_INFINITY;
             V bestPathCommonVertex = null;
 
-            SearchFrontier frontier = forwardFrontier;
-            SearchFrontier otherFrontier = backwardFrontier;
+            BidirectionalSearchFrontier<V, E> frontier = forwardFrontier;
+            BidirectionalSearchFrontier<V, E> otherFrontier = backwardFrontier;
 
             while (true) {
                 // stopping condition
-                if (frontier.heap.isEmpty() || otherFrontier.heap.isEmpty()
-                    || frontier.heap.min().getKey()
-                        + otherFrontier.heap.min().getKey() >= bestPath)
+                if (frontier.isEmpty() || otherFrontier.isEmpty()
+                    || frontier.minKey()
+                        + otherFrontier.minKey() >= bestPath)
                 {
                     break;
                 }
 
                 // frontier scan
-                FibonacciHeapNode<QueueEntry> node = frontier.heap.removeMin();
-                V v = node.getData().v;
-                double vDistance = node.getKey();
+                V v = frontier.removeMin();
+                double vDistance = frontier.getDistance(v);
 
-                for (E e : frontier.specifics.edgesOf(v)) {
+                for (E e : frontier.edgesOf(v)) {
 
                     V u = Graphs.getOppositeVertex(frontier.graph, e, v);
 
@@ -286,7 +309,7 @@ public final class BidirectionalDijkstraShortestPath<V, E>
                 }
 
                 // swap frontiers
-                SearchFrontier tmpFrontier = frontier;
+                BidirectionalSearchFrontier<V, E> tmpFrontier = frontier;
                 frontier = otherFrontier;
                 otherFrontier = tmpFrontier;
 
@@ -294,171 +317,18 @@ public final class BidirectionalDijkstraShortestPath<V, E>
 
             // create path if found
             if (Double.isFinite(bestPath) && bestPath <= radius) {
-                return createPath(bestPath, bestPathCommonVertex);
+                return BidirectionalSearchFrontier.createPath(
+                    forwardFrontier,
+                    backwardFrontier,
+                    source,
+                    target,
+                    bestPath,
+                    bestPathCommonVertex);
             }
 
             return null;
         }
 
-        private GraphPath<V, E> createPath(double weight, V commonVertex)
-        {
-            LinkedList<E> edgeList = new LinkedList<>();
-            LinkedList<V> vertexList = new LinkedList<>();
-
-            // add common vertex
-            vertexList.add(commonVertex);
-
-            // traverse forward path
-            V v = commonVertex;
-            while (true) {
-                E e = forwardFrontier.getTreeEdge(v);
-
-                if (e == null) {
-                    break;
-                }
-
-                edgeList.addFirst(e);
-                v = Graphs.getOppositeVertex(forwardFrontier.graph, e, v);
-                vertexList.addFirst(v);
-            }
-
-            // traverse reverse path
-            v = commonVertex;
-            while (true) {
-                E e = backwardFrontier.getTreeEdge(v);
-
-                if (e == null) {
-                    break;
-                }
-
-                edgeList.addLast(e);
-                v = Graphs.getOppositeVertex(backwardFrontier.graph, e, v);
-                vertexList.addLast(v);
-            }
-
-            return new GraphWalk<>(
-                forwardFrontier.graph,
-                source,
-                target,
-                vertexList,
-                edgeList,
-                weight);
-        }
-
-        /**
-         * Helper class to maintain the search frontier
-         */
-        class SearchFrontier
-        {
-            final Graph<V, E> graph;
-            final Specifics specifics;
-
-            final FibonacciHeap<QueueEntry> heap;
-            final Map<V, FibonacciHeapNode<QueueEntry>> seen;
-
-            public SearchFrontier(Graph<V, E> graph)
-            {
-                this.graph = graph;
-                if (graph instanceof DirectedGraph) {
-                    this.specifics = new DirectedSpecifics(
-                        (DirectedGraph<V, E>) graph);
-                } else {
-                    this.specifics = new UndirectedSpecifics(graph);
-                }
-                this.heap = new FibonacciHeap<>();
-                this.seen = new HashMap<>();
-            }
-
-            public void updateDistance(V v, E e, double distance)
-            {
-                FibonacciHeapNode<QueueEntry> node = seen.get(v);
-                if (node == null) {
-                    node = new FibonacciHeapNode<>(new QueueEntry(e, v));
-                    heap.insert(node, distance);
-                    seen.put(v, node);
-                } else {
-                    if (distance < node.getKey()) {
-                        heap.decreaseKey(node, distance);
-                        node.getData().e = e;
-                    }
-                }
-            }
-
-            public double getDistance(V v)
-            {
-                FibonacciHeapNode<QueueEntry> node = seen.get(v);
-                if (node == null) {
-                    return Double.POSITIVE_INFINITY;
-                } else {
-                    return node.getKey();
-                }
-            }
-
-            public E getTreeEdge(V v)
-            {
-                FibonacciHeapNode<QueueEntry> node = seen.get(v);
-                if (node == null) {
-                    return null;
-                } else {
-                    return node.getData().e;
-                }
-            }
-
-        }
-
-        abstract class Specifics
-        {
-            public abstract Set<? extends E> edgesOf(V vertex);
-        }
-
-        class DirectedSpecifics
-            extends Specifics
-        {
-
-            private DirectedGraph<V, E> graph;
-
-            public DirectedSpecifics(DirectedGraph<V, E> g)
-            {
-                graph = g;
-            }
-
-            @Override
-            public Set<? extends E> edgesOf(V vertex)
-            {
-                return graph.outgoingEdgesOf(vertex);
-            }
-        }
-
-        class UndirectedSpecifics
-            extends Specifics
-        {
-
-            private Graph<V, E> graph;
-
-            public UndirectedSpecifics(Graph<V, E> g)
-            {
-                graph = g;
-            }
-
-            @Override
-            public Set<E> edgesOf(V vertex)
-            {
-                return graph.edgesOf(vertex);
-            }
-        }
-
-        class QueueEntry
-        {
-            E e;
-            V v;
-
-            public QueueEntry(E e, V v)
-            {
-                this.e = e;
-                this.v = v;
-            }
-        }
-
     }
 
 }
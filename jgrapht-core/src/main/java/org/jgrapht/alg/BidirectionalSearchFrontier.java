@@ -0,0 +1,257 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------------
+ * BidirectionalSearchFrontier.java
+ * --------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * One of the two search frontiers of a bidirectional shortest path search.
+ * The frontier keeps the distances and tree edges of the vertices it has
+ * reached, and a heap of the vertices which have not been scanned yet. The
+ * key of a vertex in the heap is its distance, possibly shifted by a
+ * potential as in an A* search.
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BidirectionalDijkstraShortestPath
+ * @see BidirectionalAStarShortestPath
+ */
+class BidirectionalSearchFrontier<V, E>
+{
+    final Graph<V, E> graph;
+
+    private final DirectedGraph<V, E> directedGraph;
+    private final AddressableHeap<Entry<V, E>> heap;
+    private final Map<V, AddressableHeap.Handle<Entry<V, E>>> seen;
+
+    /**
+     * Creates a new empty frontier searching the given graph.
+     *
+     * @param graph the graph, or its edge reversed view for a backward
+     * search
+     * @param heapFactory the factory of the heap
+     */
+    BidirectionalSearchFrontier(
+        Graph<V, E> graph,
+        AddressableHeapFactory heapFactory)
+    {
+        this.graph = graph;
+        this.directedGraph =
+            (graph instanceof DirectedGraph) ? (DirectedGraph<V, E>) graph
+            : null;
+        this.heap = heapFactory.createHeap();
+        this.seen = new HashMap<>();
+    }
+
+    /**
+     * Creates the frontier of the backward search of the given graph.
+     */
+    static <V, E> BidirectionalSearchFrontier<V, E> backward(
+        Graph<V, E> graph,
+        AddressableHeapFactory heapFactory)
+    {
+        if (graph instanceof DirectedGraph) {
+            return new BidirectionalSearchFrontier<>(
+                new EdgeReversedGraph<>((DirectedGraph<V, E>) graph),
+                heapFactory);
+        }
+        return new BidirectionalSearchFrontier<>(graph, heapFactory);
+    }
+
+    /**
+     * Returns the edges by which the search leaves the vertex.
+     */
+    Set<? extends E> edgesOf(V vertex)
+    {
+        return (directedGraph != null) ? directedGraph.outgoingEdgesOf(vertex)
+            : graph.edgesOf(vertex);
+    }
+
+    boolean isEmpty()
+    {
+        return heap.isEmpty();
+    }
+
+    /**
+     * Returns the minimum key of the vertices not scanned yet.
+     */
+    double minKey()
+    {
+        return heap.min().getKey();
+    }
+
+    /**
+     * Removes the vertex with the minimum key from the heap and marks it as
+     * scanned.
+     */
+    V removeMin()
+    {
+        Entry<V, E> entry = heap.removeMin().getData();
+        entry.scanned = true;
+        return entry.v;
+    }
+
+    /**
+     * Updates the distance of a vertex whose key is its distance.
+     */
+    void updateDistance(V v, E e, double distance)
+    {
+        updateDistance(v, e, distance, distance);
+    }
+
+    /**
+     * Updates the distance and key of a vertex if the distance is smaller
+     * than the known one. Scanned vertices are not updated.
+     */
+    void updateDistance(V v, E e, double distance, double key)
+    {
+        AddressableHeap.Handle<Entry<V, E>> node = seen.get(v);
+        if (node == null) {
+            node = heap.insert(new Entry<>(e, v, distance), key);
+            seen.put(v, node);
+        } else {
+            Entry<V, E> entry = node.getData();
+            if (!entry.scanned && (distance < entry.distance)) {
+                heap.decreaseKey(node, key);
+                entry.e = e;
+                entry.distance = distance;
+            }
+        }
+    }
+
+    /**
+     * Returns the distance of a vertex, or Double.POSITIVE_INFINITY if it has
+     * not been reached.
+     */
+    double getDistance(V v)
+    {
+        AddressableHeap.Handle<Entry<V, E>> node = seen.get(v);
+        return (node == null) ? Double.POSITIVE_INFINITY
+            : node.getData().distance;
+    }
+
+    /**
+     * Returns the tree edge of a vertex, or null if it is the root or has not
+     * been reached.
+     */
+    E getTreeEdge(V v)
+    {
+        AddressableHeap.Handle<Entry<V, E>> node = seen.get(v);
+        return (node == null) ? null : node.getData().e;
+    }
+
+    /**
+     * Creates the path through the common vertex of the trees of the forward
+     * and backward frontiers.
+     */
+    static <V, E> GraphPath<V, E> createPath(
+        BidirectionalSearchFrontier<V, E> forwardFrontier,
+        BidirectionalSearchFrontier<V, E> backwardFrontier,
+        V source,
+        V target,
+        double weight,
+        V commonVertex)
+    {
+        LinkedList<E> edgeList = new LinkedList<>();
+        LinkedList<V> vertexList = new LinkedList<>();
+
+        // add common vertex
+        vertexList.add(commonVertex);
+
+        // traverse forward path
+        V v = commonVertex;
+        while (true) {
+            E e = forwardFrontier.getTreeEdge(v);
+
+            if (e == null) {
+                break;
+            }
+
+            edgeList.addFirst(e);
+            v = Graphs.getOppositeVertex(forwardFrontier.graph, e, v);
+            vertexList.addFirst(v);
+        }
+
+        // traverse reverse path
+        v = commonVertex;
+        while (true) {
+            E e = backwardFrontier.getTreeEdge(v);
+
+            if (e == null) {
+                break;
+            }
+
+            edgeList.addLast(e);
+            v = Graphs.getOppositeVertex(backwardFrontier.graph, e, v);
+            vertexList.addLast(v);
+        }
+
+        return new GraphWalk<>(
+            forwardFrontier.graph,
+            source,
+            target,
+            vertexList,
+            edgeList,
+            weight);
+    }
+
+    /**
+     * The data of a reached vertex.
+     */
+    private static final class Entry<V, E>
+    {
+        E e;
+        final V v;
+        double distance;
+        boolean scanned;
+
+        Entry(E e, V v, double distance)
+        {
+            this.e = e;
+            this.v = v;
+            this.distance = distance;
+        }
+    }
+}
+
+// End BidirectionalSearchFrontier.java
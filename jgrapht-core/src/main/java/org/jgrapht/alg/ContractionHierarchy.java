@@ -0,0 +1,773 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------
+ * ContractionHierarchy.java
+ * -------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * The <a href="https://en.wikipedia.org/wiki/Contraction_hierarchies">
+ * contraction hierarchy</a> of a graph, a preprocessing of the graph which
+ * speeds up shortest path queries by orders of magnitude on road networks and
+ * other graphs of low highway dimension. The vertices are contracted one after
+ * the other, in the order of their importance. Contracting a vertex removes it
+ * from the remaining graph and adds a shortcut between two of its neighbors
+ * whenever the path through the vertex is the only shortest path between them,
+ * which is checked by a bounded Dijkstra search, the witness search. Queries
+ * are answered by {@link ContractionHierarchyShortestPath}, a bidirectional
+ * search which only follows edges leading to vertices contracted later.
+ *
+ * <p>The order of the contraction is computed on the fly, from the number of
+ * shortcuts a vertex would add, the number of edges it would remove, the
+ * number of its neighbors contracted before and the depth of the hierarchy
+ * below it. The vertices are contracted in
+ * rounds: every round contracts the vertices whose priority is smaller than
+ * the priorities of their neighbors. These vertices are independent of each
+ * other, so their witness searches run in parallel if a {@link ForkJoinPool}
+ * is given.</p>
+ *
+ * <p>The hierarchy is built on a {@link CsrGraph snapshot} of the graph, see
+ * {@link Graphs#freeze(Graph)}, and later changes of the graph are not
+ * reflected. The hierarchy is serializable, together with the snapshot, so it
+ * can be built once and loaded afterwards, provided that the vertices and
+ * edges are serializable. Edge weights must be non-negative.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchyShortestPath
+ */
+public class ContractionHierarchy<V, E>
+    implements Serializable
+{
+    private static final long serialVersionUID = 2946177013850371625L;
+
+    private final CsrGraph<V, E> graph;
+    private final int [] ranks;
+    private final int shortcutCount;
+
+    /* the arcs leaving every vertex towards higher ranked vertices */
+    final int [] upStart;
+    final int [] upHead;
+    final int [] upArc;
+    final double [] upWeight;
+
+    /* the arcs entering every vertex from higher ranked vertices */
+    final int [] downStart;
+    final int [] downHead;
+    final int [] downArc;
+    final double [] downWeight;
+
+    /* an edge index and -1 for an original arc, the two bridged arcs for a
+     * shortcut */
+    private final int [] arcFirst;
+    private final int [] arcSecond;
+
+    /**
+     * Builds the contraction hierarchy of the given graph sequentially.
+     *
+     * @param graph the graph
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public ContractionHierarchy(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Builds the contraction hierarchy of the given graph, running the witness
+     * searches on the given pool.
+     *
+     * @param graph the graph
+     * @param pool the pool running the witness searches, or <code>null</code>
+     * to run them sequentially
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public ContractionHierarchy(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = Graphs.freeze(graph);
+
+        Contraction c = new Contraction(this.graph, pool);
+        c.contract();
+
+        int n = this.graph.vertexCount();
+        int m = c.arcCount;
+        this.ranks = c.rank;
+        this.shortcutCount = m - c.originalArcCount;
+        this.arcFirst = Arrays.copyOf(c.arcFirst, m);
+        this.arcSecond = Arrays.copyOf(c.arcSecond, m);
+
+        // every arc leads either up from its source or down to its target
+        this.upStart = new int[n + 1];
+        this.downStart = new int[n + 1];
+        for (int a = 0; a < m; a++) {
+            int s = c.arcSource[a];
+            int t = c.arcTarget[a];
+            if (ranks[t] > ranks[s]) {
+                upStart[s + 1]++;
+            } else {
+                downStart[t + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            upStart[v + 1] += upStart[v];
+            downStart[v + 1] += downStart[v];
+        }
+        this.upHead = new int[upStart[n]];
+        this.upArc = new int[upStart[n]];
+        this.upWeight = new double[upStart[n]];
+        this.downHead = new int[downStart[n]];
+        this.downArc = new int[downStart[n]];
+        this.downWeight = new double[downStart[n]];
+        int [] upNext = Arrays.copyOf(upStart, n);
+        int [] downNext = Arrays.copyOf(downStart, n);
+        for (int a = 0; a < m; a++) {
+            int s = c.arcSource[a];
+            int t = c.arcTarget[a];
+            int p;
+            if (ranks[t] > ranks[s]) {
+                p = upNext[s]++;
+                upHead[p] = t;
+                upArc[p] = a;
+                upWeight[p] = c.arcWeight[a];
+            } else {
+                p = downNext[t]++;
+                downHead[p] = s;
+                downArc[p] = a;
+                downWeight[p] = c.arcWeight[a];
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot of the graph the hierarchy has been built on.
+     *
+     * @return the graph
+     */
+    public CsrGraph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Returns the rank of the given vertex, the position of the vertex in the
+     * order of the contraction.
+     *
+     * @param vertex the vertex
+     *
+     * @return the rank of the vertex, between 0 and the number of vertices
+     *
+     * @throws IllegalArgumentException if the vertex is not contained in the
+     * graph
+     */
+    public int getRank(V vertex)
+    {
+        return ranks[indexOf(vertex)];
+    }
+
+    /**
+     * Returns the number of shortcuts added by the contraction.
+     *
+     * @return the number of shortcuts
+     */
+    public int getShortcutCount()
+    {
+        return shortcutCount;
+    }
+
+    /**
+     * Replaces the given arc by the edges of the original graph, in the order
+     * of the path represented by the arc.
+     *
+     * @param arc the arc
+     * @param edges the consumer of the edge indices
+     */
+    void unpack(int arc, IntConsumer edges)
+    {
+        int [] stack = new int[16];
+        int size = 0;
+        stack[size++] = arc;
+        while (size > 0) {
+            int a = stack[--size];
+            if (arcSecond[a] < 0) {
+                edges.accept(arcFirst[a]);
+                continue;
+            }
+            if (size + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[size++] = arcSecond[a];
+            stack[size++] = arcFirst[a];
+        }
+    }
+
+    int indexOf(V vertex)
+    {
+        int v = graph.indexOfVertex(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException(
+                "graph must contain the vertex: " + vertex);
+        }
+        return v;
+    }
+
+    /**
+     * The state of the contraction, discarded once the hierarchy is built.
+     * The adjacency of the remaining graph is kept in lists of arcs per
+     * vertex, from which the arcs to contracted vertices are removed lazily.
+     * Between two vertices there is at most one arc in each direction.
+     */
+    private static final class Contraction
+    {
+        private static final int ALIVE = -1;
+        private static final int CONTRACTING = -2;
+
+        /* bound the work of the witness searches when contracting a vertex
+         * and when estimating its priority; an aborted search adds a shortcut
+         * which may be superfluous, but never misses one */
+        private static final int SETTLED_LIMIT = 500;
+        private static final int ESTIMATE_SETTLED_LIMIT = 50;
+
+        private static final int MIN_CHUNK_SIZE = 64;
+
+        private final CsrGraph<?, ?> g;
+        private final ForkJoinPool pool;
+        private final int n;
+
+        final int [] rank;
+        private final double [] priority;
+        private final int [] contractedNeighbors;
+        private final int [] depth;
+
+        int arcCount;
+        int originalArcCount;
+        int [] arcSource;
+        int [] arcTarget;
+        double [] arcWeight;
+        int [] arcFirst;
+        int [] arcSecond;
+
+        private final int [][] out;
+        private final int [][] in;
+        private final int [] outSize;
+        private final int [] inSize;
+
+        /* maps the targets of the arcs leaving a vertex to the arcs */
+        private final int [] arcTo;
+        private final int [] stamp;
+        private int stampId;
+
+        private final Queue<WitnessSearch> idleSearches =
+            new ConcurrentLinkedQueue<>();
+
+        Contraction(CsrGraph<?, ?> g, ForkJoinPool pool)
+        {
+            this.g = g;
+            this.pool = pool;
+            this.n = g.vertexCount();
+            this.rank = new int[n];
+            this.priority = new double[n];
+            this.contractedNeighbors = new int[n];
+            this.depth = new int[n];
+            Arrays.fill(rank, ALIVE);
+
+            int m = g.edgeCount();
+            int capacity = Math.max(16, 2 * m);
+            this.arcSource = new int[capacity];
+            this.arcTarget = new int[capacity];
+            this.arcWeight = new double[capacity];
+            this.arcFirst = new int[capacity];
+            this.arcSecond = new int[capacity];
+            this.out = new int[n][];
+            this.in = new int[n][];
+            this.outSize = new int[n];
+            this.inSize = new int[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new int[4];
+                in[v] = new int[4];
+            }
+            this.arcTo = new int[n];
+            this.stamp = new int[n];
+
+            // keep the lightest of parallel edges, and no self-loops
+            for (int s = 0; s < n; s++) {
+                stampId++;
+                for (int p = g.outgoingStart(s); p < g.outgoingEnd(s); p++) {
+                    int e = g.outgoingEdge(p);
+                    double w = g.getEdgeWeightAt(e);
+                    if (w < 0.0) {
+                        throw new IllegalArgumentException(
+                            "negative edge weights not allowed");
+                    }
+                    int t = g.getOppositeVertexAt(e, s);
+                    if (t != s) {
+                        putArc(s, t, w, e, -1);
+                    }
+                }
+            }
+            originalArcCount = arcCount;
+        }
+
+        void contract()
+        {
+            int [] remaining = new int[n];
+            for (int v = 0; v < n; v++) {
+                remaining[v] = v;
+            }
+            int remainingCount = n;
+            parallelFor(
+                remaining,
+                remainingCount,
+                (search, v) -> updatePriority(search, v));
+
+            boolean [] selected = new boolean[n];
+            boolean [] dirty = new boolean[n];
+            int [] batch = new int[n];
+            int [] dirtyList = new int[n];
+            ShortcutList [] shortcuts = new ShortcutList[n];
+            int nextRank = 0;
+            while (remainingCount > 0) {
+                // contract the vertices with a locally minimal priority
+                parallelFor(
+                    remaining,
+                    remainingCount,
+                    (search, v) -> selected[v] = isLocalMinimum(v));
+                int batchSize = 0;
+                for (int i = 0; i < remainingCount; i++) {
+                    int v = remaining[i];
+                    if (selected[v]) {
+                        selected[v] = false;
+                        rank[v] = CONTRACTING;
+                        batch[batchSize++] = v;
+                    }
+                }
+                parallelFor(
+                    batch,
+                    batchSize,
+                    (search, v) -> {
+                        ShortcutList list = new ShortcutList();
+                        findShortcuts(search, v, SETTLED_LIMIT, list);
+                        shortcuts[v] = list;
+                    });
+
+                int dirtyCount = 0;
+                for (int i = 0; i < batchSize; i++) {
+                    int v = batch[i];
+                    rank[v] = nextRank++;
+                    addShortcuts(shortcuts[v]);
+                    shortcuts[v] = null;
+                    stampId++;
+                    for (int j = 0; j < outSize[v] + inSize[v]; j++) {
+                        int w =
+                            (j < outSize[v]) ? arcTarget[out[v][j]]
+                            : arcSource[in[v][j - outSize[v]]];
+                        if ((rank[w] != ALIVE) || (stamp[w] == stampId)) {
+                            continue;
+                        }
+                        stamp[w] = stampId;
+                        contractedNeighbors[w]++;
+                        depth[w] = Math.max(depth[w], depth[v] + 1);
+                        if (!dirty[w]) {
+                            dirty[w] = true;
+                            dirtyList[dirtyCount++] = w;
+                        }
+                    }
+                }
+                for (int i = 0; i < dirtyCount; i++) {
+                    int w = dirtyList[i];
+                    dirty[w] = false;
+                    outSize[w] = removeContracted(out[w], outSize[w], true);
+                    inSize[w] = removeContracted(in[w], inSize[w], false);
+                }
+                parallelFor(
+                    dirtyList,
+                    dirtyCount,
+                    (search, v) -> updatePriority(search, v));
+
+                int k = 0;
+                for (int i = 0; i < remainingCount; i++) {
+                    if (rank[remaining[i]] == ALIVE) {
+                        remaining[k++] = remaining[i];
+                    }
+                }
+                remainingCount = k;
+            }
+        }
+
+        private boolean isLocalMinimum(int v)
+        {
+            for (int j = 0; j < outSize[v]; j++) {
+                if (precedes(arcTarget[out[v][j]], v)) {
+                    return false;
+                }
+            }
+            for (int j = 0; j < inSize[v]; j++) {
+                if (precedes(arcSource[in[v][j]], v)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean precedes(int w, int v)
+        {
+            return (rank[w] == ALIVE)
+                && ((priority[w] < priority[v])
+                    || ((priority[w] == priority[v]) && (w < v)));
+        }
+
+        private void updatePriority(WitnessSearch search, int v)
+        {
+            ShortcutList list = search.shortcuts;
+            findShortcuts(search, v, ESTIMATE_SETTLED_LIMIT, list);
+            int removed = 0;
+            for (int j = 0; j < outSize[v]; j++) {
+                if (rank[arcTarget[out[v][j]]] == ALIVE) {
+                    removed++;
+                }
+            }
+            for (int j = 0; j < inSize[v]; j++) {
+                if (rank[arcSource[in[v][j]]] == ALIVE) {
+                    removed++;
+                }
+            }
+            priority[v] =
+                (2 * (list.size - removed)) + contractedNeighbors[v] + depth[v];
+        }
+
+        /**
+         * Finds the shortcuts needed if the given vertex is contracted, in the
+         * graph of the vertices which are neither contracted nor contracting.
+         * The shortcuts are grouped by their sources.
+         */
+        private void findShortcuts(
+            WitnessSearch search,
+            int v,
+            int settledLimit,
+            ShortcutList result)
+        {
+            result.size = 0;
+            for (int i = 0; i < inSize[v]; i++) {
+                int a = in[v][i];
+                int u = arcSource[a];
+                if (rank[u] != ALIVE) {
+                    continue;
+                }
+                double limit = -1.0;
+                for (int j = 0; j < outSize[v]; j++) {
+                    int b = out[v][j];
+                    int x = arcTarget[b];
+                    if ((x != u) && (rank[x] == ALIVE)) {
+                        limit = Math.max(limit, arcWeight[a] + arcWeight[b]);
+                    }
+                }
+                if (limit < 0.0) {
+                    continue;
+                }
+                search.run(u, v, limit, settledLimit);
+                for (int j = 0; j < outSize[v]; j++) {
+                    int b = out[v][j];
+                    int x = arcTarget[b];
+                    double via = arcWeight[a] + arcWeight[b];
+                    if ((x != u)
+                        && (rank[x] == ALIVE)
+                        && (search.distance[x] > via))
+                    {
+                        result.add(a, b, via);
+                    }
+                }
+            }
+        }
+
+        private void addShortcuts(ShortcutList list)
+        {
+            int source = -1;
+            for (int i = 0; i < list.size; i++) {
+                int a = list.first[i];
+                int u = arcSource[a];
+                if (u != source) {
+                    source = u;
+                    stampId++;
+                    for (int j = 0; j < outSize[u]; j++) {
+                        int b = out[u][j];
+                        int x = arcTarget[b];
+                        if (rank[x] == ALIVE) {
+                            stamp[x] = stampId;
+                            arcTo[x] = b;
+                        }
+                    }
+                }
+                putArc(
+                    u,
+                    arcTarget[list.second[i]],
+                    list.weight[i],
+                    a,
+                    list.second[i]);
+            }
+        }
+
+        /**
+         * Adds an arc, or lowers the weight of the existing arc between the
+         * vertices. The arcs leaving the source must have been stamped.
+         */
+        private void putArc(int s, int t, double w, int first, int second)
+        {
+            if (stamp[t] == stampId) {
+                int a = arcTo[t];
+                if (w < arcWeight[a]) {
+                    arcWeight[a] = w;
+                    arcFirst[a] = first;
+                    arcSecond[a] = second;
+                }
+                return;
+            }
+            if (arcCount == arcSource.length) {
+                int capacity = arcCount * 2;
+                arcSource = Arrays.copyOf(arcSource, capacity);
+                arcTarget = Arrays.copyOf(arcTarget, capacity);
+                arcWeight = Arrays.copyOf(arcWeight, capacity);
+                arcFirst = Arrays.copyOf(arcFirst, capacity);
+                arcSecond = Arrays.copyOf(arcSecond, capacity);
+            }
+            int a = arcCount++;
+            arcSource[a] = s;
+            arcTarget[a] = t;
+            arcWeight[a] = w;
+            arcFirst[a] = first;
+            arcSecond[a] = second;
+            stamp[t] = stampId;
+            arcTo[t] = a;
+
+            if (outSize[s] == out[s].length) {
+                out[s] = Arrays.copyOf(out[s], outSize[s] * 2);
+            }
+            out[s][outSize[s]++] = a;
+            if (inSize[t] == in[t].length) {
+                in[t] = Arrays.copyOf(in[t], inSize[t] * 2);
+            }
+            in[t][inSize[t]++] = a;
+        }
+
+        private int removeContracted(int [] arcs, int size, boolean outgoing)
+        {
+            int k = 0;
+            for (int j = 0; j < size; j++) {
+                int a = arcs[j];
+                int w = outgoing ? arcTarget[a] : arcSource[a];
+                if (rank[w] == ALIVE) {
+                    arcs[k++] = a;
+                }
+            }
+            return k;
+        }
+
+        /**
+         * Runs the action for the first vertices of the given array, in
+         * parallel if a pool is available. The action must not modify the
+         * graph.
+         */
+        private void parallelFor(
+            int [] vertices,
+            int count,
+            ObjIntConsumer<WitnessSearch> action)
+        {
+            int nTasks =
+                (pool == null) ? 1
+                : Math.min(
+                    pool.getParallelism() * 4,
+                    (count + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+            if (nTasks <= 1) {
+                run(vertices, 0, count, action);
+                return;
+            }
+
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(nTasks);
+            for (int t = 0; t < nTasks; t++) {
+                int from = (int) (((long) count * t) / nTasks);
+                int to = (int) (((long) count * (t + 1)) / nTasks);
+                tasks.add(
+                    ForkJoinTask.adapt(() -> run(vertices, from, to, action)));
+            }
+            pool.invoke(
+                new RecursiveAction() {
+                    private static final long serialVersionUID =
+                        -4417322630164470287L;
+
+                    @Override protected void compute()
+                    {
+                        invokeAll(tasks);
+                    }
+                });
+        }
+
+        private void run(
+            int [] vertices,
+            int from,
+            int to,
+            ObjIntConsumer<WitnessSearch> action)
+        {
+            WitnessSearch search = idleSearches.poll();
+            if (search == null) {
+                search = new WitnessSearch();
+            }
+            try {
+                for (int i = from; i < to; i++) {
+                    action.accept(search, vertices[i]);
+                }
+            } finally {
+                idleSearches.add(search);
+            }
+        }
+
+        /**
+         * A Dijkstra search in the remaining graph which avoids one vertex and
+         * stops at a distance limit or after settling a number of vertices.
+         * The distances of all reached vertices are lengths of paths, but only
+         * those of the settled vertices are shortest.
+         */
+        private final class WitnessSearch
+        {
+            final double [] distance = new double[n];
+            final ShortcutList shortcuts = new ShortcutList();
+            private final int [] touched = new int[n];
+            private int touchedCount;
+            private final int [] target = new int[n];
+            private int targetId;
+            private final IndexedDaryHeap heap = new IndexedDaryHeap(n);
+
+            WitnessSearch()
+            {
+                Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            }
+
+            void run(
+                int source,
+                int avoided,
+                double limit,
+                int settledLimit)
+            {
+                for (int i = 0; i < touchedCount; i++) {
+                    distance[touched[i]] = Double.POSITIVE_INFINITY;
+                }
+                touchedCount = 0;
+                distance[source] = 0.0;
+                touched[touchedCount++] = source;
+                heap.insert(source, 0.0);
+
+                // the search may stop once all neighbors of the avoided vertex
+                // are settled
+                int targets = 0;
+                targetId++;
+                for (int j = 0; j < outSize[avoided]; j++) {
+                    int x = arcTarget[out[avoided][j]];
+                    if ((x != source)
+                        && (rank[x] == ALIVE)
+                        && (target[x] != targetId))
+                    {
+                        target[x] = targetId;
+                        targets++;
+                    }
+                }
+
+                int settled = 0;
+                while (!heap.isEmpty() && (settled++ < settledLimit)) {
+                    double d = heap.minKey();
+                    if (d > limit) {
+                        break;
+                    }
+                    int v = heap.removeMin();
+                    if ((target[v] == targetId) && (--targets == 0)) {
+                        break;
+                    }
+                    for (int j = 0; j < outSize[v]; j++) {
+                        int a = out[v][j];
+                        int w = arcTarget[a];
+                        if ((w == avoided) || (rank[w] != ALIVE)) {
+                            continue;
+                        }
+                        double dw = d + arcWeight[a];
+                        if (dw < distance[w]) {
+                            if (distance[w] == Double.POSITIVE_INFINITY) {
+                                touched[touchedCount++] = w;
+                                heap.insert(w, dw);
+                            } else {
+                                heap.decreaseKey(w, dw);
+                            }
+                            distance[w] = dw;
+                        }
+                    }
+                }
+                heap.clear();
+            }
+        }
+    }
+
+    /**
+     * The shortcuts around a vertex, given by the two arcs they bridge.
+     */
+    private static final class ShortcutList
+    {
+        int size;
+        int [] first = new int[8];
+        int [] second = new int[8];
+        double [] weight = new double[8];
+
+        void add(int a, int b, double w)
+        {
+            if (size == first.length) {
+                first = Arrays.copyOf(first, size * 2);
+                second = Arrays.copyOf(second, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            first[size] = a;
+            second[size] = b;
+            weight[size] = w;
+            size++;
+        }
+    }
+}
+
+// End ContractionHierarchy.java
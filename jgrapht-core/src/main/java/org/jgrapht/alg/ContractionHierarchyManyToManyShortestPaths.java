@@ -0,0 +1,267 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ------------------------------------------------
+ * ContractionHierarchyManyToManyShortestPaths.java
+ * ------------------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+
+/**
+ * Computes tables of shortest path distances between a set of sources and a
+ * set of targets with a {@link ContractionHierarchy}, using the bucket
+ * algorithm of Knopp et al. A backward search of the hierarchy from every
+ * target leaves its distance to every vertex it settles in a bucket of that
+ * vertex. A forward search from every source then scans the buckets of the
+ * vertices it settles, and combines both distances into the distance to the
+ * targets of the buckets. Every shortest path ascends in the hierarchy and
+ * then descends, so both searches meet at its highest vertex.
+ *
+ * <p>Each search is a complete search of the upward part of the hierarchy,
+ * which is small on road networks and other graphs of low highway dimension,
+ * so a table of |S| x |T| distances costs |S| + |T| searches and the scanning
+ * of the buckets, instead of |S| x |T| point-to-point queries. The searches
+ * of each direction are independent and run in parallel if a {@link
+ * ForkJoinPool} is given.</p>
+ *
+ * <p>An instance holds no state besides the hierarchy and the pool, so it is
+ * thread-safe.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchyShortestPath
+ */
+public class ContractionHierarchyManyToManyShortestPaths<V, E>
+{
+    /* the number of searches below which a chunk is not split */
+    private static final int MIN_CHUNK_SIZE = 16;
+
+    private final ContractionHierarchy<V, E> hierarchy;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new instance running the searches sequentially.
+     *
+     * @param hierarchy the contraction hierarchy to search
+     */
+    public ContractionHierarchyManyToManyShortestPaths(
+        ContractionHierarchy<V, E> hierarchy)
+    {
+        this(hierarchy, null);
+    }
+
+    /**
+     * Creates a new instance running the searches in the given pool.
+     *
+     * @param hierarchy the contraction hierarchy to search
+     * @param pool the pool running the searches, or <code>null</code> to run
+     * them sequentially
+     */
+    public ContractionHierarchyManyToManyShortestPaths(
+        ContractionHierarchy<V, E> hierarchy,
+        ForkJoinPool pool)
+    {
+        if (hierarchy == null) {
+            throw new NullPointerException("hierarchy is null");
+        }
+        this.hierarchy = hierarchy;
+        this.pool = pool;
+    }
+
+    /**
+     * @return the hierarchy searched by this instance
+     */
+    public ContractionHierarchy<V, E> getHierarchy()
+    {
+        return hierarchy;
+    }
+
+    /**
+     * Computes the distances from every source to every target.
+     *
+     * @param sources the source vertices
+     * @param targets the target vertices
+     *
+     * @return the table of distances, whose entry [i][j] is the distance from
+     * the i-th source to the j-th target, or Double.POSITIVE_INFINITY if there
+     * is no path
+     *
+     * @throws IllegalArgumentException if a vertex is not contained in the
+     * graph
+     */
+    public double [][] getDistances(
+        List<? extends V> sources,
+        List<? extends V> targets)
+    {
+        int [] s = indicesOf(sources);
+        int [] t = indicesOf(targets);
+        int n = hierarchy.getGraph().vertexCount();
+
+        // the vertices settled by the backward search from every target
+        int [][] settled = new int[t.length][];
+        double [][] settledDistances = new double[t.length][];
+        forEachChunk(
+            t.length,
+            (from, to) -> {
+                ContractionHierarchySearch search =
+                    ContractionHierarchySearch.backward(hierarchy);
+                int [] vertices = new int[n];
+                double [] distances = new double[n];
+                for (int j = from; j < to; j++) {
+                    int count = 0;
+                    search.start(t[j]);
+                    while (!search.heap.isEmpty()) {
+                        double d = search.heap.minKey();
+                        int v = search.heap.removeMin();
+                        if (search.expand(v, d)) {
+                            vertices[count] = v;
+                            distances[count++] = d;
+                        }
+                    }
+                    settled[j] = Arrays.copyOf(vertices, count);
+                    settledDistances[j] = Arrays.copyOf(distances, count);
+                }
+            });
+
+        // collect the buckets of all vertices, ordered by target
+        int [] bucketStart = new int[n + 1];
+        for (int [] vertices : settled) {
+            for (int v : vertices) {
+                bucketStart[v + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            bucketStart[v + 1] += bucketStart[v];
+        }
+        int [] bucketTarget = new int[bucketStart[n]];
+        double [] bucketDistance = new double[bucketStart[n]];
+        int [] fill = Arrays.copyOf(bucketStart, n);
+        for (int j = 0; j < t.length; j++) {
+            int [] vertices = settled[j];
+            double [] distances = settledDistances[j];
+            for (int i = 0; i < vertices.length; i++) {
+                int p = fill[vertices[i]]++;
+                bucketTarget[p] = j;
+                bucketDistance[p] = distances[i];
+            }
+            settled[j] = null;
+            settledDistances[j] = null;
+        }
+
+        double [][] table = new double[s.length][];
+        forEachChunk(
+            s.length,
+            (from, to) -> {
+                ContractionHierarchySearch search =
+                    ContractionHierarchySearch.forward(hierarchy);
+                for (int i = from; i < to; i++) {
+                    double [] row = new double[t.length];
+                    Arrays.fill(row, Double.POSITIVE_INFINITY);
+                    search.start(s[i]);
+                    while (!search.heap.isEmpty()) {
+                        double d = search.heap.minKey();
+                        int v = search.heap.removeMin();
+                        if (!search.expand(v, d)) {
+                            continue;
+                        }
+                        int end = bucketStart[v + 1];
+                        for (int p = bucketStart[v]; p < end; p++) {
+                            double length = d + bucketDistance[p];
+                            if (length < row[bucketTarget[p]]) {
+                                row[bucketTarget[p]] = length;
+                            }
+                        }
+                    }
+                    table[i] = row;
+                }
+            });
+        return table;
+    }
+
+    private int [] indicesOf(List<? extends V> vertices)
+    {
+        int [] indices = new int[vertices.size()];
+        int i = 0;
+        for (V v : vertices) {
+            indices[i++] = hierarchy.indexOf(v);
+        }
+        return indices;
+    }
+
+    /**
+     * Runs the action on chunks of the range from zero to the count, in
+     * parallel if a pool is given.
+     */
+    private void forEachChunk(int count, RangeAction action)
+    {
+        int nTasks =
+            (pool == null) ? 1
+            : Math.min(
+                pool.getParallelism() * 4,
+                (count + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (nTasks <= 1) {
+            action.run(0, count);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(nTasks);
+        for (int k = 0; k < nTasks; k++) {
+            int from = (int) (((long) count * k) / nTasks);
+            int to = (int) (((long) count * (k + 1)) / nTasks);
+            tasks.add(ForkJoinTask.adapt(() -> action.run(from, to)));
+        }
+        pool.invoke(
+            new RecursiveAction() {
+                private static final long serialVersionUID =
+                    -4302775926185380264L;
+
+                @Override protected void compute()
+                {
+                    invokeAll(tasks);
+                }
+            });
+    }
+
+    /**
+     * An action on a range of indices.
+     */
+    private interface RangeAction
+    {
+        void run(int from, int to);
+    }
+}
+
+// End ContractionHierarchyManyToManyShortestPaths.java
@@ -0,0 +1,183 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------
+ * ContractionHierarchySearch.java
+ * -------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.util.*;
+
+
+/**
+ * One direction of a search in a {@link ContractionHierarchy}, which only
+ * follows arcs leading to vertices of higher rank: a forward search along the
+ * arcs of the hierarchy or a backward search against them. A vertex is not
+ * expanded if it is reached on a shorter path from a higher vertex
+ * (stall-on-demand). The arrays are allocated once and only the entries
+ * touched by the previous search are cleared when a new one starts.
+ *
+ * @see ContractionHierarchyShortestPath
+ * @see ContractionHierarchyManyToManyShortestPaths
+ */
+final class ContractionHierarchySearch
+{
+    private final int [] start;
+    private final int [] head;
+    private final int [] arcOf;
+    private final double [] weight;
+
+    /* the arcs of the opposite direction, used for stalling */
+    private final int [] stallStart;
+    private final int [] stallHead;
+    private final double [] stallWeight;
+
+    final double [] distances;
+    final int [] predecessors;
+    final int [] arcs;
+    final IndexedDaryHeap heap;
+    private final int [] touched;
+    private int touchedCount;
+
+    private ContractionHierarchySearch(
+        int n,
+        int [] start,
+        int [] head,
+        int [] arcOf,
+        double [] weight,
+        int [] stallStart,
+        int [] stallHead,
+        double [] stallWeight)
+    {
+        this.start = start;
+        this.head = head;
+        this.arcOf = arcOf;
+        this.weight = weight;
+        this.stallStart = stallStart;
+        this.stallHead = stallHead;
+        this.stallWeight = stallWeight;
+        this.distances = new double[n];
+        this.predecessors = new int[n];
+        this.arcs = new int[n];
+        this.heap = new IndexedDaryHeap(n);
+        this.touched = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Creates a search along the arcs of the hierarchy.
+     */
+    static ContractionHierarchySearch forward(
+        ContractionHierarchy<?, ?> hierarchy)
+    {
+        return new ContractionHierarchySearch(
+            hierarchy.getGraph().vertexCount(),
+            hierarchy.upStart,
+            hierarchy.upHead,
+            hierarchy.upArc,
+            hierarchy.upWeight,
+            hierarchy.downStart,
+            hierarchy.downHead,
+            hierarchy.downWeight);
+    }
+
+    /**
+     * Creates a search against the arcs of the hierarchy.
+     */
+    static ContractionHierarchySearch backward(
+        ContractionHierarchy<?, ?> hierarchy)
+    {
+        return new ContractionHierarchySearch(
+            hierarchy.getGraph().vertexCount(),
+            hierarchy.downStart,
+            hierarchy.downHead,
+            hierarchy.downArc,
+            hierarchy.downWeight,
+            hierarchy.upStart,
+            hierarchy.upHead,
+            hierarchy.upWeight);
+    }
+
+    void start(int v)
+    {
+        for (int i = 0; i < touchedCount; i++) {
+            distances[touched[i]] = Double.POSITIVE_INFINITY;
+        }
+        touchedCount = 0;
+        heap.clear();
+        touched[touchedCount++] = v;
+        distances[v] = 0.0;
+        predecessors[v] = -1;
+        arcs[v] = -1;
+        heap.insert(v, 0.0);
+    }
+
+    double minDistance()
+    {
+        return heap.isEmpty() ? Double.POSITIVE_INFINITY : heap.minKey();
+    }
+
+    /**
+     * Relaxes the arcs of a settled vertex, unless it is stalled.
+     *
+     * @return false if the vertex is stalled
+     */
+    boolean expand(int v, double d)
+    {
+        for (int p = stallStart[v]; p < stallStart[v + 1]; p++) {
+            if (distances[stallHead[p]] + stallWeight[p] < d) {
+                return false;
+            }
+        }
+        for (int p = start[v]; p < start[v + 1]; p++) {
+            int w = head[p];
+            double dw = d + weight[p];
+            if (dw < distances[w]) {
+                if (distances[w] == Double.POSITIVE_INFINITY) {
+                    touched[touchedCount++] = w;
+                    heap.insert(w, dw);
+                } else {
+                    heap.decreaseKey(w, dw);
+                }
+                distances[w] = dw;
+                predecessors[w] = v;
+                arcs[w] = arcOf[p];
+            }
+        }
+        return true;
+    }
+}
+
+// End ContractionHierarchySearch.java
@@ -0,0 +1,240 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------------
+ * ContractionHierarchyShortestPath.java
+ * -------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+/**
+ * Answers point-to-point shortest path queries with a {@link
+ * ContractionHierarchy}. The query is a bidirectional Dijkstra search, where
+ * both searches only follow arcs leading to vertices of higher rank: the
+ * forward search from the source along the arcs of the hierarchy and the
+ * backward search from the target against them. Every shortest path has a
+ * counterpart in the hierarchy which first ascends and then descends, so the
+ * searches meet at its highest vertex. A vertex is not expanded if it is
+ * reached on a shorter path from a higher vertex (stall-on-demand), since it
+ * cannot be part of a shortest path then.
+ *
+ * <p>The shortcuts on the found path are unpacked into the edges of the graph
+ * they represent, so the returned paths are paths of the {@link
+ * ContractionHierarchy#getGraph() graph} of the hierarchy, and are shortest
+ * paths of the same weight as the ones found by {@link
+ * BidirectionalDijkstraShortestPath}.</p>
+ *
+ * <p>An instance allocates its arrays once and only clears the entries
+ * touched by the previous query, so a query costs time proportional to the
+ * explored part of the hierarchy. An instance is not thread-safe, but any
+ * number of instances may share the same hierarchy.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see ContractionHierarchy
+ */
+public class ContractionHierarchyShortestPath<V, E>
+{
+    private final ContractionHierarchy<V, E> hierarchy;
+
+    private final ContractionHierarchySearch forward;
+    private final ContractionHierarchySearch backward;
+
+    private int source = -1;
+    private int target;
+    private int meeting;
+    private double best;
+    private int settledCount;
+
+    /**
+     * Creates a new query instance.
+     *
+     * @param hierarchy the contraction hierarchy to search
+     */
+    public ContractionHierarchyShortestPath(
+        ContractionHierarchy<V, E> hierarchy)
+    {
+        this.hierarchy = hierarchy;
+        this.forward = ContractionHierarchySearch.forward(hierarchy);
+        this.backward = ContractionHierarchySearch.backward(hierarchy);
+    }
+
+    /**
+     * @return the hierarchy searched by this instance
+     */
+    public ContractionHierarchy<V, E> getHierarchy()
+    {
+        return hierarchy;
+    }
+
+    /**
+     * Returns the weighted length of a shortest path between the given
+     * vertices.
+     *
+     * @param sourceVertex the source vertex
+     * @param targetVertex the target vertex
+     *
+     * @return the length of the path, or Double.POSITIVE_INFINITY if there is
+     * no path
+     *
+     * @throws IllegalArgumentException if a vertex is not contained in the
+     * graph
+     */
+    public double getPathLength(V sourceVertex, V targetVertex)
+    {
+        search(sourceVertex, targetVertex);
+        return best;
+    }
+
+    /**
+     * Returns a shortest path between the given vertices.
+     *
+     * @param sourceVertex the source vertex
+     * @param targetVertex the target vertex
+     *
+     * @return the path, or <code>null</code> if there is no path
+     *
+     * @throws IllegalArgumentException if a vertex is not contained in the
+     * graph
+     */
+    public GraphPath<V, E> getPath(V sourceVertex, V targetVertex)
+    {
+        search(sourceVertex, targetVertex);
+        if (meeting < 0) {
+            return null;
+        }
+
+        // the arcs from the source up to the meeting vertex and down again
+        List<Integer> arcs = new ArrayList<>();
+        for (int v = meeting; v != source; v = forward.predecessors[v]) {
+            arcs.add(forward.arcs[v]);
+        }
+        Collections.reverse(arcs);
+        for (int v = meeting; v != target; v = backward.predecessors[v]) {
+            arcs.add(backward.arcs[v]);
+        }
+
+        CsrGraph<V, E> g = hierarchy.getGraph();
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        vertexList.add(sourceVertex);
+        int [] current = { source };
+        for (int arc : arcs) {
+            hierarchy.unpack(
+                arc,
+                e -> {
+                    edgeList.add(g.getEdgeAt(e));
+                    current[0] = g.getOppositeVertexAt(e, current[0]);
+                    vertexList.add(g.getVertexAt(current[0]));
+                });
+        }
+        return new GraphWalk<>(
+            g,
+            sourceVertex,
+            targetVertex,
+            vertexList,
+            edgeList,
+            best);
+    }
+
+    /**
+     * Returns the number of vertices settled by the last query, in both
+     * directions.
+     *
+     * @return the number of settled vertices
+     */
+    public int getNumberOfSettledVertices()
+    {
+        return settledCount;
+    }
+
+    private void search(V sourceVertex, V targetVertex)
+    {
+        int s = hierarchy.indexOf(sourceVertex);
+        int t = hierarchy.indexOf(targetVertex);
+        if ((s == source) && (t == target)) {
+            return;
+        }
+        source = s;
+        target = t;
+        best = Double.POSITIVE_INFINITY;
+        meeting = -1;
+        settledCount = 0;
+        forward.start(s);
+        backward.start(t);
+
+        boolean forwardTurn = true;
+        for (;;) {
+            double forwardMin = forward.minDistance();
+            double backwardMin = backward.minDistance();
+            if (Math.min(forwardMin, backwardMin) >= best) {
+                break;
+            }
+            if (forwardMin >= best) {
+                forwardTurn = false;
+            } else if (backwardMin >= best) {
+                forwardTurn = true;
+            }
+            if (forwardTurn) {
+                settle(forward, backward);
+            } else {
+                settle(backward, forward);
+            }
+            forwardTurn = !forwardTurn;
+        }
+    }
+
+    private void settle(
+        ContractionHierarchySearch search,
+        ContractionHierarchySearch other)
+    {
+        double d = search.heap.minKey();
+        int v = search.heap.removeMin();
+        settledCount++;
+
+        double length = d + other.distances[v];
+        if (length < best) {
+            best = length;
+            meeting = v;
+        }
+        search.expand(v, d);
+    }
+}
+
+// End ContractionHierarchyShortestPath.java
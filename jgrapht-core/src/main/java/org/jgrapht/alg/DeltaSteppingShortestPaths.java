@@ -0,0 +1,664 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------
+ * DeltaSteppingShortestPaths.java
+ * -------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+
+
+/**
+ * The delta-stepping single source shortest path algorithm by Meyer and
+ * Sanders, which relaxes many edges in parallel. The vertices are kept in
+ * buckets of width delta by their tentative distance. The buckets are emptied
+ * in increasing order: the light edges, not heavier than delta, leaving the
+ * vertices of the current bucket are relaxed in parallel, which may refill
+ * the bucket, until it stays empty. Then the heavy edges leaving all vertices
+ * removed from the bucket are relaxed in parallel, once. The distances are
+ * kept in an atomic array and lowered by compare-and-set operations.
+ *
+ * <p>A small delta makes the algorithm behave like Dijkstra's algorithm, with
+ * little parallelism; a large delta makes it behave like the Bellman-Ford
+ * algorithm, with much redundant work. The default delta is the maximum edge
+ * weight divided by the average degree of the graph.</p>
+ *
+ * <p>The algorithm computes the same distances as {@link
+ * ClosestFirstIterator}. Once the distances are known, the edge of the
+ * shortest path tree of every vertex is chosen in parallel among the edges on
+ * a shortest path ending at the vertex, which are the edges returned by
+ * {@link ClosestFirstIterator#getSpanningTreeEdge(Object)} if the shortest
+ * paths are unique. Otherwise the edge with the smallest index is chosen, so
+ * the tree does not depend on the scheduling of the threads.</p>
+ *
+ * <p>The graph is searched as a {@link CsrGraph}, see {@link
+ * Graphs#freeze(Graph)}. Edge weights must be non-negative. An instance is
+ * not thread-safe, but may be reused for searches from different
+ * sources.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see IndexedDijkstraShortestPaths
+ */
+public class DeltaSteppingShortestPaths<V, E>
+{
+    /* frontiers smaller than this are relaxed by the calling thread */
+    private static final int MIN_CHUNK_SIZE = 256;
+
+    private static final int MAX_BUCKET_COUNT = 1 << 16;
+
+    private final CsrGraph<V, E> graph;
+    private final double delta;
+    private final ForkJoinPool pool;
+
+    /* the raw bits of the non-negative distances, which order like them */
+    private final AtomicLongArray distances;
+    private final int [] predecessors;
+
+    private final IntList [] buckets;
+    private final long [] bucketOf;
+    private final long [] removedFrom;
+    private final IntList improved = new IntList();
+    private int source = -1;
+
+    /**
+     * Creates a new instance with the default delta.
+     *
+     * @param graph the graph
+     * @param pool the pool relaxing the edges, or <code>null</code> to relax
+     * them sequentially
+     *
+     * @throws IllegalArgumentException if the graph has a negative edge weight
+     */
+    public DeltaSteppingShortestPaths(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this(Graphs.freeze(graph), Double.NaN, pool);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param graph the graph
+     * @param delta the width of the buckets
+     * @param pool the pool relaxing the edges, or <code>null</code> to relax
+     * them sequentially
+     *
+     * @throws IllegalArgumentException if delta is not positive or if the
+     * graph has a negative edge weight
+     */
+    public DeltaSteppingShortestPaths(
+        Graph<V, E> graph,
+        double delta,
+        ForkJoinPool pool)
+    {
+        this(Graphs.freeze(graph), checkDelta(delta), pool);
+    }
+
+    private DeltaSteppingShortestPaths(
+        CsrGraph<V, E> graph,
+        double delta,
+        ForkJoinPool pool)
+    {
+        this.graph = graph;
+        this.pool = pool;
+
+        int n = graph.vertexCount();
+        int m = graph.edgeCount();
+        double maxWeight = 0.0;
+        for (int e = 0; e < m; e++) {
+            double w = graph.getEdgeWeightAt(e);
+            if (w < 0.0) {
+                throw new IllegalArgumentException(
+                    "negative edge weights not allowed");
+            }
+            maxWeight = Math.max(maxWeight, w);
+        }
+        if (Double.isNaN(delta)) {
+            double degree =
+                (graph instanceof DirectedGraph<?, ?>) ? m : (2.0 * m);
+            delta = (maxWeight > 0.0) ? (maxWeight / Math.max(1.0, degree / n))
+                : 1.0;
+        }
+        this.delta = delta;
+
+        // the non-empty buckets usually span no more than the heaviest edge,
+        // later buckets share the slots of the earlier ones
+        int bucketCount =
+            (int) Math.min((maxWeight / delta) + 2.0, MAX_BUCKET_COUNT);
+        this.buckets = new IntList[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new IntList();
+        }
+
+        this.distances = new AtomicLongArray(n);
+        this.predecessors = new int[n];
+        this.bucketOf = new long[n];
+        this.removedFrom = new long[n];
+    }
+
+    private static double checkDelta(double delta)
+    {
+        if (!(delta > 0.0)) {
+            throw new IllegalArgumentException("delta must be positive");
+        }
+        return delta;
+    }
+
+    /**
+     * Returns the graph searched by this instance.
+     *
+     * @return the searched graph
+     */
+    public CsrGraph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Returns the width of the buckets.
+     *
+     * @return delta
+     */
+    public double getDelta()
+    {
+        return delta;
+    }
+
+    /**
+     * Computes the shortest paths from the given vertex to all vertices. The
+     * results of the previous search are discarded.
+     *
+     * @param source the source vertex
+     *
+     * @throws IllegalArgumentException if the vertex is not contained in the
+     * graph
+     */
+    public void compute(V source)
+    {
+        computeAt(indexOf(source));
+    }
+
+    /**
+     * Computes the shortest paths from the vertex with the given index to all
+     * vertices.
+     *
+     * @param source the index of the source vertex
+     */
+    public void computeAt(int source)
+    {
+        int n = graph.vertexCount();
+        long infinity = Double.doubleToRawLongBits(Double.POSITIVE_INFINITY);
+        for (int v = 0; v < n; v++) {
+            distances.set(v, infinity);
+        }
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(bucketOf, -1L);
+        Arrays.fill(removedFrom, -1L);
+        for (IntList bucket : buckets) {
+            bucket.size = 0;
+        }
+        this.source = source;
+
+        distances.set(source, Double.doubleToRawLongBits(0.0));
+        long pending = insert(source);
+        long current = 0;
+        IntList removed = new IntList();
+        IntList frontier = new IntList();
+        while (pending > 0) {
+            // relax the light edges until the bucket stays empty
+            int slot = (int) (current % buckets.length);
+            IntList bucket = buckets[slot];
+            removed.size = 0;
+            do {
+                frontier.size = 0;
+                int kept = 0;
+                for (int i = 0; i < bucket.size; i++) {
+                    int v = bucket.elements[i];
+                    long b = bucketOf[v];
+                    if (b == current) {
+                        bucketOf[v] = -1L;
+                        frontier.add(v);
+                        if (removedFrom[v] != current) {
+                            removedFrom[v] = current;
+                            removed.add(v);
+                        }
+                    } else if ((b > current)
+                        && ((b % buckets.length) == slot))
+                    {
+                        // an entry of a later bucket sharing the slot
+                        bucket.elements[kept++] = v;
+                        continue;
+                    }
+                    pending--;
+                }
+                bucket.size = kept;
+                pending += relax(frontier, true);
+            } while (frontier.size > 0);
+
+            // the distances of the removed vertices are final now
+            pending += relax(removed, false);
+            current++;
+        }
+
+        computePredecessors();
+    }
+
+    /**
+     * Returns the source vertex of the last search.
+     *
+     * @return the source vertex or <code>null</code> if no search has been
+     * run
+     */
+    public V getSource()
+    {
+        return (source < 0) ? null : graph.getVertexAt(source);
+    }
+
+    /**
+     * Returns the weighted length of the shortest path between the source of
+     * the last search and the given vertex.
+     *
+     * @param vertex the vertex
+     *
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex is not
+     * reachable
+     */
+    public double getDistance(V vertex)
+    {
+        return getDistanceAt(indexOf(vertex));
+    }
+
+    /**
+     * Returns the weighted length of the shortest path between the source of
+     * the last search and the vertex with the given index.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex is not
+     * reachable
+     */
+    public double getDistanceAt(int vertex)
+    {
+        return distance(vertex);
+    }
+
+    /**
+     * Returns the last edge of the shortest path to the given vertex.
+     *
+     * @param vertex the vertex
+     *
+     * @return the edge, or <code>null</code> if the vertex is the source or is
+     * not reachable
+     */
+    public E getSpanningTreeEdge(V vertex)
+    {
+        int e = predecessors[indexOf(vertex)];
+        return (e < 0) ? null : graph.getEdgeAt(e);
+    }
+
+    /**
+     * Returns the index of the last edge of the shortest path to the vertex
+     * with the given index.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the edge index, or -1 if the vertex is the source or is not
+     * reachable
+     */
+    public int getPredecessorEdgeAt(int vertex)
+    {
+        return predecessors[vertex];
+    }
+
+    /**
+     * Returns the shortest path from the source of the last search to the
+     * given vertex.
+     *
+     * @param vertex the end vertex of the path
+     *
+     * @return the path, or <code>null</code> if no path exists
+     *
+     * @throws IllegalStateException if no search has been run
+     */
+    public GraphPath<V, E> getPath(V vertex)
+    {
+        if (source < 0) {
+            throw new IllegalStateException("no search has been run");
+        }
+        int v = indexOf(vertex);
+        double weight = distance(v);
+        if (weight == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        vertexList.add(vertex);
+        for (int e = predecessors[v]; e >= 0; e = predecessors[v]) {
+            edgeList.add(graph.getEdgeAt(e));
+            v = graph.getOppositeVertexAt(e, v);
+            vertexList.add(graph.getVertexAt(v));
+        }
+        Collections.reverse(edgeList);
+        Collections.reverse(vertexList);
+        return new GraphWalk<>(
+            graph,
+            graph.getVertexAt(source),
+            vertex,
+            vertexList,
+            edgeList,
+            weight);
+    }
+
+    /**
+     * Relaxes the light or the heavy edges leaving the given vertices, and
+     * inserts the vertices whose distance decreased into their buckets.
+     *
+     * @return the number of inserted vertices
+     */
+    private long relax(IntList vertices, boolean light)
+    {
+        int count = vertices.size;
+        int nTasks =
+            (pool == null) ? 1
+            : Math.min(
+                pool.getParallelism() * 4,
+                (count + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (nTasks <= 1) {
+            improved.size = 0;
+            relax(vertices, 0, count, light, improved);
+            return insertAll(improved);
+        }
+
+        IntList [] lists = new IntList[nTasks];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(nTasks);
+        for (int t = 0; t < nTasks; t++) {
+            int from = (int) (((long) count * t) / nTasks);
+            int to = (int) (((long) count * (t + 1)) / nTasks);
+            IntList list = new IntList();
+            lists[t] = list;
+            tasks.add(
+                ForkJoinTask.adapt(
+                    () -> relax(vertices, from, to, light, list)));
+        }
+        invoke(tasks);
+
+        long inserted = 0;
+        for (IntList list : lists) {
+            inserted += insertAll(list);
+        }
+        return inserted;
+    }
+
+    private void relax(
+        IntList vertices,
+        int from,
+        int to,
+        boolean light,
+        IntList improved)
+    {
+        CsrGraph<V, E> g = graph;
+        for (int i = from; i < to; i++) {
+            int v = vertices.elements[i];
+            double d = distance(v);
+            for (int p = g.outgoingStart(v); p < g.outgoingEnd(v); p++) {
+                int e = g.outgoingEdge(p);
+                double w = g.getEdgeWeightAt(e);
+                if ((w <= delta) != light) {
+                    continue;
+                }
+                int x = g.getOppositeVertexAt(e, v);
+                long bits = Double.doubleToRawLongBits(d + w);
+                for (;;) {
+                    long current = distances.get(x);
+                    if (bits >= current) {
+                        break;
+                    }
+                    if (distances.compareAndSet(x, current, bits)) {
+                        improved.add(x);
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private long insertAll(IntList vertices)
+    {
+        long inserted = 0;
+        for (int i = 0; i < vertices.size; i++) {
+            inserted += insert(vertices.elements[i]);
+        }
+        return inserted;
+    }
+
+    /**
+     * Inserts the vertex into the bucket of its distance, unless it is
+     * already contained. The entries of the vertex in other buckets become
+     * stale and are skipped.
+     */
+    private int insert(int v)
+    {
+        long b = (long) (distance(v) / delta);
+        if (bucketOf[v] == b) {
+            return 0;
+        }
+        bucketOf[v] = b;
+        buckets[(int) (b % buckets.length)].add(v);
+        return 1;
+    }
+
+    /**
+     * Chooses the edge of every vertex in the shortest path tree. An edge
+     * from a vertex of smaller distance can be chosen independently of the
+     * other vertices. The remaining vertices are reached on shortest paths
+     * whose last edges are (numerically) of weight zero, they are linked by a
+     * search from the vertices which have an edge already, so that the tree
+     * has no cycles.
+     */
+    private void computePredecessors()
+    {
+        int n = graph.vertexCount();
+        forEachRange(n, (from, to) -> {
+            for (int v = from; v < to; v++) {
+                predecessors[v] = lowerPredecessor(v);
+            }
+        });
+
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int v = 0; v < n; v++) {
+            if (isUnlinked(v)) {
+                int e = equalPredecessor(v);
+                if (e >= 0) {
+                    predecessors[v] = e;
+                    queue.add(v);
+                }
+            }
+        }
+        CsrGraph<V, E> g = graph;
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            double d = distance(v);
+            for (int p = g.outgoingStart(v); p < g.outgoingEnd(v); p++) {
+                int e = g.outgoingEdge(p);
+                int x = g.getOppositeVertexAt(e, v);
+                if (isUnlinked(x)
+                    && (distance(x) == d)
+                    && ((d + g.getEdgeWeightAt(e)) == d))
+                {
+                    predecessors[x] = e;
+                    queue.add(x);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the edge with the smallest index on a shortest path to the
+     * vertex from a vertex of smaller distance, or -1.
+     */
+    private int lowerPredecessor(int v)
+    {
+        CsrGraph<V, E> g = graph;
+        double d = distance(v);
+        int best = -1;
+        if ((v == source) || (d == Double.POSITIVE_INFINITY)) {
+            return best;
+        }
+        for (int p = g.incomingStart(v); p < g.incomingEnd(v); p++) {
+            int e = g.incomingEdge(p);
+            double du = distance(g.getOppositeVertexAt(e, v));
+            if ((du < d)
+                && ((du + g.getEdgeWeightAt(e)) == d)
+                && ((best < 0) || (e < best)))
+            {
+                best = e;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the edge with the smallest index on a shortest path to the
+     * vertex from a linked vertex of equal distance, or -1.
+     */
+    private int equalPredecessor(int v)
+    {
+        CsrGraph<V, E> g = graph;
+        double d = distance(v);
+        int best = -1;
+        for (int p = g.incomingStart(v); p < g.incomingEnd(v); p++) {
+            int e = g.incomingEdge(p);
+            int u = g.getOppositeVertexAt(e, v);
+            if ((u != v)
+                && !isUnlinked(u)
+                && (distance(u) == d)
+                && ((d + g.getEdgeWeightAt(e)) == d)
+                && ((best < 0) || (e < best)))
+            {
+                best = e;
+            }
+        }
+        return best;
+    }
+
+    private boolean isUnlinked(int v)
+    {
+        return (predecessors[v] < 0) && (v != source)
+            && (distance(v) != Double.POSITIVE_INFINITY);
+    }
+
+    private double distance(int v)
+    {
+        return Double.longBitsToDouble(distances.get(v));
+    }
+
+    private void forEachRange(int count, RangeAction action)
+    {
+        int nTasks =
+            (pool == null) ? 1
+            : Math.min(
+                pool.getParallelism() * 4,
+                (count + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE);
+        if (nTasks <= 1) {
+            action.run(0, count);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(nTasks);
+        for (int t = 0; t < nTasks; t++) {
+            int from = (int) (((long) count * t) / nTasks);
+            int to = (int) (((long) count * (t + 1)) / nTasks);
+            tasks.add(ForkJoinTask.adapt(() -> action.run(from, to)));
+        }
+        invoke(tasks);
+    }
+
+    private void invoke(List<ForkJoinTask<?>> tasks)
+    {
+        pool.invoke(
+            new RecursiveAction() {
+                private static final long serialVersionUID =
+                    8236519746302185411L;
+
+                @Override protected void compute()
+                {
+                    invokeAll(tasks);
+                }
+            });
+    }
+
+    private int indexOf(V vertex)
+    {
+        int v = graph.indexOfVertex(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException(
+                "graph must contain the vertex: " + vertex);
+        }
+        return v;
+    }
+
+    /**
+     * An action on a range of indices.
+     */
+    private interface RangeAction
+    {
+        void run(int from, int to);
+    }
+
+    /**
+     * A growable list of ints.
+     */
+    private static final class IntList
+    {
+        int [] elements = new int[16];
+        int size;
+
+        void add(int element)
+        {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size * 2);
+            }
+            elements[size++] = element;
+        }
+    }
+}
+
+// End DeltaSteppingShortestPaths.java
@@ -43,6 +43,7 @@ import java.util.*;
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
 import org.jgrapht.traverse.*;
+import org.jgrapht.util.*;
 
 
 /**
@@ -89,6 +90,34 @@ public final class DijkstraShortestPath<V, E>
         V startVertex,
         V endVertex,
         double radius)
+    {
+        this(
+            graph,
+            startVertex,
+            endVertex,
+            radius,
+            AddressableHeapFactory.FIBONACCI_HEAP);
+    }
+
+    /**
+     * Creates and executes a new DijkstraShortestPath algorithm instance,
+     * which keeps the vertices to be visited in a heap created by the given
+     * factory. Every heap finds a shortest path, but if there are several of
+     * them, the heaps may find different ones.
+     *
+     * @param graph the graph to be searched
+     * @param startVertex the vertex at which the path should start
+     * @param endVertex the vertex at which the path should end
+     * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY
+     * for unbounded search
+     * @param heapFactory the factory of the priority queue
+     */
+    public DijkstraShortestPath(
+        Graph<V, E> graph,
+        V startVertex,
+        V endVertex,
+        double radius,
+        AddressableHeapFactory heapFactory)
     {
         if (!graph.containsVertex(endVertex)) {
             throw new IllegalArgumentException(
@@ -96,7 +125,7 @@ public final class DijkstraShortestPath<V, E>
         }
 
         ClosestFirstIterator<V, E> iter =
-                new ClosestFirstIterator<>(graph, startVertex, radius);
+            new ClosestFirstIterator<>(graph, startVertex, radius, heapFactory);
 
         while (iter.hasNext()) {
             V vertex = iter.next();
@@ -39,6 +39,7 @@
 package org.jgrapht.alg;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
@@ -55,6 +56,16 @@ import org.jgrapht.graph.*;
  * probably doesn't work) on multi-graphs. Code should be updated to work
  * properly on multi-graphs.
  *
+ * <p>The distance and path matrices are stored as flat arrays in row-major
+ * order, thus the graph may have at most 46340 vertices. For large graphs, a
+ * blocked variant of the algorithm can be chosen. It updates the matrix in
+ * square tiles which fit into the processor cache, and processes the
+ * independent tiles of each phase in parallel on a {@link ForkJoinPool}. If
+ * only the distances are needed, the path matrix can be omitted, which halves
+ * the memory footprint and saves its updates. The blocked variant computes the
+ * same distances, but where several shortest paths exist it may find another
+ * one than the plain algorithm.</p>
+ *
  * @author Tom Larkworthy
  * @author Soren Davidsen (soren@tanesha.net)
  * @author Joris Kinable
@@ -65,15 +76,51 @@ public class FloydWarshallShortestPaths<V, E>
     private final List<V> vertices;
     private final Map<V, Integer> vertexIndices;
 
+    /* the side length of the tiles of the blocked algorithm */
+    private static final int BLOCK_SIZE = 64;
+
+    private final boolean blocked;
+    private final ForkJoinPool pool;
+    private final boolean storePaths;
+
     private int nShortestPaths = 0;
     private double diameter = Double.NaN;
-    private double [][] d = null;
-    private int [][] backtrace = null;
-    private int[][] lastHopMatrix=null;
+    private double [] d = null;
+    private int [] backtrace = null;
+    private int[] lastHopMatrix=null;
     private Map<V, List<GraphPath<V, E>>> paths = null;
 
     public FloydWarshallShortestPaths(Graph<V, E> graph)
     {
+        this(graph, false, null, true);
+    }
+
+    /**
+     * Creates a new instance using the blocked algorithm. Its tiles are
+     * updated in parallel if a pool is given, and sequentially otherwise.
+     *
+     * @param graph the graph on which this algorithm operates
+     * @param pool the pool running the tile updates, or <code>null</code>
+     * @param storePaths whether to store the path matrix; if not, only the
+     * distances and the diameter can be queried
+     */
+    public FloydWarshallShortestPaths(
+        Graph<V, E> graph,
+        ForkJoinPool pool,
+        boolean storePaths)
+    {
+        this(graph, true, pool, storePaths);
+    }
+
+    private FloydWarshallShortestPaths(
+        Graph<V, E> graph,
+        boolean blocked,
+        ForkJoinPool pool,
+        boolean storePaths)
+    {
+        this.blocked = blocked;
+        this.pool = pool;
+        this.storePaths = storePaths;
         this.graph = graph;
         this.vertices = new ArrayList<>(graph.vertexSet());
         this.vertexIndices = new HashMap<>(this.vertices.size());
@@ -81,6 +128,10 @@ public class FloydWarshallShortestPaths<V, E>
         for (V vertex : vertices) {
             vertexIndices.put(vertex, i++);
         }
+        if (((long) i * i) > (Integer.MAX_VALUE - 8)) {
+            throw new IllegalArgumentException(
+                "graph has too many vertices: " + i);
+        }
     }
 
     /**
@@ -91,8 +142,21 @@ public class FloydWarshallShortestPaths<V, E>
         return graph;
     }
 
+    /**
+     * Tells whether the path matrix is stored, which is required to retrieve
+     * the shortest paths and hops.
+     *
+     * @return true if the shortest paths can be retrieved, false otherwise
+     */
+    public boolean isStoringPaths()
+    {
+        return storePaths;
+    }
+
     /**
      * @return total number of shortest paths
+     *
+     * @throws UnsupportedOperationException if the path matrix is not stored
      */
     public int getShortestPathsCount()
     {
@@ -114,20 +178,18 @@ public class FloydWarshallShortestPaths<V, E>
         int n = vertices.size();
 
         // init the backtrace matrix
-        backtrace = new int[n][n];
-        for (int i = 0; i < n; i++) {
-            Arrays.fill(backtrace[i], -1);
+        if (storePaths) {
+            backtrace = new int[n * n];
+            Arrays.fill(backtrace, -1);
         }
 
         // initialize matrix, 0
-        d = new double[n][n];
-        for (int i = 0; i < n; i++) {
-            Arrays.fill(d[i], Double.POSITIVE_INFINITY);
-        }
+        d = new double[n * n];
+        Arrays.fill(d, Double.POSITIVE_INFINITY);
 
         // initialize matrix, 1
         for (int i = 0; i < n; i++) {
-            d[i][i] = 0.0;
+            d[(i * n) + i] = 0.0;
         }
 
         // initialize matrix, 2
@@ -135,9 +197,12 @@ public class FloydWarshallShortestPaths<V, E>
             for (E edge : graph.edgeSet()) {
                 int v_1 = vertexIndices.get(graph.getEdgeSource(edge));
                 int v_2 = vertexIndices.get(graph.getEdgeTarget(edge));
-                d[v_1][v_2] = d[v_2][v_1] = graph.getEdgeWeight(edge);
-                backtrace[v_1][v_2] = v_2;
-                backtrace[v_2][v_1] = v_1;
+                d[(v_1 * n) + v_2] = d[(v_2 * n) + v_1] =
+                    graph.getEdgeWeight(edge);
+                if (storePaths) {
+                    backtrace[(v_1 * n) + v_2] = v_2;
+                    backtrace[(v_2 * n) + v_1] = v_1;
+                }
             }
         } else { //This works for both Directed and Mixed graphs! Iterating over
                  //the arcs and querying source/sink does not suffice for graphs
@@ -147,22 +212,122 @@ public class FloydWarshallShortestPaths<V, E>
                 int v_1 = vertexIndices.get(v1);
                 for (V v2 : Graphs.successorListOf(directedGraph, v1)) {
                     int v_2 = vertexIndices.get(v2);
-                    d[v_1][v_2] =
+                    d[(v_1 * n) + v_2] =
                         directedGraph.getEdgeWeight(
                             directedGraph.getEdge(v1, v2));
-                    backtrace[v_1][v_2] = v_2;
+                    if (storePaths) {
+                        backtrace[(v_1 * n) + v_2] = v_2;
+                    }
                 }
             }
         }
 
         // run fw alg
-        for (int k = 0; k < n; k++) {
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    double ik_kj = d[i][k] + d[k][j];
-                    if (ik_kj < d[i][j]) {
-                        d[i][j] = ik_kj;
-                        backtrace[i][j] = backtrace[i][k];
+        if (blocked) {
+            runBlocked(n);
+        } else {
+            for (int k = 0; k < n; k++) {
+                relax(n, k, k + 1, 0, n, 0, n);
+            }
+        }
+    }
+
+    /**
+     * Runs the blocked algorithm. The matrix is divided into tiles and there
+     * is one phase per tile on the diagonal. A phase first relaxes the
+     * diagonal tile over its own vertices, then the tiles in the same row and
+     * column as the diagonal tile, and finally all other tiles. The tiles of
+     * the second and of the third step do not depend on each other.
+     */
+    private void runBlocked(int n)
+    {
+        int nBlocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        List<Runnable> tasks = new ArrayList<>(nBlocks);
+        for (int kb = 0; kb < nBlocks; kb++) {
+            final int k0 = kb * BLOCK_SIZE;
+            final int k1 = Math.min(k0 + BLOCK_SIZE, n);
+            relax(n, k0, k1, k0, k1, k0, k1);
+
+            tasks.clear();
+            for (int b = 0; b < nBlocks; b++) {
+                if (b != kb) {
+                    final int b0 = b * BLOCK_SIZE;
+                    final int b1 = Math.min(b0 + BLOCK_SIZE, n);
+                    tasks.add(() -> relax(n, k0, k1, k0, k1, b0, b1));
+                    tasks.add(() -> relax(n, k0, k1, b0, b1, k0, k1));
+                }
+            }
+            runAll(tasks);
+
+            // one task per row of tiles, which relaxes all its other tiles
+            tasks.clear();
+            for (int b = 0; b < nBlocks; b++) {
+                if (b != kb) {
+                    final int i0 = b * BLOCK_SIZE;
+                    final int i1 = Math.min(i0 + BLOCK_SIZE, n);
+                    final int skip = kb;
+                    tasks.add(() -> {
+                        for (int jb = 0; jb < nBlocks; jb++) {
+                            if (jb != skip) {
+                                int j0 = jb * BLOCK_SIZE;
+                                int j1 = Math.min(j0 + BLOCK_SIZE, n);
+                                relax(n, k0, k1, i0, i1, j0, j1);
+                            }
+                        }
+                    });
+                }
+            }
+            runAll(tasks);
+        }
+    }
+
+    private void runAll(List<Runnable> tasks)
+    {
+        if (pool == null) {
+            for (Runnable task : tasks) {
+                task.run();
+            }
+            return;
+        }
+        List<ForkJoinTask<?>> forkJoinTasks = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            forkJoinTasks.add(ForkJoinTask.adapt(task));
+        }
+        pool.invoke(
+            new RecursiveAction() {
+                private static final long serialVersionUID =
+                    -3208915466378720211L;
+
+                @Override protected void compute()
+                {
+                    invokeAll(forkJoinTasks);
+                }
+            });
+    }
+
+    /**
+     * Relaxes the paths from the rows [i0, i1) to the columns [j0, j1) over
+     * the intermediate vertices [k0, k1).
+     */
+    private void relax(int n, int k0, int k1, int i0, int i1, int j0, int j1)
+    {
+        double [] d = this.d;
+        int [] backtrace = this.backtrace;
+        for (int k = k0; k < k1; k++) {
+            int kRow = k * n;
+            for (int i = i0; i < i1; i++) {
+                int iRow = i * n;
+                double ik = d[iRow + k];
+                if (ik == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int j = j0; j < j1; j++) {
+                    double ik_kj = ik + d[kRow + j];
+                    if (ik_kj < d[iRow + j]) {
+                        d[iRow + j] = ik_kj;
+                        if (backtrace != null) {
+                            backtrace[iRow + j] = backtrace[iRow + k];
+                        }
                     }
                 }
             }
@@ -181,7 +346,8 @@ public class FloydWarshallShortestPaths<V, E>
     {
         lazyCalculateMatrix();
 
-        return d[vertexIndices.get(a)][vertexIndices.get(b)];
+        int n = vertices.size();
+        return d[(vertexIndices.get(a) * n) + vertexIndices.get(b)];
     }
 
     /**
@@ -194,12 +360,9 @@ public class FloydWarshallShortestPaths<V, E>
 
         if (Double.isNaN(diameter)) {
             diameter = 0.0;
-            int n = vertices.size();
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (!Double.isInfinite(d[i][j]) && (d[i][j] > diameter)) {
-                        diameter = d[i][j];
-                    }
+            for (double distance : d) {
+                if (!Double.isInfinite(distance) && (distance > diameter)) {
+                    diameter = distance;
                 }
             }
         }
@@ -213,15 +376,18 @@ public class FloydWarshallShortestPaths<V, E>
      * @param b To vertice
      *
      * @return the path, or null if none found
+     *
+     * @throws UnsupportedOperationException if the path matrix is not stored
      */
     public GraphPath<V, E> getShortestPath(V a, V b)
     {
-        lazyCalculateMatrix();
+        lazyCalculateBacktrace();
 
+        int n = vertices.size();
         int v_a = vertexIndices.get(a);
         int v_b = vertexIndices.get(b);
 
-        if (backtrace[v_a][v_b] == -1) { //No path exists
+        if (backtrace[(v_a * n) + v_b] == -1) { //No path exists
             return null;
         }
 
@@ -231,22 +397,29 @@ public class FloydWarshallShortestPaths<V, E>
         List<E> edges = new ArrayList<>();
         int u = v_a;
         while (u != v_b) {
-            int v = backtrace[u][v_b];
+            int v = backtrace[(u * n) + v_b];
             edges.add(graph.getEdge(vertices.get(u), vertices.get(v)));
             pathVertexList.add(vertices.get(v));
             u = v;
         }
-        return new GraphWalk<>(graph, a, b, pathVertexList, edges, d[v_a][v_b]);
+        return new GraphWalk<>(
+            graph,
+            a,
+            b,
+            pathVertexList,
+            edges,
+            d[(v_a * n) + v_b]);
     }
 
     public List<V> getShortestPathAsVertexList(V a, V b)
     {
-        lazyCalculateMatrix();
+        lazyCalculateBacktrace();
 
+        int n = vertices.size();
         int v_a = vertexIndices.get(a);
         int v_b = vertexIndices.get(b);
 
-        if (backtrace[v_a][v_b] == -1) { //No path exists
+        if (backtrace[(v_a * n) + v_b] == -1) { //No path exists
             return null;
         }
 
@@ -255,7 +428,7 @@ public class FloydWarshallShortestPaths<V, E>
         pathVertexList.add(a);
         int u = v_a;
         while (u != v_b) {
-            int v = backtrace[u][v_b];
+            int v = backtrace[(u * n) + v_b];
             pathVertexList.add(vertices.get(v));
             u = v;
         }
@@ -268,6 +441,8 @@ public class FloydWarshallShortestPaths<V, E>
      * @param v the originating vertex
      *
      * @return List of paths
+     *
+     * @throws UnsupportedOperationException if the path matrix is not stored
      */
     public List<GraphPath<V, E>> getShortestPaths(V v)
     {
@@ -279,6 +454,8 @@ public class FloydWarshallShortestPaths<V, E>
      * Get all shortest paths in the graph.
      *
      * @return List of paths
+     *
+     * @throws UnsupportedOperationException if the path matrix is not stored
      */
     public List<GraphPath<V, E>> getShortestPaths()
     {
@@ -301,15 +478,14 @@ public class FloydWarshallShortestPaths<V, E>
      * @return next hop on the shortest path from a to b, or null when there exists no path from a to b.
      */
     public V getFirstHop(V a, V b){
-        lazyCalculatePaths();
+        lazyCalculateBacktrace();
 
-        int v_a = vertexIndices.get(a);
-        int v_b = vertexIndices.get(b);
+        int v_ab = (vertexIndices.get(a) * vertices.size()) + vertexIndices.get(b);
 
-        if (backtrace[v_a][v_b] == -1) //No path exists
+        if (backtrace[v_ab] == -1) //No path exists
             return null;
         else
-            return vertices.get(backtrace[v_a][v_b]);
+            return vertices.get(backtrace[v_ab]);
     }
 
     /**
@@ -323,19 +499,31 @@ public class FloydWarshallShortestPaths<V, E>
      * @return last hop on the shortest path from a to b, or null when there exists no path from a to b.
      */
     public V getLastHop(V a, V b){
-        lazyCalculatePaths();
+        lazyCalculateBacktrace();
 
-        int v_a = vertexIndices.get(a);
-        int v_b = vertexIndices.get(b);
+        int v_ab = (vertexIndices.get(a) * vertices.size()) + vertexIndices.get(b);
 
-        if (backtrace[v_a][v_b] == -1) //No path exists
+        if (backtrace[v_ab] == -1) //No path exists
             return null;
         else {
             this.populateLastHopMatrix();
-            return vertices.get(lastHopMatrix[v_a][v_b]);
+            return vertices.get(lastHopMatrix[v_ab]);
         }
     }
 
+    /**
+     * Calculates the matrix of all shortest paths and checks that the path
+     * matrix is available.
+     */
+    private void lazyCalculateBacktrace()
+    {
+        if (!storePaths) {
+            throw new UnsupportedOperationException(
+                "paths are not stored, only distances can be queried");
+        }
+        lazyCalculateMatrix();
+    }
+
     /**
      * Populate the last hop matrix, using the earlier computed backtrace matrix.
      */
@@ -344,21 +532,21 @@ public class FloydWarshallShortestPaths<V, E>
             return;
 
         //Initialize matrix
-        lastHopMatrix=new int[vertices.size()][vertices.size()];
-        for (int i = 0; i < vertices.size(); i++)
-            Arrays.fill(lastHopMatrix[i], -1);
+        int n = vertices.size();
+        lastHopMatrix=new int[n * n];
+        Arrays.fill(lastHopMatrix, -1);
 
         //Populate matrix
-        for(int i=0; i<vertices.size(); i++){
-            for(int j=0; j<vertices.size(); j++){
-                if(i==j || lastHopMatrix[i][j] != -1 || backtrace[i][j]==-1) continue;
+        for(int i=0; i<n; i++){
+            for(int j=0; j<n; j++){
+                if(i==j || lastHopMatrix[(i * n) + j] != -1 || backtrace[(i * n) + j]==-1) continue;
 
                 //Reconstruct the path from i to j
                 List<Integer> pathIndexList = new ArrayList<>();
                 pathIndexList.add(i);
                 int u = i,v;
                 while (u != j) {
-                    v = backtrace[u][j];
+                    v = backtrace[(u * n) + j];
                     pathIndexList.add(v);
                     u = v;
                 }
@@ -366,7 +554,7 @@ public class FloydWarshallShortestPaths<V, E>
                 for(int w=0; w<pathIndexList.size()-1; w++){
                     u=pathIndexList.get(w);
                     v=pathIndexList.get(w+1);
-                    lastHopMatrix[i][v]=u;
+                    lastHopMatrix[(i * n) + v]=u;
                 }
             }
         }
@@ -386,7 +574,7 @@ public class FloydWarshallShortestPaths<V, E>
             return;
         }
 
-        lazyCalculateMatrix();
+        lazyCalculateBacktrace();
 
         paths = new LinkedHashMap<>();
         int n = vertices.size();
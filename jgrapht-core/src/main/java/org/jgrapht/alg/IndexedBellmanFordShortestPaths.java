@@ -0,0 +1,482 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ------------------------------------
+ * IndexedBellmanFordShortestPaths.java
+ * ------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+/**
+ * A queue-based variant of the Bellman-Ford algorithm for single source
+ * shortest paths with negative edge weights, working on the vertex and edge
+ * indices of a {@link CsrGraph}. Instead of passes over all edges, only the
+ * edges leaving vertices whose distance decreased are relaxed, in the order
+ * of a queue of these vertices.
+ *
+ * <p>Negative-weight cycles are detected by subtree disassembly, as proposed
+ * by Tarjan: the tentative shortest path tree is kept as a list of its
+ * vertices in preorder. When the distance of a vertex decreases, its subtree
+ * is removed from the tree, as the distances of its vertices are known to
+ * decrease as well; these vertices are not scanned until they are reached
+ * again. If the subtree contains the vertex whose edge is relaxed, the edge
+ * closes a negative-weight cycle, which is returned by {@link
+ * #getNegativeCycle()}. The cost of the disassembly is paid for by the
+ * scans it saves, and a cycle is found as soon as it exists in the tree.</p>
+ *
+ * <p>The vertices enter the queue at its tail, or at its head if their
+ * distance is smaller than the one of the head vertex (small label first),
+ * see {@link QueueDiscipline}. Improvements smaller than a tolerance relative
+ * to the distance are ignored, so that cycles of zero weight are not reported
+ * due to rounding errors.</p>
+ *
+ * <p>The graph is searched as a {@link CsrGraph}, see {@link
+ * Graphs#freeze(Graph)}. Undirected edges of negative weight form negative
+ * cycles of two edges. An instance is not thread-safe, but may be reused for
+ * searches from different sources.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see BellmanFordShortestPath
+ * @see IndexedDijkstraShortestPaths
+ */
+public class IndexedBellmanFordShortestPaths<V, E>
+{
+    private static final double DEFAULT_EPSILON = 0.000000001;
+
+    /**
+     * The orders of the queue of vertices to scan.
+     */
+    public enum QueueDiscipline
+    {
+        /**
+         * First in, first out.
+         */
+        FIFO,
+
+        /**
+         * A vertex is inserted at the head of the queue if its distance is
+         * smaller than the distance of the head vertex, at the tail
+         * otherwise.
+         */
+        SMALL_LABEL_FIRST
+    }
+
+    private final CsrGraph<V, E> graph;
+    private final QueueDiscipline discipline;
+    private final double epsilon;
+
+    private final double [] distances;
+    private final int [] predecessors;
+
+    /* the tree in preorder, as a circular list through the source */
+    private final int [] parents;
+    private final int [] depths;
+    private final int [] next;
+    private final int [] previous;
+    private final boolean [] inTree;
+
+    /* a circular queue which contains every vertex at most once */
+    private final int [] queue;
+    private final boolean [] inQueue;
+    private int head;
+    private int queueSize;
+
+    private int source = -1;
+    private GraphPath<V, E> negativeCycle;
+
+    /**
+     * Creates a new instance using the FIFO discipline.
+     *
+     * @param graph the graph
+     */
+    public IndexedBellmanFordShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, QueueDiscipline.FIFO, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Creates a new instance.
+     *
+     * @param graph the graph
+     * @param discipline the order of the queue of vertices
+     * @param epsilon the tolerance, relative to the distances
+     *
+     * @throws IllegalArgumentException if epsilon is not positive
+     */
+    public IndexedBellmanFordShortestPaths(
+        Graph<V, E> graph,
+        QueueDiscipline discipline,
+        double epsilon)
+    {
+        if (discipline == null) {
+            throw new NullPointerException("discipline is null");
+        }
+        if (!(epsilon > 0.0)) {
+            throw new IllegalArgumentException("epsilon is not positive");
+        }
+        this.graph = Graphs.freeze(graph);
+        this.discipline = discipline;
+        this.epsilon = epsilon;
+
+        int n = this.graph.vertexCount();
+        this.distances = new double[n];
+        this.predecessors = new int[n];
+        this.parents = new int[n];
+        this.depths = new int[n];
+        this.next = new int[n];
+        this.previous = new int[n];
+        this.inTree = new boolean[n];
+        this.queue = new int[n];
+        this.inQueue = new boolean[n];
+    }
+
+    /**
+     * Returns the graph searched by this instance.
+     *
+     * @return the searched graph
+     */
+    public CsrGraph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Computes the shortest paths from the given vertex to all vertices, or a
+     * negative-weight cycle reachable from it. The results of the previous
+     * search are discarded.
+     *
+     * @param source the source vertex
+     *
+     * @return <code>true</code> if the shortest paths have been computed,
+     * <code>false</code> if a negative-weight cycle has been found
+     *
+     * @throws IllegalArgumentException if the vertex is not contained in the
+     * graph
+     */
+    public boolean compute(V source)
+    {
+        return computeAt(indexOf(source));
+    }
+
+    /**
+     * Computes the shortest paths from the vertex with the given index to all
+     * vertices, or a negative-weight cycle reachable from it.
+     *
+     * @param source the index of the source vertex
+     *
+     * @return <code>true</code> if the shortest paths have been computed,
+     * <code>false</code> if a negative-weight cycle has been found
+     */
+    public boolean computeAt(int source)
+    {
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, -1);
+        Arrays.fill(parents, -1);
+        Arrays.fill(inTree, false);
+        Arrays.fill(inQueue, false);
+        head = 0;
+        queueSize = 0;
+        negativeCycle = null;
+        this.source = source;
+
+        distances[source] = 0.0;
+        depths[source] = 0;
+        next[source] = source;
+        previous[source] = source;
+        inTree[source] = true;
+        enqueue(source);
+
+        CsrGraph<V, E> g = graph;
+        while (queueSize > 0) {
+            int u = dequeue();
+            if (!inTree[u]) {
+                // removed by a disassembly, its distance will decrease again
+                continue;
+            }
+            double du = distances[u];
+            for (int p = g.outgoingStart(u); p < g.outgoingEnd(u); p++) {
+                int e = g.outgoingEdge(p);
+                int v = g.getOppositeVertexAt(e, u);
+                double dv = distances[v];
+                double candidate = du + g.getEdgeWeightAt(e);
+                if (candidate
+                    >= (dv - (epsilon * Math.max(1.0, Math.abs(dv)))))
+                {
+                    continue;
+                }
+                if ((v == u) || (inTree[v] && !disassemble(v, u))) {
+                    negativeCycle = createCycle(u, v, e);
+                    return false;
+                }
+                distances[v] = candidate;
+                predecessors[v] = e;
+                attach(v, u);
+                if (!inQueue[v]) {
+                    enqueue(v);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the source vertex of the last search.
+     *
+     * @return the source vertex or <code>null</code> if no search has been
+     * run
+     */
+    public V getSource()
+    {
+        return (source < 0) ? null : graph.getVertexAt(source);
+    }
+
+    /**
+     * Tells whether the last search has found a negative-weight cycle.
+     *
+     * @return <code>true</code> if a negative-weight cycle has been found
+     */
+    public boolean hasNegativeCycle()
+    {
+        return negativeCycle != null;
+    }
+
+    /**
+     * Returns the negative-weight cycle found by the last search, as a closed
+     * path whose weight is the weight of the cycle.
+     *
+     * @return the cycle, or <code>null</code> if no negative-weight cycle is
+     * reachable from the source of the last search
+     */
+    public GraphPath<V, E> getNegativeCycle()
+    {
+        return negativeCycle;
+    }
+
+    /**
+     * Returns the weighted length of the shortest path between the source of
+     * the last search and the given vertex.
+     *
+     * @param vertex the vertex
+     *
+     * @return the distance, or Double.POSITIVE_INFINITY if the vertex is not
+     * reachable
+     *
+     * @throws IllegalStateException if no search has been run or if the last
+     * search has found a negative-weight cycle
+     */
+    public double getDistance(V vertex)
+    {
+        int v = indexOf(vertex);
+        assertShortestPaths();
+        return distances[v];
+    }
+
+    /**
+     * Returns the last edge of the shortest path to the given vertex.
+     *
+     * @param vertex the vertex
+     *
+     * @return the edge, or <code>null</code> if the vertex is the source or is
+     * not reachable
+     *
+     * @throws IllegalStateException if no search has been run or if the last
+     * search has found a negative-weight cycle
+     */
+    public E getSpanningTreeEdge(V vertex)
+    {
+        int v = indexOf(vertex);
+        assertShortestPaths();
+        return (predecessors[v] < 0) ? null
+            : graph.getEdgeAt(predecessors[v]);
+    }
+
+    /**
+     * Returns the shortest path from the source of the last search to the
+     * given vertex.
+     *
+     * @param vertex the end vertex of the path
+     *
+     * @return the path, or <code>null</code> if no path exists
+     *
+     * @throws IllegalStateException if no search has been run or if the last
+     * search has found a negative-weight cycle
+     */
+    public GraphPath<V, E> getPath(V vertex)
+    {
+        int v = indexOf(vertex);
+        assertShortestPaths();
+        double weight = distances[v];
+        if (weight == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        vertexList.add(vertex);
+        for (int e = predecessors[v]; e >= 0; e = predecessors[v]) {
+            edgeList.add(graph.getEdgeAt(e));
+            v = parents[v];
+            vertexList.add(graph.getVertexAt(v));
+        }
+        Collections.reverse(edgeList);
+        Collections.reverse(vertexList);
+        return new GraphWalk<>(
+            graph,
+            graph.getVertexAt(source),
+            vertex,
+            vertexList,
+            edgeList,
+            weight);
+    }
+
+    /**
+     * Removes the subtree of the given vertex from the tree.
+     *
+     * @return <code>false</code> if the subtree contains the given scanned
+     * vertex, which means that there is a negative cycle
+     */
+    private boolean disassemble(int v, int scanned)
+    {
+        int x = next[v];
+        while (depths[x] > depths[v]) {
+            if (x == scanned) {
+                return false;
+            }
+            inTree[x] = false;
+            x = next[x];
+        }
+        next[previous[v]] = x;
+        previous[x] = previous[v];
+        return true;
+    }
+
+    /**
+     * Inserts the vertex into the tree as the first child of its parent.
+     */
+    private void attach(int v, int parent)
+    {
+        parents[v] = parent;
+        depths[v] = depths[parent] + 1;
+        inTree[v] = true;
+        int after = next[parent];
+        next[parent] = v;
+        previous[v] = parent;
+        next[v] = after;
+        previous[after] = v;
+    }
+
+    /**
+     * Creates the cycle closed by the edge from u to v, where v is an
+     * ancestor of u or u itself.
+     */
+    private GraphPath<V, E> createCycle(int u, int v, int edge)
+    {
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        double weight = graph.getEdgeWeightAt(edge);
+        edgeList.add(graph.getEdgeAt(edge));
+        vertexList.add(graph.getVertexAt(v));
+        for (int x = u; x != v; x = parents[x]) {
+            vertexList.add(graph.getVertexAt(x));
+            edgeList.add(graph.getEdgeAt(predecessors[x]));
+            weight += graph.getEdgeWeightAt(predecessors[x]);
+        }
+        vertexList.add(graph.getVertexAt(v));
+        Collections.reverse(edgeList);
+        Collections.reverse(vertexList);
+        V start = graph.getVertexAt(v);
+        return new GraphWalk<>(
+            graph,
+            start,
+            start,
+            vertexList,
+            edgeList,
+            weight);
+    }
+
+    private void enqueue(int v)
+    {
+        inQueue[v] = true;
+        int n = queue.length;
+        if ((discipline == QueueDiscipline.SMALL_LABEL_FIRST)
+            && (queueSize > 0)
+            && (distances[v] < distances[queue[head]]))
+        {
+            head = (head == 0) ? (n - 1) : (head - 1);
+            queue[head] = v;
+        } else {
+            int tail = head + queueSize;
+            queue[(tail >= n) ? (tail - n) : tail] = v;
+        }
+        queueSize++;
+    }
+
+    private int dequeue()
+    {
+        int v = queue[head];
+        inQueue[v] = false;
+        head = (head + 1 == queue.length) ? 0 : (head + 1);
+        queueSize--;
+        return v;
+    }
+
+    private void assertShortestPaths()
+    {
+        if (source < 0) {
+            throw new IllegalStateException("no search has been run");
+        }
+        if (negativeCycle != null) {
+            throw new IllegalStateException(
+                "graph contains a negative-weight cycle");
+        }
+    }
+
+    private int indexOf(V vertex)
+    {
+        int v = graph.indexOfVertex(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException(
+                "graph must contain the vertex: " + vertex);
+        }
+        return v;
+    }
+}
+
+// End IndexedBellmanFordShortestPaths.java
@@ -0,0 +1,397 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------------
+ * IndexedDijkstraShortestPaths.java
+ * ---------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * Dijkstra's single source shortest path algorithm, working on the vertex and
+ * edge indices of a {@link CsrGraph}. Each search computes the complete
+ * shortest path tree of its source vertex into primitive arrays, from which
+ * the distances and the paths to all vertices can be retrieved. Paths are only
+ * built when they are asked for.
+ *
+ * <p>An instance is meant to be reused for many searches, for example to
+ * answer one-to-many queries. All arrays are allocated once by the
+ * constructor; a search only records the vertices it reaches, and only their
+ * entries are cleared by the next search. Thus a search allocates no memory
+ * and its cost depends on the size of the explored part of the graph, not on
+ * the size of the graph.</p>
+ *
+ * <p>The search may also run backwards, following the edges of a directed
+ * graph in reverse direction. It then computes the shortest paths from all
+ * vertices to the source vertex of the search.</p>
+ *
+ * <p>The searches use the edge weights of the graph, unless other weights are
+ * given for its edges. Edge weights must be non-negative. An instance is not thread-safe, use
+ * one instance per thread to run searches in parallel.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DijkstraShortestPath
+ * @see Graphs#freeze(Graph)
+ */
+public class IndexedDijkstraShortestPaths<V, E>
+{
+    private final CsrGraph<V, E> graph;
+    private final boolean reverse;
+    private final double [] edgeWeights;
+
+    private final double [] distances;
+    private final int [] predecessors;
+    private final IndexedDaryHeap heap;
+
+    /* the vertices whose entries have been modified by the last search */
+    private final int [] touched;
+    private int touchedCount;
+
+    private int source = -1;
+
+    /**
+     * Creates a new instance for the given graph. If the graph is not stored
+     * in compressed sparse row format, a snapshot of it is taken.
+     *
+     * @param graph the graph to be searched
+     */
+    public IndexedDijkstraShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, false);
+    }
+
+    /**
+     * Creates a new instance for the given graph. If the graph is not stored
+     * in compressed sparse row format, a snapshot of it is taken.
+     *
+     * @param graph the graph to be searched
+     * @param reverse whether to follow the edges of a directed graph backwards
+     */
+    public IndexedDijkstraShortestPaths(Graph<V, E> graph, boolean reverse)
+    {
+        this(Graphs.freeze(graph), reverse, null);
+    }
+
+    /**
+     * Creates a new instance for the given graph, which searches the graph
+     * using the given edge weights instead of the weights of the graph. The
+     * array is not copied.
+     *
+     * @param graph the graph to be searched
+     * @param reverse whether to follow the edges of a directed graph backwards
+     * @param edgeWeights the weights indexed by the edge indices of the graph,
+     * or <code>null</code> to use the weights of the graph
+     *
+     * @throws IllegalArgumentException if the number of weights does not
+     * match the number of edges
+     */
+    public IndexedDijkstraShortestPaths(
+        CsrGraph<V, E> graph,
+        boolean reverse,
+        double [] edgeWeights)
+    {
+        if ((edgeWeights != null)
+            && (edgeWeights.length != graph.edgeCount()))
+        {
+            throw new IllegalArgumentException(
+                "number of edge weights does not match the number of edges");
+        }
+        this.graph = graph;
+        this.reverse = reverse;
+        this.edgeWeights = edgeWeights;
+
+        int n = this.graph.vertexCount();
+        this.distances = new double[n];
+        this.predecessors = new int[n];
+        this.heap = new IndexedDaryHeap(n);
+        this.touched = new int[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(predecessors, -1);
+    }
+
+    /**
+     * Returns the graph searched by this instance.
+     *
+     * @return the searched graph
+     */
+    public CsrGraph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Tells whether the search follows the edges backwards.
+     *
+     * @return true if the search runs backwards, false otherwise
+     */
+    public boolean isReverse()
+    {
+        return reverse;
+    }
+
+    /**
+     * Computes the shortest paths from the given vertex to all vertices, or to
+     * the given vertex from all vertices if the search runs backwards. The
+     * results of the previous search are discarded.
+     *
+     * @param source the source vertex of the search
+     *
+     * @throws IllegalArgumentException if the vertex is not contained in the
+     * graph or if a negative edge weight is encountered
+     */
+    public void compute(V source)
+    {
+        computeAt(indexOf(source), -1);
+    }
+
+    /**
+     * Computes the shortest paths from the given source vertex, stopping as
+     * soon as the shortest path to the given target vertex is known. Only the
+     * paths to the vertices which are not farther away than the target are
+     * guaranteed to be shortest paths afterwards.
+     *
+     * @param source the source vertex of the search
+     * @param target the vertex at which the search stops
+     *
+     * @throws IllegalArgumentException if a vertex is not contained in the
+     * graph or if a negative edge weight is encountered
+     */
+    public void compute(V source, V target)
+    {
+        computeAt(indexOf(source), indexOf(target));
+    }
+
+    /**
+     * Computes the shortest paths from the vertex with the given index. The
+     * search stops as soon as the shortest path to the target vertex is
+     * known, or runs until all reachable vertices have been visited if the
+     * target is negative.
+     *
+     * @param source the index of the source vertex
+     * @param target the index of the target vertex or -1
+     *
+     * @throws IllegalArgumentException if a negative edge weight is
+     * encountered
+     */
+    public void computeAt(int source, int target)
+    {
+        reset();
+        this.source = source;
+        touch(source);
+        distances[source] = 0.0;
+        heap.insert(source, 0.0);
+
+        CsrGraph<V, E> g = graph;
+        double [] weights = edgeWeights;
+        while (!heap.isEmpty()) {
+            double d = heap.minKey();
+            int v = heap.removeMin();
+            if (v == target) {
+                break;
+            }
+
+            int start = reverse ? g.incomingStart(v) : g.outgoingStart(v);
+            int end = reverse ? g.incomingEnd(v) : g.outgoingEnd(v);
+            for (int p = start; p < end; p++) {
+                int e = reverse ? g.incomingEdge(p) : g.outgoingEdge(p);
+                double weight =
+                    (weights == null) ? g.getEdgeWeightAt(e) : weights[e];
+                if (weight < 0.0) {
+                    throw new IllegalArgumentException(
+                        "negative edge weights not allowed");
+                }
+                int w = g.getOppositeVertexAt(e, v);
+                double distance = d + weight;
+                if (distance < distances[w]) {
+                    if (distances[w] == Double.POSITIVE_INFINITY) {
+                        touch(w);
+                        heap.insert(w, distance);
+                    } else {
+                        heap.decreaseKey(w, distance);
+                    }
+                    distances[w] = distance;
+                    predecessors[w] = e;
+                }
+            }
+        }
+        heap.clear();
+    }
+
+    /**
+     * Discards the results of the last search. The cost of a reset is
+     * proportional to the number of vertices reached by the last search.
+     */
+    public void reset()
+    {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            distances[v] = Double.POSITIVE_INFINITY;
+            predecessors[v] = -1;
+        }
+        touchedCount = 0;
+        heap.clear();
+        source = -1;
+    }
+
+    /**
+     * Returns the source vertex of the last search.
+     *
+     * @return the source vertex or <code>null</code> if no search has been
+     * run since the last reset
+     */
+    public V getSource()
+    {
+        return (source < 0) ? null : graph.getVertexAt(source);
+    }
+
+    /**
+     * Returns the weighted length of the shortest path between the source of
+     * the last search and the given vertex.
+     *
+     * @param vertex the vertex
+     *
+     * @return the distance, or Double.POSITIVE_INFINITY if no path has been
+     * found
+     */
+    public double getDistance(V vertex)
+    {
+        return distances[indexOf(vertex)];
+    }
+
+    /**
+     * Returns the weighted length of the shortest path between the source of
+     * the last search and the vertex with the given index.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the distance, or Double.POSITIVE_INFINITY if no path has been
+     * found
+     */
+    public double getDistanceAt(int vertex)
+    {
+        return distances[vertex];
+    }
+
+    /**
+     * Returns the last edge of the shortest path to the vertex with the given
+     * index, or the first edge of the path from it if the search runs
+     * backwards.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the edge index, or -1 if the vertex is the source or has not
+     * been reached
+     */
+    public int getPredecessorEdgeAt(int vertex)
+    {
+        return predecessors[vertex];
+    }
+
+    /**
+     * Returns the shortest path from the source of the last search to the
+     * given vertex. If the search runs backwards, returns the shortest path
+     * from the given vertex to the source.
+     *
+     * @param vertex the end vertex of the path, or its start vertex if the
+     * search runs backwards
+     *
+     * @return the path, or <code>null</code> if no path exists
+     *
+     * @throws IllegalStateException if no search has been run
+     */
+    public GraphPath<V, E> getPath(V vertex)
+    {
+        if (source < 0) {
+            throw new IllegalStateException("no search has been run");
+        }
+        int v = indexOf(vertex);
+        double weight = distances[v];
+        if (weight == Double.POSITIVE_INFINITY) {
+            return null;
+        }
+
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        vertexList.add(vertex);
+        for (int e = predecessors[v]; e >= 0; e = predecessors[v]) {
+            edgeList.add(graph.getEdgeAt(e));
+            v = graph.getOppositeVertexAt(e, v);
+            vertexList.add(graph.getVertexAt(v));
+        }
+
+        V start = graph.getVertexAt(source);
+        if (reverse) {
+            return new GraphWalk<>(
+                graph,
+                vertex,
+                start,
+                vertexList,
+                edgeList,
+                weight);
+        }
+        Collections.reverse(edgeList);
+        Collections.reverse(vertexList);
+        return new GraphWalk<>(
+            graph,
+            start,
+            vertex,
+            vertexList,
+            edgeList,
+            weight);
+    }
+
+    private void touch(int v)
+    {
+        touched[touchedCount++] = v;
+    }
+
+    private int indexOf(V vertex)
+    {
+        int v = graph.indexOfVertex(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException(
+                "graph must contain the vertex: " + vertex);
+        }
+        return v;
+    }
+}
+
+// End IndexedDijkstraShortestPaths.java
@@ -0,0 +1,377 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------
+ * JohnsonShortestPaths.java
+ * -------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/Johnson%27s_algorithm">Johnson's
+ * algorithm</a> for the shortest paths between all pairs of vertices of a
+ * sparse graph, whose edge weights may be negative. The algorithm computes a
+ * potential for every vertex with the Bellman-Ford algorithm, from a virtual
+ * vertex connected to all vertices, and adds the potential difference of its
+ * endpoints to the weight of every edge. This makes all weights non-negative
+ * and preserves the shortest paths, which are then found by a Dijkstra search
+ * from every vertex. If no weight is negative, the reweighting is skipped.
+ *
+ * <p>The running time is O(nm log n), compared to the O(n^3) time of the
+ * {@link FloydWarshallShortestPaths Floyd-Warshall algorithm}. The distances
+ * are not stored as a matrix. Instead, the searches deliver the distances from
+ * one source vertex at a time to a consumer, and the searches from different
+ * sources run in parallel if a {@link ForkJoinPool} is given. The memory
+ * needed is linear in the size of the graph and the number of threads.</p>
+ *
+ * <p>The graph is searched as a {@link CsrGraph}, see {@link
+ * Graphs#freeze(Graph)}, and the rows of distances are indexed by the vertex
+ * indices of this snapshot. Undirected graphs must not have negative edge
+ * weights. Graphs with a negative-weight cycle are rejected, since their
+ * shortest paths are not defined.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see IndexedDijkstraShortestPaths
+ * @see BellmanFordShortestPath
+ */
+public class JohnsonShortestPaths<V, E>
+{
+    private static final double EPSILON = 0.000000001;
+
+    private final Graph<V, E> graph;
+    private final CsrGraph<V, E> indexedGraph;
+    private final ForkJoinPool pool;
+
+    /* the potentials of the vertices and the reweighted edge weights */
+    private double [] potentials;
+    private double [] edgeWeights;
+
+    private IndexedDijkstraShortestPaths<V, E> search;
+
+    /**
+     * Creates a new instance which runs the searches sequentially.
+     *
+     * @param graph the graph on which this algorithm operates
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph)
+    {
+        this(graph, null);
+    }
+
+    /**
+     * Creates a new instance which runs the searches from different sources
+     * on the given pool.
+     *
+     * @param graph the graph on which this algorithm operates
+     * @param pool the pool running the searches, or <code>null</code> to run
+     * them sequentially
+     */
+    public JohnsonShortestPaths(Graph<V, E> graph, ForkJoinPool pool)
+    {
+        this.graph = graph;
+        this.indexedGraph = Graphs.freeze(graph);
+        this.pool = pool;
+    }
+
+    /**
+     * @return the graph on which this algorithm operates
+     */
+    public Graph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Returns the snapshot of the graph which is searched. Its vertex indices
+     * are the indices of the rows of distances.
+     *
+     * @return the searched graph
+     */
+    public CsrGraph<V, E> getIndexedGraph()
+    {
+        return indexedGraph;
+    }
+
+    /**
+     * Computes the distances from every vertex to all vertices. The consumer
+     * is called once per vertex, with the vertex and the array of distances
+     * from it, indexed by the vertex indices of the {@link #getIndexedGraph()
+     * searched graph}. Unreachable vertices have the distance
+     * Double.POSITIVE_INFINITY.
+     *
+     * <p>If the searches run in parallel, the consumer is called concurrently
+     * from several threads. The array is reused for the following rows of the
+     * calling thread, so the consumer has to copy it if needed later.</p>
+     *
+     * @param consumer the consumer of the rows of distances
+     *
+     * @throws IllegalArgumentException if the graph contains a negative-weight
+     * cycle or if the graph is undirected and has a negative edge weight
+     */
+    public void computeAllDistances(BiConsumer<? super V, double []> consumer)
+    {
+        computeDistances(graph.vertexSet(), consumer);
+    }
+
+    /**
+     * Computes the distances from the given source vertices to all vertices.
+     * See {@link #computeAllDistances(BiConsumer)} for the rows passed to the
+     * consumer.
+     *
+     * @param sources the source vertices
+     * @param consumer the consumer of the rows of distances
+     *
+     * @throws IllegalArgumentException if a source vertex is not contained in
+     * the graph, if the graph contains a negative-weight cycle or if the graph
+     * is undirected and has a negative edge weight
+     */
+    public void computeDistances(
+        Collection<? extends V> sources,
+        BiConsumer<? super V, double []> consumer)
+    {
+        lazyReweight();
+
+        int [] indices = new int[sources.size()];
+        int i = 0;
+        for (V source : sources) {
+            indices[i++] = indexOf(source);
+        }
+
+        int nTasks =
+            (pool == null) ? 1
+            : Math.min(indices.length, pool.getParallelism() * 4);
+        if (nTasks <= 1) {
+            computeRows(indices, 0, indices.length, consumer);
+            return;
+        }
+
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(nTasks);
+        for (int t = 0; t < nTasks; t++) {
+            int from = (int) (((long) indices.length * t) / nTasks);
+            int to = (int) (((long) indices.length * (t + 1)) / nTasks);
+            tasks.add(
+                ForkJoinTask.adapt(
+                    () -> computeRows(indices, from, to, consumer)));
+        }
+        pool.invoke(
+            new RecursiveAction() {
+                private static final long serialVersionUID =
+                    -6312178945112054318L;
+
+                @Override protected void compute()
+                {
+                    invokeAll(tasks);
+                }
+            });
+    }
+
+    /**
+     * Get the length of a shortest path.
+     *
+     * @param a first vertex
+     * @param b second vertex
+     *
+     * @return shortest distance between a and b, or Double.POSITIVE_INFINITY
+     * if b is not reachable from a
+     *
+     * @throws IllegalArgumentException if the graph contains a negative-weight
+     * cycle or if the graph is undirected and has a negative edge weight
+     */
+    public double shortestDistance(V a, V b)
+    {
+        lazySearch().compute(a, b);
+        return distance(
+            indexOf(a),
+            indexOf(b),
+            search.getDistanceAt(indexOf(b)));
+    }
+
+    /**
+     * Get the shortest path between two vertices.
+     *
+     * @param a From vertex
+     * @param b To vertex
+     *
+     * @return the path, or null if none found
+     *
+     * @throws IllegalArgumentException if the graph contains a negative-weight
+     * cycle or if the graph is undirected and has a negative edge weight
+     */
+    public GraphPath<V, E> getShortestPath(V a, V b)
+    {
+        lazySearch().compute(a, b);
+        GraphPath<V, E> path = search.getPath(b);
+        if (path == null) {
+            return null;
+        }
+        return new GraphWalk<>(
+            graph,
+            a,
+            b,
+            path.getVertexList(),
+            path.getEdgeList(),
+            distance(indexOf(a), indexOf(b), path.getWeight()));
+    }
+
+    private void computeRows(
+        int [] sources,
+        int from,
+        int to,
+        BiConsumer<? super V, double []> consumer)
+    {
+        IndexedDijkstraShortestPaths<V, E> dijkstra =
+            new IndexedDijkstraShortestPaths<>(
+                indexedGraph,
+                false,
+                edgeWeights);
+        double [] row = new double[indexedGraph.vertexCount()];
+        for (int i = from; i < to; i++) {
+            int s = sources[i];
+            dijkstra.computeAt(s, -1);
+            for (int v = 0; v < row.length; v++) {
+                row[v] = distance(s, v, dijkstra.getDistanceAt(v));
+            }
+            consumer.accept(indexedGraph.getVertexAt(s), row);
+        }
+    }
+
+    /**
+     * Converts a distance with respect to the reweighted edge weights into
+     * the distance with respect to the original weights.
+     */
+    private double distance(int source, int target, double reweighted)
+    {
+        if (reweighted == Double.POSITIVE_INFINITY) {
+            return reweighted;
+        }
+        return reweighted - potentials[source] + potentials[target];
+    }
+
+    private IndexedDijkstraShortestPaths<V, E> lazySearch()
+    {
+        lazyReweight();
+        if (search == null) {
+            search =
+                new IndexedDijkstraShortestPaths<>(
+                    indexedGraph,
+                    false,
+                    edgeWeights);
+        }
+        return search;
+    }
+
+    /**
+     * Computes the potentials of the vertices and the reweighted edge weights,
+     * unless all edge weights are non-negative.
+     */
+    private void lazyReweight()
+    {
+        if (potentials != null) {
+            return;
+        }
+
+        CsrGraph<V, E> g = indexedGraph;
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+        double [] h = new double[n];
+        boolean negative = false;
+        for (int e = 0; e < m; e++) {
+            negative |= g.getEdgeWeightAt(e) < 0.0;
+        }
+        if (!negative) {
+            potentials = h;
+            return;
+        }
+        if (!(g instanceof DirectedGraph<?, ?>)) {
+            throw new IllegalArgumentException(
+                "negative edge weights not allowed in undirected graphs");
+        }
+
+        // the vertex n is connected to all other vertices by edges of weight 0
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> aux =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        for (int v = 0; v <= n; v++) {
+            aux.addVertex(v);
+        }
+        for (int e = 0; e < m; e++) {
+            aux.setEdgeWeight(
+                aux.addEdge(g.getEdgeSourceAt(e), g.getEdgeTargetAt(e)),
+                g.getEdgeWeightAt(e));
+        }
+        for (int v = 0; v < n; v++) {
+            aux.setEdgeWeight(aux.addEdge(n, v), 0.0);
+        }
+        BellmanFordShortestPath<Integer, DefaultWeightedEdge> bellmanFord =
+            new BellmanFordShortestPath<>(aux, n);
+        for (int v = 0; v < n; v++) {
+            h[v] = bellmanFord.getCost(v);
+        }
+
+        // the reweighted edges are only negative if there is a negative cycle,
+        // or due to rounding errors
+        double [] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            int s = g.getEdgeSourceAt(e);
+            int t = g.getEdgeTargetAt(e);
+            double w = g.getEdgeWeightAt(e) + h[s] - h[t];
+            if (w < -EPSILON * (1.0 + Math.abs(h[s]) + Math.abs(h[t]))) {
+                throw new IllegalArgumentException(
+                    "graph contains a negative-weight cycle");
+            }
+            weights[e] = Math.max(w, 0.0);
+        }
+        edgeWeights = weights;
+        potentials = h;
+    }
+
+    private int indexOf(V vertex)
+    {
+        int v = indexedGraph.indexOfVertex(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException(
+                "graph must contain the vertex: " + vertex);
+        }
+        return v;
+    }
+}
+
+// End JohnsonShortestPaths.java
@@ -0,0 +1,487 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------
+ * ShortestPathCache.java
+ * ----------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.event.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+
+
+/**
+ * A cache of shortest path trees over a {@link ListenableGraph}, for
+ * workloads in which the same shortest path queries repeat between updates of
+ * the graph. The first query from a source grows the complete tree of
+ * shortest paths from that source by a {@link ClosestFirstIterator}, the
+ * search underlying {@link DijkstraShortestPath}. Later queries from the same
+ * source are then answered from the tree, for any target, without a search.
+ *
+ * <p>The cache registers itself as a {@link GraphListener} of the graph and
+ * evicts only the trees affected by a change. A tree is affected if an edge of
+ * the tree is removed or changes its weight, or if an added edge or a
+ * lowered weight shortens a path of the tree. Trees from a removed source are
+ * evicted as well. To stop the cache from listening, remove it from the graph
+ * by {@link ListenableGraph#removeGraphListener(GraphListener)}.</p>
+ *
+ * <p>The cache holds at most a fixed number of trees. When a new tree does
+ * not fit, the tree chosen by the {@link EvictionPolicy} is dropped. The
+ * counters of hits, misses and evictions help to size the cache.</p>
+ *
+ * <p>The edge weights must be non-negative. <b>Note that this implementation
+ * is not synchronized.</b></p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class ShortestPathCache<V, E>
+    implements GraphListener<V, E>
+{
+    /**
+     * The policy choosing which tree to drop from a full cache.
+     */
+    public enum EvictionPolicy
+    {
+        /**
+         * Drops the tree which was used least recently.
+         */
+        LEAST_RECENTLY_USED,
+
+        /**
+         * Drops the tree which was used least often since it was computed, or
+         * of several such trees the one used least recently. Finding the tree
+         * takes time linear in the capacity, which is small compared to the
+         * search computing the new tree.
+         */
+        LEAST_FREQUENTLY_USED
+    }
+
+    private final ListenableGraph<V, E> graph;
+    private final int capacity;
+    private final EvictionPolicy evictionPolicy;
+
+    // in access order, the least recently used tree first
+    private final LinkedHashMap<V, Tree<V, E>> trees;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates a cache of least recently used trees and registers it as a
+     * listener of the graph.
+     *
+     * @param graph the graph
+     * @param capacity the maximum number of cached trees
+     *
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public ShortestPathCache(ListenableGraph<V, E> graph, int capacity)
+    {
+        this(graph, capacity, EvictionPolicy.LEAST_RECENTLY_USED);
+    }
+
+    /**
+     * Creates a cache and registers it as a listener of the graph.
+     *
+     * @param graph the graph
+     * @param capacity the maximum number of cached trees
+     * @param evictionPolicy the policy choosing which tree to drop from a full
+     * cache
+     *
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public ShortestPathCache(
+        ListenableGraph<V, E> graph,
+        int capacity,
+        EvictionPolicy evictionPolicy)
+    {
+        if (graph == null) {
+            throw new NullPointerException("graph is null");
+        }
+        if (evictionPolicy == null) {
+            throw new NullPointerException("eviction policy is null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException(
+                "capacity must be positive: " + capacity);
+        }
+        this.graph = graph;
+        this.capacity = capacity;
+        this.evictionPolicy = evictionPolicy;
+        this.trees = new LinkedHashMap<>(16, 0.75f, true);
+        graph.addGraphListener(this);
+    }
+
+    /**
+     * Returns the graph of the cache.
+     *
+     * @return the graph
+     */
+    public ListenableGraph<V, E> getGraph()
+    {
+        return graph;
+    }
+
+    /**
+     * Returns the maximum number of cached trees.
+     *
+     * @return the capacity
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Returns the policy choosing which tree to drop from a full cache.
+     *
+     * @return the eviction policy
+     */
+    public EvictionPolicy getEvictionPolicy()
+    {
+        return evictionPolicy;
+    }
+
+    /**
+     * Returns a shortest path between two vertices.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     *
+     * @return a shortest path, or null if the target is not reachable
+     *
+     * @throws IllegalArgumentException if the graph does not contain the
+     * source or the target
+     */
+    public GraphPath<V, E> getPath(V source, V target)
+    {
+        Tree<V, E> tree = getTree(source, target);
+        Double distance = tree.distances.get(target);
+        if (distance == null) {
+            return null;
+        }
+
+        List<E> edgeList = new ArrayList<>();
+        List<V> vertexList = new ArrayList<>();
+        vertexList.add(target);
+        V v = target;
+        for (E e = tree.edges.get(v); e != null; e = tree.edges.get(v)) {
+            edgeList.add(e);
+            v = Graphs.getOppositeVertex(graph, e, v);
+            vertexList.add(v);
+        }
+        Collections.reverse(edgeList);
+        Collections.reverse(vertexList);
+        return new GraphWalk<>(
+            graph,
+            source,
+            target,
+            vertexList,
+            edgeList,
+            distance);
+    }
+
+    /**
+     * Returns the length of a shortest path between two vertices.
+     *
+     * @param source the source vertex
+     * @param target the target vertex
+     *
+     * @return the length of a shortest path, or
+     * <code>Double.POSITIVE_INFINITY</code> if the target is not reachable
+     *
+     * @throws IllegalArgumentException if the graph does not contain the
+     * source or the target
+     */
+    public double getPathLength(V source, V target)
+    {
+        Double distance = getTree(source, target).distances.get(target);
+        return (distance == null) ? Double.POSITIVE_INFINITY : distance;
+    }
+
+    /**
+     * Tests whether the tree of a source is cached. The test counts as
+     * neither a hit nor a miss.
+     *
+     * @param source the source vertex
+     *
+     * @return true if the tree of the source is cached, false otherwise
+     */
+    public boolean isCached(V source)
+    {
+        return trees.containsKey(source);
+    }
+
+    /**
+     * Returns the number of cached trees.
+     *
+     * @return the number of cached trees
+     */
+    public int size()
+    {
+        return trees.size();
+    }
+
+    /**
+     * Drops the tree of a source, if it is cached.
+     *
+     * @param source the source vertex
+     */
+    public void invalidate(V source)
+    {
+        trees.remove(source);
+    }
+
+    /**
+     * Drops all trees.
+     */
+    public void clear()
+    {
+        trees.clear();
+    }
+
+    /**
+     * Returns the number of queries answered by a cached tree.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries which had to compute a tree.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount()
+    {
+        return misses;
+    }
+
+    /**
+     * Returns the number of trees dropped to make room for a new tree.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount()
+    {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of trees dropped because a change of the graph
+     * affected them.
+     *
+     * @return the number of invalidations
+     */
+    public long getInvalidationCount()
+    {
+        return invalidations;
+    }
+
+    /**
+     * Sets all counters to zero.
+     */
+    public void resetCounters()
+    {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+
+    /**
+     * @see GraphListener#edgeAdded(GraphEdgeChangeEvent)
+     */
+    @Override public void edgeAdded(GraphEdgeChangeEvent<V, E> e)
+    {
+        invalidateShortened(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * @see GraphListener#edgeRemoved(GraphEdgeChangeEvent)
+     */
+    @Override public void edgeRemoved(GraphEdgeChangeEvent<V, E> e)
+    {
+        E edge = e.getEdge();
+        Iterator<Tree<V, E>> it = trees.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().contains(edge, e.getEdgeSource(), e.getEdgeTarget()))
+            {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * @see GraphListener#edgeWeightUpdated(GraphEdgeChangeEvent)
+     */
+    @Override public void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+        invalidateShortened(e.getEdge(), e.getEdgeSource(), e.getEdgeTarget());
+    }
+
+    /**
+     * @see VertexSetListener#vertexAdded(GraphVertexChangeEvent)
+     */
+    @Override public void vertexAdded(GraphVertexChangeEvent<V> e)
+    {
+        // a new vertex is isolated and lies on no path
+    }
+
+    /**
+     * @see VertexSetListener#vertexRemoved(GraphVertexChangeEvent)
+     */
+    @Override public void vertexRemoved(GraphVertexChangeEvent<V> e)
+    {
+        // the edges of the vertex have been removed already
+        if (trees.remove(e.getVertex()) != null) {
+            invalidations++;
+        }
+    }
+
+    private Tree<V, E> getTree(V source, V target)
+    {
+        if (!graph.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                "graph must contain the source vertex");
+        }
+        if (!graph.containsVertex(target)) {
+            throw new IllegalArgumentException(
+                "graph must contain the target vertex");
+        }
+
+        Tree<V, E> tree = trees.get(source);
+        if (tree != null) {
+            hits++;
+            tree.uses++;
+            return tree;
+        }
+
+        misses++;
+        tree = new Tree<>();
+        ClosestFirstIterator<V, E> iter =
+            new ClosestFirstIterator<>(graph, source);
+        while (iter.hasNext()) {
+            V v = iter.next();
+            tree.distances.put(v, iter.getShortestPathLength(v));
+            E e = iter.getSpanningTreeEdge(v);
+            if (e != null) {
+                tree.edges.put(v, e);
+            }
+        }
+        if (trees.size() >= capacity) {
+            evict();
+        }
+        trees.put(source, tree);
+        return tree;
+    }
+
+    private void evict()
+    {
+        Iterator<Map.Entry<V, Tree<V, E>>> it = trees.entrySet().iterator();
+        Map.Entry<V, Tree<V, E>> victim = it.next();
+        if (evictionPolicy == EvictionPolicy.LEAST_FREQUENTLY_USED) {
+            while (it.hasNext()) {
+                Map.Entry<V, Tree<V, E>> entry = it.next();
+                if (entry.getValue().uses < victim.getValue().uses) {
+                    victim = entry;
+                }
+            }
+        }
+        trees.remove(victim.getKey());
+        evictions++;
+    }
+
+    /**
+     * Drops the trees containing an edge whose weight changed, or in which a
+     * path is shortened by the edge.
+     */
+    private void invalidateShortened(E edge, V source, V target)
+    {
+        double weight = graph.getEdgeWeight(edge);
+        // the search follows edges in both directions unless the graph is
+        // directed
+        boolean undirected = !(graph instanceof DirectedGraph<?, ?>);
+        Iterator<Tree<V, E>> it = trees.values().iterator();
+        while (it.hasNext()) {
+            Tree<V, E> tree = it.next();
+            if (tree.contains(edge, source, target)
+                || tree.isShortenedBy(source, target, weight)
+                || (undirected && tree.isShortenedBy(target, source, weight)))
+            {
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * A tree of shortest paths from a source, holding the distance and the
+     * tree edge of every reachable vertex.
+     */
+    private static class Tree<V, E>
+    {
+        final Map<V, Double> distances = new HashMap<>();
+        final Map<V, E> edges = new HashMap<>();
+        long uses = 1;
+
+        boolean contains(E edge, V source, V target)
+        {
+            return edge.equals(edges.get(target))
+                || edge.equals(edges.get(source));
+        }
+
+        boolean isShortenedBy(V source, V target, double weight)
+        {
+            Double d = distances.get(source);
+            if (d == null) {
+                return false;
+            }
+            Double t = distances.get(target);
+            return (t == null) || ((d + weight) < t);
+        }
+    }
+}
+
+// End ShortestPathCache.java
@@ -0,0 +1,397 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------
+ * YenShortestPathIterator.java
+ * ----------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * Iterates over the simple paths between two vertices in order of increasing
+ * weight, using Yen's algorithm with the modification of Lawler. Paths are
+ * computed one at a time when they are requested, so that an iteration which
+ * is stopped early does not pay for the paths it did not visit. Multigraphs
+ * and undirected graphs are supported, edge weights must be non-negative.
+ *
+ * <p>Every path after the first one deviates from a previous path at one of
+ * its vertices, the spur vertex, and is found by a search from the spur vertex
+ * to the target which avoids the vertices before the spur vertex and the
+ * edges by which the known paths with the same prefix leave it. As proposed
+ * by Lawler, the deviations of a path are only searched from the vertex at
+ * which it deviated from its own parent. The prefixes of the returned paths
+ * and candidates are kept in a tree, whose branches at the spur vertex are
+ * the edges to avoid, so that every candidate is found once.</p>
+ *
+ * <p>The shortest path tree towards the target is computed once by a
+ * backwards search and serves as an exact heuristic of an A* search from the
+ * spur vertices, since removing vertices and edges does not make distances
+ * shorter. The spur searches then mostly settle the vertices of the new path
+ * only.</p>
+ *
+ * <p>The graph is searched as a {@link CsrGraph}, see {@link
+ * Graphs#freeze(Graph)}.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see KShortestPaths
+ */
+public class YenShortestPathIterator<V, E>
+    implements Iterator<GraphPath<V, E>>
+{
+    private final CsrGraph<V, E> graph;
+    private final int source;
+    private final int target;
+
+    /* exact distances to the target in the whole graph */
+    private final double [] heuristic;
+
+    private final Prefix root = new Prefix();
+    private final PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+    private long candidateCount;
+    private Candidate next;
+    private int count;
+
+    /* the state of the spur searches, reused by stamping */
+    private final IndexedDaryHeap heap;
+    private final double [] distances;
+    private final int [] predecessors;
+    private final int [] reached;
+    private final int [] blocked;
+    private int searchStamp;
+    private int pathStamp;
+
+    /**
+     * Creates a new iterator over the simple paths from the source to the
+     * target vertex.
+     *
+     * @param graph the graph
+     * @param source the start vertex of the paths
+     * @param target the end vertex of the paths
+     *
+     * @throws IllegalArgumentException if one of the vertices is not
+     * contained in the graph, or if the graph has negative edge weights
+     */
+    public YenShortestPathIterator(Graph<V, E> graph, V source, V target)
+    {
+        this.graph = Graphs.freeze(graph);
+        this.source = indexOf(source);
+        this.target = indexOf(target);
+
+        int n = this.graph.vertexCount();
+        this.heuristic = new double[n];
+        this.heap = new IndexedDaryHeap(n);
+        this.distances = new double[n];
+        this.predecessors = new int[n];
+        this.reached = new int[n];
+        this.blocked = new int[n];
+
+        for (int e = 0; e < this.graph.edgeCount(); e++) {
+            if (this.graph.getEdgeWeightAt(e) < 0.0) {
+                throw new IllegalArgumentException(
+                    "negative edge weights not allowed");
+            }
+        }
+        IndexedDijkstraShortestPaths<V, E> tree =
+            new IndexedDijkstraShortestPaths<>(this.graph, true, null);
+        tree.computeAt(this.target, -1);
+        for (int v = 0; v < n; v++) {
+            heuristic[v] = tree.getDistanceAt(v);
+        }
+
+        if (heuristic[this.source] < Double.POSITIVE_INFINITY) {
+            // the first path follows the tree
+            IntList edges = new IntList();
+            for (int v = this.source; v != this.target;) {
+                int e = tree.getPredecessorEdgeAt(v);
+                edges.add(e);
+                v = this.graph.getOppositeVertexAt(e, v);
+            }
+            next = new Candidate(edges.toArray(), heuristic[this.source], 0);
+        }
+    }
+
+    /**
+     * Returns the number of paths returned so far.
+     *
+     * @return the number of paths returned
+     */
+    public int getCount()
+    {
+        return count;
+    }
+
+    /**
+     * @see Iterator#hasNext()
+     */
+    @Override public boolean hasNext()
+    {
+        if (next == null) {
+            next = candidates.poll();
+        }
+        return next != null;
+    }
+
+    /**
+     * @see Iterator#next()
+     */
+    @Override public GraphPath<V, E> next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Candidate path = next;
+        next = null;
+        count++;
+        addDeviations(path);
+        return createPath(path);
+    }
+
+    /**
+     * Searches the deviations of the path from the vertex at which it
+     * deviated from its parent, and adds them to the candidates.
+     */
+    private void addDeviations(Candidate path)
+    {
+        int [] edges = path.edges;
+        pathStamp++;
+
+        // walk down the prefix tree to the deviation vertex, and insert the
+        // remainder of the path
+        Prefix prefix = root;
+        double prefixWeight = 0.0;
+        int v = source;
+        for (int i = 0; i < edges.length; i++) {
+            if (i >= path.deviation) {
+                Prefix extended = prefix.child(edges[i]);
+                int [] spur = search(v, prefix);
+                if (spur != null) {
+                    int [] candidate = new int[i + spur.length];
+                    System.arraycopy(edges, 0, candidate, 0, i);
+                    System.arraycopy(spur, 0, candidate, i, spur.length);
+                    double weight = prefixWeight + distances[target];
+                    prefix.child(candidate[i]);
+                    candidates.add(new Candidate(candidate, weight, i));
+                }
+                prefix = extended;
+            } else {
+                prefix = prefix.children.get(edges[i]);
+            }
+            blocked[v] = pathStamp;
+            prefixWeight += graph.getEdgeWeightAt(edges[i]);
+            v = graph.getOppositeVertexAt(edges[i], v);
+        }
+    }
+
+    /**
+     * Runs an A* search from the spur vertex to the target, avoiding the
+     * blocked vertices and the edges branching from the prefix.
+     *
+     * @return the edges of the path, or null if the target is not reachable
+     */
+    private int [] search(int spur, Prefix prefix)
+    {
+        if (++searchStamp == 0) {
+            Arrays.fill(reached, 0);
+            searchStamp = 1;
+        }
+        reach(spur, 0.0, -1);
+        heap.insert(spur, heuristic[spur]);
+
+        CsrGraph<V, E> g = graph;
+        boolean found = false;
+        while (!heap.isEmpty()) {
+            int u = heap.removeMin();
+            if (u == target) {
+                found = true;
+                break;
+            }
+            double du = distances[u];
+            for (int p = g.outgoingStart(u); p < g.outgoingEnd(u); p++) {
+                int e = g.outgoingEdge(p);
+                int w = g.getOppositeVertexAt(e, u);
+                if ((blocked[w] == pathStamp)
+                    || (heuristic[w] == Double.POSITIVE_INFINITY)
+                    || ((u == spur) && prefix.hasChild(e)))
+                {
+                    continue;
+                }
+                double d = du + g.getEdgeWeightAt(e);
+                if (reached[w] != searchStamp) {
+                    reach(w, d, e);
+                    heap.insert(w, d + heuristic[w]);
+                } else if (d < distances[w]) {
+                    distances[w] = d;
+                    predecessors[w] = e;
+                    if (heap.contains(w)) {
+                        heap.decreaseKey(w, d + heuristic[w]);
+                    }
+                }
+            }
+        }
+        heap.clear();
+        if (!found) {
+            return null;
+        }
+
+        IntList edges = new IntList();
+        for (int v = target; v != spur;) {
+            int e = predecessors[v];
+            edges.add(e);
+            v = g.getOppositeVertexAt(e, v);
+        }
+        int [] result = edges.toArray();
+        for (int i = 0, j = result.length - 1; i < j; i++, j--) {
+            int tmp = result[i];
+            result[i] = result[j];
+            result[j] = tmp;
+        }
+        return result;
+    }
+
+    private void reach(int v, double distance, int predecessor)
+    {
+        reached[v] = searchStamp;
+        distances[v] = distance;
+        predecessors[v] = predecessor;
+    }
+
+    private GraphPath<V, E> createPath(Candidate path)
+    {
+        List<E> edgeList = new ArrayList<>(path.edges.length);
+        List<V> vertexList = new ArrayList<>(path.edges.length + 1);
+        int v = source;
+        vertexList.add(graph.getVertexAt(v));
+        for (int e : path.edges) {
+            edgeList.add(graph.getEdgeAt(e));
+            v = graph.getOppositeVertexAt(e, v);
+            vertexList.add(graph.getVertexAt(v));
+        }
+        return new GraphWalk<>(
+            graph,
+            graph.getVertexAt(source),
+            graph.getVertexAt(target),
+            vertexList,
+            edgeList,
+            path.weight);
+    }
+
+    private int indexOf(V vertex)
+    {
+        int v = graph.indexOfVertex(vertex);
+        if (v < 0) {
+            throw new IllegalArgumentException(
+                "graph must contain the vertex: " + vertex);
+        }
+        return v;
+    }
+
+    /**
+     * A path which has been found but not yet returned.
+     */
+    private final class Candidate
+        implements Comparable<Candidate>
+    {
+        final int [] edges;
+        final double weight;
+        final int deviation;
+        final long order;
+
+        Candidate(int [] edges, double weight, int deviation)
+        {
+            this.edges = edges;
+            this.weight = weight;
+            this.deviation = deviation;
+            this.order = candidateCount++;
+        }
+
+        @Override public int compareTo(Candidate o)
+        {
+            int c = Double.compare(weight, o.weight);
+            return (c != 0) ? c : Long.compare(order, o.order);
+        }
+    }
+
+    /**
+     * A node of the tree of path prefixes, whose children are keyed by the
+     * edges extending the prefix.
+     */
+    private static final class Prefix
+    {
+        Map<Integer, Prefix> children = Collections.emptyMap();
+
+        boolean hasChild(int edge)
+        {
+            return children.containsKey(edge);
+        }
+
+        Prefix child(int edge)
+        {
+            if (children.isEmpty()) {
+                children = new HashMap<>(4);
+            }
+            return children.computeIfAbsent(edge, e -> new Prefix());
+        }
+    }
+
+    /**
+     * A growable list of edge indices.
+     */
+    private static final class IntList
+    {
+        private int [] values = new int[16];
+        private int size;
+
+        void add(int value)
+        {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = value;
+        }
+
+        int [] toArray()
+        {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
+
+// End YenShortestPathIterator.java
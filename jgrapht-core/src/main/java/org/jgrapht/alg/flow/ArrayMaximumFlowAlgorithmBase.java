@@ -0,0 +1,651 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------------
+ * ArrayMaximumFlowAlgorithmBase.java
+ * ----------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+
+
+/**
+ * Base class of the maximum flow algorithms working on a residual network
+ * stored in primitive arrays. The network is taken as a {@link CsrGraph}
+ * snapshot and turned into residual arcs once, at construction, so that
+ * repeated computations on the same network only reset the residual
+ * capacities.
+ *
+ * <p>Every edge of the network yields a pair of arcs, the forward arc with the
+ * capacity of the edge and its reverse arc, which has no capacity in a
+ * directed network and the capacity of the edge in an undirected one. The
+ * arcs leaving a vertex are stored consecutively, between <code>
+ * arcStart[v]</code> and <code>arcStart[v + 1]</code>, with their targets,
+ * their residual capacities and the index of their reverse arcs in parallel
+ * arrays.</p>
+ *
+ * <p>The residual network also keeps the last flow, so that after a change of
+ * some capacities by {@link #updateMaximumFlow(Map)} the flow is repaired
+ * where the capacities changed instead of being computed anew.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+abstract class ArrayMaximumFlowAlgorithmBase<V, E>
+    implements IncrementalMaximumFlowAlgorithm<V, E>
+{
+    final CsrGraph<V, E> network;
+    final boolean directed;
+    final double epsilon;
+
+    /* the arcs leaving vertex v are arcStart[v] to arcStart[v + 1] - 1 */
+    final int [] arcStart;
+    final int [] arcTargets;
+    final int [] reverseArcs;
+    final double [] capacities;
+    final double [] residuals;
+
+    /* the forward arc of every edge */
+    final int [] edgeArcs;
+
+    private int currentSource = -1;
+    private int currentSink = -1;
+    private double maxFlowValue = -1;
+    private Map<E, Double> maxFlow;
+
+    /* the searches for augmenting paths, allocated on first use */
+    private int [] levels;
+    private int [] currentArcs;
+    private int [] queue;
+    private int [] path;
+    private int [] searchMarks;
+    private int searchStamp;
+
+    /**
+     * Creates the residual network of a graph, whose edge weights are taken as
+     * capacities.
+     *
+     * @param network the network
+     * @param epsilon tolerance for comparing doubles
+     *
+     * @throws IllegalArgumentException if the epsilon is not positive or if a
+     * capacity is negative
+     */
+    ArrayMaximumFlowAlgorithmBase(Graph<V, E> network, double epsilon)
+    {
+        if (network == null) {
+            throw new NullPointerException("network is null");
+        }
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException(
+                "invalid epsilon (must be positive)");
+        }
+        this.network = Graphs.freeze(network);
+        this.directed = this.network instanceof DirectedGraph<?, ?>;
+        this.epsilon = epsilon;
+
+        int n = this.network.vertexCount();
+        int m = this.network.edgeCount();
+        arcStart = new int[n + 1];
+        arcTargets = new int[2 * m];
+        reverseArcs = new int[2 * m];
+        capacities = new double[2 * m];
+        residuals = new double[2 * m];
+        edgeArcs = new int[m];
+
+        for (int e = 0; e < m; e++) {
+            if (this.network.getEdgeWeightAt(e) < -epsilon) {
+                throw new IllegalArgumentException(
+                    "invalid capacity (must be non-negative)");
+            }
+            arcStart[this.network.getEdgeSourceAt(e) + 1]++;
+            arcStart[this.network.getEdgeTargetAt(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            arcStart[v + 1] += arcStart[v];
+        }
+        int [] fill = Arrays.copyOf(arcStart, n);
+        for (int e = 0; e < m; e++) {
+            int u = this.network.getEdgeSourceAt(e);
+            int v = this.network.getEdgeTargetAt(e);
+            double capacity = Math.max(this.network.getEdgeWeightAt(e), 0.0);
+            int forward = fill[u]++;
+            int reverse = fill[v]++;
+            arcTargets[forward] = v;
+            arcTargets[reverse] = u;
+            reverseArcs[forward] = reverse;
+            reverseArcs[reverse] = forward;
+            capacities[forward] = capacity;
+            capacities[reverse] = directed ? 0.0 : capacity;
+            edgeArcs[e] = forward;
+        }
+    }
+
+    /**
+     * Computes a maximum flow from the source to the sink. The residual
+     * capacities are set to the capacities of the arcs beforehand, and the
+     * flow is expected to be left in them.
+     *
+     * @param source the index of the source
+     * @param sink the index of the sink
+     *
+     * @return the value of the flow
+     */
+    abstract double computeMaximumFlow(int source, int sink);
+
+    /**
+     * @see MaximumFlowAlgorithm#buildMaximumFlow(Object, Object)
+     */
+    @Override public MaximumFlow<E> buildMaximumFlow(V source, V sink)
+    {
+        calculateMaximumFlow(source, sink);
+        return new MaximumFlowImpl<>(maxFlowValue, getMaximumFlow());
+    }
+
+    /**
+     * Sets current source to <tt>source</tt>, current sink to <tt>sink</tt>,
+     * then calculates maximum flow from <tt>source</tt> to <tt>sink</tt>. Note,
+     * that <tt>source</tt> and <tt>sink</tt> must be vertices of the <tt>
+     * network</tt> passed to the constructor, and they must be different.
+     * If desired, a flow map can be queried afterwards; this will not require
+     * a new invocation of the algorithm.
+     *
+     * @param source source vertex
+     * @param sink sink vertex
+     *
+     * @return the value of the maximum flow
+     */
+    @Override public double calculateMaximumFlow(V source, V sink)
+    {
+        int s = network.indexOfVertex(source);
+        int t = network.indexOfVertex(sink);
+        if (s < 0) {
+            throw new IllegalArgumentException(
+                "invalid source (null or not from this network)");
+        }
+        if (t < 0) {
+            throw new IllegalArgumentException(
+                "invalid sink (null or not from this network)");
+        }
+        if (s == t) {
+            throw new IllegalArgumentException("source is equal to sink");
+        }
+
+        System.arraycopy(capacities, 0, residuals, 0, capacities.length);
+        currentSource = s;
+        currentSink = t;
+        maxFlow = null;
+        maxFlowValue = computeMaximumFlow(s, t);
+        return maxFlowValue;
+    }
+
+    /**
+     * @see MaximumFlowAlgorithm#getMaximumFlowValue()
+     */
+    @Override public double getMaximumFlowValue()
+    {
+        return maxFlowValue;
+    }
+
+    /**
+     * @see MaximumFlowAlgorithm#getMaximumFlow()
+     */
+    @Override public Map<E, Double> getMaximumFlow()
+    {
+        if ((maxFlow == null) && (currentSource >= 0)) {
+            Map<E, Double> flow = new HashMap<>();
+            for (int e = 0; e < edgeArcs.length; e++) {
+                flow.put(network.getEdgeAt(e), getFlowAt(e));
+            }
+            maxFlow = Collections.unmodifiableMap(flow);
+        }
+        return maxFlow;
+    }
+
+    /**
+     * @see MaximumFlowAlgorithm#getFlowDirection(Object)
+     */
+    @Override public V getFlowDirection(E e)
+    {
+        int edge = network.indexOfEdge(e);
+        if (edge < 0) {
+            throw new IllegalArgumentException(
+                "Cannot query the flow on an edge which does not exist in the "
+                + "input graph!");
+        }
+        int arc = edgeArcs[edge];
+        if (directed || (residuals[arc] <= capacities[arc])) {
+            return network.getVertexAt(arcTargets[arc]);
+        } else {
+            return network.getVertexAt(arcTargets[reverseArcs[arc]]);
+        }
+    }
+
+    /**
+     * @see IncrementalMaximumFlowAlgorithm#getCapacity(Object)
+     */
+    @Override public double getCapacity(E e)
+    {
+        int edge = network.indexOfEdge(e);
+        if (edge < 0) {
+            throw new IllegalArgumentException(
+                "edge is not in the network: " + e);
+        }
+        return capacities[edgeArcs[edge]];
+    }
+
+    /**
+     * Changes the capacities of some edges and updates the maximum flow
+     * computed last, between the same source and sink. Instead of computing
+     * the flow anew, the previous flow is kept. Where a capacity drops below
+     * the flow on its edge, the surplus is rerouted or cancelled along
+     * residual paths starting at the edge. Then the flow is augmented from
+     * the source, which usually takes a single search if only few capacities
+     * changed. The change of the capacities is not reflected in the network
+     * graph.
+     *
+     * @param capacityDeltas the amounts to add to the capacities of the edges
+     *
+     * @return the value of the updated maximum flow
+     *
+     * @throws IllegalStateException if no maximum flow has been computed
+     * @throws IllegalArgumentException if an edge is not in the network or if
+     * a capacity would become negative, in which case no capacity is changed
+     */
+    @Override public double updateMaximumFlow(Map<E, Double> capacityDeltas)
+    {
+        if (currentSource < 0) {
+            throw new IllegalStateException("no maximum flow computed");
+        }
+        int [] edges = new int[capacityDeltas.size()];
+        double [] newCapacities = new double[edges.length];
+        int i = 0;
+        for (Map.Entry<E, Double> entry : capacityDeltas.entrySet()) {
+            int edge = network.indexOfEdge(entry.getKey());
+            if (edge < 0) {
+                throw new IllegalArgumentException(
+                    "edge is not in the network: " + entry.getKey());
+            }
+            double capacity = capacities[edgeArcs[edge]] + entry.getValue();
+            if (capacity < -epsilon) {
+                throw new IllegalArgumentException(
+                    "invalid capacity (must be non-negative)");
+            }
+            edges[i] = edge;
+            newCapacities[i++] = Math.max(capacity, 0.0);
+        }
+
+        for (i = 0; i < edges.length; i++) {
+            int arc = edgeArcs[edges[i]];
+            int reverse = reverseArcs[arc];
+            updateCapacity(arc, newCapacities[i]);
+            updateCapacity(reverse, directed ? 0.0 : newCapacities[i]);
+            if (residuals[arc] < 0.0) {
+                repairOverflow(arc, -residuals[arc]);
+            } else if (residuals[reverse] < 0.0) {
+                repairOverflow(reverse, -residuals[reverse]);
+            }
+        }
+
+        augmentBlockingFlows(currentSource, currentSink);
+        double value = 0.0;
+        for (int a = arcStart[currentSource]; a < arcStart[currentSource + 1];
+            a++)
+        {
+            value += capacities[a] - residuals[a];
+        }
+        maxFlow = null;
+        maxFlowValue = value;
+        return value;
+    }
+
+    /**
+     * Returns current source vertex, or <tt>null</tt> if there was no <tt>
+     * calculateMaximumFlow</tt> calls.
+     *
+     * @return current source
+     */
+    public V getCurrentSource()
+    {
+        return (currentSource < 0) ? null : network.getVertexAt(currentSource);
+    }
+
+    /**
+     * Returns current sink vertex, or <tt>null</tt> if there was no <tt>
+     * calculateMaximumFlow</tt> calls.
+     *
+     * @return current sink
+     */
+    public V getCurrentSink()
+    {
+        return (currentSink < 0) ? null : network.getVertexAt(currentSink);
+    }
+
+    /**
+     * Returns the flow on an edge, which is non-negative in its direction of
+     * flow.
+     *
+     * @param edge the edge index
+     *
+     * @return the flow on the edge
+     */
+    double getFlowAt(int edge)
+    {
+        int arc = edgeArcs[edge];
+        double flow = capacities[arc] - residuals[arc];
+        return directed ? flow : Math.abs(flow);
+    }
+
+    /**
+     * Pushes flow along an arc, taking the same amount of residual capacity
+     * from the arc and giving it to its reverse arc.
+     *
+     * @param arc the arc
+     * @param flow the amount of flow
+     */
+    final void push(int arc, double flow)
+    {
+        residuals[arc] -= flow;
+        residuals[reverseArcs[arc]] += flow;
+    }
+
+    /**
+     * Augments the flow from the source to the sink until it is maximum, by
+     * the algorithm of Dinic. Each phase labels the vertices by their
+     * distance from the source in the residual network, and then saturates
+     * the level graph by a blocking flow.
+     *
+     * @param source the index of the source
+     * @param sink the index of the sink
+     *
+     * @return the value by which the flow increased
+     */
+    final double augmentBlockingFlows(int source, int sink)
+    {
+        allocateSearches();
+        double flow = 0.0;
+        while (labelLevels(source, sink)) {
+            System.arraycopy(arcStart, 0, currentArcs, 0, currentArcs.length);
+            flow += pushBlockingFlow(source, sink);
+        }
+        return flow;
+    }
+
+    /**
+     * Labels the vertices by their distance from the source in the residual
+     * network, up to the distance of the sink. Vertices further away keep the
+     * level -1.
+     *
+     * @return true if the sink is reachable, false otherwise
+     */
+    private boolean labelLevels(int source, int sink)
+    {
+        Arrays.fill(levels, -1);
+        levels[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int v = queue[head++];
+            int level = levels[v] + 1;
+            for (int a = arcStart[v], end = arcStart[v + 1]; a < end; a++) {
+                int w = arcTargets[a];
+                if ((levels[w] < 0) && (residuals[a] > epsilon)) {
+                    levels[w] = level;
+                    if (w == sink) {
+                        // no shortest path visits a vertex at this level
+                        return true;
+                    }
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Saturates the level graph. The search advances along the current arc of
+     * each vertex, which only moves forward within a phase, and removes the
+     * vertices it cannot leave from the level graph.
+     *
+     * @return the value of the blocking flow
+     */
+    private double pushBlockingFlow(int source, int sink)
+    {
+        double flow = 0.0;
+        int depth = 0;
+        int v = source;
+        for (;;) {
+            if (v == sink) {
+                double delta = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < depth; i++) {
+                    delta = Math.min(delta, residuals[path[i]]);
+                }
+                int saturated = -1;
+                for (int i = 0; i < depth; i++) {
+                    push(path[i], delta);
+                    if ((saturated < 0) && (residuals[path[i]] <= epsilon)) {
+                        saturated = i;
+                    }
+                }
+                flow += delta;
+
+                // retreat to the tail of the first saturated arc
+                depth = saturated;
+                v = arcSource(path[saturated]);
+                continue;
+            }
+
+            int level = levels[v] + 1;
+            int end = arcStart[v + 1];
+            int a = currentArcs[v];
+            while ((a < end)
+                && ((residuals[a] <= epsilon)
+                    || (levels[arcTargets[a]] != level)))
+            {
+                a++;
+            }
+            currentArcs[v] = a;
+
+            if (a < end) {
+                path[depth++] = a;
+                v = arcTargets[a];
+            } else if (v == source) {
+                return flow;
+            } else {
+                // a dead end; leave the level graph and retreat
+                levels[v] = -1;
+                a = path[--depth];
+                v = arcSource(a);
+                currentArcs[v]++;
+            }
+        }
+    }
+    /**
+     * Sets the capacity of an arc, keeping the flow on it, which may exceed
+     * the new capacity.
+     */
+    private void updateCapacity(int arc, double capacity)
+    {
+        residuals[arc] += capacity - capacities[arc];
+        capacities[arc] = capacity;
+    }
+
+    /**
+     * Takes the surplus flow off an arc whose capacity dropped below its flow.
+     * The tail of the arc is left with an excess and the head with a deficit,
+     * which are moved along residual paths, preferably between each other,
+     * otherwise to the source or the sink.
+     */
+    private void repairOverflow(int arc, double surplus)
+    {
+        push(arc, -surplus);
+        int u = arcSource(arc);
+        int v = arcTargets[arc];
+        if (u == v) {
+            return;
+        }
+
+        double excess = isTerminal(u) ? 0.0 : surplus;
+        double deficit = isTerminal(v) ? 0.0 : surplus;
+        while (excess > epsilon) {
+            int end = search(u, v, true);
+            double pushed = pushPath(end, u, excess, true);
+            excess -= pushed;
+            if (end == v) {
+                deficit -= pushed;
+            }
+        }
+        while (deficit > epsilon) {
+            int start = search(v, -1, false);
+            deficit -= pushPath(start, v, deficit, false);
+        }
+    }
+
+    /**
+     * Collects the vertices which the source of the last flow reaches in the
+     * residual network. If the flow is maximum, they form the source side of
+     * a minimum cut.
+     *
+     * @param sourceSide receives the indices of the vertices
+     */
+    final void collectSourceSide(BitSet sourceSide)
+    {
+        allocateSearches();
+        int stamp = ++searchStamp;
+        searchMarks[currentSource] = stamp;
+        queue[0] = currentSource;
+        int tail = 1;
+        for (int head = 0; head < tail;) {
+            int w = queue[head++];
+            sourceSide.set(w);
+            for (int a = arcStart[w], end = arcStart[w + 1]; a < end; a++) {
+                int y = arcTargets[a];
+                if ((searchMarks[y] != stamp) && (residuals[a] > epsilon)) {
+                    searchMarks[y] = stamp;
+                    queue[tail++] = y;
+                }
+            }
+        }
+    }
+
+    private void allocateSearches()
+    {
+        if (levels == null) {
+            int n = network.vertexCount();
+            levels = new int[n];
+            currentArcs = new int[n];
+            queue = new int[n];
+            path = new int[n];
+            searchMarks = new int[n];
+        }
+    }
+
+    private boolean isTerminal(int v)
+    {
+        return (v == currentSource) || (v == currentSink);
+    }
+
+    /**
+     * Searches for a shortest residual path between a vertex and the nearest
+     * of another vertex, the source and the sink, following the residual arcs
+     * forward from the vertex or backward to it. The arcs of the path are
+     * left in path.
+     *
+     * @return the vertex at the other end of the path
+     */
+    private int search(int from, int other, boolean forward)
+    {
+        allocateSearches();
+        int stamp = ++searchStamp;
+        searchMarks[from] = stamp;
+        queue[0] = from;
+        for (int head = 0, tail = 1; head < tail;) {
+            int w = queue[head++];
+            for (int a = arcStart[w], end = arcStart[w + 1]; a < end; a++) {
+                int y = arcTargets[a];
+                int arc = forward ? a : reverseArcs[a];
+                if ((searchMarks[y] != stamp) && (residuals[arc] > epsilon)) {
+                    searchMarks[y] = stamp;
+                    path[y] = arc;
+                    if ((y == other) || isTerminal(y)) {
+                        return y;
+                    }
+                    queue[tail++] = y;
+                }
+            }
+        }
+        throw new IllegalStateException(
+            "no residual path to repair the flow");
+    }
+
+    /**
+     * Pushes flow along the path found by the last search, as much as the
+     * residual capacities allow but not more than an amount.
+     *
+     * @return the amount of flow pushed
+     */
+    private double pushPath(int end, int from, double amount, boolean forward)
+    {
+        double delta = amount;
+        for (int v = end; v != from;) {
+            int arc = path[v];
+            delta = Math.min(delta, residuals[arc]);
+            v = forward ? arcSource(arc) : arcTargets[arc];
+        }
+        for (int v = end; v != from;) {
+            int arc = path[v];
+            push(arc, delta);
+            v = forward ? arcSource(arc) : arcTargets[arc];
+        }
+        return delta;
+    }
+
+    /**
+     * Returns the vertex an arc leaves.
+     *
+     * @param arc the arc
+     *
+     * @return the index of the source of the arc
+     */
+    final int arcSource(int arc)
+    {
+        return arcTargets[reverseArcs[arc]];
+    }
+}
+
+// End ArrayMaximumFlowAlgorithmBase.java
@@ -0,0 +1,102 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------
+ * DinicMaximumFlow.java
+ * ---------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import org.jgrapht.*;
+
+
+/**
+ * Computes maximum flows by the <a
+ * href="https://en.wikipedia.org/wiki/Dinic%27s_algorithm">algorithm of
+ * Dinic</a>. Each phase labels the vertices by their distance from the source
+ * in the residual network, and then saturates the level graph, made of the
+ * arcs leading from one level to the next, by a blocking flow. The distance of
+ * the sink grows with every phase, which bounds the running time by O(V^2 E),
+ * and much better on the networks found in practice. On unit capacity
+ * networks, the bound is O(E min(V^(2/3), E^(1/2))).
+ *
+ * <p>The residual network is built once, in primitive arrays, when the
+ * algorithm is created. Computing further flows on the same network, for
+ * instance between other pairs of vertices, only resets the residual
+ * capacities. Changes of the network after the creation of the algorithm are
+ * not seen by it. The blocking flows are found by an iterative depth-first
+ * search, so long augmenting paths do not overflow the stack.</p>
+ *
+ * <p>If the network is weighted, then capacities are weights, otherwise all
+ * capacities are equal to one. The network must be a directed or an
+ * undirected graph; an undirected edge may carry flow in either direction.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class DinicMaximumFlow<V, E>
+    extends ArrayMaximumFlowAlgorithmBase<V, E>
+{
+    /**
+     * Creates the algorithm for a network. Doubles are compared using <tt>
+     * DEFAULT_EPSILON</tt> tolerance.
+     *
+     * @param network network, where maximum flow will be calculated
+     *
+     * @throws IllegalArgumentException if a capacity is negative
+     */
+    public DinicMaximumFlow(Graph<V, E> network)
+    {
+        this(network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+    }
+
+    /**
+     * Creates the algorithm for a network.
+     *
+     * @param network network, where maximum flow will be calculated
+     * @param epsilon tolerance for comparing doubles
+     *
+     * @throws IllegalArgumentException if the epsilon is not positive or if a
+     * capacity is negative
+     */
+    public DinicMaximumFlow(Graph<V, E> network, double epsilon)
+    {
+        super(network, epsilon);
+    }
+
+    @Override double computeMaximumFlow(int source, int sink)
+    {
+        return augmentBlockingFlows(source, sink);
+    }
+}
+
+// End DinicMaximumFlow.java
@@ -0,0 +1,420 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------
+ * GusfieldGomoryHuCutTree.java
+ * ----------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+/**
+ * Computes a <a href="https://en.wikipedia.org/wiki/Gomory%E2%80%93Hu_tree">
+ * Gomory-Hu tree</a> of an undirected network by the algorithm of Gusfield,
+ * which answers minimum cut queries for all pairs of vertices. The tree has
+ * the vertices of the network, and the minimum cut between two vertices of the
+ * network has the weight of the lightest edge on the path between them in the
+ * tree. Removing this edge from the tree splits the vertices into the two
+ * sides of such a cut.
+ *
+ * <p>The tree is built by n - 1 maximum flow computations on the network
+ * itself, without the contractions of the original construction of Gomory and
+ * Hu. Every vertex s in turn is separated from its current neighbour t in the
+ * tree by a minimum cut, and the vertices on the side of s which hang at t are
+ * moved to s. The flows are computed by {@link DinicMaximumFlow}. A minimum
+ * cut weight is then found in time linear in the length of the tree path, and
+ * a minimum cut in time linear in the number of vertices.</p>
+ *
+ * <p>If a {@link ForkJoinPool} is given, the flows are computed in parallel.
+ * Since the step of a vertex depends on the tree left by the steps before, the
+ * cuts of the next few vertices are computed in advance against their current
+ * neighbours, and a cut is used only if the neighbour of its vertex has not
+ * changed in between; otherwise it is computed again. Minimum cuts usually cut
+ * off small parts of the network, so most cuts computed in advance are used.
+ * Every thread keeps a residual network, so the memory needed is linear in
+ * the size of the network times the number of threads.</p>
+ *
+ * <p>If the network is weighted, then capacities are weights, otherwise all
+ * capacities are equal to one.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see org.jgrapht.alg.StoerWagnerMinimumCut
+ */
+public class GusfieldGomoryHuCutTree<V, E>
+{
+    private final CsrUndirectedGraph<V, E> network;
+    private final double epsilon;
+    private final ForkJoinPool pool;
+
+    /* the parent of every vertex in the tree rooted at vertex 0, or -1 */
+    private final int [] parents;
+    /* the weight of the tree edge from every vertex to its parent */
+    private final double [] cutWeights;
+    private final int [] depths;
+
+    /* the residual networks which are not in use by a thread */
+    private final Queue<DinicMaximumFlow<V, E>> solvers =
+        new ConcurrentLinkedQueue<>();
+
+    /**
+     * Computes the tree sequentially. Doubles are compared using <tt>
+     * DEFAULT_EPSILON</tt> tolerance.
+     *
+     * @param network the network
+     *
+     * @throws IllegalArgumentException if a capacity is negative
+     */
+    public GusfieldGomoryHuCutTree(UndirectedGraph<V, E> network)
+    {
+        this(network, null);
+    }
+
+    /**
+     * Computes the tree, with the maximum flows on the given pool. Doubles are
+     * compared using <tt>DEFAULT_EPSILON</tt> tolerance.
+     *
+     * @param network the network
+     * @param pool the pool running the maximum flow computations, or <code>
+     * null</code> to run them sequentially
+     *
+     * @throws IllegalArgumentException if a capacity is negative
+     */
+    public GusfieldGomoryHuCutTree(
+        UndirectedGraph<V, E> network,
+        ForkJoinPool pool)
+    {
+        this(network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON, pool);
+    }
+
+    /**
+     * Computes the tree, with the maximum flows on the given pool.
+     *
+     * @param network the network
+     * @param epsilon tolerance for comparing doubles
+     * @param pool the pool running the maximum flow computations, or <code>
+     * null</code> to run them sequentially
+     *
+     * @throws IllegalArgumentException if the epsilon is not positive or if a
+     * capacity is negative
+     */
+    public GusfieldGomoryHuCutTree(
+        UndirectedGraph<V, E> network,
+        double epsilon,
+        ForkJoinPool pool)
+    {
+        if (network == null) {
+            throw new NullPointerException("network is null");
+        }
+        this.network = Graphs.freeze(network);
+        this.epsilon = epsilon;
+        this.pool = pool;
+
+        int n = this.network.vertexCount();
+        parents = new int[n];
+        cutWeights = new double[n];
+        depths = new int[n];
+        if (n > 0) {
+            // validates the network
+            solvers.add(new DinicMaximumFlow<>(this.network, epsilon));
+            parents[0] = -1;
+            buildTree();
+            computeDepths();
+        }
+        solvers.clear();
+    }
+
+    /**
+     * Returns the weight of a minimum cut between two vertices, which is the
+     * value of a maximum flow between them.
+     *
+     * @param a a vertex of the network
+     * @param b another vertex of the network
+     *
+     * @return the weight of a minimum cut separating the vertices
+     *
+     * @throws IllegalArgumentException if a vertex is not contained in the
+     * network or if the vertices are equal
+     */
+    public double minCutWeight(V a, V b)
+    {
+        int u = indexOf(a);
+        int v = indexOf(b);
+        if (u == v) {
+            throw new IllegalArgumentException("vertices are equal");
+        }
+        return cutWeights[lightestEdge(u, v)];
+    }
+
+    /**
+     * Returns the side of a minimum cut between two vertices which contains
+     * the first vertex.
+     *
+     * @param a a vertex of the network
+     * @param b another vertex of the network
+     *
+     * @return the vertices on the side of the first vertex
+     *
+     * @throws IllegalArgumentException if a vertex is not contained in the
+     * network or if the vertices are equal
+     */
+    public Set<V> minCut(V a, V b)
+    {
+        int u = indexOf(a);
+        int v = indexOf(b);
+        if (u == v) {
+            throw new IllegalArgumentException("vertices are equal");
+        }
+        int edge = lightestEdge(u, v);
+
+        // the side of every vertex is the side of its first known ancestor,
+        // where the lower end of the edge is inside and the root is outside
+        int n = network.vertexCount();
+        boolean [] known = new boolean[n];
+        boolean [] inside = new boolean[n];
+        known[edge] = true;
+        inside[edge] = true;
+        known[0] = true;
+        int [] stack = new int[n];
+        for (int w = 0; w < n; w++) {
+            int size = 0;
+            int x = w;
+            while (!known[x]) {
+                stack[size++] = x;
+                x = parents[x];
+            }
+            while (size > 0) {
+                int y = stack[--size];
+                known[y] = true;
+                inside[y] = inside[x];
+            }
+        }
+
+        Set<V> cut = new LinkedHashSet<>();
+        for (int w = 0; w < n; w++) {
+            if (inside[w] == inside[u]) {
+                cut.add(network.getVertexAt(w));
+            }
+        }
+        return cut;
+    }
+
+    /**
+     * Returns the Gomory-Hu tree. Its vertices are the vertices of the network,
+     * and its edge weights are the weights of the minimum cuts between their
+     * endpoints.
+     *
+     * @return a new graph holding the tree
+     */
+    public SimpleWeightedGraph<V, DefaultWeightedEdge> getGomoryHuTree()
+    {
+        SimpleWeightedGraph<V, DefaultWeightedEdge> tree =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        for (int v = 0; v < parents.length; v++) {
+            tree.addVertex(network.getVertexAt(v));
+        }
+        for (int v = 0; v < parents.length; v++) {
+            if (parents[v] >= 0) {
+                DefaultWeightedEdge e =
+                    tree.addEdge(
+                        network.getVertexAt(v),
+                        network.getVertexAt(parents[v]));
+                tree.setEdgeWeight(e, cutWeights[v]);
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * Runs the algorithm of Gusfield. The cuts of a window of vertices are
+     * computed in parallel against the current parents of the vertices, and
+     * then applied in order as long as the parents have not changed.
+     */
+    private void buildTree()
+    {
+        int n = network.vertexCount();
+        int window = (pool == null) ? 1 : (pool.getParallelism() * 4);
+        Cut [] cuts = new Cut[n];
+        for (int next = 1; next < n;) {
+            int end = Math.min(n, next + window);
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(end - next);
+            for (int s = next; s < end; s++) {
+                if ((cuts[s] == null) || (cuts[s].sink != parents[s])) {
+                    int source = s;
+                    int sink = parents[s];
+                    if (pool == null) {
+                        cuts[s] = computeCut(source, sink);
+                    } else {
+                        tasks.add(
+                            ForkJoinTask.adapt(
+                                () -> cuts[source] = computeCut(source, sink)));
+                    }
+                }
+            }
+            if (!tasks.isEmpty()) {
+                pool.invoke(
+                    new RecursiveAction() {
+                        private static final long serialVersionUID =
+                            -3052611318624418126L;
+
+                        @Override protected void compute()
+                        {
+                            invokeAll(tasks);
+                        }
+                    });
+            }
+
+            for (; (next < end) && (cuts[next].sink == parents[next]); next++) {
+                applyCut(next, cuts[next]);
+                cuts[next] = null;
+            }
+        }
+    }
+
+    private Cut computeCut(int source, int sink)
+    {
+        DinicMaximumFlow<V, E> solver = solvers.poll();
+        if (solver == null) {
+            solver = new DinicMaximumFlow<>(network, epsilon);
+        }
+        double weight =
+            solver.calculateMaximumFlow(
+                network.getVertexAt(source),
+                network.getVertexAt(sink));
+        BitSet sourceSide = new BitSet(network.vertexCount());
+        solver.collectSourceSide(sourceSide);
+        solvers.add(solver);
+        return new Cut(sink, weight, sourceSide);
+    }
+
+    /**
+     * Moves the vertices on the side of s which hang at its parent t to s.
+     * If the parent of t is on the side of s as well, s takes the place of t
+     * in the tree.
+     */
+    private void applyCut(int s, Cut cut)
+    {
+        int t = cut.sink;
+        cutWeights[s] = cut.weight;
+        for (int i = cut.sourceSide.nextSetBit(0); i >= 0;
+            i = cut.sourceSide.nextSetBit(i + 1))
+        {
+            if ((i != s) && (parents[i] == t)) {
+                parents[i] = s;
+            }
+        }
+        if ((parents[t] >= 0) && cut.sourceSide.get(parents[t])) {
+            parents[s] = parents[t];
+            parents[t] = s;
+            cutWeights[s] = cutWeights[t];
+            cutWeights[t] = cut.weight;
+        }
+    }
+
+    private void computeDepths()
+    {
+        int n = network.vertexCount();
+        Arrays.fill(depths, -1);
+        depths[0] = 0;
+        int [] stack = new int[n];
+        for (int v = 0; v < n; v++) {
+            int size = 0;
+            int x = v;
+            while (depths[x] < 0) {
+                stack[size++] = x;
+                x = parents[x];
+            }
+            while (size > 0) {
+                int y = stack[--size];
+                depths[y] = depths[x] + 1;
+                x = y;
+            }
+        }
+    }
+
+    /**
+     * Returns the lower end of the lightest edge on the tree path between two
+     * vertices.
+     */
+    private int lightestEdge(int u, int v)
+    {
+        int lightest = -1;
+        while (u != v) {
+            if (depths[u] < depths[v]) {
+                int w = u;
+                u = v;
+                v = w;
+            }
+            if ((lightest < 0) || (cutWeights[u] < cutWeights[lightest])) {
+                lightest = u;
+            }
+            u = parents[u];
+        }
+        return lightest;
+    }
+
+    private int indexOf(V v)
+    {
+        int index = network.indexOfVertex(v);
+        if (index < 0) {
+            throw new IllegalArgumentException(
+                "vertex is not contained in the network");
+        }
+        return index;
+    }
+
+    /**
+     * A minimum cut between a vertex and its parent at the time.
+     */
+    private static class Cut
+    {
+        final int sink;
+        final double weight;
+        final BitSet sourceSide;
+
+        Cut(int sink, double weight, BitSet sourceSide)
+        {
+            this.sink = sink;
+            this.weight = weight;
+            this.sourceSide = sourceSide;
+        }
+    }
+}
+
+// End GusfieldGomoryHuCutTree.java
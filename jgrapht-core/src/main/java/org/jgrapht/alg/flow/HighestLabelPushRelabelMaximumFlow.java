@@ -0,0 +1,350 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------------------
+ * HighestLabelPushRelabelMaximumFlow.java
+ * ---------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+
+import org.jgrapht.*;
+
+
+/**
+ * Computes maximum flows by the highest-label variant of the <a
+ * href="https://en.wikipedia.org/wiki/Push%E2%80%93relabel_maximum_flow_algorithm">
+ * push-relabel algorithm</a> of Goldberg and Tarjan, in O(V^2 E^(1/2)) time.
+ * Active vertices are kept in buckets by label, and the vertex discharged
+ * next is always one of the highest label. Two heuristics keep the labels
+ * exact enough to avoid long series of useless relabels:
+ *
+ * <ul>
+ * <li><i>Global relabeling</i> sets the labels to the exact distances to the
+ * sink by a backward breadth-first search. It runs at the start, and again
+ * whenever the relabels have scanned about as many arcs as the network
+ * has.</li>
+ * <li><i>Gap relabeling</i> notices when the last vertex leaves a label. The
+ * vertices above the gap cannot reach the sink anymore, so they are given
+ * up at once instead of being relabeled one by one.</li>
+ * </ul>
+ *
+ * <p>The first phase computes a maximum preflow, whose excess at the sink is
+ * the value of the maximum flow. The second phase returns the remaining excess
+ * of the other vertices to the source, by the same means, to turn the preflow
+ * into a flow. For more details see B. V. Cherkassky and A. V. Goldberg: <i>On
+ * implementing the push-relabel method for the maximum flow problem</i>,
+ * Algorithmica 19 (1997), 390-410.</p>
+ *
+ * <p>Like {@link DinicMaximumFlow}, the algorithm builds the residual network
+ * once, in primitive arrays, so it may compute many flows on the same
+ * network. Changes of the network after the creation of the algorithm are not
+ * seen by it. If the network is weighted, then capacities are weights,
+ * otherwise all capacities are equal to one.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class HighestLabelPushRelabelMaximumFlow<V, E>
+    extends ArrayMaximumFlowAlgorithmBase<V, E>
+{
+    /* weights of the work done by relabels, as in Cherkassky and Goldberg */
+    private static final int RELABEL_WORK = 12;
+    private static final int GLOBAL_RELABEL_WORK_PER_VERTEX = 12;
+
+    private final int n;
+    private final int [] labels;
+    private final double [] excesses;
+    private final int [] currentArcs;
+
+    /* active vertices by label, in singly linked stacks */
+    private final int [] activeFirst;
+    private final int [] activeNext;
+    private int maxActive;
+
+    /* all live vertices by label, in doubly linked lists, to detect gaps */
+    private final int [] labelFirst;
+    private final int [] labelNext;
+    private final int [] labelPrevious;
+    private int maxLabel;
+
+    private final int [] queue;
+    private final long globalRelabelWork;
+    private long work;
+
+    /**
+     * Creates the algorithm for a network. Doubles are compared using <tt>
+     * DEFAULT_EPSILON</tt> tolerance.
+     *
+     * @param network network, where maximum flow will be calculated
+     *
+     * @throws IllegalArgumentException if a capacity is negative
+     */
+    public HighestLabelPushRelabelMaximumFlow(Graph<V, E> network)
+    {
+        this(network, MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+    }
+
+    /**
+     * Creates the algorithm for a network.
+     *
+     * @param network network, where maximum flow will be calculated
+     * @param epsilon tolerance for comparing doubles
+     *
+     * @throws IllegalArgumentException if the epsilon is not positive or if a
+     * capacity is negative
+     */
+    public HighestLabelPushRelabelMaximumFlow(
+        Graph<V, E> network,
+        double epsilon)
+    {
+        super(network, epsilon);
+        n = this.network.vertexCount();
+        labels = new int[n];
+        excesses = new double[n];
+        currentArcs = new int[n];
+        activeFirst = new int[n];
+        activeNext = new int[n];
+        labelFirst = new int[n];
+        labelNext = new int[n];
+        labelPrevious = new int[n];
+        queue = new int[n];
+        globalRelabelWork =
+            ((long) GLOBAL_RELABEL_WORK_PER_VERTEX * n) + arcTargets.length;
+    }
+
+    @Override double computeMaximumFlow(int source, int sink)
+    {
+        Arrays.fill(excesses, 0.0);
+        for (int a = arcStart[source]; a < arcStart[source + 1]; a++) {
+            int w = arcTargets[a];
+            double delta = residuals[a];
+            if ((w != source) && (delta > epsilon)) {
+                push(a, delta);
+                excesses[w] += delta;
+            }
+        }
+
+        // the source is given the label n, where vertices are inactive
+        dischargeAll(sink, source);
+
+        // return the excess of the vertices cut off from the sink
+        dischargeAll(source, sink);
+
+        return excesses[sink];
+    }
+
+    /**
+     * Discharges all active vertices toward a target vertex, never pushing
+     * into the excluded vertex.
+     */
+    private void dischargeAll(int target, int excluded)
+    {
+        globalRelabel(target, excluded);
+        while (maxActive >= 0) {
+            int v = activeFirst[maxActive];
+            if (v < 0) {
+                maxActive--;
+                continue;
+            }
+            activeFirst[maxActive] = activeNext[v];
+            discharge(v, target);
+            if (work > globalRelabelWork) {
+                globalRelabel(target, excluded);
+            }
+        }
+    }
+
+    /**
+     * Pushes the excess of a vertex along admissible arcs, relabeling it until
+     * its excess is gone or it cannot reach the target.
+     */
+    private void discharge(int v, int target)
+    {
+        int end = arcStart[v + 1];
+        for (;;) {
+            int label = labels[v] - 1;
+            int a = currentArcs[v];
+            for (; a < end; a++) {
+                int w = arcTargets[a];
+                if ((labels[w] == label) && (residuals[a] > epsilon)) {
+                    double delta = Math.min(excesses[v], residuals[a]);
+                    if ((excesses[w] == 0.0) && (w != target)) {
+                        activate(w);
+                    }
+                    push(a, delta);
+                    excesses[v] -= delta;
+                    excesses[w] += delta;
+                    if (excesses[v] == 0.0) {
+                        break;
+                    }
+                }
+            }
+            currentArcs[v] = a;
+            if ((a < end) || !relabel(v)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Raises the label of a vertex to one more than the lowest label of its
+     * residual neighbours. If the vertex was the last of its label, all
+     * vertices above are given up instead.
+     *
+     * @return false if the vertex cannot reach the target anymore
+     */
+    private boolean relabel(int v)
+    {
+        int label = labels[v];
+        unlink(v);
+        if (labelFirst[label] < 0) {
+            gap(label);
+            labels[v] = n;
+            return false;
+        }
+
+        int min = n;
+        int minArc = -1;
+        for (int a = arcStart[v], end = arcStart[v + 1]; a < end; a++) {
+            if ((residuals[a] > epsilon) && (labels[arcTargets[a]] < min)) {
+                min = labels[arcTargets[a]];
+                minArc = a;
+            }
+        }
+        work += RELABEL_WORK + arcStart[v + 1] - arcStart[v];
+
+        if (min + 1 >= n) {
+            labels[v] = n;
+            return false;
+        }
+        labels[v] = min + 1;
+        currentArcs[v] = minArc;
+        link(v);
+        return true;
+    }
+
+    /**
+     * Gives up the vertices above an empty label, which cannot reach the
+     * target.
+     */
+    private void gap(int label)
+    {
+        for (int l = label + 1; l <= maxLabel; l++) {
+            for (int v = labelFirst[l]; v >= 0; v = labelNext[v]) {
+                labels[v] = n;
+            }
+            labelFirst[l] = -1;
+            activeFirst[l] = -1;
+        }
+        maxLabel = label - 1;
+        maxActive = Math.min(maxActive, maxLabel);
+    }
+
+    /**
+     * Sets the labels to the distances to the target in the residual network,
+     * and collects the active vertices.
+     */
+    private void globalRelabel(int target, int excluded)
+    {
+        Arrays.fill(labels, n);
+        Arrays.fill(labelFirst, -1);
+        Arrays.fill(activeFirst, -1);
+        System.arraycopy(arcStart, 0, currentArcs, 0, n);
+        maxActive = -1;
+        maxLabel = 0;
+        work = 0;
+
+        labels[target] = 0;
+        link(target);
+        queue[0] = target;
+        for (int head = 0, tail = 1; head < tail;) {
+            int w = queue[head++];
+            int label = labels[w] + 1;
+            for (int a = arcStart[w], end = arcStart[w + 1]; a < end; a++) {
+                int u = arcTargets[a];
+                if ((labels[u] == n) && (u != excluded)
+                    && (residuals[reverseArcs[a]] > epsilon))
+                {
+                    labels[u] = label;
+                    link(u);
+                    if (excesses[u] > 0.0) {
+                        activate(u);
+                    }
+                    queue[tail++] = u;
+                }
+            }
+        }
+    }
+
+    private void activate(int v)
+    {
+        int label = labels[v];
+        activeNext[v] = activeFirst[label];
+        activeFirst[label] = v;
+        if (label > maxActive) {
+            maxActive = label;
+        }
+    }
+
+    private void link(int v)
+    {
+        int label = labels[v];
+        int first = labelFirst[label];
+        labelNext[v] = first;
+        labelPrevious[v] = -1;
+        if (first >= 0) {
+            labelPrevious[first] = v;
+        }
+        labelFirst[label] = v;
+        if (label > maxLabel) {
+            maxLabel = label;
+        }
+    }
+
+    private void unlink(int v)
+    {
+        int next = labelNext[v];
+        int previous = labelPrevious[v];
+        if (previous >= 0) {
+            labelNext[previous] = next;
+        } else {
+            labelFirst[labels[v]] = next;
+        }
+        if (next >= 0) {
+            labelPrevious[next] = previous;
+        }
+    }
+}
+
+// End HighestLabelPushRelabelMaximumFlow.java
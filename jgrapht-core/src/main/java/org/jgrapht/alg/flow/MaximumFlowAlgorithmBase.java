@@ -116,9 +116,12 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
                     VertexExtensionBase vx = vertexExtensionManager.getExtension(v);
 
                     AnnotatedFlowEdge forwardEdge = createEdge(ux, vx, e, directedGraph.getEdgeWeight(e));
-                    AnnotatedFlowEdge backwardEdge = createBackwardEdge(forwardEdge);
-
                     ux.getOutgoing().add(forwardEdge);
+                    if (forwardEdge.inverse != null) { //already paired with an anti-parallel edge
+                        continue;
+                    }
+
+                    AnnotatedFlowEdge backwardEdge = createBackwardEdge(forwardEdge);
 
                     if (backwardEdge.prototype == null) {
                         vx.getOutgoing().add(backwardEdge);
@@ -162,7 +165,18 @@ public abstract class MaximumFlowAlgorithmBase<V, E>
             AnnotatedFlowEdge forwardEdge)
     {
         AnnotatedFlowEdge backwardEdge;
-        E backwardPrototype = network.getEdge(forwardEdge.target.prototype, forwardEdge.source.prototype);
+        E backwardPrototype = null;
+        if (directed_graph) { //pair with an anti-parallel edge which is not paired yet, parallel edges each need their own
+            E forwardPrototype = forwardEdge.prototype;
+            for (E e : network.getAllEdges(network.getEdgeTarget(forwardPrototype), network.getEdgeSource(forwardPrototype))) {
+                if (edgeExtensionManager.getExtension(e).getInverse() == null) {
+                    backwardPrototype = e;
+                    break;
+                }
+            }
+        } else {
+            backwardPrototype = network.getEdge(forwardEdge.target.prototype, forwardEdge.source.prototype);
+        }
 
         if (directed_graph && backwardPrototype != null) { //if edge exists in directed input graph
             backwardEdge = createEdge(forwardEdge.target, forwardEdge.source, backwardPrototype, network.getEdgeWeight(backwardPrototype));
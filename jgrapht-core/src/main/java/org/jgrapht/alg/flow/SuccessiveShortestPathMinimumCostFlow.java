@@ -0,0 +1,550 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ------------------------------------------
+ * SuccessiveShortestPathMinimumCostFlow.java
+ * ------------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.util.extension.ExtensionFactory;
+import org.jgrapht.util.*;
+
+
+/**
+ * Computes <a
+ * href="https://en.wikipedia.org/wiki/Minimum-cost_flow_problem">minimum-cost
+ * flows</a> by the successive shortest path algorithm. Starting from the zero
+ * flow, the algorithm repeatedly augments the flow along a cheapest path from
+ * the source to the sink in the residual network, until the requested value is
+ * reached or the sink can no longer be reached. Every flow built on the way is
+ * a cheapest flow of its value.
+ *
+ * <p>The cheapest paths are found by Dijkstra's algorithm on the costs reduced
+ * by vertex potentials, which keeps them non-negative even on the reverse arcs
+ * of the residual network. After every search, the potentials are raised by
+ * the distances found, and the search stops as soon as the sink is settled.
+ * The flow is then augmented along all cheapest paths at once, by a blocking
+ * flow on the arcs of zero reduced cost, so that the number of searches
+ * follows the number of distinct path costs rather than the number of paths.
+ * With a binary heap, a search costs O(E log V). If some costs are negative,
+ * the initial potentials are computed by the algorithm of Bellman and Ford,
+ * and the network must not contain a cycle of negative cost reachable from
+ * the source.</p>
+ *
+ * <p>If the network is weighted, then capacities are weights, otherwise all
+ * capacities are equal to one. The costs are supplied separately, as a map
+ * from every edge to its cost per unit of flow. The network must be a directed
+ * or an undirected graph; an undirected edge may carry flow in either
+ * direction, at the same non-negative cost.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+public class SuccessiveShortestPathMinimumCostFlow<V, E>
+    extends MaximumFlowAlgorithmBase<V, E>
+    implements MinimumCostFlowAlgorithm<V, E>
+{
+    private final Map<E, Double> costs;
+    private final boolean negativeCosts;
+    private final AddressableHeap<VertexExtension> heap;
+
+    private final ExtensionFactory<VertexExtension> vertexExtensionsFactory;
+    private final ExtensionFactory<AnnotatedFlowEdge> edgeExtensionsFactory;
+
+    private VertexExtension currentSource;
+    private VertexExtension currentSink;
+    private List<VertexExtension> vertices;
+    private final List<CostFlowEdge> path = new ArrayList<>();
+    private int phase;
+    private double flowCost;
+
+    /**
+     * Creates the algorithm for a network. Doubles are compared using <tt>
+     * DEFAULT_EPSILON</tt> tolerance.
+     *
+     * @param network network, where minimum-cost flows will be calculated
+     * @param costs the cost per unit of flow of every edge of the network
+     *
+     * @throws IllegalArgumentException if a capacity is negative, if an edge
+     * has no cost or if an undirected edge has a negative cost
+     */
+    public SuccessiveShortestPathMinimumCostFlow(
+        Graph<V, E> network,
+        Map<E, Double> costs)
+    {
+        this(network, costs, DEFAULT_EPSILON);
+    }
+
+    /**
+     * Creates the algorithm for a network, whose shortest path searches use
+     * binary heaps.
+     *
+     * @param network network, where minimum-cost flows will be calculated
+     * @param costs the cost per unit of flow of every edge of the network
+     * @param epsilon tolerance for comparing doubles
+     *
+     * @throws IllegalArgumentException if the epsilon is not positive, if a
+     * capacity is negative, if an edge has no cost or if an undirected edge has
+     * a negative cost
+     */
+    public SuccessiveShortestPathMinimumCostFlow(
+        Graph<V, E> network,
+        Map<E, Double> costs,
+        double epsilon)
+    {
+        this(network, costs, epsilon, AddressableHeapFactory.BINARY_HEAP);
+    }
+
+    /**
+     * Creates the algorithm for a network.
+     *
+     * @param network network, where minimum-cost flows will be calculated
+     * @param costs the cost per unit of flow of every edge of the network
+     * @param epsilon tolerance for comparing doubles
+     * @param heapFactory the factory of the priority queue of the shortest
+     * path searches
+     *
+     * @throws IllegalArgumentException if the epsilon is not positive, if a
+     * capacity is negative, if an edge has no cost or if an undirected edge has
+     * a negative cost
+     */
+    public SuccessiveShortestPathMinimumCostFlow(
+        Graph<V, E> network,
+        Map<E, Double> costs,
+        double epsilon,
+        AddressableHeapFactory heapFactory)
+    {
+        super(checkArguments(network, costs, epsilon), epsilon);
+        this.vertexExtensionsFactory = () -> new VertexExtension();
+        this.edgeExtensionsFactory = () -> new CostFlowEdge();
+
+        this.costs = new HashMap<>();
+        boolean negative = false;
+        for (E e : network.edgeSet()) {
+            if (network.getEdgeWeight(e) < -epsilon) {
+                throw new IllegalArgumentException(
+                    "invalid capacity (must be non-negative)");
+            }
+            Double cost = costs.get(e);
+            if (cost == null) {
+                throw new IllegalArgumentException("no cost for edge " + e);
+            }
+            if (cost < 0) {
+                if (!directed_graph) {
+                    throw new IllegalArgumentException(
+                        "invalid cost (must be non-negative on undirected"
+                        + " edges)");
+                }
+                negative = true;
+            }
+            this.costs.put(e, cost);
+        }
+        this.negativeCosts = negative;
+        this.heap = heapFactory.createHeap();
+    }
+
+    /**
+     * Checks the arguments of the constructor before they reach the
+     * constructor of the base class.
+     *
+     * @return the network
+     */
+    private static <V, E> Graph<V, E> checkArguments(
+        Graph<V, E> network,
+        Map<E, Double> costs,
+        double epsilon)
+    {
+        if (network == null) {
+            throw new NullPointerException("network is null");
+        }
+        if (costs == null) {
+            throw new NullPointerException("costs is null");
+        }
+        if (epsilon <= 0) {
+            throw new IllegalArgumentException(
+                "invalid epsilon (must be positive)");
+        }
+        return network;
+    }
+
+    /**
+     * Calculates a minimum-cost maximum flow.
+     *
+     * @see MaximumFlowAlgorithm#buildMaximumFlow(Object, Object)
+     */
+    @Override public MaximumFlow<E> buildMaximumFlow(V source, V sink)
+    {
+        return buildMinimumCostMaximumFlow(source, sink);
+    }
+
+    /**
+     * @see MinimumCostFlowAlgorithm#buildMinimumCostFlow(Object, Object,
+     * double)
+     */
+    @Override public MinimumCostFlow<E> buildMinimumCostFlow(
+        V source,
+        V sink,
+        double flowValue)
+    {
+        if (!network.containsVertex(source)) {
+            throw new IllegalArgumentException(
+                "invalid source (null or not from this network)");
+        }
+        if (!network.containsVertex(sink)) {
+            throw new IllegalArgumentException(
+                "invalid sink (null or not from this network)");
+        }
+        if (source.equals(sink)) {
+            throw new IllegalArgumentException("source is equal to sink");
+        }
+        if (!(flowValue >= 0)) {
+            throw new IllegalArgumentException(
+                "invalid flow value (must be non-negative)");
+        }
+        super.init(vertexExtensionsFactory, edgeExtensionsFactory);
+
+        vertices = new ArrayList<>(network.vertexSet().size());
+        for (V v : network.vertexSet()) {
+            vertices.add(getVertexExtension(v));
+        }
+        for (E e : network.edgeSet()) {
+            CostFlowEdge ex =
+                (CostFlowEdge) edgeExtensionManager.getExtension(e);
+            ex.cost = costs.get(e);
+            CostFlowEdge inverse = (CostFlowEdge) ex.getInverse();
+            if (!directed_graph) {
+                inverse.cost = ex.cost;
+            } else if (inverse.prototype == null) {
+                // only carries flow back, which saves the cost of the edge
+                inverse.cost = -ex.cost;
+            }
+        }
+        currentSource = getVertexExtension(source);
+        currentSink = getVertexExtension(sink);
+
+        if (negativeCosts) {
+            initializePotentials();
+        }
+        while ((compareFlowTo(maxFlowValue, flowValue) < 0)
+            && labelDistances())
+        {
+            maxFlowValue += augmentFlow(flowValue - maxFlowValue);
+        }
+
+        maxFlow = composeFlow();
+        flowCost = 0.0;
+        for (Map.Entry<E, Double> entry : maxFlow.entrySet()) {
+            flowCost += entry.getValue() * costs.get(entry.getKey());
+        }
+        return new MinimumCostFlowImpl<>(maxFlowValue, maxFlow, flowCost);
+    }
+
+    /**
+     * @see MinimumCostFlowAlgorithm#getFlowCost()
+     */
+    @Override public double getFlowCost()
+    {
+        return flowCost;
+    }
+
+    /**
+     * Returns current source vertex, or <tt>null</tt> if there was no
+     * calculation yet.
+     *
+     * @return current source
+     */
+    public V getCurrentSource()
+    {
+        return (currentSource == null) ? null : currentSource.prototype;
+    }
+
+    /**
+     * Returns current sink vertex, or <tt>null</tt> if there was no
+     * calculation yet.
+     *
+     * @return current sink
+     */
+    public V getCurrentSink()
+    {
+        return (currentSink == null) ? null : currentSink.prototype;
+    }
+
+    /**
+     * Sets the potentials to the distances from the source by the algorithm
+     * of Bellman and Ford, so that the reduced costs of the arcs leaving the
+     * vertices reachable from the source are non-negative. The potentials of
+     * the other vertices do not matter, since no residual path reaches them.
+     */
+    private void initializePotentials()
+    {
+        for (VertexExtension vx : vertices) {
+            vx.potential = Double.POSITIVE_INFINITY;
+        }
+        currentSource.potential = 0.0;
+
+        boolean changed = true;
+        for (int i = 0; changed; i++) {
+            if (i == vertices.size()) {
+                throw new IllegalArgumentException(
+                    "network contains a cycle of negative cost");
+            }
+            changed = false;
+            for (VertexExtension ux : vertices) {
+                if (ux.potential == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (AnnotatedFlowEdge ex : ux.getOutgoing()) {
+                    if ((ex.flow + epsilon) < ex.capacity) {
+                        VertexExtension vx = ex.getTarget();
+                        double d = ux.potential + ((CostFlowEdge) ex).cost;
+                        if (d < vx.potential) {
+                            vx.potential = d;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+        }
+
+        for (VertexExtension vx : vertices) {
+            if (vx.potential == Double.POSITIVE_INFINITY) {
+                vx.potential = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Searches a cheapest residual path from the source to the sink by
+     * Dijkstra's algorithm on the reduced costs, and raises the potentials by
+     * the distances found. The search stops when the sink is settled; every
+     * vertex which is not settled by then is raised by the distance of the
+     * sink, which keeps all reduced costs non-negative.
+     *
+     * @return true if the sink was reached, false otherwise
+     */
+    private boolean labelDistances()
+    {
+        phase++;
+        heap.clear();
+        currentSource.reached = phase;
+        currentSource.distance = 0.0;
+        currentSource.handle = heap.insert(currentSource, 0.0);
+
+        while (!heap.isEmpty()) {
+            VertexExtension ux = heap.removeMin().getData();
+            ux.settled = phase;
+            if (ux == currentSink) {
+                break;
+            }
+            for (AnnotatedFlowEdge a : ux.getOutgoing()) {
+                CostFlowEdge ex = (CostFlowEdge) a;
+                if ((ex.flow + epsilon) >= ex.capacity) {
+                    continue;
+                }
+                VertexExtension vx = ex.getTarget();
+                if (vx.settled == phase) {
+                    continue;
+                }
+                // reduced costs are non-negative up to rounding errors
+                double d =
+                    ux.distance
+                    + Math.max(
+                        0.0,
+                        getCost(ex) + ux.potential - vx.potential);
+                if (vx.reached != phase) {
+                    vx.reached = phase;
+                    vx.distance = d;
+                    vx.handle = heap.insert(vx, d);
+                } else if (d < vx.distance) {
+                    vx.distance = d;
+                    heap.decreaseKey(vx.handle, d);
+                }
+            }
+        }
+
+        if (currentSink.settled != phase) {
+            return false;
+        }
+        double sinkDistance = currentSink.distance;
+        for (VertexExtension vx : vertices) {
+            vx.potential +=
+                (vx.settled == phase) ? vx.distance : sinkDistance;
+        }
+        return true;
+    }
+
+    /**
+     * Pushes flow along the cheapest paths found by the last search, but no
+     * more than a given amount. These are the paths made of arcs whose reduced
+     * cost is zero, which are saturated in turn by a depth-first search, as in
+     * the algorithm of Dinic, so that a single search often serves many
+     * augmentations.
+     *
+     * @param limit the maximum amount of flow to push
+     *
+     * @return the amount of flow pushed
+     */
+    private double augmentFlow(double limit)
+    {
+        for (VertexExtension vx : vertices) {
+            vx.currentArc = 0;
+        }
+        double flow = 0.0;
+        VertexExtension ux = currentSource;
+        ux.onPath = true;
+        while (compareFlowTo(flow, limit) < 0) {
+            if (ux == currentSink) {
+                double delta = limit - flow;
+                for (CostFlowEdge ex : path) {
+                    delta = Math.min(delta, getResidualCapacity(ex));
+                }
+                for (CostFlowEdge ex : path) {
+                    pushFlowThrough(ex, delta);
+                }
+                flow += delta;
+
+                // retreat to the first arc which is no longer admissible
+                int i = 0;
+                while ((i < path.size()) && isAdmissible(path.get(i))) {
+                    i++;
+                }
+                if (i < path.size()) {
+                    ux = path.get(i).getSource();
+                    for (int j = path.size() - 1; j >= i; j--) {
+                        path.remove(j).<VertexExtension>getTarget().onPath =
+                            false;
+                    }
+                }
+                continue;
+            }
+
+            List<AnnotatedFlowEdge> outgoing = ux.getOutgoing();
+            CostFlowEdge next = null;
+            for (; ux.currentArc < outgoing.size(); ux.currentArc++) {
+                CostFlowEdge ex = (CostFlowEdge) outgoing.get(ux.currentArc);
+                if (!ex.<VertexExtension>getTarget().onPath
+                    && isAdmissible(ex))
+                {
+                    next = ex;
+                    break;
+                }
+            }
+            if (next != null) {
+                path.add(next);
+                ux = next.getTarget();
+                ux.onPath = true;
+            } else {
+                // dead end, which stays one until the next search
+                ux.onPath = false;
+                if (path.isEmpty()) {
+                    break;
+                }
+                ux = path.remove(path.size() - 1).getSource();
+                ux.currentArc++;
+            }
+        }
+
+        currentSource.onPath = false;
+        for (CostFlowEdge ex : path) {
+            ex.<VertexExtension>getTarget().onPath = false;
+        }
+        path.clear();
+        return flow;
+    }
+
+    /**
+     * Tests whether an arc has residual capacity and a reduced cost of zero,
+     * that is whether it lies on a cheapest path.
+     */
+    private boolean isAdmissible(CostFlowEdge ex)
+    {
+        if ((ex.flow + epsilon) >= ex.capacity) {
+            return false;
+        }
+        VertexExtension ux = ex.getSource();
+        VertexExtension vx = ex.getTarget();
+        return (getCost(ex) + ux.potential - vx.potential) <= epsilon;
+    }
+
+    /**
+     * Returns the cost of pushing flow through an arc. Flow pushed through an
+     * arc first cancels the flow on its inverse, which saves the cost of the
+     * inverse, and only then adds flow to the arc itself.
+     */
+    private double getCost(CostFlowEdge ex)
+    {
+        CostFlowEdge inverse = (CostFlowEdge) ex.getInverse();
+        return (inverse.flow > epsilon) ? -inverse.cost : ex.cost;
+    }
+
+    /**
+     * Returns how much flow can be pushed through an arc at the cost returned
+     * by {@link #getCost(CostFlowEdge)}.
+     */
+    private double getResidualCapacity(CostFlowEdge ex)
+    {
+        double residual = ex.capacity - ex.flow;
+        double inverseFlow = ex.getInverse().flow;
+        return (inverseFlow > epsilon)
+            ? Math.min(residual, inverseFlow) : residual;
+    }
+
+    private VertexExtension getVertexExtension(V v)
+    {
+        return (VertexExtension) vertexExtensionManager.getExtension(v);
+    }
+
+    class VertexExtension
+        extends VertexExtensionBase
+    {
+        double potential;
+        double distance;
+        AddressableHeap.Handle<VertexExtension> handle;
+        int reached; // the last search which reached this vertex
+        int settled; // the last search which settled this vertex
+        int currentArc; // the next outgoing arc to try in augmentFlow
+        boolean onPath; // whether augmentFlow has this vertex on its path
+    }
+
+    class CostFlowEdge
+        extends AnnotatedFlowEdge
+    {
+        double cost; // the cost of a unit of flow on this arc
+    }
+}
+
+// End SuccessiveShortestPathMinimumCostFlow.java
@@ -0,0 +1,80 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ------------------------------------
+ * IncrementalMaximumFlowAlgorithm.java
+ * ------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.interfaces;
+
+import java.util.*;
+
+
+/**
+ * A maximum flow algorithm which repairs the last computed flow after the
+ * capacities of some edges changed, instead of computing it anew.
+ *
+ * @param <V> vertex concept type
+ * @param <E> edge concept type
+ */
+public interface IncrementalMaximumFlowAlgorithm<V, E>
+    extends MaximumFlowAlgorithm<V, E>
+{
+    /**
+     * Returns the capacity of an edge. It is the weight of the edge in the
+     * network, unless changed by {@link #updateMaximumFlow(Map)}.
+     *
+     * @param e the edge
+     *
+     * @return the capacity of the edge
+     *
+     * @throws IllegalArgumentException if the edge is not in the network
+     */
+    double getCapacity(E e);
+
+    /**
+     * Changes the capacities of some edges and updates the maximum flow
+     * computed last, between the same source and sink. The change of the
+     * capacities is not reflected in the network graph.
+     *
+     * @param capacityDeltas the amounts to add to the capacities of the edges
+     *
+     * @return the value of the updated maximum flow
+     *
+     * @throws IllegalStateException if no maximum flow has been computed
+     * @throws IllegalArgumentException if an edge is not in the network or if
+     * a capacity would become negative, in which case no capacity is changed
+     */
+    double updateMaximumFlow(Map<E, Double> capacityDeltas);
+}
+
+// End IncrementalMaximumFlowAlgorithm.java
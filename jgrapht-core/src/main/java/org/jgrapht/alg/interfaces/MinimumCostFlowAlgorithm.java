@@ -0,0 +1,134 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------
+ * MinimumCostFlowAlgorithm.java
+ * -----------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.interfaces;
+
+import java.util.*;
+
+
+/**
+ * Allows to derive a <a
+ * href="https://en.wikipedia.org/wiki/Minimum-cost_flow_problem">minimum-cost
+ * flow</a> from the supplied <a
+ * href="https://en.wikipedia.org/wiki/Flow_network">flow network</a>, in which
+ * every edge has a cost per unit of flow besides its capacity. Among all flows
+ * of a given value from a source to a sink, a minimum-cost flow is one whose
+ * total cost, the sum over the edges of their flows times their costs, is the
+ * smallest.
+ *
+ * @param <V> vertex concept type
+ * @param <E> edge concept type
+ */
+public interface MinimumCostFlowAlgorithm<V, E>
+    extends MaximumFlowAlgorithm<V, E>
+{
+    /**
+     * Sets current source to <tt>source</tt>, current sink to <tt>sink</tt>,
+     * then calculates a minimum-cost flow from <tt>source</tt> to <tt>
+     * sink</tt>, whose value is the smaller of <tt>flowValue</tt> and the
+     * value of a maximum flow.
+     *
+     * @param source source of the flow inside the network
+     * @param sink sink of the flow inside the network
+     * @param flowValue the value of the flow to route
+     *
+     * @return minimum-cost flow
+     */
+    MinimumCostFlow<E> buildMinimumCostFlow(V source, V sink, double flowValue);
+
+    /**
+     * Sets current source to <tt>source</tt>, current sink to <tt>sink</tt>,
+     * then calculates a minimum-cost maximum flow from <tt>source</tt> to <tt>
+     * sink</tt>.
+     *
+     * @param source source of the flow inside the network
+     * @param sink sink of the flow inside the network
+     *
+     * @return minimum-cost maximum flow
+     */
+    default MinimumCostFlow<E> buildMinimumCostMaximumFlow(V source, V sink)
+    {
+        return buildMinimumCostFlow(source, sink, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns the cost of the flow that was calculated during the last call
+     * to one of the build methods.
+     *
+     * @return cost of the flow
+     */
+    double getFlowCost();
+
+    interface MinimumCostFlow<E>
+        extends MaximumFlow<E>
+    {
+        /**
+         * Returns the total cost of the flow, that is the sum over the edges
+         * of their flows times their costs.
+         *
+         * @return cost of the flow
+         */
+        double getCost();
+    }
+
+    class MinimumCostFlowImpl<E>
+        extends MaximumFlowImpl<E>
+        implements MinimumCostFlow<E>
+    {
+        private double cost;
+
+        public MinimumCostFlowImpl(
+            Double value,
+            Map<E, Double> flow,
+            double cost)
+        {
+            super(value, flow);
+            this.cost = cost;
+        }
+
+        @Override public double getCost()
+        {
+            return cost;
+        }
+
+        @Override public String toString()
+        {
+            return "Flow Cost: " + cost + "\n" + super.toString();
+        }
+    }
+}
+
+// End MinimumCostFlowAlgorithm.java
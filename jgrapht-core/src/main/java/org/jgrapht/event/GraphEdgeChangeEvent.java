@@ -40,7 +40,8 @@ package org.jgrapht.event;
 /**
  * An event which indicates that a graph edge has changed, or is about to
  * change. The event can be used either as an indication <i>after</i> the edge
- * has been added or removed, or <i>before</i> it is added. The type of the
+ * has been added or removed or its weight has been updated, or <i>before</i>
+ * it is added. The type of the
  * event can be tested using the {@link
  * org.jgrapht.event.GraphChangeEvent#getType()} method.
  *
@@ -75,6 +76,12 @@ public class GraphEdgeChangeEvent<V, E>
      */
     public static final int EDGE_REMOVED = 24;
 
+    /**
+     * Edge weight updated event. This event is fired after the weight of an
+     * edge is changed.
+     */
+    public static final int EDGE_WEIGHT_UPDATED = 25;
+
     /**
      * The edge that this event is related to.
      */
@@ -64,6 +64,16 @@ public interface GraphListener<V, E>
      * @param e the edge event.
      */
     void edgeRemoved(GraphEdgeChangeEvent<V, E> e);
+
+    /**
+     * Notifies that the weight of an edge has been updated. The new weight can
+     * be read from the graph. The default implementation does nothing.
+     *
+     * @param e the edge event.
+     */
+    default void edgeWeightUpdated(GraphEdgeChangeEvent<V, E> e)
+    {
+    }
 }
 
 // End GraphListener.java
@@ -47,6 +47,7 @@ package org.jgrapht.graph;
 import java.io.*;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.jgrapht.*;
 import org.jgrapht.graph.specifics.FastLookupDirectedSpecifics;
@@ -399,6 +400,15 @@ public abstract class AbstractBaseGraph<V, E>
         return specifics.edgesOf(vertex);
     }
 
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        assertVertexExist(vertex);
+        specifics.forEachEdgeOf(vertex, action);
+    }
+
     /**
      * @see DirectedGraph#inDegreeOf(Object)
      */
@@ -417,6 +427,15 @@ public abstract class AbstractBaseGraph<V, E>
         return specifics.incomingEdgesOf(vertex);
     }
 
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    public void forEachIncomingEdge(V vertex, Consumer<? super E> action)
+    {
+        assertVertexExist(vertex);
+        specifics.forEachIncomingEdge(vertex, action);
+    }
+
     /**
      * @see DirectedGraph#outDegreeOf(Object)
      */
@@ -435,6 +454,15 @@ public abstract class AbstractBaseGraph<V, E>
         return specifics.outgoingEdgesOf(vertex);
     }
 
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    public void forEachOutgoingEdge(V vertex, Consumer<? super E> action)
+    {
+        assertVertexExist(vertex);
+        specifics.forEachOutgoingEdge(vertex, action);
+    }
+
     /**
      * @see Graph#removeEdge(Object, Object)
      */
@@ -42,6 +42,7 @@ package org.jgrapht.graph;
 import java.io.*;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.jgrapht.*;
 import org.jgrapht.util.*;
@@ -172,6 +173,16 @@ public class AsUndirectedGraph<V, E>
         throw new UnsupportedOperationException(UNDIRECTED);
     }
 
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        throw new UnsupportedOperationException(UNDIRECTED);
+    }
+
     /**
      * @see DirectedGraph#outDegreeOf(Object)
      */
@@ -188,6 +199,16 @@ public class AsUndirectedGraph<V, E>
         throw new UnsupportedOperationException(UNDIRECTED);
     }
 
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        throw new UnsupportedOperationException(UNDIRECTED);
+    }
+
     /**
      * @see AbstractBaseGraph#toString()
      */
@@ -0,0 +1,1085 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * CompactDirectedWeightedGraph.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * A directed weighted graph backed by primitive arrays. Like {@link
+ * DefaultDirectedWeightedGraph}, multiple edges between any two vertices are
+ * <i>not</i> permitted, but loops are. The graph has weights on its edges.
+ *
+ * <p>Every vertex and every edge is assigned a dense integer index. The
+ * adjacency of a vertex is kept as a growable <code>int[]</code> of edge
+ * indices, and the endpoints of the edges are kept in two further <code>
+ * int[]</code> arrays. Vertices and edges are translated to their indices by
+ * open addressing hash tables which do not allocate an entry object per
+ * mapping. Compared to the {@link AbstractBaseGraph} family, which keeps a
+ * hash map entry per edge plus an edge container and edge set per vertex, this
+ * considerably reduces the memory consumed per edge and improves locality when
+ * traversing large graphs. It is intended as a drop-in replacement for {@link
+ * DefaultDirectedWeightedGraph} on graphs with millions of edges.</p>
+ *
+ * <p>Adding vertices and edges takes amortized constant time. Since the
+ * adjacency of a vertex is an unsorted array, edge lookups by endpoints and
+ * edge removals take time linear in the degree of the involved vertices.
+ * Removing an element moves the last element of the same kind into the freed
+ * index, thus the iteration order of the vertex and edge sets follows the
+ * insertion order only as long as no elements are removed. The order of the
+ * outgoing and incoming edges of a vertex is always the insertion order.</p>
+ *
+ * <p>As for the other weighted graphs, edge weights are stored in the edges
+ * themselves which therefore need to extend {@link DefaultWeightedEdge} in
+ * order to carry a weight.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DefaultDirectedWeightedGraph
+ */
+public class CompactDirectedWeightedGraph<V, E>
+    extends AbstractGraph<V, E>
+    implements DirectedGraph<V, E>,
+        WeightedGraph<V, E>,
+        Cloneable,
+        Serializable
+{
+    private static final long serialVersionUID = -3087345625812542193L;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int [] NO_EDGES = new int[0];
+
+    private EdgeFactory<V, E> edgeFactory;
+
+    /* vertices by index, the indices of the vertices and their adjacency */
+    private Object [] vertices;
+    private ObjectIntMap<V> vertexIndex;
+    private int vertexCount;
+    private int [][] outgoing;
+    private int [] outDegree;
+    private int [][] incoming;
+    private int [] inDegree;
+
+    /* edges by index, the indices of the edges and their endpoints */
+    private Object [] edges;
+    private ObjectIntMap<E> edgeIndex;
+    private int edgeCount;
+    private int [] edgeSources;
+    private int [] edgeTargets;
+
+    /* incremented on every structural modification, used by the iterators */
+    private transient int modCount;
+    private transient Set<V> vertexSetView;
+    private transient Set<E> edgeSetView;
+
+    /**
+     * Creates a new directed weighted graph.
+     *
+     * @param edgeClass class on which to base factory for edges
+     */
+    public CompactDirectedWeightedGraph(Class<? extends E> edgeClass)
+    {
+        this(new ClassBasedEdgeFactory<>(edgeClass));
+    }
+
+    /**
+     * Creates a new directed weighted graph with the specified edge factory.
+     *
+     * @param ef the edge factory of the new graph.
+     */
+    public CompactDirectedWeightedGraph(EdgeFactory<V, E> ef)
+    {
+        this(ef, DEFAULT_CAPACITY, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new directed weighted graph with the specified edge factory
+     * which is able to hold the given number of vertices and edges without
+     * growing its internal arrays.
+     *
+     * @param ef the edge factory of the new graph.
+     * @param expectedVertexCount the expected number of vertices
+     * @param expectedEdgeCount the expected number of edges
+     *
+     * @throws NullPointerException if the specified edge factory is <code>
+     * null</code>.
+     * @throws IllegalArgumentException if one of the expected sizes is
+     * negative.
+     */
+    public CompactDirectedWeightedGraph(
+        EdgeFactory<V, E> ef,
+        int expectedVertexCount,
+        int expectedEdgeCount)
+    {
+        if (ef == null) {
+            throw new NullPointerException();
+        }
+        if ((expectedVertexCount < 0) || (expectedEdgeCount < 0)) {
+            throw new IllegalArgumentException(
+                "expected sizes must be non-negative");
+        }
+        this.edgeFactory = ef;
+
+        int n = Math.max(expectedVertexCount, 1);
+        this.vertices = new Object[n];
+        this.vertexIndex = new ObjectIntMap<>(n);
+        this.outgoing = new int[n][];
+        this.outDegree = new int[n];
+        this.incoming = new int[n][];
+        this.inDegree = new int[n];
+
+        int m = Math.max(expectedEdgeCount, 1);
+        this.edges = new Object[m];
+        this.edgeIndex = new ObjectIntMap<>(m);
+        this.edgeSources = new int[m];
+        this.edgeTargets = new int[m];
+    }
+
+    /**
+     * @see Graph#getAllEdges(Object, Object)
+     */
+    @Override public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        int u = vertexIndex.get(sourceVertex);
+        int v = vertexIndex.get(targetVertex);
+        if ((u < 0) || (v < 0)) {
+            return null;
+        }
+        Set<E> edgesBetween = new ArrayUnenforcedSet<>();
+        int e = findEdge(u, v);
+        if (e >= 0) {
+            edgesBetween.add(edgeAt(e));
+        }
+        return edgesBetween;
+    }
+
+    /**
+     * @see Graph#getEdge(Object, Object)
+     */
+    @Override public E getEdge(V sourceVertex, V targetVertex)
+    {
+        int u = vertexIndex.get(sourceVertex);
+        int v = vertexIndex.get(targetVertex);
+        if ((u < 0) || (v < 0)) {
+            return null;
+        }
+        int e = findEdge(u, v);
+        return (e < 0) ? null : edgeAt(e);
+    }
+
+    /**
+     * @see Graph#containsEdge(Object, Object)
+     */
+    @Override public boolean containsEdge(V sourceVertex, V targetVertex)
+    {
+        int u = vertexIndex.get(sourceVertex);
+        int v = vertexIndex.get(targetVertex);
+        return (u >= 0) && (v >= 0) && (findEdge(u, v) >= 0);
+    }
+
+    /**
+     * @see Graph#getEdgeFactory()
+     */
+    @Override public EdgeFactory<V, E> getEdgeFactory()
+    {
+        return edgeFactory;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object)
+     */
+    @Override public E addEdge(V sourceVertex, V targetVertex)
+    {
+        int u = indexOfExistingVertex(sourceVertex);
+        int v = indexOfExistingVertex(targetVertex);
+
+        if (findEdge(u, v) >= 0) {
+            return null;
+        }
+
+        E e = edgeFactory.createEdge(sourceVertex, targetVertex);
+
+        if (containsEdge(e)) { // this restriction should stay!
+            return null;
+        }
+
+        appendEdge(e, u, v);
+        return e;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object, Object)
+     */
+    @Override public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        } else if (containsEdge(e)) {
+            return false;
+        }
+
+        int u = indexOfExistingVertex(sourceVertex);
+        int v = indexOfExistingVertex(targetVertex);
+
+        if (findEdge(u, v) >= 0) {
+            return false;
+        }
+
+        appendEdge(e, u, v);
+        return true;
+    }
+
+    /**
+     * Adds a batch of new edges, created by the edge factory of the graph. This
+     * method is meant for loading large graphs: it reserves the required space
+     * once and checks the batch as a whole for parallel edges after it has been
+     * inserted, instead of searching the adjacency of both endpoints for every
+     * single edge.
+     *
+     * <p>The endpoints of the edges are given by the positions of the vertices
+     * in the iteration order of {@link #vertexSet()}, thus the vertices must be
+     * added before. If the batch contains an invalid vertex position, an edge
+     * which is already contained in the graph, or would create multiple edges
+     * between two vertices, none of the edges of the batch are added.</p>
+     *
+     * @param count the number of edges to add
+     * @param sources supplies the position of the source vertex of each edge
+     * @param targets supplies the position of the target vertex of each edge
+     * @param weights supplies the weight of each edge, or <code>null</code> to
+     * keep the default weight
+     *
+     * @throws IllegalArgumentException if the batch contains an invalid vertex
+     * position, or an edge which is already contained in the graph or would be
+     * parallel to another edge.
+     */
+    public void addEdges(
+        int count,
+        IntSupplier sources,
+        IntSupplier targets,
+        DoubleSupplier weights)
+    {
+        if (count < 0) {
+            throw new IllegalArgumentException("negative edge count");
+        }
+        int first = edgeCount;
+        int end = first + count;
+        if (end < 0) {
+            throw new OutOfMemoryError();
+        }
+        if (end > edges.length) {
+            edges = Arrays.copyOf(edges, end);
+            edgeSources = Arrays.copyOf(edgeSources, end);
+            edgeTargets = Arrays.copyOf(edgeTargets, end);
+        }
+
+        // create the edges in the free slots, the graph is not changed until
+        // they have all been validated, not even the weights of edges which
+        // turn out to be in the graph already
+        int [] newOutDegree = new int[vertexCount];
+        int [] newInDegree = new int[vertexCount];
+        double [] newWeights = (weights == null) ? null : new double[count];
+        try {
+            for (int index = first; index < end; index++) {
+                int u = sources.getAsInt();
+                int v = targets.getAsInt();
+                if ((u < 0) || (u >= vertexCount) || (v < 0)
+                    || (v >= vertexCount))
+                {
+                    throw new IllegalArgumentException(
+                        "no such vertex position in graph: "
+                        + ((u < 0) || (u >= vertexCount) ? u : v));
+                }
+                E e = edgeFactory.createEdge(vertexAt(u), vertexAt(v));
+                if (weights != null) {
+                    newWeights[index - first] = weights.getAsDouble();
+                }
+                edges[index] = e;
+                edgeSources[index] = u;
+                edgeTargets[index] = v;
+                newOutDegree[u]++;
+                newInDegree[v]++;
+            }
+        } catch (RuntimeException ex) {
+            Arrays.fill(edges, first, end, null);
+            throw ex;
+        }
+
+        // grow every adjacency array at most once
+        for (int v = 0; v < vertexCount; v++) {
+            if (newOutDegree[v] > 0) {
+                outgoing[v] = ensureLength(
+                    outgoing[v],
+                    outDegree[v] + newOutDegree[v]);
+            }
+            if (newInDegree[v] > 0) {
+                incoming[v] = ensureLength(
+                    incoming[v],
+                    inDegree[v] + newInDegree[v]);
+            }
+        }
+        edgeIndex.ensureCapacity(end);
+
+        int inserted = first;
+        String problem = null;
+        for (; inserted < end; inserted++) {
+            E e = edgeAt(inserted);
+            int previous = edgeIndex.put(e, inserted);
+            if (previous != ObjectIntMap.NO_VALUE) {
+                edgeIndex.put(e, previous);
+                problem = "edge already contained in graph: " + e;
+                break;
+            }
+            int u = edgeSources[inserted];
+            int v = edgeTargets[inserted];
+            outgoing[u][outDegree[u]++] = inserted;
+            incoming[v][inDegree[v]++] = inserted;
+        }
+        if (problem == null) {
+            int parallel = findParallelEdge(newOutDegree);
+            if (parallel >= 0) {
+                problem = "parallel edges from "
+                    + vertexAt(edgeSources[parallel]) + " to "
+                    + vertexAt(edgeTargets[parallel]);
+            }
+        }
+        if (problem != null) {
+            // the new edges are the last entries of all adjacency arrays
+            for (int i = first; i < inserted; i++) {
+                outDegree[edgeSources[i]]--;
+                inDegree[edgeTargets[i]]--;
+                edgeIndex.remove(edges[i]);
+            }
+            Arrays.fill(edges, first, end, null);
+            throw new IllegalArgumentException(problem);
+        }
+
+        edgeCount = end;
+        for (int i = first; i < end; i++) {
+            Object e = edges[i];
+            if (e instanceof IntrusiveEdge) {
+                IntrusiveEdge intrusiveEdge = (IntrusiveEdge) e;
+                intrusiveEdge.source = vertices[edgeSources[i]];
+                intrusiveEdge.target = vertices[edgeTargets[i]];
+            }
+            if (newWeights != null) {
+                setEdgeWeight(edgeAt(i), newWeights[i - first]);
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * @see Graph#addVertex(Object)
+     */
+    @Override public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        } else if (containsVertex(v)) {
+            return false;
+        }
+
+        if (vertexCount == vertices.length) {
+            int capacity = grow(vertexCount);
+            vertices = Arrays.copyOf(vertices, capacity);
+            outgoing = Arrays.copyOf(outgoing, capacity);
+            outDegree = Arrays.copyOf(outDegree, capacity);
+            incoming = Arrays.copyOf(incoming, capacity);
+            inDegree = Arrays.copyOf(inDegree, capacity);
+        }
+        int index = vertexCount++;
+        vertices[index] = v;
+        outgoing[index] = NO_EDGES;
+        incoming[index] = NO_EDGES;
+        vertexIndex.put(v, index);
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * @see Graph#containsEdge(Object)
+     */
+    @Override public boolean containsEdge(E e)
+    {
+        return edgeIndex.containsKey(e);
+    }
+
+    /**
+     * @see Graph#containsVertex(Object)
+     */
+    @Override public boolean containsVertex(V v)
+    {
+        return vertexIndex.containsKey(v);
+    }
+
+    /**
+     * @see Graph#edgeSet()
+     */
+    @Override public Set<E> edgeSet()
+    {
+        if (edgeSetView == null) {
+            edgeSetView = new EdgeSetView();
+        }
+        return edgeSetView;
+    }
+
+    /**
+     * @see Graph#edgesOf(Object)
+     */
+    @Override public Set<E> edgesOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+
+        int [] in = incoming[v];
+        int [] out = outgoing[v];
+        ArrayUnenforcedSet<E> touching =
+            new ArrayUnenforcedSet<>(inDegree[v] + outDegree[v]);
+        for (int i = 0; i < inDegree[v]; i++) {
+            // loops are also outgoing edges, report them only once
+            if (edgeSources[in[i]] != v) {
+                touching.add(edgeAt(in[i]));
+            }
+        }
+        for (int i = 0; i < outDegree[v]; i++) {
+            touching.add(edgeAt(out[i]));
+        }
+        return Collections.unmodifiableSet(touching);
+    }
+
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+
+        int [] in = incoming[v];
+        for (int i = 0; i < inDegree[v]; i++) {
+            if (edgeSources[in[i]] != v) {
+                action.accept(edgeAt(in[i]));
+            }
+        }
+        int [] out = outgoing[v];
+        for (int i = 0; i < outDegree[v]; i++) {
+            action.accept(edgeAt(out[i]));
+        }
+    }
+
+    /**
+     * @see DirectedGraph#inDegreeOf(Object)
+     */
+    @Override public int inDegreeOf(V vertex)
+    {
+        return inDegree[indexOfExistingVertex(vertex)];
+    }
+
+    /**
+     * @see DirectedGraph#incomingEdgesOf(Object)
+     */
+    @Override public Set<E> incomingEdgesOf(V vertex)
+    {
+        indexOfExistingVertex(vertex);
+        return new AdjacencyView(vertex, false);
+    }
+
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+        int [] in = incoming[v];
+        for (int i = 0; i < inDegree[v]; i++) {
+            action.accept(edgeAt(in[i]));
+        }
+    }
+
+    /**
+     * @see DirectedGraph#outDegreeOf(Object)
+     */
+    @Override public int outDegreeOf(V vertex)
+    {
+        return outDegree[indexOfExistingVertex(vertex)];
+    }
+
+    /**
+     * @see DirectedGraph#outgoingEdgesOf(Object)
+     */
+    @Override public Set<E> outgoingEdgesOf(V vertex)
+    {
+        indexOfExistingVertex(vertex);
+        return new AdjacencyView(vertex, true);
+    }
+
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+        int [] out = outgoing[v];
+        for (int i = 0; i < outDegree[v]; i++) {
+            action.accept(edgeAt(out[i]));
+        }
+    }
+
+    /**
+     * @see Graph#removeEdge(Object, Object)
+     */
+    @Override public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        int u = vertexIndex.get(sourceVertex);
+        int v = vertexIndex.get(targetVertex);
+        if ((u < 0) || (v < 0)) {
+            return null;
+        }
+        int e = findEdge(u, v);
+        if (e < 0) {
+            return null;
+        }
+        E edge = edgeAt(e);
+        removeEdgeAt(e);
+        return edge;
+    }
+
+    /**
+     * @see Graph#removeEdge(Object)
+     */
+    @Override public boolean removeEdge(E e)
+    {
+        int index = edgeIndex.get(e);
+        if (index < 0) {
+            return false;
+        }
+        removeEdgeAt(index);
+        return true;
+    }
+
+    /**
+     * @see Graph#removeVertex(Object)
+     */
+    @Override public boolean removeVertex(V v)
+    {
+        int index = vertexIndex.get(v);
+        if (index < 0) {
+            return false;
+        }
+
+        // removing an edge may move another edge into its slot, so always
+        // remove the last entry of the adjacency arrays
+        while (outDegree[index] > 0) {
+            removeEdgeAt(outgoing[index][outDegree[index] - 1]);
+        }
+        while (inDegree[index] > 0) {
+            removeEdgeAt(incoming[index][inDegree[index] - 1]);
+        }
+
+        vertexIndex.remove(v);
+        int last = --vertexCount;
+        if (index != last) {
+            // move the last vertex into the freed slot
+            Object moved = vertices[last];
+            vertices[index] = moved;
+            outgoing[index] = outgoing[last];
+            outDegree[index] = outDegree[last];
+            incoming[index] = incoming[last];
+            inDegree[index] = inDegree[last];
+            for (int i = 0; i < outDegree[index]; i++) {
+                edgeSources[outgoing[index][i]] = index;
+            }
+            for (int i = 0; i < inDegree[index]; i++) {
+                edgeTargets[incoming[index][i]] = index;
+            }
+            vertexIndex.put(TypeUtil.uncheckedCast(moved, null), index);
+        }
+        vertices[last] = null;
+        outgoing[last] = null;
+        outDegree[last] = 0;
+        incoming[last] = null;
+        inDegree[last] = 0;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * @see Graph#vertexSet()
+     */
+    @Override public Set<V> vertexSet()
+    {
+        if (vertexSetView == null) {
+            vertexSetView = new VertexSetView();
+        }
+        return vertexSetView;
+    }
+
+    /**
+     * @see Graph#getEdgeSource(Object)
+     */
+    @Override public V getEdgeSource(E e)
+    {
+        if (e instanceof IntrusiveEdge) {
+            return TypeUtil.uncheckedCast(((IntrusiveEdge) e).source, null);
+        }
+        return vertexAt(edgeSources[indexOfExistingEdge(e)]);
+    }
+
+    /**
+     * @see Graph#getEdgeTarget(Object)
+     */
+    @Override public V getEdgeTarget(E e)
+    {
+        if (e instanceof IntrusiveEdge) {
+            return TypeUtil.uncheckedCast(((IntrusiveEdge) e).target, null);
+        }
+        return vertexAt(edgeTargets[indexOfExistingEdge(e)]);
+    }
+
+    /**
+     * @see Graph#getEdgeWeight(Object)
+     */
+    @Override public double getEdgeWeight(E e)
+    {
+        if (e instanceof DefaultWeightedEdge) {
+            return ((DefaultWeightedEdge) e).getWeight();
+        } else if (e == null) {
+            throw new NullPointerException();
+        } else {
+            return WeightedGraph.DEFAULT_EDGE_WEIGHT;
+        }
+    }
+
+    /**
+     * @see WeightedGraph#setEdgeWeight(Object, double)
+     */
+    @Override public void setEdgeWeight(E e, double weight)
+    {
+        assert (e instanceof DefaultWeightedEdge) : e.getClass();
+        ((DefaultWeightedEdge) e).weight = weight;
+    }
+
+    /**
+     * Returns a shallow copy of this graph instance. Neither edges nor vertices
+     * are cloned.
+     *
+     * @return a shallow copy of this graph.
+     *
+     * @throws RuntimeException
+     *
+     * @see java.lang.Object#clone()
+     */
+    @Override public Object clone()
+    {
+        try {
+            CompactDirectedWeightedGraph<V, E> newGraph =
+                TypeUtil.uncheckedCast(super.clone(), null);
+
+            newGraph.vertices = vertices.clone();
+            newGraph.vertexIndex = new ObjectIntMap<>(vertexIndex);
+            newGraph.outgoing = new int[outgoing.length][];
+            newGraph.incoming = new int[incoming.length][];
+            for (int v = 0; v < vertexCount; v++) {
+                newGraph.outgoing[v] = outgoing[v].clone();
+                newGraph.incoming[v] = incoming[v].clone();
+            }
+            newGraph.outDegree = outDegree.clone();
+            newGraph.inDegree = inDegree.clone();
+
+            newGraph.edges = edges.clone();
+            newGraph.edgeIndex = new ObjectIntMap<>(edgeIndex);
+            newGraph.edgeSources = edgeSources.clone();
+            newGraph.edgeTargets = edgeTargets.clone();
+
+            newGraph.modCount = 0;
+            newGraph.vertexSetView = null;
+            newGraph.edgeSetView = null;
+
+            return newGraph;
+        } catch (CloneNotSupportedException e) {
+            e.printStackTrace();
+            throw new RuntimeException();
+        }
+    }
+
+    /**
+     * Returns the index of the given vertex, asserting that it is contained in
+     * the graph.
+     */
+    private int indexOfExistingVertex(V v)
+    {
+        int index = vertexIndex.get(v);
+        if (index < 0) {
+            assertVertexExist(v);
+        }
+        return index;
+    }
+
+    private int indexOfExistingEdge(E e)
+    {
+        int index = edgeIndex.get(e);
+        if (index < 0) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException(
+                "no such edge in graph: " + e.toString());
+        }
+        return index;
+    }
+
+    /**
+     * Returns the index of the edge from u to v or -1. Scans the shorter of the
+     * two adjacency arrays.
+     */
+    private int findEdge(int u, int v)
+    {
+        if (outDegree[u] <= inDegree[v]) {
+            int [] out = outgoing[u];
+            for (int i = 0, n = outDegree[u]; i < n; i++) {
+                if (edgeTargets[out[i]] == v) {
+                    return out[i];
+                }
+            }
+        } else {
+            int [] in = incoming[v];
+            for (int i = 0, n = inDegree[v]; i < n; i++) {
+                if (edgeSources[in[i]] == u) {
+                    return in[i];
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void appendEdge(E e, int u, int v)
+    {
+        if (edgeCount == edges.length) {
+            int capacity = grow(edgeCount);
+            edges = Arrays.copyOf(edges, capacity);
+            edgeSources = Arrays.copyOf(edgeSources, capacity);
+            edgeTargets = Arrays.copyOf(edgeTargets, capacity);
+        }
+        int index = edgeCount++;
+        edges[index] = e;
+        edgeSources[index] = u;
+        edgeTargets[index] = v;
+        edgeIndex.put(e, index);
+
+        outgoing[u] = append(outgoing[u], outDegree[u]++, index);
+        incoming[v] = append(incoming[v], inDegree[v]++, index);
+
+        if (e instanceof IntrusiveEdge) {
+            IntrusiveEdge intrusiveEdge = (IntrusiveEdge) e;
+            intrusiveEdge.source = vertices[u];
+            intrusiveEdge.target = vertices[v];
+        }
+        modCount++;
+    }
+
+    private void removeEdgeAt(int index)
+    {
+        int u = edgeSources[index];
+        int v = edgeTargets[index];
+        removeFromAdjacency(outgoing[u], outDegree[u]--, index);
+        removeFromAdjacency(incoming[v], inDegree[v]--, index);
+        edgeIndex.remove(edges[index]);
+
+        int last = --edgeCount;
+        if (index != last) {
+            // move the last edge into the freed slot
+            Object moved = edges[last];
+            edges[index] = moved;
+            edgeSources[index] = edgeSources[last];
+            edgeTargets[index] = edgeTargets[last];
+            edgeIndex.put(TypeUtil.uncheckedCast(moved, null), index);
+            replaceInAdjacency(
+                outgoing[edgeSources[index]],
+                outDegree[edgeSources[index]],
+                last,
+                index);
+            replaceInAdjacency(
+                incoming[edgeTargets[index]],
+                inDegree[edgeTargets[index]],
+                last,
+                index);
+        }
+        edges[last] = null;
+        modCount++;
+    }
+
+    /**
+     * Returns the index of an edge which is parallel to another edge starting
+     * at the same vertex or -1. Only the vertices with a positive entry in the
+     * given array are checked.
+     */
+    private int findParallelEdge(int [] checkedVertices)
+    {
+        int [] stamps = new int[vertexCount];
+        for (int u = 0; u < vertexCount; u++) {
+            if (checkedVertices[u] == 0) {
+                continue;
+            }
+            int [] out = outgoing[u];
+            for (int i = 0, n = outDegree[u]; i < n; i++) {
+                int v = edgeTargets[out[i]];
+                if (stamps[v] == (u + 1)) {
+                    return out[i];
+                }
+                stamps[v] = u + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int [] ensureLength(int [] adjacency, int length)
+    {
+        if (adjacency.length >= length) {
+            return adjacency;
+        }
+        return Arrays.copyOf(adjacency, length);
+    }
+
+    private static int [] append(int [] adjacency, int size, int edge)
+    {
+        if (size == adjacency.length) {
+            adjacency = Arrays.copyOf(adjacency, Math.max(2, size << 1));
+        }
+        adjacency[size] = edge;
+        return adjacency;
+    }
+
+    private static void removeFromAdjacency(int [] adjacency, int size, int edge)
+    {
+        for (int i = 0; i < size; i++) {
+            if (adjacency[i] == edge) {
+                // shift to keep the insertion order of the remaining edges
+                System.arraycopy(adjacency, i + 1, adjacency, i, size - i - 1);
+                return;
+            }
+        }
+        throw new IllegalStateException("corrupted adjacency");
+    }
+
+    private static void replaceInAdjacency(
+        int [] adjacency,
+        int size,
+        int edge,
+        int replacement)
+    {
+        for (int i = 0; i < size; i++) {
+            if (adjacency[i] == edge) {
+                adjacency[i] = replacement;
+                return;
+            }
+        }
+        throw new IllegalStateException("corrupted adjacency");
+    }
+
+    private static int grow(int size)
+    {
+        int capacity = size + (size >> 1) + 1;
+        if (capacity < 0) {
+            throw new OutOfMemoryError();
+        }
+        return capacity;
+    }
+
+    private V vertexAt(int index)
+    {
+        return TypeUtil.uncheckedCast(vertices[index], null);
+    }
+
+    private E edgeAt(int index)
+    {
+        return TypeUtil.uncheckedCast(edges[index], null);
+    }
+
+    /**
+     * Iterator over a range of indices which fails fast on concurrent
+     * modification.
+     */
+    private abstract class IndexIterator<T>
+        implements Iterator<T>
+    {
+        private final int expectedModCount = modCount;
+        private final int size;
+        private int next;
+
+        IndexIterator(int size)
+        {
+            this.size = size;
+        }
+
+        @Override public boolean hasNext()
+        {
+            return next < size;
+        }
+
+        @Override public T next()
+        {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return elementAt(next++);
+        }
+
+        abstract T elementAt(int position);
+    }
+
+    /**
+     * Unmodifiable view of the vertex set.
+     */
+    private class VertexSetView
+        extends AbstractSet<V>
+    {
+        @Override public Iterator<V> iterator()
+        {
+            return new IndexIterator<V>(vertexCount) {
+                @Override V elementAt(int position)
+                {
+                    return vertexAt(position);
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return vertexCount;
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            return vertexIndex.containsKey(o);
+        }
+    }
+
+    /**
+     * Unmodifiable view of the edge set.
+     */
+    private class EdgeSetView
+        extends AbstractSet<E>
+    {
+        @Override public Iterator<E> iterator()
+        {
+            return new IndexIterator<E>(edgeCount) {
+                @Override E elementAt(int position)
+                {
+                    return edgeAt(position);
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return edgeCount;
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            return edgeIndex.containsKey(o);
+        }
+    }
+
+    /**
+     * Unmodifiable view of the outgoing or incoming edges of a vertex. The
+     * view refers to the vertex itself and not to its index, which may change
+     * when other vertices are removed.
+     */
+    private class AdjacencyView
+        extends AbstractSet<E>
+    {
+        private final V vertex;
+        private final boolean outgoingEdges;
+
+        AdjacencyView(V vertex, boolean outgoingEdges)
+        {
+            this.vertex = vertex;
+            this.outgoingEdges = outgoingEdges;
+        }
+
+        @Override public Iterator<E> iterator()
+        {
+            int v = vertexIndex.get(vertex);
+            if (v < 0) {
+                return Collections.emptyIterator();
+            }
+            final int [] adjacency = outgoingEdges ? outgoing[v] : incoming[v];
+            return new IndexIterator<E>(
+                outgoingEdges ? outDegree[v] : inDegree[v]) {
+                @Override E elementAt(int position)
+                {
+                    return edgeAt(adjacency[position]);
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            int v = vertexIndex.get(vertex);
+            if (v < 0) {
+                return 0;
+            }
+            return outgoingEdges ? outDegree[v] : inDegree[v];
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            int v = vertexIndex.get(vertex);
+            int e = edgeIndex.get(o);
+            if ((v < 0) || (e < 0)) {
+                return false;
+            }
+            return (outgoingEdges ? edgeSources[e] : edgeTargets[e]) == v;
+        }
+    }
+}
+
+// End CompactDirectedWeightedGraph.java
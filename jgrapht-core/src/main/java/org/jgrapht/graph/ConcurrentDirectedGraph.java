@@ -0,0 +1,727 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------
+ * ConcurrentDirectedGraph.java
+ * ----------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * A directed graph which can be shared between threads without external
+ * synchronization. Vertices and edges may be added and removed concurrently,
+ * while readers never block.
+ *
+ * <p>Vertices and edges are kept in concurrent hash maps. The outgoing and
+ * incoming edges of every vertex are kept in arrays which are never modified
+ * once published: a modification replaces the array by a modified copy. Reading
+ * the edges of a vertex thus only requires a volatile read. Writers lock the
+ * vertices they modify, adding or removing an edge locks its two endpoints in a
+ * fixed global order, so that modifications of disjoint parts of the graph
+ * proceed in parallel and no deadlock can occur. A removed vertex is marked
+ * under its lock, which prevents edges from being attached to it afterwards.
+ * Its edges are then detached before the vertex leaves the vertex set, so that
+ * once a vertex is seen to be missing from the graph, none of its edges are
+ * seen in the graph anymore.</p>
+ *
+ * <p>The sets returned by {@link #outgoingEdgesOf(Object)}, {@link
+ * #incomingEdgesOf(Object)} and {@link #edgesOf(Object)} are unmodifiable
+ * snapshots: they are not changed by later modifications of the graph and can
+ * be iterated while other threads modify it. The vertex and edge sets are
+ * unmodifiable live views whose iterators are weakly consistent, as are those
+ * of {@link ConcurrentHashMap}. Compound operations like {@link
+ * #removeAllEdges(Collection)} are not atomic.</p>
+ *
+ * <p>Since copying the adjacency arrays takes time linear in the degree of the
+ * vertex, this graph is suited for workloads dominated by reads, or graphs
+ * without vertices of very high degree. Edge lookups by endpoints scan the
+ * smaller of the two adjacency arrays involved.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DefaultDirectedGraph
+ */
+public class ConcurrentDirectedGraph<V, E>
+    extends AbstractGraph<V, E>
+    implements DirectedGraph<V, E>,
+        Serializable
+{
+    private static final long serialVersionUID = 6462530197387429861L;
+
+    private static final String LOOPS_NOT_ALLOWED = "loops not allowed";
+    private static final EdgeEntry<?, ?> [] NO_EDGES = new EdgeEntry<?, ?>[0];
+
+    private final EdgeFactory<V, E> edgeFactory;
+    private final boolean allowingMultipleEdges;
+    private final boolean allowingLoops;
+    private final ConcurrentMap<V, VertexEntry<V, E>> vertexMap;
+    private final ConcurrentMap<E, EdgeEntry<V, E>> edgeMap;
+
+    /* determines the order in which the locks of two vertices are acquired */
+    private final AtomicLong nextLockOrder = new AtomicLong();
+
+    private transient Set<V> unmodifiableVertexSet;
+    private transient Set<E> unmodifiableEdgeSet;
+
+    /**
+     * Creates a new directed graph. Like {@link DefaultDirectedGraph}, the
+     * graph permits loops but no multiple edges.
+     *
+     * @param edgeClass class on which to base factory for edges
+     */
+    public ConcurrentDirectedGraph(Class<? extends E> edgeClass)
+    {
+        this(new ClassBasedEdgeFactory<>(edgeClass));
+    }
+
+    /**
+     * Creates a new directed graph with the specified edge factory. Like
+     * {@link DefaultDirectedGraph}, the graph permits loops but no multiple
+     * edges.
+     *
+     * @param ef the edge factory of the new graph.
+     */
+    public ConcurrentDirectedGraph(EdgeFactory<V, E> ef)
+    {
+        this(ef, false, true);
+    }
+
+    /**
+     * Creates a new directed graph with the specified edge factory.
+     *
+     * @param ef the edge factory of the new graph.
+     * @param allowMultipleEdges whether to allow multiple edges or not.
+     * @param allowLoops whether to allow edges that are self-loops or not.
+     *
+     * @throws NullPointerException if the specified edge factory is <code>
+     * null</code>.
+     */
+    public ConcurrentDirectedGraph(
+        EdgeFactory<V, E> ef,
+        boolean allowMultipleEdges,
+        boolean allowLoops)
+    {
+        if (ef == null) {
+            throw new NullPointerException();
+        }
+        this.edgeFactory = ef;
+        this.allowingMultipleEdges = allowMultipleEdges;
+        this.allowingLoops = allowLoops;
+        this.vertexMap = new ConcurrentHashMap<>();
+        this.edgeMap = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @see Graph#getAllEdges(Object, Object)
+     */
+    @Override public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<V, E> source = vertexMap.get(sourceVertex);
+        VertexEntry<V, E> target = vertexMap.get(targetVertex);
+        if ((source == null) || (target == null)) {
+            return null;
+        }
+
+        Set<E> edges = new ArrayUnenforcedSet<>();
+        for (EdgeEntry<V, E> entry : source.outgoing) {
+            if (entry.target == target) {
+                edges.add(entry.edge);
+            }
+        }
+        return edges;
+    }
+
+    /**
+     * @see Graph#getEdge(Object, Object)
+     */
+    @Override public E getEdge(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<V, E> source = vertexMap.get(sourceVertex);
+        VertexEntry<V, E> target = vertexMap.get(targetVertex);
+        if ((source == null) || (target == null)) {
+            return null;
+        }
+        EdgeEntry<V, E> entry = findEdge(source, target);
+        return (entry == null) ? null : entry.edge;
+    }
+
+    /**
+     * @see Graph#getEdgeFactory()
+     */
+    @Override public EdgeFactory<V, E> getEdgeFactory()
+    {
+        return edgeFactory;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object)
+     */
+    @Override public E addEdge(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<V, E> source = entryOf(sourceVertex);
+        VertexEntry<V, E> target = entryOf(targetVertex);
+
+        if (!allowingMultipleEdges && (findEdge(source, target) != null)) {
+            return null;
+        }
+
+        if (!allowingLoops && (source == target)) {
+            throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+        }
+
+        E e = edgeFactory.createEdge(sourceVertex, targetVertex);
+
+        if (containsEdge(e)) { // this restriction should stay!
+            return null;
+        }
+
+        return insertEdge(e, source, target) ? e : null;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object, Object)
+     */
+    @Override public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        if (e == null) {
+            throw new NullPointerException();
+        } else if (containsEdge(e)) {
+            return false;
+        }
+
+        VertexEntry<V, E> source = entryOf(sourceVertex);
+        VertexEntry<V, E> target = entryOf(targetVertex);
+
+        if (!allowingMultipleEdges && (findEdge(source, target) != null)) {
+            return false;
+        }
+
+        if (!allowingLoops && (source == target)) {
+            throw new IllegalArgumentException(LOOPS_NOT_ALLOWED);
+        }
+
+        return insertEdge(e, source, target);
+    }
+
+    /**
+     * @see Graph#addVertex(Object)
+     */
+    @Override public boolean addVertex(V v)
+    {
+        if (v == null) {
+            throw new NullPointerException();
+        } else if (vertexMap.containsKey(v)) {
+            return false;
+        }
+        VertexEntry<V, E> entry =
+            new VertexEntry<>(v, nextLockOrder.getAndIncrement());
+        return vertexMap.putIfAbsent(v, entry) == null;
+    }
+
+    /**
+     * @see Graph#containsEdge(Object)
+     */
+    @Override public boolean containsEdge(E e)
+    {
+        return (e != null) && edgeMap.containsKey(e);
+    }
+
+    /**
+     * @see Graph#containsVertex(Object)
+     */
+    @Override public boolean containsVertex(V v)
+    {
+        return (v != null) && vertexMap.containsKey(v);
+    }
+
+    /**
+     * Returns an unmodifiable view of the edges of this graph, whose iterators
+     * are weakly consistent.
+     *
+     * @see Graph#edgeSet()
+     */
+    @Override public Set<E> edgeSet()
+    {
+        if (unmodifiableEdgeSet == null) {
+            unmodifiableEdgeSet =
+                Collections.unmodifiableSet(edgeMap.keySet());
+        }
+        return unmodifiableEdgeSet;
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the edges touching the vertex.
+     *
+     * @see Graph#edgesOf(Object)
+     */
+    @Override public Set<E> edgesOf(V vertex)
+    {
+        VertexEntry<V, E> entry = entryOf(vertex);
+        EdgeEntry<V, E> [] incoming = entry.incoming;
+        EdgeEntry<V, E> [] outgoing = entry.outgoing;
+
+        // the incoming edges without loops, followed by the outgoing edges
+        EdgeEntry<V, E> [] edges =
+            Arrays.copyOf(incoming, incoming.length + outgoing.length);
+        int size = 0;
+        for (EdgeEntry<V, E> edge : incoming) {
+            if (edge.source != entry) {
+                edges[size++] = edge;
+            }
+        }
+        System.arraycopy(outgoing, 0, edges, size, outgoing.length);
+        size += outgoing.length;
+        return new EdgeSetSnapshot<>(Arrays.copyOf(edges, size));
+    }
+
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        VertexEntry<V, E> entry = entryOf(vertex);
+        EdgeEntry<V, E> [] incoming = entry.incoming;
+        EdgeEntry<V, E> [] outgoing = entry.outgoing;
+        for (EdgeEntry<V, E> edge : incoming) {
+            if (edge.source != entry) {
+                action.accept(edge.edge);
+            }
+        }
+        for (EdgeEntry<V, E> edge : outgoing) {
+            action.accept(edge.edge);
+        }
+    }
+
+    /**
+     * @see DirectedGraph#inDegreeOf(Object)
+     */
+    @Override public int inDegreeOf(V vertex)
+    {
+        return entryOf(vertex).incoming.length;
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the incoming edges of the vertex.
+     *
+     * @see DirectedGraph#incomingEdgesOf(Object)
+     */
+    @Override public Set<E> incomingEdgesOf(V vertex)
+    {
+        return new EdgeSetSnapshot<>(entryOf(vertex).incoming);
+    }
+
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        for (EdgeEntry<V, E> edge : entryOf(vertex).incoming) {
+            action.accept(edge.edge);
+        }
+    }
+
+    /**
+     * @see DirectedGraph#outDegreeOf(Object)
+     */
+    @Override public int outDegreeOf(V vertex)
+    {
+        return entryOf(vertex).outgoing.length;
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the outgoing edges of the vertex.
+     *
+     * @see DirectedGraph#outgoingEdgesOf(Object)
+     */
+    @Override public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return new EdgeSetSnapshot<>(entryOf(vertex).outgoing);
+    }
+
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        for (EdgeEntry<V, E> edge : entryOf(vertex).outgoing) {
+            action.accept(edge.edge);
+        }
+    }
+
+    /**
+     * @see Graph#removeEdge(Object, Object)
+     */
+    @Override public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        VertexEntry<V, E> source = vertexMap.get(sourceVertex);
+        VertexEntry<V, E> target = vertexMap.get(targetVertex);
+        if ((source == null) || (target == null)) {
+            return null;
+        }
+
+        // retry if another thread removed the edge first
+        for (;;) {
+            EdgeEntry<V, E> entry = findEdge(source, target);
+            if (entry == null) {
+                return null;
+            } else if (removeEdge(entry)) {
+                return entry.edge;
+            }
+        }
+    }
+
+    /**
+     * @see Graph#removeEdge(Object)
+     */
+    @Override public boolean removeEdge(E e)
+    {
+        EdgeEntry<V, E> entry = (e == null) ? null : edgeMap.get(e);
+        return (entry != null) && removeEdge(entry);
+    }
+
+    /**
+     * @see Graph#removeVertex(Object)
+     */
+    @Override public boolean removeVertex(V v)
+    {
+        VertexEntry<V, E> entry = (v == null) ? null : vertexMap.get(v);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            if (entry.removed) {
+                // another thread is removing the vertex
+                return false;
+            }
+            entry.removed = true;
+        }
+
+        // no edges can be attached to the vertex anymore, detach them before
+        // the vertex disappears from the vertex set
+        for (EdgeEntry<V, E> edge : entry.outgoing) {
+            removeEdge(edge);
+        }
+        for (EdgeEntry<V, E> edge : entry.incoming) {
+            removeEdge(edge);
+        }
+        vertexMap.remove(v, entry);
+        return true;
+    }
+
+    /**
+     * Returns an unmodifiable view of the vertices of this graph, whose
+     * iterators are weakly consistent.
+     *
+     * @see Graph#vertexSet()
+     */
+    @Override public Set<V> vertexSet()
+    {
+        if (unmodifiableVertexSet == null) {
+            unmodifiableVertexSet =
+                Collections.unmodifiableSet(vertexMap.keySet());
+        }
+        return unmodifiableVertexSet;
+    }
+
+    /**
+     * @see Graph#getEdgeSource(Object)
+     */
+    @Override public V getEdgeSource(E e)
+    {
+        return entryOfEdge(e).source.vertex;
+    }
+
+    /**
+     * @see Graph#getEdgeTarget(Object)
+     */
+    @Override public V getEdgeTarget(E e)
+    {
+        return entryOfEdge(e).target.vertex;
+    }
+
+    /**
+     * @see Graph#getEdgeWeight(Object)
+     */
+    @Override public double getEdgeWeight(E e)
+    {
+        if (e instanceof DefaultWeightedEdge) {
+            return ((DefaultWeightedEdge) e).getWeight();
+        } else if (e == null) {
+            throw new NullPointerException();
+        } else {
+            return WeightedGraph.DEFAULT_EDGE_WEIGHT;
+        }
+    }
+
+    private VertexEntry<V, E> entryOf(V v)
+    {
+        VertexEntry<V, E> entry = (v == null) ? null : vertexMap.get(v);
+        if (entry == null) {
+            if (v == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException(
+                "no such vertex in graph: " + v.toString());
+        }
+        return entry;
+    }
+
+    private EdgeEntry<V, E> entryOfEdge(E e)
+    {
+        EdgeEntry<V, E> entry = (e == null) ? null : edgeMap.get(e);
+        if (entry == null) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException(
+                "no such edge in graph: " + e.toString());
+        }
+        return entry;
+    }
+
+    /**
+     * Returns an edge from source to target or <code>null</code>. Scans the
+     * shorter of the two adjacency arrays.
+     */
+    private static <V, E> EdgeEntry<V, E> findEdge(
+        VertexEntry<V, E> source,
+        VertexEntry<V, E> target)
+    {
+        EdgeEntry<V, E> [] outgoing = source.outgoing;
+        EdgeEntry<V, E> [] incoming = target.incoming;
+        if (outgoing.length <= incoming.length) {
+            for (EdgeEntry<V, E> entry : outgoing) {
+                if (entry.target == target) {
+                    return entry;
+                }
+            }
+        } else {
+            for (EdgeEntry<V, E> entry : incoming) {
+                if (entry.source == source) {
+                    return entry;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean insertEdge(
+        E e,
+        VertexEntry<V, E> source,
+        VertexEntry<V, E> target)
+    {
+        EdgeEntry<V, E> entry = new EdgeEntry<>(e, source, target);
+        boolean sourceFirst = source.lockOrder <= target.lockOrder;
+        synchronized (sourceFirst ? source : target) {
+            synchronized (sourceFirst ? target : source) {
+                if (source.removed || target.removed) {
+                    throw new IllegalArgumentException(
+                        "no such vertex in graph: "
+                        + (source.removed ? source : target).vertex);
+                }
+                if (!allowingMultipleEdges
+                    && (findEdge(source, target) != null))
+                {
+                    return false;
+                }
+                if (edgeMap.putIfAbsent(e, entry) != null) {
+                    return false;
+                }
+                if (e instanceof IntrusiveEdge) {
+                    IntrusiveEdge intrusiveEdge = (IntrusiveEdge) e;
+                    intrusiveEdge.source = source.vertex;
+                    intrusiveEdge.target = target.vertex;
+                }
+                source.outgoing = append(source.outgoing, entry);
+                target.incoming = append(target.incoming, entry);
+            }
+        }
+        return true;
+    }
+
+    private boolean removeEdge(EdgeEntry<V, E> entry)
+    {
+        VertexEntry<V, E> source = entry.source;
+        VertexEntry<V, E> target = entry.target;
+        boolean sourceFirst = source.lockOrder <= target.lockOrder;
+        synchronized (sourceFirst ? source : target) {
+            synchronized (sourceFirst ? target : source) {
+                if (!edgeMap.remove(entry.edge, entry)) {
+                    return false;
+                }
+                source.outgoing = remove(source.outgoing, entry);
+                target.incoming = remove(target.incoming, entry);
+            }
+        }
+        return true;
+    }
+
+    private static <V, E> EdgeEntry<V, E> [] append(
+        EdgeEntry<V, E> [] edges,
+        EdgeEntry<V, E> edge)
+    {
+        EdgeEntry<V, E> [] copy = Arrays.copyOf(edges, edges.length + 1);
+        copy[edges.length] = edge;
+        return copy;
+    }
+
+    private static <V, E> EdgeEntry<V, E> [] remove(
+        EdgeEntry<V, E> [] edges,
+        EdgeEntry<V, E> edge)
+    {
+        for (int i = 0; i < edges.length; i++) {
+            if (edges[i] == edge) {
+                // keep the insertion order of the remaining edges
+                EdgeEntry<V, E> [] copy =
+                    Arrays.copyOf(edges, edges.length - 1);
+                System.arraycopy(edges, i + 1, copy, i, copy.length - i);
+                return copy;
+            }
+        }
+        throw new IllegalStateException("corrupted adjacency");
+    }
+
+    /**
+     * A vertex with its adjacency. The adjacency arrays are replaced, never
+     * modified, and only while holding the monitor of the entry.
+     */
+    private static final class VertexEntry<V, E>
+        implements Serializable
+    {
+        private static final long serialVersionUID = -2315687926475089741L;
+
+        final V vertex;
+        final long lockOrder;
+        volatile EdgeEntry<V, E> [] outgoing;
+        volatile EdgeEntry<V, E> [] incoming;
+        boolean removed;
+
+        VertexEntry(V vertex, long lockOrder)
+        {
+            this.vertex = vertex;
+            this.lockOrder = lockOrder;
+            this.outgoing = TypeUtil.uncheckedCast(NO_EDGES, null);
+            this.incoming = TypeUtil.uncheckedCast(NO_EDGES, null);
+        }
+
+        @Override public String toString()
+        {
+            return String.valueOf(vertex);
+        }
+    }
+
+    /**
+     * An edge with its endpoints.
+     */
+    private static final class EdgeEntry<V, E>
+        implements Serializable
+    {
+        private static final long serialVersionUID = 8273014627195370913L;
+
+        final E edge;
+        final VertexEntry<V, E> source;
+        final VertexEntry<V, E> target;
+
+        EdgeEntry(E edge, VertexEntry<V, E> source, VertexEntry<V, E> target)
+        {
+            this.edge = edge;
+            this.source = source;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Unmodifiable set backed by an adjacency array which is never modified.
+     */
+    private static final class EdgeSetSnapshot<V, E>
+        extends AbstractSet<E>
+    {
+        private final EdgeEntry<V, E> [] edges;
+
+        EdgeSetSnapshot(EdgeEntry<V, E> [] edges)
+        {
+            this.edges = edges;
+        }
+
+        @Override public Iterator<E> iterator()
+        {
+            return new Iterator<E>() {
+                private int next;
+
+                @Override public boolean hasNext()
+                {
+                    return next < edges.length;
+                }
+
+                @Override public E next()
+                {
+                    if (next >= edges.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return edges[next++].edge;
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return edges.length;
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            for (EdgeEntry<V, E> entry : edges) {
+                if (entry.edge.equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
+
+// End ConcurrentDirectedGraph.java
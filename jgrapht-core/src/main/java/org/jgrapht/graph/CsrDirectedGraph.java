@@ -0,0 +1,326 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * CsrDirectedGraph.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * An immutable directed graph stored in compressed sparse row format. The
+ * edges are numbered grouped by their source vertices, so that the outgoing
+ * edges of a vertex occupy a contiguous range of edge indices. The incoming
+ * edges are kept in a second offset and edge array.
+ *
+ * <p>Instances are created by {@link Graphs#freeze(DirectedGraph)}.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see CsrGraph
+ */
+public class CsrDirectedGraph<V, E>
+    extends CsrGraph<V, E>
+    implements DirectedGraph<V, E>
+{
+    private static final long serialVersionUID = 2946301685273418230L;
+
+    private final int [] outOffsets;
+    private final int [] inOffsets;
+    private final int [] inEdges;
+    private final int [] loopCounts;
+
+    private transient Set<E> [] outgoingViews;
+    private transient Set<E> [] incomingViews;
+    private transient Set<E> [] incidentViews;
+
+    /**
+     * Creates a snapshot of the given directed graph.
+     *
+     * @param graph the graph to take a snapshot of
+     */
+    public CsrDirectedGraph(DirectedGraph<V, E> graph)
+    {
+        super(graph, true);
+
+        int n = vertexCount();
+        int m = edgeCount();
+        this.outOffsets = new int[n + 1];
+        this.inOffsets = new int[n + 1];
+        this.inEdges = new int[m];
+        this.loopCounts = new int[n];
+
+        for (int e = 0; e < m; e++) {
+            outOffsets[edgeSources[e] + 1]++;
+            inOffsets[edgeTargets[e] + 1]++;
+            if (edgeSources[e] == edgeTargets[e]) {
+                loopCounts[edgeSources[e]]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        // counting sort of the edges by target, keeps the order of the
+        // outgoing edges of the sources
+        int [] next = Arrays.copyOf(inOffsets, n);
+        for (int e = 0; e < m; e++) {
+            inEdges[next[edgeTargets[e]]++] = e;
+        }
+    }
+
+    @Override public int outgoingStart(int vertex)
+    {
+        return outOffsets[vertex];
+    }
+
+    @Override public int outgoingEnd(int vertex)
+    {
+        return outOffsets[vertex + 1];
+    }
+
+    @Override public int outgoingEdge(int position)
+    {
+        return position;
+    }
+
+    @Override public int incomingStart(int vertex)
+    {
+        return inOffsets[vertex];
+    }
+
+    @Override public int incomingEnd(int vertex)
+    {
+        return inOffsets[vertex + 1];
+    }
+
+    @Override public int incomingEdge(int position)
+    {
+        return inEdges[position];
+    }
+
+    /**
+     * @see DirectedGraph#inDegreeOf(Object)
+     */
+    @Override public int inDegreeOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        return inOffsets[v + 1] - inOffsets[v];
+    }
+
+    /**
+     * @see DirectedGraph#incomingEdgesOf(Object)
+     */
+    @Override public Set<E> incomingEdgesOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        if (incomingViews == null) {
+            incomingViews = TypeUtil.uncheckedCast(
+                new Set<?>[vertexCount()],
+                null);
+        }
+        Set<E> view = incomingViews[v];
+        if (view == null) {
+            view = new EdgeRangeView(inEdges, inOffsets[v], inOffsets[v + 1]);
+            incomingViews[v] = view;
+        }
+        return view;
+    }
+
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+        for (int p = inOffsets[v], end = inOffsets[v + 1]; p < end; p++) {
+            action.accept(getEdgeAt(inEdges[p]));
+        }
+    }
+
+    /**
+     * @see DirectedGraph#outDegreeOf(Object)
+     */
+    @Override public int outDegreeOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        return outOffsets[v + 1] - outOffsets[v];
+    }
+
+    /**
+     * @see DirectedGraph#outgoingEdgesOf(Object)
+     */
+    @Override public Set<E> outgoingEdgesOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        if (outgoingViews == null) {
+            outgoingViews = TypeUtil.uncheckedCast(
+                new Set<?>[vertexCount()],
+                null);
+        }
+        Set<E> view = outgoingViews[v];
+        if (view == null) {
+            view = new EdgeRangeView(null, outOffsets[v], outOffsets[v + 1]);
+            outgoingViews[v] = view;
+        }
+        return view;
+    }
+
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+        for (int e = outOffsets[v], end = outOffsets[v + 1]; e < end; e++) {
+            action.accept(getEdgeAt(e));
+        }
+    }
+
+    /**
+     * Returns the incoming edges followed by the outgoing edges of the vertex,
+     * loops are contained only once.
+     *
+     * @see Graph#edgesOf(Object)
+     */
+    @Override public Set<E> edgesOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        if (incidentViews == null) {
+            incidentViews = TypeUtil.uncheckedCast(
+                new Set<?>[vertexCount()],
+                null);
+        }
+        Set<E> view = incidentViews[v];
+        if (view == null) {
+            view = new IncidentEdgesView(v);
+            incidentViews[v] = view;
+        }
+        return view;
+    }
+
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+        for (int p = inOffsets[v], end = inOffsets[v + 1]; p < end; p++) {
+            action.accept(getEdgeAt(inEdges[p]));
+        }
+        for (int e = outOffsets[v], end = outOffsets[v + 1]; e < end; e++) {
+            if (edgeTargets[e] != v) {
+                action.accept(getEdgeAt(e));
+            }
+        }
+    }
+
+    /**
+     * Unmodifiable view of the incoming and outgoing edges of a vertex.
+     */
+    private class IncidentEdgesView
+        extends AbstractSet<E>
+    {
+        private final int vertex;
+
+        IncidentEdgesView(int vertex)
+        {
+            this.vertex = vertex;
+        }
+
+        @Override public Iterator<E> iterator()
+        {
+            return new Iterator<E>() {
+                private int nextIn = inOffsets[vertex];
+                private int nextOut = advance(outOffsets[vertex]);
+
+                @Override public boolean hasNext()
+                {
+                    return (nextIn < inOffsets[vertex + 1])
+                        || (nextOut < outOffsets[vertex + 1]);
+                }
+
+                @Override public E next()
+                {
+                    if (nextIn < inOffsets[vertex + 1]) {
+                        return getEdgeAt(inEdges[nextIn++]);
+                    }
+                    if (nextOut < outOffsets[vertex + 1]) {
+                        int e = nextOut;
+                        nextOut = advance(nextOut + 1);
+                        return getEdgeAt(e);
+                    }
+                    throw new NoSuchElementException();
+                }
+
+                // skips the loops, they were returned as incoming edges
+                private int advance(int e)
+                {
+                    int end = outOffsets[vertex + 1];
+                    while ((e < end) && (edgeTargets[e] == vertex)) {
+                        e++;
+                    }
+                    return e;
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return (inOffsets[vertex + 1] - inOffsets[vertex])
+                + (outOffsets[vertex + 1] - outOffsets[vertex])
+                - loopCounts[vertex];
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            int e = indexOfEdge(TypeUtil.uncheckedCast(o, null));
+            return (e >= 0)
+                && ((edgeSources[e] == vertex) || (edgeTargets[e] == vertex));
+        }
+    }
+}
+
+// End CsrDirectedGraph.java
@@ -0,0 +1,666 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * CsrGraph.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * Base class of the immutable graphs stored in <a
+ * href="https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_.28CSR.2C_CRS_or_Yale_format.29">
+ * compressed sparse row</a> format. Such a graph is a snapshot of another
+ * graph, see {@link Graphs#freeze(Graph)}, and is meant for graphs which are
+ * built once and queried many times afterwards.
+ *
+ * <p>Vertices and edges are numbered from zero on. The adjacency of the
+ * vertices is stored in a single offset array and a single edge array, the
+ * endpoints of the edges in two <code>int[]</code> arrays and the edge weights
+ * in a <code>double[]</code>. The edge weights are copied when the snapshot is
+ * taken, later changes of the weights of the original graph are not visible.
+ * The sets returned by the graph are unmodifiable views on these arrays,
+ * the views of a vertex are created once and then cached.</p>
+ *
+ * <p>Besides the {@link Graph} interface, the class offers access to the
+ * vertices and edges by their indices. Algorithms may use it to work on plain
+ * arrays indexed by vertex or edge, using the following idiom to visit the
+ * edges leaving the vertex with index <code>v</code>:</p>
+ *
+ * <pre>
+ * for (int p = g.outgoingStart(v); p &lt; g.outgoingEnd(v); p++) {
+ *     int e = g.outgoingEdge(p);
+ *     int w = g.getOppositeVertexAt(e, v);
+ *     ...
+ * }</pre>
+ *
+ * <p>For undirected graphs the outgoing and incoming edges of a vertex are
+ * both the edges touching it, which allows the same code to traverse directed
+ * and undirected graphs.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see CsrDirectedGraph
+ * @see CsrUndirectedGraph
+ */
+public abstract class CsrGraph<V, E>
+    extends AbstractGraph<V, E>
+    implements Serializable
+{
+    private static final long serialVersionUID = 6719475230963184711L;
+
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+
+    private final EdgeFactory<V, E> edgeFactory;
+
+    private final Object [] vertices;
+    private final ObjectIntMap<V> vertexIndex;
+
+    final Object [] edges;
+    private final ObjectIntMap<E> edgeIndex;
+    final int [] edgeSources;
+    final int [] edgeTargets;
+    private final double [] edgeWeights;
+
+    private transient Set<V> vertexSetView;
+    private transient Set<E> edgeSetView;
+
+    /**
+     * Takes a snapshot of the given graph. The edges are numbered by iterating
+     * over the outgoing edges of all vertices, if <code>groupBySource</code> is
+     * set and the graph is directed, otherwise in the order of the edge set.
+     *
+     * @param graph the graph to take a snapshot of
+     * @param groupBySource whether to number the edges grouped by their
+     * sources
+     */
+    CsrGraph(Graph<V, E> graph, boolean groupBySource)
+    {
+        this.edgeFactory = graph.getEdgeFactory();
+
+        Set<V> vertexSet = graph.vertexSet();
+        int n = vertexSet.size();
+        this.vertices = new Object[n];
+        this.vertexIndex = new ObjectIntMap<>(n);
+        int v = 0;
+        for (V vertex : vertexSet) {
+            vertices[v] = vertex;
+            vertexIndex.put(vertex, v++);
+        }
+
+        int m = graph.edgeSet().size();
+        this.edges = new Object[m];
+        this.edgeIndex = new ObjectIntMap<>(m);
+        this.edgeSources = new int[m];
+        this.edgeTargets = new int[m];
+        this.edgeWeights = new double[m];
+        int e = 0;
+        if (groupBySource) {
+            DirectedGraph<V, E> directed = (DirectedGraph<V, E>) graph;
+            for (v = 0; v < n; v++) {
+                for (E edge : directed.outgoingEdgesOf(getVertexAt(v))) {
+                    storeEdge(graph, edge, e++);
+                }
+            }
+        } else {
+            for (E edge : graph.edgeSet()) {
+                storeEdge(graph, edge, e++);
+            }
+        }
+        if (e != m) {
+            throw new IllegalArgumentException(
+                "edge set and adjacency of the graph do not match");
+        }
+    }
+
+    private void storeEdge(Graph<V, E> graph, E edge, int e)
+    {
+        edges[e] = edge;
+        edgeIndex.put(edge, e);
+        edgeSources[e] = vertexIndex.get(graph.getEdgeSource(edge));
+        edgeTargets[e] = vertexIndex.get(graph.getEdgeTarget(edge));
+        edgeWeights[e] = graph.getEdgeWeight(edge);
+    }
+
+    /**
+     * Returns the number of vertices of the graph.
+     *
+     * @return the number of vertices
+     */
+    public int vertexCount()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * Returns the number of edges of the graph.
+     *
+     * @return the number of edges
+     */
+    public int edgeCount()
+    {
+        return edges.length;
+    }
+
+    /**
+     * Returns the index of a vertex.
+     *
+     * @param v the vertex
+     *
+     * @return the index of the vertex or -1 if it is not contained in the
+     * graph
+     */
+    public int indexOfVertex(V v)
+    {
+        return vertexIndex.get(v);
+    }
+
+    /**
+     * Returns the vertex with the given index.
+     *
+     * @param index the vertex index
+     *
+     * @return the vertex
+     *
+     * @throws IndexOutOfBoundsException if there is no such vertex
+     */
+    public V getVertexAt(int index)
+    {
+        return TypeUtil.uncheckedCast(vertices[index], null);
+    }
+
+    /**
+     * Returns the index of an edge.
+     *
+     * @param e the edge
+     *
+     * @return the index of the edge or -1 if it is not contained in the graph
+     */
+    public int indexOfEdge(E e)
+    {
+        return edgeIndex.get(e);
+    }
+
+    /**
+     * Returns the edge with the given index.
+     *
+     * @param index the edge index
+     *
+     * @return the edge
+     *
+     * @throws IndexOutOfBoundsException if there is no such edge
+     */
+    public E getEdgeAt(int index)
+    {
+        return TypeUtil.uncheckedCast(edges[index], null);
+    }
+
+    /**
+     * Returns the index of the source vertex of an edge.
+     *
+     * @param index the edge index
+     *
+     * @return the source vertex index
+     */
+    public int getEdgeSourceAt(int index)
+    {
+        return edgeSources[index];
+    }
+
+    /**
+     * Returns the index of the target vertex of an edge.
+     *
+     * @param index the edge index
+     *
+     * @return the target vertex index
+     */
+    public int getEdgeTargetAt(int index)
+    {
+        return edgeTargets[index];
+    }
+
+    /**
+     * Returns the index of the endpoint of an edge opposite to the given
+     * vertex.
+     *
+     * @param index the edge index
+     * @param vertex the index of one of the endpoints of the edge
+     *
+     * @return the index of the other endpoint
+     */
+    public int getOppositeVertexAt(int index, int vertex)
+    {
+        int source = edgeSources[index];
+        return (source == vertex) ? edgeTargets[index] : source;
+    }
+
+    /**
+     * Returns the weight of an edge.
+     *
+     * @param index the edge index
+     *
+     * @return the edge weight
+     */
+    public double getEdgeWeightAt(int index)
+    {
+        return edgeWeights[index];
+    }
+
+    /**
+     * Returns the first position of the outgoing edges of a vertex.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the first position
+     */
+    public abstract int outgoingStart(int vertex);
+
+    /**
+     * Returns the position after the last outgoing edge of a vertex.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the end position
+     */
+    public abstract int outgoingEnd(int vertex);
+
+    /**
+     * Returns the outgoing edge at the given position.
+     *
+     * @param position a position between {@link #outgoingStart(int)} and
+     * {@link #outgoingEnd(int)} of some vertex
+     *
+     * @return the edge index
+     */
+    public abstract int outgoingEdge(int position);
+
+    /**
+     * Returns the first position of the incoming edges of a vertex.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the first position
+     */
+    public abstract int incomingStart(int vertex);
+
+    /**
+     * Returns the position after the last incoming edge of a vertex.
+     *
+     * @param vertex the vertex index
+     *
+     * @return the end position
+     */
+    public abstract int incomingEnd(int vertex);
+
+    /**
+     * Returns the incoming edge at the given position.
+     *
+     * @param position a position between {@link #incomingStart(int)} and
+     * {@link #incomingEnd(int)} of some vertex
+     *
+     * @return the edge index
+     */
+    public abstract int incomingEdge(int position);
+
+    /**
+     * @see Graph#getAllEdges(Object, Object)
+     */
+    @Override public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        int u = vertexIndex.get(sourceVertex);
+        int v = vertexIndex.get(targetVertex);
+        if ((u < 0) || (v < 0)) {
+            return null;
+        }
+        Set<E> edgesBetween = new ArrayUnenforcedSet<>();
+        for (int p = outgoingStart(u), end = outgoingEnd(u); p < end; p++) {
+            int e = outgoingEdge(p);
+            if (getOppositeVertexAt(e, u) == v) {
+                edgesBetween.add(getEdgeAt(e));
+            }
+        }
+        return edgesBetween;
+    }
+
+    /**
+     * @see Graph#getEdge(Object, Object)
+     */
+    @Override public E getEdge(V sourceVertex, V targetVertex)
+    {
+        int u = vertexIndex.get(sourceVertex);
+        int v = vertexIndex.get(targetVertex);
+        if ((u < 0) || (v < 0)) {
+            return null;
+        }
+        for (int p = outgoingStart(u), end = outgoingEnd(u); p < end; p++) {
+            int e = outgoingEdge(p);
+            if (getOppositeVertexAt(e, u) == v) {
+                return getEdgeAt(e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @see Graph#getEdgeFactory()
+     */
+    @Override public EdgeFactory<V, E> getEdgeFactory()
+    {
+        return edgeFactory;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object)
+     */
+    @Override public E addEdge(V sourceVertex, V targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object, Object)
+     */
+    @Override public boolean addEdge(V sourceVertex, V targetVertex, E e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#addVertex(Object)
+     */
+    @Override public boolean addVertex(V v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#removeAllEdges(Collection)
+     */
+    @Override public boolean removeAllEdges(Collection<? extends E> edges)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#removeAllEdges(Object, Object)
+     */
+    @Override public Set<E> removeAllEdges(V sourceVertex, V targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#removeAllVertices(Collection)
+     */
+    @Override public boolean removeAllVertices(
+        Collection<? extends V> vertices)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#removeEdge(Object)
+     */
+    @Override public boolean removeEdge(E e)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#removeEdge(Object, Object)
+     */
+    @Override public E removeEdge(V sourceVertex, V targetVertex)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#removeVertex(Object)
+     */
+    @Override public boolean removeVertex(V v)
+    {
+        throw new UnsupportedOperationException(UNMODIFIABLE);
+    }
+
+    /**
+     * @see Graph#containsEdge(Object)
+     */
+    @Override public boolean containsEdge(E e)
+    {
+        return edgeIndex.containsKey(e);
+    }
+
+    /**
+     * @see Graph#containsVertex(Object)
+     */
+    @Override public boolean containsVertex(V v)
+    {
+        return vertexIndex.containsKey(v);
+    }
+
+    /**
+     * @see Graph#vertexSet()
+     */
+    @Override public Set<V> vertexSet()
+    {
+        if (vertexSetView == null) {
+            vertexSetView = new ElementSetView<>(vertices, vertexIndex);
+        }
+        return vertexSetView;
+    }
+
+    /**
+     * @see Graph#edgeSet()
+     */
+    @Override public Set<E> edgeSet()
+    {
+        if (edgeSetView == null) {
+            edgeSetView = new ElementSetView<>(edges, edgeIndex);
+        }
+        return edgeSetView;
+    }
+
+    /**
+     * @see Graph#getEdgeSource(Object)
+     */
+    @Override public V getEdgeSource(E e)
+    {
+        return getVertexAt(edgeSources[indexOfExistingEdge(e)]);
+    }
+
+    /**
+     * @see Graph#getEdgeTarget(Object)
+     */
+    @Override public V getEdgeTarget(E e)
+    {
+        return getVertexAt(edgeTargets[indexOfExistingEdge(e)]);
+    }
+
+    /**
+     * Returns the weight the edge had when the snapshot was taken.
+     *
+     * @see Graph#getEdgeWeight(Object)
+     */
+    @Override public double getEdgeWeight(E e)
+    {
+        return edgeWeights[indexOfExistingEdge(e)];
+    }
+
+    /**
+     * Returns the index of the given vertex, asserting that it is contained in
+     * the graph.
+     *
+     * @param v the vertex
+     *
+     * @return the vertex index
+     */
+    int indexOfExistingVertex(V v)
+    {
+        int index = vertexIndex.get(v);
+        if (index < 0) {
+            assertVertexExist(v);
+        }
+        return index;
+    }
+
+    private int indexOfExistingEdge(E e)
+    {
+        int index = edgeIndex.get(e);
+        if (index < 0) {
+            if (e == null) {
+                throw new NullPointerException();
+            }
+            throw new IllegalArgumentException(
+                "no such edge in graph: " + e.toString());
+        }
+        return index;
+    }
+
+    /**
+     * Unmodifiable set view of an array of elements.
+     */
+    private static class ElementSetView<T>
+        extends AbstractSet<T>
+    {
+        private final Object [] elements;
+        private final ObjectIntMap<T> index;
+
+        ElementSetView(Object [] elements, ObjectIntMap<T> index)
+        {
+            this.elements = elements;
+            this.index = index;
+        }
+
+        @Override public Iterator<T> iterator()
+        {
+            return new Iterator<T>() {
+                private int next;
+
+                @Override public boolean hasNext()
+                {
+                    return next < elements.length;
+                }
+
+                @Override public T next()
+                {
+                    if (next >= elements.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return TypeUtil.uncheckedCast(elements[next++], null);
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return elements.length;
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            return index.containsKey(o);
+        }
+    }
+
+    /**
+     * Unmodifiable set view of the edges stored at a range of positions of an
+     * adjacency array. A <code>null</code> array means that the positions are
+     * the edge indices themselves.
+     */
+    class EdgeRangeView
+        extends AbstractSet<E>
+    {
+        private final int [] adjacency;
+        private final int start;
+        private final int end;
+
+        EdgeRangeView(int [] adjacency, int start, int end)
+        {
+            this.adjacency = adjacency;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override public Iterator<E> iterator()
+        {
+            return new Iterator<E>() {
+                private int next = start;
+
+                @Override public boolean hasNext()
+                {
+                    return next < end;
+                }
+
+                @Override public E next()
+                {
+                    if (next >= end) {
+                        throw new NoSuchElementException();
+                    }
+                    int p = next++;
+                    return getEdgeAt((adjacency == null) ? p : adjacency[p]);
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return end - start;
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            int e = edgeIndex.get(o);
+            if (e < 0) {
+                return false;
+            }
+            if (adjacency == null) {
+                return (e >= start) && (e < end);
+            }
+            for (int p = start; p < end; p++) {
+                if (adjacency[p] == e) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
+
+// End CsrGraph.java
@@ -0,0 +1,184 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * CsrUndirectedGraph.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * An immutable undirected graph stored in compressed sparse row format. The
+ * edges keep the order of the edge set of the original graph, the edges
+ * touching a vertex are kept in a single offset and edge array. A loop is
+ * stored only once in the adjacency of its vertex, but counts twice towards
+ * its degree, like in the other undirected graphs of this package.
+ *
+ * <p>Both the outgoing and the incoming edges of a vertex, as returned by the
+ * index based methods, are the edges touching the vertex.</p>
+ *
+ * <p>Instances are created by {@link Graphs#freeze(UndirectedGraph)}.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see CsrGraph
+ */
+public class CsrUndirectedGraph<V, E>
+    extends CsrGraph<V, E>
+    implements UndirectedGraph<V, E>
+{
+    private static final long serialVersionUID = 5139250746820195483L;
+
+    private final int [] offsets;
+    private final int [] incidentEdges;
+    private final int [] loopCounts;
+
+    private transient Set<E> [] incidentViews;
+
+    /**
+     * Creates a snapshot of the given undirected graph.
+     *
+     * @param graph the graph to take a snapshot of
+     */
+    public CsrUndirectedGraph(UndirectedGraph<V, E> graph)
+    {
+        super(graph, false);
+
+        int n = vertexCount();
+        int m = edgeCount();
+        this.offsets = new int[n + 1];
+        this.loopCounts = new int[n];
+
+        int entries = 0;
+        for (int e = 0; e < m; e++) {
+            offsets[edgeSources[e] + 1]++;
+            entries++;
+            if (edgeSources[e] != edgeTargets[e]) {
+                offsets[edgeTargets[e] + 1]++;
+                entries++;
+            } else {
+                loopCounts[edgeSources[e]]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        this.incidentEdges = new int[entries];
+        int [] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            incidentEdges[next[edgeSources[e]]++] = e;
+            if (edgeSources[e] != edgeTargets[e]) {
+                incidentEdges[next[edgeTargets[e]]++] = e;
+            }
+        }
+    }
+
+    @Override public int outgoingStart(int vertex)
+    {
+        return offsets[vertex];
+    }
+
+    @Override public int outgoingEnd(int vertex)
+    {
+        return offsets[vertex + 1];
+    }
+
+    @Override public int outgoingEdge(int position)
+    {
+        return incidentEdges[position];
+    }
+
+    @Override public int incomingStart(int vertex)
+    {
+        return offsets[vertex];
+    }
+
+    @Override public int incomingEnd(int vertex)
+    {
+        return offsets[vertex + 1];
+    }
+
+    @Override public int incomingEdge(int position)
+    {
+        return incidentEdges[position];
+    }
+
+    /**
+     * @see UndirectedGraph#degreeOf(Object)
+     */
+    @Override public int degreeOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        return (offsets[v + 1] - offsets[v]) + loopCounts[v];
+    }
+
+    /**
+     * @see Graph#edgesOf(Object)
+     */
+    @Override public Set<E> edgesOf(V vertex)
+    {
+        int v = indexOfExistingVertex(vertex);
+        if (incidentViews == null) {
+            incidentViews = TypeUtil.uncheckedCast(
+                new Set<?>[vertexCount()],
+                null);
+        }
+        Set<E> view = incidentViews[v];
+        if (view == null) {
+            view = new EdgeRangeView(incidentEdges, offsets[v], offsets[v + 1]);
+            incidentViews[v] = view;
+        }
+        return view;
+    }
+
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        int v = indexOfExistingVertex(vertex);
+        for (int p = offsets[v], end = offsets[v + 1]; p < end; p++) {
+            action.accept(getEdgeAt(incidentEdges[p]));
+        }
+    }
+}
+
+// End CsrUndirectedGraph.java
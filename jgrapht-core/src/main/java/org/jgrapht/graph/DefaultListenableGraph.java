@@ -291,6 +291,16 @@ public class DefaultListenableGraph<V, E>
         vertexSetListeners.remove(l);
     }
 
+    /**
+     * @see WeightedGraph#setEdgeWeight(Object, double)
+     */
+    @Override public void setEdgeWeight(E e, double weight)
+    {
+        super.setEdgeWeight(e, weight);
+
+        fireEdgeWeightUpdated(e, getEdgeSource(e), getEdgeTarget(e));
+    }
+
     /**
      * Notify listeners that the specified edge was added.
      *
@@ -333,6 +343,27 @@ public class DefaultListenableGraph<V, E>
         }
     }
 
+    /**
+     * Notify listeners that the weight of the specified edge was updated.
+     *
+     * @param edge the edge whose weight was updated.
+     * @param source edge source
+     * @param target edge target
+     */
+    protected void fireEdgeWeightUpdated(E edge, V source, V target)
+    {
+        GraphEdgeChangeEvent<V, E> e =
+            createGraphEdgeChangeEvent(
+                GraphEdgeChangeEvent.EDGE_WEIGHT_UPDATED,
+                edge,
+                source,
+                target);
+
+        for (GraphListener<V, E> l : graphListeners) {
+            l.edgeWeightUpdated(e);
+        }
+    }
+
     /**
      * Notify listeners that the specified vertex was added.
      *
@@ -37,6 +37,7 @@
 package org.jgrapht.graph;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.jgrapht.*;
 
@@ -131,6 +132,16 @@ public class EdgeReversedGraph<V, E>
         return super.outgoingEdgesOf(vertex);
     }
 
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        super.forEachOutgoingEdge(vertex, action);
+    }
+
     /**
      * @see DirectedGraph#outgoingEdgesOf(Object)
      */
@@ -139,6 +150,16 @@ public class EdgeReversedGraph<V, E>
         return super.incomingEdgesOf(vertex);
     }
 
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        super.forEachIncomingEdge(vertex, action);
+    }
+
     /**
      * @see Graph#removeEdge(Object, Object)
      */
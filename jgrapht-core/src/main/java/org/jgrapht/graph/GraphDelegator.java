@@ -42,6 +42,7 @@ package org.jgrapht.graph;
 import java.io.*;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.jgrapht.*;
 
@@ -179,6 +180,14 @@ public class GraphDelegator<V, E>
         return delegate.edgesOf(vertex);
     }
 
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        delegate.forEachEdgeOf(vertex, action);
+    }
+
     /**
      * @see DirectedGraph#inDegreeOf(Object)
      */
@@ -195,6 +204,14 @@ public class GraphDelegator<V, E>
         return ((DirectedGraph<V, E>) delegate).incomingEdgesOf(vertex);
     }
 
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    public void forEachIncomingEdge(V vertex, Consumer<? super E> action)
+    {
+        ((DirectedGraph<V, E>) delegate).forEachIncomingEdge(vertex, action);
+    }
+
     /**
      * @see DirectedGraph#outDegreeOf(Object)
      */
@@ -211,6 +228,14 @@ public class GraphDelegator<V, E>
         return ((DirectedGraph<V, E>) delegate).outgoingEdgesOf(vertex);
     }
 
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    public void forEachOutgoingEdge(V vertex, Consumer<? super E> action)
+    {
+        ((DirectedGraph<V, E>) delegate).forEachOutgoingEdge(vertex, action);
+    }
+
     /**
      * @see Graph#removeEdge(Object)
      */
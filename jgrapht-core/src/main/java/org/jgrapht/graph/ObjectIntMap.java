@@ -0,0 +1,300 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * ObjectIntMap.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+
+
+/**
+ * An open addressing hash map from objects to non-negative <code>int</code>
+ * values. Used by the array based graph implementations to translate vertices
+ * and edges to their dense indices without boxing the indices and without
+ * allocating an entry object per mapping.
+ *
+ * <p>Keys must not be <code>null</code> and values must be non-negative, a
+ * negative return value is used to signal a missing key. Collisions are
+ * resolved by linear probing and removals use backward shifting, so that no
+ * tombstones are ever left in the table.</p>
+ *
+ * @param <K> the key type
+ */
+final class ObjectIntMap<K>
+    implements Serializable
+{
+    private static final long serialVersionUID = 4917205713264711367L;
+
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * Value returned by lookups for missing keys.
+     */
+    static final int NO_VALUE = -1;
+
+    private Object [] keys;
+    private int [] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    /**
+     * Creates a new map able to hold the given number of keys without being
+     * resized.
+     *
+     * @param expectedSize the expected number of keys
+     */
+    ObjectIntMap(int expectedSize)
+    {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a copy of the given map.
+     *
+     * @param other the map to copy
+     */
+    ObjectIntMap(ObjectIntMap<K> other)
+    {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.size = other.size;
+        this.mask = other.mask;
+        this.resizeThreshold = other.resizeThreshold;
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key the key
+     *
+     * @return the mapped value or {@link #NO_VALUE} if the key is not contained
+     */
+    int get(Object key)
+    {
+        if (key == null) {
+            return NO_VALUE;
+        }
+        Object [] k = keys;
+        int i = slotOf(key);
+        for (Object current; (current = k[i]) != null; i = (i + 1) & mask) {
+            if ((current == key) || current.equals(key)) {
+                return values[i];
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Checks whether the given key is contained in the map.
+     *
+     * @param key the key
+     *
+     * @return <tt>true</tt> if the key is contained
+     */
+    boolean containsKey(Object key)
+    {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Associates the given key with the given value, replacing any previous
+     * mapping.
+     *
+     * @param key the key
+     * @param value the value, must be non-negative
+     *
+     * @return the previous value or {@link #NO_VALUE}
+     */
+    int put(K key, int value)
+    {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        assert value >= 0;
+        int i = slotOf(key);
+        for (Object current; (current = keys[i]) != null; i = (i + 1) & mask) {
+            if ((current == key) || current.equals(key)) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @param key the key
+     *
+     * @return the removed value or {@link #NO_VALUE} if the key was not
+     * contained
+     */
+    int remove(Object key)
+    {
+        if (key == null) {
+            return NO_VALUE;
+        }
+        int i = slotOf(key);
+        for (Object current; (current = keys[i]) != null; i = (i + 1) & mask) {
+            if ((current == key) || current.equals(key)) {
+                int previous = values[i];
+                shiftBack(i);
+                size--;
+                return previous;
+            }
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Ensures the map can hold the given number of keys without being
+     * resized.
+     *
+     * @param expectedSize the expected number of keys
+     */
+    void ensureCapacity(int expectedSize)
+    {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length) {
+            rehash(capacity);
+        }
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return the number of mappings
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Removes all mappings.
+     */
+    void clear()
+    {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private void readObject(ObjectInputStream in)
+        throws IOException, ClassNotFoundException
+    {
+        in.defaultReadObject();
+
+        // the hash codes of the keys may have changed, e.g. for keys using
+        // the identity hash code
+        rehash(keys.length);
+    }
+
+    private void shiftBack(int hole)
+    {
+        // close the hole by moving back any entry whose probe sequence passes
+        // over it, this keeps all remaining keys reachable
+        int i = hole;
+        for (;;) {
+            i = (i + 1) & mask;
+            Object current = keys[i];
+            if (current == null) {
+                break;
+            }
+            int home = slotOf(current);
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = current;
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+    }
+
+    private int slotOf(Object key)
+    {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new Object[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * 0.7);
+    }
+
+    private void rehash(int capacity)
+    {
+        Object [] oldKeys = keys;
+        int [] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            Object key = oldKeys[j];
+            if (key != null) {
+                int i = slotOf(key);
+                while (keys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int capacityFor(int expectedSize)
+    {
+        long required = (long) Math.ceil(Math.max(expectedSize, 1) / 0.7) + 1;
+        long capacity = MIN_CAPACITY;
+        while (capacity < required) {
+            capacity <<= 1;
+        }
+        if (capacity > (1 << 30)) {
+            throw new IllegalArgumentException(
+                "too many elements: " + expectedSize);
+        }
+        return (int) capacity;
+    }
+}
+
+// End ObjectIntMap.java
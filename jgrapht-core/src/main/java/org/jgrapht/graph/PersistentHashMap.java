@@ -0,0 +1,571 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------
+ * PersistentHashMap.java
+ * ----------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+
+import org.jgrapht.util.*;
+
+
+/**
+ * An immutable hash map which is modified by creating new versions of it. The
+ * map is a hash array mapped trie: a tree with a branching factor of 32 which
+ * is indexed by consecutive five bit slices of the hash codes of the keys. A
+ * modification copies the path from the root to the modified entry only, all
+ * other nodes are shared between the old and the new version. Lookups and
+ * modifications thus take time logarithmic in the size of the map, with a base
+ * of 32, and a new version consumes space proportional to the same bound.
+ *
+ * <p>Neither keys nor values may be <code>null</code>. The iteration order
+ * is determined by the hash codes of the keys.</p>
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+final class PersistentHashMap<K, V>
+    implements Serializable
+{
+    private static final long serialVersionUID = -6022435287350194216L;
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY =
+        new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     *
+     * @return the empty map
+     */
+    static <K, V> PersistentHashMap<K, V> empty()
+    {
+        return TypeUtil.uncheckedCast(EMPTY, null);
+    }
+
+    /**
+     * Returns the value mapped to the given key.
+     *
+     * @param key the key
+     *
+     * @return the mapped value or <code>null</code> if the key is not
+     * contained
+     */
+    V get(Object key)
+    {
+        if (key == null) {
+            return null;
+        }
+        return TypeUtil.uncheckedCast(root.find(0, key.hashCode(), key), null);
+    }
+
+    /**
+     * Checks whether the given key is contained in the map.
+     *
+     * @param key the key
+     *
+     * @return <tt>true</tt> if the key is contained
+     */
+    boolean containsKey(Object key)
+    {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map which additionally maps the given key to the given value,
+     * replacing any previous mapping of the key.
+     *
+     * @param key the key
+     * @param value the value
+     *
+     * @return the new map, or this map if it already contains the mapping
+     */
+    PersistentHashMap<K, V> put(K key, V value)
+    {
+        if ((key == null) || (value == null)) {
+            throw new NullPointerException();
+        }
+        boolean [] added = new boolean[1];
+        Node newRoot = root.assoc(0, key.hashCode(), key, value, added);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(newRoot, added[0] ? (size + 1) : size);
+    }
+
+    /**
+     * Returns a map without the mapping of the given key.
+     *
+     * @param key the key
+     *
+     * @return the new map, or this map if it does not contain the key
+     */
+    PersistentHashMap<K, V> remove(Object key)
+    {
+        if (key == null) {
+            return this;
+        }
+        Node newRoot = root.without(0, key.hashCode(), key);
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot == null) {
+            return empty();
+        }
+        return new PersistentHashMap<>(newRoot, size - 1);
+    }
+
+    /**
+     * Returns the number of mappings.
+     *
+     * @return the number of mappings
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Returns an iterator over the keys of the map.
+     *
+     * @return an iterator over the keys
+     */
+    Iterator<K> keyIterator()
+    {
+        return new NodeIterator<K>(root) {
+            @Override K element(Object key, Object value)
+            {
+                return TypeUtil.uncheckedCast(key, null);
+            }
+        };
+    }
+
+    /**
+     * Returns an iterator over the values of the map.
+     *
+     * @return an iterator over the values
+     */
+    Iterator<V> valueIterator()
+    {
+        return new NodeIterator<V>(root) {
+            @Override V element(Object key, Object value)
+            {
+                return TypeUtil.uncheckedCast(value, null);
+            }
+        };
+    }
+
+    /**
+     * The positions of the entries are determined by the hash codes of the
+     * keys, which may differ in another virtual machine, so only the entries
+     * are serialized.
+     */
+    private Object writeReplace()
+    {
+        return new SerializedForm(this);
+    }
+
+    private static int bitOf(int hash, int shift)
+    {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Object [] cloneAndSet(Object [] array, int i, Object value)
+    {
+        Object [] copy = array.clone();
+        copy[i] = value;
+        return copy;
+    }
+
+    private static Object [] removePair(Object [] array, int i)
+    {
+        Object [] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, 2 * i);
+        System.arraycopy(
+            array,
+            2 * (i + 1),
+            copy,
+            2 * i,
+            copy.length - (2 * i));
+        return copy;
+    }
+
+    /**
+     * A node of the trie. The array of a node holds pairs of a key and its
+     * value, or of <code>null</code> and a child node.
+     */
+    private abstract static class Node
+    {
+        final Object [] array;
+
+        Node(Object [] array)
+        {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(
+            int shift,
+            int hash,
+            Object key,
+            Object value,
+            boolean [] added);
+
+        abstract Node without(int shift, int hash, Object key);
+    }
+
+    /**
+     * An inner node, indexed by a slice of the hash codes. Only the used
+     * branches are stored, the bitmap marks which.
+     */
+    private static final class BitmapNode
+        extends Node
+    {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        final int bitmap;
+
+        BitmapNode(int bitmap, Object [] array)
+        {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override Object find(int shift, int hash, Object key)
+        {
+            int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            if (k == null) {
+                return ((Node) array[i + 1]).find(shift + BITS, hash, key);
+            } else if (key.equals(k)) {
+                return array[i + 1];
+            }
+            return null;
+        }
+
+        @Override Node assoc(
+            int shift,
+            int hash,
+            Object key,
+            Object value,
+            boolean [] added)
+        {
+            int bit = bitOf(hash, shift);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                Object [] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(array, i, copy, i + 2, array.length - i);
+                added[0] = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child =
+                    ((Node) v).assoc(shift + BITS, hash, key, value, added);
+                if (child == v) {
+                    return this;
+                }
+                return new BitmapNode(
+                    bitmap,
+                    cloneAndSet(array, i + 1, child));
+            } else if (key.equals(k)) {
+                if (value == v) {
+                    return this;
+                }
+                return new BitmapNode(
+                    bitmap,
+                    cloneAndSet(array, i + 1, value));
+            }
+
+            // split the entry into a child node
+            added[0] = true;
+            Node child =
+                createNode(shift + BITS, k, v, hash, key, value);
+            Object [] copy = cloneAndSet(array, i + 1, child);
+            copy[i] = null;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override Node without(int shift, int hash, Object key)
+        {
+            int bit = bitOf(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * index(bit);
+            Object k = array[i];
+            Object v = array[i + 1];
+            if (k == null) {
+                Node child = ((Node) v).without(shift + BITS, hash, key);
+                if (child == v) {
+                    return this;
+                } else if (child != null) {
+                    return new BitmapNode(
+                        bitmap,
+                        cloneAndSet(array, i + 1, child));
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) {
+                return null;
+            }
+            return new BitmapNode(bitmap ^ bit, removePair(array, i / 2));
+        }
+
+        private int index(int bit)
+        {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private static Node createNode(
+            int shift,
+            Object key1,
+            Object value1,
+            int hash2,
+            Object key2,
+            Object value2)
+        {
+            int hash1 = key1.hashCode();
+            if (hash1 == hash2) {
+                return new CollisionNode(
+                    hash1,
+                    new Object[] { key1, value1, key2, value2 });
+            }
+            boolean [] added = new boolean[1];
+            return EMPTY.assoc(shift, hash1, key1, value1, added).assoc(
+                shift,
+                hash2,
+                key2,
+                value2,
+                added);
+        }
+    }
+
+    /**
+     * A leaf holding the entries of keys with equal hash codes.
+     */
+    private static final class CollisionNode
+        extends Node
+    {
+        final int hash;
+
+        CollisionNode(int hash, Object [] array)
+        {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override Object find(int shift, int hash, Object key)
+        {
+            if (hash != this.hash) {
+                return null;
+            }
+            int i = indexOf(key);
+            return (i < 0) ? null : array[i + 1];
+        }
+
+        @Override Node assoc(
+            int shift,
+            int hash,
+            Object key,
+            Object value,
+            boolean [] added)
+        {
+            if (hash != this.hash) {
+                // continue the trie below the current level
+                return new BitmapNode(
+                    bitOf(this.hash, shift),
+                    new Object[] { null, this }).assoc(
+                        shift,
+                        hash,
+                        key,
+                        value,
+                        added);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (array[i + 1] == value) {
+                    return this;
+                }
+                return new CollisionNode(
+                    hash,
+                    cloneAndSet(array, i + 1, value));
+            }
+            Object [] copy = Arrays.copyOf(array, array.length + 2);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override Node without(int shift, int hash, Object key)
+        {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            } else if (array.length == 2) {
+                return null;
+            }
+            return new CollisionNode(hash, removePair(array, i / 2));
+        }
+
+        private int indexOf(Object key)
+        {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Depth first iterator over the entries of a trie.
+     */
+    private abstract static class NodeIterator<T>
+        implements Iterator<T>
+    {
+        private Object [][] arrays = new Object[8][];
+        private int [] positions = new int[8];
+        private int depth;
+        private boolean ready;
+
+        NodeIterator(Node root)
+        {
+            arrays[0] = root.array;
+        }
+
+        @Override public boolean hasNext()
+        {
+            if (ready) {
+                return true;
+            }
+            while (depth >= 0) {
+                Object [] array = arrays[depth];
+                int position = positions[depth];
+                if (position >= array.length) {
+                    depth--;
+                } else if (array[position] != null) {
+                    ready = true;
+                    return true;
+                } else {
+                    positions[depth] += 2;
+                    if (++depth == arrays.length) {
+                        arrays = Arrays.copyOf(arrays, depth * 2);
+                        positions = Arrays.copyOf(positions, depth * 2);
+                    }
+                    arrays[depth] = ((Node) array[position + 1]).array;
+                    positions[depth] = 0;
+                }
+            }
+            return false;
+        }
+
+        @Override public T next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            Object [] array = arrays[depth];
+            int position = positions[depth];
+            positions[depth] += 2;
+            return element(array[position], array[position + 1]);
+        }
+
+        abstract T element(Object key, Object value);
+    }
+
+    /**
+     * The serialized form of a map, consisting of its entries.
+     */
+    private static final class SerializedForm
+        implements Serializable
+    {
+        private static final long serialVersionUID = 2964805419427105817L;
+
+        private final Object [] keys;
+        private final Object [] values;
+
+        SerializedForm(PersistentHashMap<?, ?> map)
+        {
+            keys = new Object[map.size];
+            values = new Object[map.size];
+            Iterator<?> keyIt = map.keyIterator();
+            Iterator<?> valueIt = map.valueIterator();
+            for (int i = 0; i < map.size; i++) {
+                keys[i] = keyIt.next();
+                values[i] = valueIt.next();
+            }
+        }
+
+        private Object readResolve()
+        {
+            PersistentHashMap<Object, Object> map = empty();
+            for (int i = 0; i < keys.length; i++) {
+                map = map.put(keys[i], values[i]);
+            }
+            return map;
+        }
+    }
+}
+
+// End PersistentHashMap.java
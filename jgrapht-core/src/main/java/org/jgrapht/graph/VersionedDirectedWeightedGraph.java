@@ -0,0 +1,1123 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------------
+ * VersionedDirectedWeightedGraph.java
+ * -----------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * A directed weighted graph which hands out immutable snapshots of itself in
+ * constant time. Like {@link DefaultDirectedWeightedGraph}, multiple edges
+ * between any two vertices are <i>not</i> permitted, but loops are.
+ *
+ * <p>Every modification of the graph creates a new version of it. The state
+ * of a version is kept in persistent hash tries, which share all parts not
+ * touched by a modification with the previous version. A modification thus
+ * costs time and space logarithmic in the size of the graph, plus linear in
+ * the degrees of the vertices involved, and {@link #snapshot()} merely returns
+ * the current version. Snapshots are never changed by later modifications of
+ * the graph, so algorithms can run on them while the graph keeps being
+ * updated.</p>
+ *
+ * <p>Modifications are serialized by the monitor of the graph. Reads, of
+ * the graph and of snapshots, never block: the current version is published
+ * through a volatile field. The iterators of the vertex and edge sets of the
+ * graph iterate the version current at their creation, thus they never throw
+ * a {@link ConcurrentModificationException}. The sets returned for the edges
+ * of a vertex are snapshots as well.</p>
+ *
+ * <p>The weights of the edges are part of the versioned state, rather than
+ * stored in the edges: changing the weight of an edge does not affect the
+ * snapshots taken before. An edge added by {@link #addEdge(Object, Object,
+ * Object)} initially has the weight of the given {@link DefaultWeightedEdge},
+ * if any. The iteration order of the vertex and edge sets is determined by the
+ * hash codes of their elements, while the edges of a vertex are kept in
+ * insertion order.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ *
+ * @see DefaultDirectedWeightedGraph
+ */
+public class VersionedDirectedWeightedGraph<V, E>
+    extends AbstractGraph<V, E>
+    implements DirectedGraph<V, E>,
+        WeightedGraph<V, E>,
+        Serializable
+{
+    private static final long serialVersionUID = -4419327540618733457L;
+
+    private static final String UNMODIFIABLE = "this graph is unmodifiable";
+    private static final EdgeNode<?, ?> [] NO_EDGES = new EdgeNode<?, ?>[0];
+
+    private final EdgeFactory<V, E> edgeFactory;
+    private volatile State<V, E> state;
+
+    private transient Set<V> vertexSetView;
+    private transient Set<E> edgeSetView;
+
+    /**
+     * Creates a new directed weighted graph.
+     *
+     * @param edgeClass class on which to base factory for edges
+     */
+    public VersionedDirectedWeightedGraph(Class<? extends E> edgeClass)
+    {
+        this(new ClassBasedEdgeFactory<>(edgeClass));
+    }
+
+    /**
+     * Creates a new directed weighted graph with the specified edge factory.
+     *
+     * @param ef the edge factory of the new graph.
+     *
+     * @throws NullPointerException if the specified edge factory is <code>
+     * null</code>.
+     */
+    public VersionedDirectedWeightedGraph(EdgeFactory<V, E> ef)
+    {
+        if (ef == null) {
+            throw new NullPointerException();
+        }
+        this.edgeFactory = ef;
+        this.state =
+            new State<>(
+                0,
+                PersistentHashMap.<V, VertexNode<V, E>>empty(),
+                PersistentHashMap.<E, EdgeNode<V, E>>empty());
+    }
+
+    /**
+     * Returns the version of the graph, which is incremented by every
+     * modification.
+     *
+     * @return the current version
+     */
+    public long getVersion()
+    {
+        return state.version;
+    }
+
+    /**
+     * Returns an immutable snapshot of the current version of the graph. This
+     * takes constant time.
+     *
+     * @return a snapshot of the graph
+     */
+    public Snapshot<V, E> snapshot()
+    {
+        return new Snapshot<>(edgeFactory, state);
+    }
+
+    /**
+     * @see Graph#getAllEdges(Object, Object)
+     */
+    @Override public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+    {
+        return state.getAllEdges(sourceVertex, targetVertex);
+    }
+
+    /**
+     * @see Graph#getEdge(Object, Object)
+     */
+    @Override public E getEdge(V sourceVertex, V targetVertex)
+    {
+        return state.getEdge(sourceVertex, targetVertex);
+    }
+
+    /**
+     * @see Graph#getEdgeFactory()
+     */
+    @Override public EdgeFactory<V, E> getEdgeFactory()
+    {
+        return edgeFactory;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object)
+     */
+    @Override public synchronized E addEdge(V sourceVertex, V targetVertex)
+    {
+        State<V, E> s = state;
+        s.assertVertexExist(sourceVertex);
+        s.assertVertexExist(targetVertex);
+
+        if (s.findEdge(sourceVertex, targetVertex) != null) {
+            return null;
+        }
+
+        E e = edgeFactory.createEdge(sourceVertex, targetVertex);
+
+        if (s.edges.containsKey(e)) { // this restriction should stay!
+            return null;
+        }
+
+        insertEdge(s, e, sourceVertex, targetVertex);
+        return e;
+    }
+
+    /**
+     * @see Graph#addEdge(Object, Object, Object)
+     */
+    @Override public synchronized boolean addEdge(
+        V sourceVertex,
+        V targetVertex,
+        E e)
+    {
+        State<V, E> s = state;
+        if (e == null) {
+            throw new NullPointerException();
+        } else if (s.edges.containsKey(e)) {
+            return false;
+        }
+
+        s.assertVertexExist(sourceVertex);
+        s.assertVertexExist(targetVertex);
+
+        if (s.findEdge(sourceVertex, targetVertex) != null) {
+            return false;
+        }
+
+        insertEdge(s, e, sourceVertex, targetVertex);
+        return true;
+    }
+
+    /**
+     * @see Graph#addVertex(Object)
+     */
+    @Override public synchronized boolean addVertex(V v)
+    {
+        State<V, E> s = state;
+        if (v == null) {
+            throw new NullPointerException();
+        } else if (s.vertices.containsKey(v)) {
+            return false;
+        }
+        VertexNode<V, E> node = new VertexNode<>(v, noEdges(), noEdges());
+        publish(s, s.vertices.put(v, node), s.edges);
+        return true;
+    }
+
+    /**
+     * @see Graph#containsEdge(Object)
+     */
+    @Override public boolean containsEdge(E e)
+    {
+        return state.edges.containsKey(e);
+    }
+
+    /**
+     * @see Graph#containsVertex(Object)
+     */
+    @Override public boolean containsVertex(V v)
+    {
+        return state.vertices.containsKey(v);
+    }
+
+    /**
+     * Returns an unmodifiable view of the edges of this graph. Its iterators
+     * iterate the version of the graph current at their creation.
+     *
+     * @see Graph#edgeSet()
+     */
+    @Override public Set<E> edgeSet()
+    {
+        if (edgeSetView == null) {
+            edgeSetView = new KeySetView<>(() -> state.edges);
+        }
+        return edgeSetView;
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the edges touching the vertex.
+     *
+     * @see Graph#edgesOf(Object)
+     */
+    @Override public Set<E> edgesOf(V vertex)
+    {
+        return state.edgesOf(vertex);
+    }
+
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        state.forEachEdgeOf(vertex, action);
+    }
+
+    /**
+     * @see DirectedGraph#inDegreeOf(Object)
+     */
+    @Override public int inDegreeOf(V vertex)
+    {
+        return state.nodeOf(vertex).incoming.length;
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the incoming edges of the vertex.
+     *
+     * @see DirectedGraph#incomingEdgesOf(Object)
+     */
+    @Override public Set<E> incomingEdgesOf(V vertex)
+    {
+        return new EdgeArraySet<>(state.nodeOf(vertex).incoming);
+    }
+
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        for (EdgeNode<V, E> edge : state.nodeOf(vertex).incoming) {
+            action.accept(edge.edge);
+        }
+    }
+
+    /**
+     * @see DirectedGraph#outDegreeOf(Object)
+     */
+    @Override public int outDegreeOf(V vertex)
+    {
+        return state.nodeOf(vertex).outgoing.length;
+    }
+
+    /**
+     * Returns an unmodifiable snapshot of the outgoing edges of the vertex.
+     *
+     * @see DirectedGraph#outgoingEdgesOf(Object)
+     */
+    @Override public Set<E> outgoingEdgesOf(V vertex)
+    {
+        return new EdgeArraySet<>(state.nodeOf(vertex).outgoing);
+    }
+
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        for (EdgeNode<V, E> edge : state.nodeOf(vertex).outgoing) {
+            action.accept(edge.edge);
+        }
+    }
+
+    /**
+     * @see Graph#removeEdge(Object, Object)
+     */
+    @Override public synchronized E removeEdge(V sourceVertex, V targetVertex)
+    {
+        State<V, E> s = state;
+        if (!s.vertices.containsKey(sourceVertex)
+            || !s.vertices.containsKey(targetVertex))
+        {
+            return null;
+        }
+        EdgeNode<V, E> edge = s.findEdge(sourceVertex, targetVertex);
+        if (edge == null) {
+            return null;
+        }
+        publish(s, detach(s.vertices, edge), s.edges.remove(edge.edge));
+        return edge.edge;
+    }
+
+    /**
+     * @see Graph#removeEdge(Object)
+     */
+    @Override public synchronized boolean removeEdge(E e)
+    {
+        State<V, E> s = state;
+        EdgeNode<V, E> edge = s.edges.get(e);
+        if (edge == null) {
+            return false;
+        }
+        publish(s, detach(s.vertices, edge), s.edges.remove(e));
+        return true;
+    }
+
+    /**
+     * @see Graph#removeVertex(Object)
+     */
+    @Override public synchronized boolean removeVertex(V v)
+    {
+        State<V, E> s = state;
+        VertexNode<V, E> node = s.vertices.get(v);
+        if (node == null) {
+            return false;
+        }
+
+        // only the opposite vertices need to be updated
+        PersistentHashMap<V, VertexNode<V, E>> vertices = s.vertices.remove(v);
+        PersistentHashMap<E, EdgeNode<V, E>> edges = s.edges;
+        for (EdgeNode<V, E> edge : node.outgoing) {
+            edges = edges.remove(edge.edge);
+            VertexNode<V, E> target = vertices.get(edge.target);
+            if (target != null) {
+                vertices =
+                    vertices.put(edge.target, target.withoutIncoming(edge));
+            }
+        }
+        for (EdgeNode<V, E> edge : node.incoming) {
+            edges = edges.remove(edge.edge);
+            VertexNode<V, E> source = vertices.get(edge.source);
+            if (source != null) {
+                vertices =
+                    vertices.put(edge.source, source.withoutOutgoing(edge));
+            }
+        }
+        publish(s, vertices, edges);
+        return true;
+    }
+
+    /**
+     * Returns an unmodifiable view of the vertices of this graph. Its iterators
+     * iterate the version of the graph current at their creation.
+     *
+     * @see Graph#vertexSet()
+     */
+    @Override public Set<V> vertexSet()
+    {
+        if (vertexSetView == null) {
+            vertexSetView = new KeySetView<>(() -> state.vertices);
+        }
+        return vertexSetView;
+    }
+
+    /**
+     * @see Graph#getEdgeSource(Object)
+     */
+    @Override public V getEdgeSource(E e)
+    {
+        return state.edgeNodeOf(e).source;
+    }
+
+    /**
+     * @see Graph#getEdgeTarget(Object)
+     */
+    @Override public V getEdgeTarget(E e)
+    {
+        return state.edgeNodeOf(e).target;
+    }
+
+    /**
+     * @see Graph#getEdgeWeight(Object)
+     */
+    @Override public double getEdgeWeight(E e)
+    {
+        return state.edgeNodeOf(e).weight;
+    }
+
+    /**
+     * Sets the weight of an edge of the graph in a new version. The weight of
+     * a {@link DefaultWeightedEdge} which is not contained in the graph is set
+     * in the edge, and taken over once it is added.
+     *
+     * @see WeightedGraph#setEdgeWeight(Object, double)
+     */
+    @Override public synchronized void setEdgeWeight(E e, double weight)
+    {
+        State<V, E> s = state;
+        if ((e instanceof DefaultWeightedEdge) && !s.edges.containsKey(e)) {
+            ((DefaultWeightedEdge) e).weight = weight;
+            return;
+        }
+        EdgeNode<V, E> edge = s.edgeNodeOf(e);
+        if (Double.compare(edge.weight, weight) == 0) {
+            return;
+        }
+        EdgeNode<V, E> weighted =
+            new EdgeNode<>(edge.edge, edge.source, edge.target, weight);
+        VertexNode<V, E> source = s.vertices.get(edge.source);
+        PersistentHashMap<V, VertexNode<V, E>> vertices =
+            s.vertices.put(edge.source, source.replaceOutgoing(edge, weighted));
+        VertexNode<V, E> target = vertices.get(edge.target);
+        vertices =
+            vertices.put(edge.target, target.replaceIncoming(edge, weighted));
+        publish(s, vertices, s.edges.put(e, weighted));
+    }
+
+    private void insertEdge(State<V, E> s, E e, V sourceVertex, V targetVertex)
+    {
+        double weight = (e instanceof DefaultWeightedEdge)
+            ? ((DefaultWeightedEdge) e).getWeight()
+            : WeightedGraph.DEFAULT_EDGE_WEIGHT;
+        EdgeNode<V, E> edge =
+            new EdgeNode<>(e, sourceVertex, targetVertex, weight);
+        if (e instanceof IntrusiveEdge) {
+            IntrusiveEdge intrusiveEdge = (IntrusiveEdge) e;
+            intrusiveEdge.source = sourceVertex;
+            intrusiveEdge.target = targetVertex;
+        }
+
+        VertexNode<V, E> source = s.vertices.get(sourceVertex);
+        PersistentHashMap<V, VertexNode<V, E>> vertices =
+            s.vertices.put(sourceVertex, source.withOutgoing(edge));
+        VertexNode<V, E> target = vertices.get(targetVertex);
+        vertices = vertices.put(targetVertex, target.withIncoming(edge));
+        publish(s, vertices, s.edges.put(e, edge));
+    }
+
+    private static <V, E> PersistentHashMap<V, VertexNode<V, E>> detach(
+        PersistentHashMap<V, VertexNode<V, E>> vertices,
+        EdgeNode<V, E> edge)
+    {
+        VertexNode<V, E> source = vertices.get(edge.source);
+        vertices = vertices.put(edge.source, source.withoutOutgoing(edge));
+        VertexNode<V, E> target = vertices.get(edge.target);
+        return vertices.put(edge.target, target.withoutIncoming(edge));
+    }
+
+    private void publish(
+        State<V, E> previous,
+        PersistentHashMap<V, VertexNode<V, E>> vertices,
+        PersistentHashMap<E, EdgeNode<V, E>> edges)
+    {
+        state = new State<>(previous.version + 1, vertices, edges);
+    }
+
+    private static <V, E> EdgeNode<V, E> [] noEdges()
+    {
+        return TypeUtil.uncheckedCast(NO_EDGES, null);
+    }
+
+    /**
+     * An immutable snapshot of a version of a {@link
+     * VersionedDirectedWeightedGraph}. All modifying operations throw an
+     * {@link UnsupportedOperationException}.
+     *
+     * @param <V> the graph vertex type
+     * @param <E> the graph edge type
+     */
+    public static final class Snapshot<V, E>
+        extends AbstractGraph<V, E>
+        implements DirectedGraph<V, E>,
+            WeightedGraph<V, E>,
+            Serializable
+    {
+        private static final long serialVersionUID = 3617526452094715283L;
+
+        private final EdgeFactory<V, E> edgeFactory;
+        private final State<V, E> state;
+
+        private transient Set<V> vertexSetView;
+        private transient Set<E> edgeSetView;
+
+        Snapshot(EdgeFactory<V, E> edgeFactory, State<V, E> state)
+        {
+            this.edgeFactory = edgeFactory;
+            this.state = state;
+        }
+
+        /**
+         * Returns the version of the graph captured by this snapshot.
+         *
+         * @return the version of this snapshot
+         */
+        public long getVersion()
+        {
+            return state.version;
+        }
+
+        /**
+         * @see Graph#getAllEdges(Object, Object)
+         */
+        @Override public Set<E> getAllEdges(V sourceVertex, V targetVertex)
+        {
+            return state.getAllEdges(sourceVertex, targetVertex);
+        }
+
+        /**
+         * @see Graph#getEdge(Object, Object)
+         */
+        @Override public E getEdge(V sourceVertex, V targetVertex)
+        {
+            return state.getEdge(sourceVertex, targetVertex);
+        }
+
+        /**
+         * @see Graph#getEdgeFactory()
+         */
+        @Override public EdgeFactory<V, E> getEdgeFactory()
+        {
+            return edgeFactory;
+        }
+
+        /**
+         * @see Graph#addEdge(Object, Object)
+         */
+        @Override public E addEdge(V sourceVertex, V targetVertex)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        /**
+         * @see Graph#addEdge(Object, Object, Object)
+         */
+        @Override public boolean addEdge(V sourceVertex, V targetVertex, E e)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        /**
+         * @see Graph#addVertex(Object)
+         */
+        @Override public boolean addVertex(V v)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        /**
+         * @see Graph#containsEdge(Object)
+         */
+        @Override public boolean containsEdge(E e)
+        {
+            return state.edges.containsKey(e);
+        }
+
+        /**
+         * @see Graph#containsVertex(Object)
+         */
+        @Override public boolean containsVertex(V v)
+        {
+            return state.vertices.containsKey(v);
+        }
+
+        /**
+         * @see Graph#edgeSet()
+         */
+        @Override public Set<E> edgeSet()
+        {
+            if (edgeSetView == null) {
+                edgeSetView = new KeySetView<>(() -> state.edges);
+            }
+            return edgeSetView;
+        }
+
+        /**
+         * @see Graph#edgesOf(Object)
+         */
+        @Override public Set<E> edgesOf(V vertex)
+        {
+            return state.edgesOf(vertex);
+        }
+
+        /**
+         * @see Graph#forEachEdgeOf(Object, Consumer)
+         */
+        @Override public void forEachEdgeOf(
+            V vertex,
+            Consumer<? super E> action)
+        {
+            state.forEachEdgeOf(vertex, action);
+        }
+
+        /**
+         * @see DirectedGraph#inDegreeOf(Object)
+         */
+        @Override public int inDegreeOf(V vertex)
+        {
+            return state.nodeOf(vertex).incoming.length;
+        }
+
+        /**
+         * @see DirectedGraph#incomingEdgesOf(Object)
+         */
+        @Override public Set<E> incomingEdgesOf(V vertex)
+        {
+            return new EdgeArraySet<>(state.nodeOf(vertex).incoming);
+        }
+
+        /**
+         * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+         */
+        @Override public void forEachIncomingEdge(
+            V vertex,
+            Consumer<? super E> action)
+        {
+            for (EdgeNode<V, E> edge : state.nodeOf(vertex).incoming) {
+                action.accept(edge.edge);
+            }
+        }
+
+        /**
+         * @see DirectedGraph#outDegreeOf(Object)
+         */
+        @Override public int outDegreeOf(V vertex)
+        {
+            return state.nodeOf(vertex).outgoing.length;
+        }
+
+        /**
+         * @see DirectedGraph#outgoingEdgesOf(Object)
+         */
+        @Override public Set<E> outgoingEdgesOf(V vertex)
+        {
+            return new EdgeArraySet<>(state.nodeOf(vertex).outgoing);
+        }
+
+        /**
+         * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+         */
+        @Override public void forEachOutgoingEdge(
+            V vertex,
+            Consumer<? super E> action)
+        {
+            for (EdgeNode<V, E> edge : state.nodeOf(vertex).outgoing) {
+                action.accept(edge.edge);
+            }
+        }
+
+        /**
+         * @see Graph#removeEdge(Object, Object)
+         */
+        @Override public E removeEdge(V sourceVertex, V targetVertex)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        /**
+         * @see Graph#removeEdge(Object)
+         */
+        @Override public boolean removeEdge(E e)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        /**
+         * @see Graph#removeVertex(Object)
+         */
+        @Override public boolean removeVertex(V v)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+
+        /**
+         * @see Graph#vertexSet()
+         */
+        @Override public Set<V> vertexSet()
+        {
+            if (vertexSetView == null) {
+                vertexSetView = new KeySetView<>(() -> state.vertices);
+            }
+            return vertexSetView;
+        }
+
+        /**
+         * @see Graph#getEdgeSource(Object)
+         */
+        @Override public V getEdgeSource(E e)
+        {
+            return state.edgeNodeOf(e).source;
+        }
+
+        /**
+         * @see Graph#getEdgeTarget(Object)
+         */
+        @Override public V getEdgeTarget(E e)
+        {
+            return state.edgeNodeOf(e).target;
+        }
+
+        /**
+         * @see Graph#getEdgeWeight(Object)
+         */
+        @Override public double getEdgeWeight(E e)
+        {
+            return state.edgeNodeOf(e).weight;
+        }
+
+        /**
+         * @see WeightedGraph#setEdgeWeight(Object, double)
+         */
+        @Override public void setEdgeWeight(E e, double weight)
+        {
+            throw new UnsupportedOperationException(UNMODIFIABLE);
+        }
+    }
+
+    /**
+     * An immutable version of the graph.
+     */
+    private static final class State<V, E>
+        implements Serializable
+    {
+        private static final long serialVersionUID = -7370921543102883251L;
+
+        final long version;
+        final PersistentHashMap<V, VertexNode<V, E>> vertices;
+        final PersistentHashMap<E, EdgeNode<V, E>> edges;
+
+        State(
+            long version,
+            PersistentHashMap<V, VertexNode<V, E>> vertices,
+            PersistentHashMap<E, EdgeNode<V, E>> edges)
+        {
+            this.version = version;
+            this.vertices = vertices;
+            this.edges = edges;
+        }
+
+        VertexNode<V, E> nodeOf(V v)
+        {
+            assertVertexExist(v);
+            return vertices.get(v);
+        }
+
+        EdgeNode<V, E> edgeNodeOf(E e)
+        {
+            EdgeNode<V, E> edge = edges.get(e);
+            if (edge == null) {
+                if (e == null) {
+                    throw new NullPointerException();
+                }
+                throw new IllegalArgumentException(
+                    "no such edge in graph: " + e.toString());
+            }
+            return edge;
+        }
+
+        void assertVertexExist(V v)
+        {
+            if (!vertices.containsKey(v)) {
+                if (v == null) {
+                    throw new NullPointerException();
+                }
+                throw new IllegalArgumentException(
+                    "no such vertex in graph: " + v.toString());
+            }
+        }
+
+        /**
+         * Returns the edge from source to target or <code>null</code>. Scans
+         * the shorter of the two adjacency arrays.
+         */
+        EdgeNode<V, E> findEdge(V sourceVertex, V targetVertex)
+        {
+            VertexNode<V, E> source = vertices.get(sourceVertex);
+            VertexNode<V, E> target = vertices.get(targetVertex);
+            if ((source == null) || (target == null)) {
+                return null;
+            }
+            if (source.outgoing.length <= target.incoming.length) {
+                for (EdgeNode<V, E> edge : source.outgoing) {
+                    if (edge.target.equals(targetVertex)) {
+                        return edge;
+                    }
+                }
+            } else {
+                for (EdgeNode<V, E> edge : target.incoming) {
+                    if (edge.source.equals(sourceVertex)) {
+                        return edge;
+                    }
+                }
+            }
+            return null;
+        }
+
+        E getEdge(V sourceVertex, V targetVertex)
+        {
+            EdgeNode<V, E> edge = findEdge(sourceVertex, targetVertex);
+            return (edge == null) ? null : edge.edge;
+        }
+
+        Set<E> getAllEdges(V sourceVertex, V targetVertex)
+        {
+            if (!vertices.containsKey(sourceVertex)
+                || !vertices.containsKey(targetVertex))
+            {
+                return null;
+            }
+            Set<E> edges = new ArrayUnenforcedSet<>(1);
+            E e = getEdge(sourceVertex, targetVertex);
+            if (e != null) {
+                edges.add(e);
+            }
+            return edges;
+        }
+
+        Set<E> edgesOf(V vertex)
+        {
+            VertexNode<V, E> node = nodeOf(vertex);
+
+            // the incoming edges without loops, followed by the outgoing edges
+            EdgeNode<V, E> [] edges =
+                Arrays.copyOf(
+                    node.incoming,
+                    node.incoming.length + node.outgoing.length);
+            int size = 0;
+            for (EdgeNode<V, E> edge : node.incoming) {
+                if (!edge.source.equals(vertex)) {
+                    edges[size++] = edge;
+                }
+            }
+            System.arraycopy(
+                node.outgoing,
+                0,
+                edges,
+                size,
+                node.outgoing.length);
+            size += node.outgoing.length;
+            return new EdgeArraySet<>(Arrays.copyOf(edges, size));
+        }
+
+        void forEachEdgeOf(V vertex, Consumer<? super E> action)
+        {
+            VertexNode<V, E> node = nodeOf(vertex);
+            for (EdgeNode<V, E> edge : node.incoming) {
+                if (!edge.source.equals(vertex)) {
+                    action.accept(edge.edge);
+                }
+            }
+            for (EdgeNode<V, E> edge : node.outgoing) {
+                action.accept(edge.edge);
+            }
+        }
+    }
+
+    /**
+     * A vertex with its adjacency in a version of the graph.
+     */
+    private static final class VertexNode<V, E>
+        implements Serializable
+    {
+        private static final long serialVersionUID = 5195737302746382390L;
+
+        final V vertex;
+        final EdgeNode<V, E> [] outgoing;
+        final EdgeNode<V, E> [] incoming;
+
+        VertexNode(
+            V vertex,
+            EdgeNode<V, E> [] outgoing,
+            EdgeNode<V, E> [] incoming)
+        {
+            this.vertex = vertex;
+            this.outgoing = outgoing;
+            this.incoming = incoming;
+        }
+
+        VertexNode<V, E> withOutgoing(EdgeNode<V, E> edge)
+        {
+            return new VertexNode<>(vertex, append(outgoing, edge), incoming);
+        }
+
+        VertexNode<V, E> withIncoming(EdgeNode<V, E> edge)
+        {
+            return new VertexNode<>(vertex, outgoing, append(incoming, edge));
+        }
+
+        VertexNode<V, E> withoutOutgoing(EdgeNode<V, E> edge)
+        {
+            return new VertexNode<>(vertex, remove(outgoing, edge), incoming);
+        }
+
+        VertexNode<V, E> withoutIncoming(EdgeNode<V, E> edge)
+        {
+            return new VertexNode<>(vertex, outgoing, remove(incoming, edge));
+        }
+
+        VertexNode<V, E> replaceOutgoing(
+            EdgeNode<V, E> edge,
+            EdgeNode<V, E> replacement)
+        {
+            return new VertexNode<>(
+                vertex,
+                replace(outgoing, edge, replacement),
+                incoming);
+        }
+
+        VertexNode<V, E> replaceIncoming(
+            EdgeNode<V, E> edge,
+            EdgeNode<V, E> replacement)
+        {
+            return new VertexNode<>(
+                vertex,
+                outgoing,
+                replace(incoming, edge, replacement));
+        }
+
+        private static <V, E> EdgeNode<V, E> [] append(
+            EdgeNode<V, E> [] edges,
+            EdgeNode<V, E> edge)
+        {
+            EdgeNode<V, E> [] copy = Arrays.copyOf(edges, edges.length + 1);
+            copy[edges.length] = edge;
+            return copy;
+        }
+
+        private static <V, E> EdgeNode<V, E> [] remove(
+            EdgeNode<V, E> [] edges,
+            EdgeNode<V, E> edge)
+        {
+            int i = indexOf(edges, edge);
+            EdgeNode<V, E> [] copy = Arrays.copyOf(edges, edges.length - 1);
+            System.arraycopy(edges, i + 1, copy, i, copy.length - i);
+            return copy;
+        }
+
+        private static <V, E> EdgeNode<V, E> [] replace(
+            EdgeNode<V, E> [] edges,
+            EdgeNode<V, E> edge,
+            EdgeNode<V, E> replacement)
+        {
+            EdgeNode<V, E> [] copy = edges.clone();
+            copy[indexOf(edges, edge)] = replacement;
+            return copy;
+        }
+
+        private static int indexOf(EdgeNode<?, ?> [] edges, EdgeNode<?, ?> edge)
+        {
+            for (int i = 0; i < edges.length; i++) {
+                if (edges[i] == edge) {
+                    return i;
+                }
+            }
+            throw new IllegalStateException("corrupted adjacency");
+        }
+    }
+
+    /**
+     * An edge with its endpoints and weight in a version of the graph.
+     */
+    private static final class EdgeNode<V, E>
+        implements Serializable
+    {
+        private static final long serialVersionUID = -1925360297346915522L;
+
+        final E edge;
+        final V source;
+        final V target;
+        final double weight;
+
+        EdgeNode(E edge, V source, V target, double weight)
+        {
+            this.edge = edge;
+            this.source = source;
+            this.target = target;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Unmodifiable view of the keys of the map returned by a supplier.
+     */
+    private static final class KeySetView<K>
+        extends AbstractSet<K>
+    {
+        private final Supplier<PersistentHashMap<K, ?>> map;
+
+        KeySetView(Supplier<PersistentHashMap<K, ?>> map)
+        {
+            this.map = map;
+        }
+
+        @Override public Iterator<K> iterator()
+        {
+            return map.get().keyIterator();
+        }
+
+        @Override public int size()
+        {
+            return map.get().size();
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            return map.get().containsKey(o);
+        }
+    }
+
+    /**
+     * Unmodifiable set backed by an adjacency array which is never modified.
+     */
+    private static final class EdgeArraySet<V, E>
+        extends AbstractSet<E>
+    {
+        private final EdgeNode<V, E> [] edges;
+
+        EdgeArraySet(EdgeNode<V, E> [] edges)
+        {
+            this.edges = edges;
+        }
+
+        @Override public Iterator<E> iterator()
+        {
+            return new Iterator<E>() {
+                private int next;
+
+                @Override public boolean hasNext()
+                {
+                    return next < edges.length;
+                }
+
+                @Override public E next()
+                {
+                    if (next >= edges.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return edges[next++].edge;
+                }
+            };
+        }
+
+        @Override public int size()
+        {
+            return edges.length;
+        }
+
+        @Override public boolean contains(Object o)
+        {
+            for (EdgeNode<V, E> edge : edges) {
+                if (edge.edge.equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
+
+// End VersionedDirectedWeightedGraph.java
@@ -0,0 +1,171 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * AdjacencyIndex.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph.specifics;
+
+import org.jgrapht.util.TypeUtil;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * An index of the edges of a vertex by their opposite vertices. The edge
+ * containers create such an index once the degree of their vertex exceeds
+ * {@link #THRESHOLD}, so that edges between two given vertices can be found
+ * without scanning the whole edge set. Low degree vertices do not pay the
+ * memory overhead of the index.
+ *
+ * <p>An opposite vertex is mapped directly to its edge in the common case of a
+ * single edge, and to a list of edges in insertion order if multiple edges
+ * connect the two vertices.</p>
+ *
+ * @param <V> the graph vertex type
+ * @param <E> the graph edge type
+ */
+final class AdjacencyIndex<V, E>
+    implements Serializable
+{
+    private static final long serialVersionUID = 3076489154620973624L;
+
+    /**
+     * Degree above which an edge container indexes its edges.
+     */
+    static final int THRESHOLD = 32;
+
+    private final Map<V, Object> edgesByOpposite;
+
+    /**
+     * Creates a new index able to hold the given number of opposite vertices
+     * without being resized.
+     *
+     * @param expectedSize the expected number of opposite vertices
+     */
+    AdjacencyIndex(int expectedSize)
+    {
+        this.edgesByOpposite = new HashMap<>((int) (expectedSize / 0.75f) + 1);
+    }
+
+    /**
+     * Adds an edge to the index.
+     *
+     * @param opposite the opposite vertex of the edge
+     * @param e the edge
+     */
+    void add(V opposite, E e)
+    {
+        Object current = edgesByOpposite.putIfAbsent(opposite, e);
+        if (current instanceof MultipleEdges) {
+            ((MultipleEdges) current).add(e);
+        } else if (current != null) {
+            MultipleEdges edges = new MultipleEdges();
+            edges.add(current);
+            edges.add(e);
+            edgesByOpposite.put(opposite, edges);
+        }
+    }
+
+    /**
+     * Removes an edge from the index.
+     *
+     * @param opposite the opposite vertex of the edge
+     * @param e the edge
+     */
+    void remove(V opposite, E e)
+    {
+        Object current = edgesByOpposite.get(opposite);
+        if (current instanceof MultipleEdges) {
+            MultipleEdges edges = (MultipleEdges) current;
+            edges.remove(e);
+            if (edges.size() == 1) {
+                edgesByOpposite.put(opposite, edges.get(0));
+            }
+        } else if ((current != null) && current.equals(e)) {
+            edgesByOpposite.remove(opposite);
+        }
+    }
+
+    /**
+     * Returns the first indexed edge connecting to the opposite vertex.
+     *
+     * @param opposite the opposite vertex
+     *
+     * @return the edge or <code>null</code> if there is no such edge
+     */
+    E get(V opposite)
+    {
+        Object current = edgesByOpposite.get(opposite);
+        if (current instanceof MultipleEdges) {
+            current = ((MultipleEdges) current).get(0);
+        }
+        return TypeUtil.uncheckedCast(current, null);
+    }
+
+    /**
+     * Adds all the indexed edges connecting to the opposite vertex to the
+     * given collection.
+     *
+     * @param opposite the opposite vertex
+     * @param edges the collection to add the edges to
+     */
+    void getAll(V opposite, Collection<? super E> edges)
+    {
+        Object current = edgesByOpposite.get(opposite);
+        if (current instanceof MultipleEdges) {
+            for (Object e : (MultipleEdges) current) {
+                edges.add(TypeUtil.uncheckedCast(e, null));
+            }
+        } else if (current != null) {
+            edges.add(TypeUtil.uncheckedCast(current, null));
+        }
+    }
+
+    /**
+     * The edges connecting to a single opposite vertex, if there are more
+     * than one.
+     */
+    private static final class MultipleEdges
+        extends ArrayList<Object>
+    {
+        private static final long serialVersionUID = 6237015823446117034L;
+
+        MultipleEdges()
+        {
+            super(2);
+        }
+    }
+}
+
+// End AdjacencyIndex.java
@@ -34,18 +34,23 @@
  */
 package org.jgrapht.graph.specifics;
 
+import org.jgrapht.Graph;
 import org.jgrapht.graph.EdgeSetFactory;
+import org.jgrapht.util.ArrayUnenforcedSet;
 
 import java.io.Serializable;
-import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
  * A container for vertex edges.
  *
  * <p>In this edge container we use array lists to minimize memory toll.
- * However, for high-degree vertices we replace the entire edge container
- * with a direct access subclass (to be implemented).</p>
+ * However, once the incoming or outgoing edges of a vertex exceed
+ * {@link AdjacencyIndex#THRESHOLD}, they are indexed by their opposite
+ * vertices and array based edge sets are replaced by linked hash sets. Edge
+ * retrievals and removals then take constant time at high-degree vertices,
+ * while the iteration order of the edges is preserved.</p>
  *
  * @author Barak Naveh
  */
@@ -55,14 +60,33 @@ public class DirectedEdgeContainer<V, E>
     private static final long serialVersionUID = 7494242245729767106L;
     Set<E> incoming;
     Set<E> outgoing;
+    private AdjacencyIndex<V, E> incomingIndex;
+    private AdjacencyIndex<V, E> outgoingIndex;
+    private final Graph<V, E> graph;
     private transient Set<E> unmodifiableIncoming = null;
     private transient Set<E> unmodifiableOutgoing = null;
 
     DirectedEdgeContainer(EdgeSetFactory<V, E> edgeSetFactory,
                           V vertex)
+    {
+        this(edgeSetFactory, vertex, null);
+    }
+
+    /**
+     * Creates a container which indexes its edges at high degrees.
+     *
+     * @param edgeSetFactory the factory for the edge sets
+     * @param vertex the vertex of the container
+     * @param graph the graph used to look up the endpoints of the edges, or
+     * <code>null</code> if the edges are never to be indexed
+     */
+    DirectedEdgeContainer(EdgeSetFactory<V, E> edgeSetFactory,
+                          V vertex,
+                          Graph<V, E> graph)
     {
         incoming = edgeSetFactory.createEdgeSet(vertex);
         outgoing = edgeSetFactory.createEdgeSet(vertex);
+        this.graph = graph;
     }
 
     /**
@@ -73,7 +97,12 @@ public class DirectedEdgeContainer<V, E>
     public Set<E> getUnmodifiableIncomingEdges()
     {
         if (unmodifiableIncoming == null) {
-            unmodifiableIncoming = Collections.unmodifiableSet(incoming);
+            unmodifiableIncoming = new UnmodifiableEdgeSetView<E>() {
+                @Override Set<E> edges()
+                {
+                    return incoming;
+                }
+            };
         }
 
         return unmodifiableIncoming;
@@ -87,7 +116,12 @@ public class DirectedEdgeContainer<V, E>
     public Set<E> getUnmodifiableOutgoingEdges()
     {
         if (unmodifiableOutgoing == null) {
-            unmodifiableOutgoing = Collections.unmodifiableSet(outgoing);
+            unmodifiableOutgoing = new UnmodifiableEdgeSetView<E>() {
+                @Override Set<E> edges()
+                {
+                    return outgoing;
+                }
+            };
         }
 
         return unmodifiableOutgoing;
@@ -99,8 +133,29 @@ public class DirectedEdgeContainer<V, E>
      * @param e
      */
     public void addIncomingEdge(E e)
+    {
+        addIncomingEdge(
+            e,
+            (incomingIndex == null) ? null : graph.getEdgeSource(e));
+    }
+
+    /**
+     * Adds an incoming edge, the source of which is already known.
+     *
+     * @param e the edge
+     * @param source the source vertex of the edge
+     */
+    public void addIncomingEdge(E e, V source)
     {
         incoming.add(e);
+        if (incomingIndex != null) {
+            incomingIndex.add(source, e);
+        } else if ((graph != null)
+            && (incoming.size() > AdjacencyIndex.THRESHOLD))
+        {
+            incoming = promote(incoming);
+            incomingIndex = createIndex(incoming, false);
+        }
     }
 
     /**
@@ -109,8 +164,29 @@ public class DirectedEdgeContainer<V, E>
      * @param e
      */
     public void addOutgoingEdge(E e)
+    {
+        addOutgoingEdge(
+            e,
+            (outgoingIndex == null) ? null : graph.getEdgeTarget(e));
+    }
+
+    /**
+     * Adds an outgoing edge, the target of which is already known.
+     *
+     * @param e the edge
+     * @param target the target vertex of the edge
+     */
+    public void addOutgoingEdge(E e, V target)
     {
         outgoing.add(e);
+        if (outgoingIndex != null) {
+            outgoingIndex.add(target, e);
+        } else if ((graph != null)
+            && (outgoing.size() > AdjacencyIndex.THRESHOLD))
+        {
+            outgoing = promote(outgoing);
+            outgoingIndex = createIndex(outgoing, true);
+        }
     }
 
     /**
@@ -120,7 +196,22 @@ public class DirectedEdgeContainer<V, E>
      */
     public void removeIncomingEdge(E e)
     {
-        incoming.remove(e);
+        removeIncomingEdge(
+            e,
+            (incomingIndex == null) ? null : graph.getEdgeSource(e));
+    }
+
+    /**
+     * Removes an incoming edge, the source of which is already known.
+     *
+     * @param e the edge
+     * @param source the source vertex of the edge
+     */
+    public void removeIncomingEdge(E e, V source)
+    {
+        if (incoming.remove(e) && (incomingIndex != null)) {
+            incomingIndex.remove(source, e);
+        }
     }
 
     /**
@@ -130,6 +221,118 @@ public class DirectedEdgeContainer<V, E>
      */
     public void removeOutgoingEdge(E e)
     {
-        outgoing.remove(e);
+        removeOutgoingEdge(
+            e,
+            (outgoingIndex == null) ? null : graph.getEdgeTarget(e));
+    }
+
+    /**
+     * Removes an outgoing edge, the target of which is already known.
+     *
+     * @param e the edge
+     * @param target the target vertex of the edge
+     */
+    public void removeOutgoingEdge(E e, V target)
+    {
+        if (outgoing.remove(e) && (outgoingIndex != null)) {
+            outgoingIndex.remove(target, e);
+        }
+    }
+
+    /**
+     * Checks whether the outgoing edges are indexed by their targets. If so,
+     * {@link #getOutgoingEdge(Object)} takes constant time.
+     *
+     * @return <tt>true</tt> if the outgoing edges are indexed
+     */
+    boolean isOutgoingIndexed()
+    {
+        return outgoingIndex != null;
+    }
+
+    /**
+     * Checks whether the incoming edges are indexed by their sources. If so,
+     * {@link #getIncomingEdge(Object)} takes constant time.
+     *
+     * @return <tt>true</tt> if the incoming edges are indexed
+     */
+    boolean isIncomingIndexed()
+    {
+        return incomingIndex != null;
+    }
+
+    /**
+     * Returns an outgoing edge to the target vertex, using the index.
+     *
+     * @param target the target vertex
+     *
+     * @return the edge or <code>null</code> if there is no such edge
+     */
+    E getOutgoingEdge(V target)
+    {
+        return outgoingIndex.get(target);
+    }
+
+    /**
+     * Returns an incoming edge from the source vertex, using the index.
+     *
+     * @param source the source vertex
+     *
+     * @return the edge or <code>null</code> if there is no such edge
+     */
+    E getIncomingEdge(V source)
+    {
+        return incomingIndex.get(source);
+    }
+
+    /**
+     * Adds all outgoing edges to the target vertex to a set, using the index.
+     *
+     * @param target the target vertex
+     * @param edges the set to add the edges to
+     */
+    void getAllOutgoingEdges(V target, Set<E> edges)
+    {
+        outgoingIndex.getAll(target, edges);
+    }
+
+    /**
+     * Adds all incoming edges from the source vertex to a set, using the
+     * index.
+     *
+     * @param source the source vertex
+     * @param edges the set to add the edges to
+     */
+    void getAllIncomingEdges(V source, Set<E> edges)
+    {
+        incomingIndex.getAll(source, edges);
+    }
+
+    private AdjacencyIndex<V, E> createIndex(Set<E> edges, boolean byTarget)
+    {
+        AdjacencyIndex<V, E> index = new AdjacencyIndex<>(edges.size() << 1);
+        for (E e : edges) {
+            index.add(
+                byTarget ? graph.getEdgeTarget(e) : graph.getEdgeSource(e),
+                e);
+        }
+        return index;
+    }
+
+    /**
+     * Replaces an array based edge set, which removes edges in linear time,
+     * by a linked hash set with the same iteration order. Other sets are
+     * kept.
+     *
+     * @param edges the edge set
+     *
+     * @return the edge set to use from now on
+     */
+    static <E> Set<E> promote(Set<E> edges)
+    {
+        if (edges instanceof ArrayUnenforcedSet<?>) {
+            return new LinkedHashSet<>(edges);
+        }
+        return edges;
     }
 }
@@ -43,6 +43,7 @@ import org.jgrapht.util.ArrayUnenforcedSet;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * Plain implementation of DirectedSpecifics. This implementation requires the least amount of memory, at the expense of
@@ -101,10 +102,30 @@ public class DirectedSpecifics<V,E>
             edges = new ArrayUnenforcedSet<>();
 
             DirectedEdgeContainer<V, E> ec = getEdgeContainer(sourceVertex);
-
-            for (E e : ec.outgoing) {
-                if (abstractBaseGraph.getEdgeTarget(e).equals(targetVertex)) {
-                    edges.add(e);
+            DirectedEdgeContainer<V, E> tc =
+                vertexMapDirected.get(targetVertex);
+
+            if (tc == null) {
+                // no edges touch the target vertex yet
+            } else if (ec.isOutgoingIndexed()) {
+                ec.getAllOutgoingEdges(targetVertex, edges);
+            } else if (tc.isIncomingIndexed()) {
+                tc.getAllIncomingEdges(sourceVertex, edges);
+            } else if (tc.incoming.size() < ec.outgoing.size()) {
+                for (E e : tc.incoming) {
+                    if (abstractBaseGraph.getEdgeSource(e).equals(
+                            sourceVertex))
+                    {
+                        edges.add(e);
+                    }
+                }
+            } else {
+                for (E e : ec.outgoing) {
+                    if (abstractBaseGraph.getEdgeTarget(e).equals(
+                            targetVertex))
+                    {
+                        edges.add(e);
+                    }
                 }
             }
         }
@@ -121,10 +142,34 @@ public class DirectedSpecifics<V,E>
             && abstractBaseGraph.containsVertex(targetVertex))
         {
             DirectedEdgeContainer<V, E> ec = getEdgeContainer(sourceVertex);
+            DirectedEdgeContainer<V, E> tc =
+                vertexMapDirected.get(targetVertex);
+
+            if (tc == null) {
+                return null;
+            } else if (ec.isOutgoingIndexed()) {
+                return ec.getOutgoingEdge(targetVertex);
+            } else if (tc.isIncomingIndexed()) {
+                return tc.getIncomingEdge(sourceVertex);
+            }
 
-            for (E e : ec.outgoing) {
-                if (abstractBaseGraph.getEdgeTarget(e).equals(targetVertex)) {
-                    return e;
+            // scan the shorter edge set, both contain the edges between the
+            // two vertices in the same order
+            if (tc.incoming.size() < ec.outgoing.size()) {
+                for (E e : tc.incoming) {
+                    if (abstractBaseGraph.getEdgeSource(e).equals(
+                            sourceVertex))
+                    {
+                        return e;
+                    }
+                }
+            } else {
+                for (E e : ec.outgoing) {
+                    if (abstractBaseGraph.getEdgeTarget(e).equals(
+                            targetVertex))
+                    {
+                        return e;
+                    }
                 }
             }
         }
@@ -137,8 +182,8 @@ public class DirectedSpecifics<V,E>
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).addOutgoingEdge(e);
-        getEdgeContainer(target).addIncomingEdge(e);
+        getEdgeContainer(source).addOutgoingEdge(e, target);
+        getEdgeContainer(target).addIncomingEdge(e, source);
     }
 
     /**
@@ -154,29 +199,43 @@ public class DirectedSpecifics<V,E>
      */
     @Override public Set<E> edgesOf(V vertex)
     {
+        DirectedEdgeContainer<V, E> ec = getEdgeContainer(vertex);
         ArrayUnenforcedSet<E> inAndOut =
-                new ArrayUnenforcedSet<>(getEdgeContainer(vertex).incoming);
-        inAndOut.addAll(getEdgeContainer(vertex).outgoing);
+            new ArrayUnenforcedSet<>(ec.incoming.size() + ec.outgoing.size());
 
-        // we have two copies for each self-loop - remove one of them.
+        // a self-loop is contained in both sets, keep only the outgoing copy
         if (abstractBaseGraph.isAllowingLoops()) {
-            Set<E> loops = getAllEdges(vertex, vertex);
-
-            for (int i = 0; i < inAndOut.size();) {
-                E e = inAndOut.get(i);
-
-                if (loops.contains(e)) {
-                    inAndOut.remove(i);
-                    loops.remove(e); // so we remove it only once
-                } else {
-                    i++;
+            for (E e : ec.incoming) {
+                if (!vertex.equals(abstractBaseGraph.getEdgeSource(e))) {
+                    inAndOut.add(e);
                 }
             }
+        } else {
+            inAndOut.addAll(ec.incoming);
         }
+        inAndOut.addAll(ec.outgoing);
 
         return Collections.unmodifiableSet(inAndOut);
     }
 
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        DirectedEdgeContainer<V, E> ec = getEdgeContainer(vertex);
+        if (abstractBaseGraph.isAllowingLoops()) {
+            for (E e : ec.incoming) {
+                if (!vertex.equals(abstractBaseGraph.getEdgeSource(e))) {
+                    action.accept(e);
+                }
+            }
+        } else {
+            ec.incoming.forEach(action);
+        }
+        ec.outgoing.forEach(action);
+    }
+
     /**
      * @see DirectedGraph#inDegreeOf(Object)
      */
@@ -193,6 +252,16 @@ public class DirectedSpecifics<V,E>
         return getEdgeContainer(vertex).getUnmodifiableIncomingEdges();
     }
 
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        getEdgeContainer(vertex).incoming.forEach(action);
+    }
+
     /**
      * @see DirectedGraph#outDegreeOf(Object)
      */
@@ -209,13 +278,23 @@ public class DirectedSpecifics<V,E>
         return getEdgeContainer(vertex).getUnmodifiableOutgoingEdges();
     }
 
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        getEdgeContainer(vertex).outgoing.forEach(action);
+    }
+
     @Override public void removeEdgeFromTouchingVertices(E e)
     {
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).removeOutgoingEdge(e);
-        getEdgeContainer(target).removeIncomingEdge(e);
+        getEdgeContainer(source).removeOutgoingEdge(e, target);
+        getEdgeContainer(target).removeIncomingEdge(e, source);
     }
 
     /**
@@ -232,7 +311,10 @@ public class DirectedSpecifics<V,E>
         DirectedEdgeContainer<V, E> ec = vertexMapDirected.get(vertex);
 
         if (ec == null) {
-            ec = new DirectedEdgeContainer<>(edgeSetFactory, vertex);
+            ec = new DirectedEdgeContainer<>(
+                edgeSetFactory,
+                vertex,
+                abstractBaseGraph);
             vertexMapDirected.put(vertex, ec);
         }
 
@@ -100,8 +100,8 @@ public class FastLookupDirectedSpecifics<V,E>
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).addOutgoingEdge(e);
-        getEdgeContainer(target).addIncomingEdge(e);
+        getEdgeContainer(source).addOutgoingEdge(e, target);
+        getEdgeContainer(target).addIncomingEdge(e, source);
 
         VertexPair<V> vertexPair=new VertexPair<>(source, target);
         if(!touchingVerticesToEdgeMap.containsKey(vertexPair)) {
@@ -118,8 +118,8 @@ public class FastLookupDirectedSpecifics<V,E>
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).removeOutgoingEdge(e);
-        getEdgeContainer(target).removeIncomingEdge(e);
+        getEdgeContainer(source).removeOutgoingEdge(e, target);
+        getEdgeContainer(target).removeIncomingEdge(e, source);
 
         //Remove the edge from the touchingVerticesToEdgeMap. If there are no more remaining edges for a pair
         //of touching vertices, remove the pair from the map.
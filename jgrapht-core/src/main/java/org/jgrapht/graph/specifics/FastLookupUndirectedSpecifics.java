@@ -100,7 +100,7 @@ public class FastLookupUndirectedSpecifics<V,E>
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).addEdge(e);
+        getEdgeContainer(source).addEdge(e, target);
 
 
         //Add edge to touchingVerticesToEdgeMap for the UnorderedPair {u,v}
@@ -113,7 +113,7 @@ public class FastLookupUndirectedSpecifics<V,E>
             touchingVerticesToEdgeMap.get(vertexPair).add(e);
 
         if (!source.equals(target)) { //If not a self loop
-            getEdgeContainer(target).addEdge(e);
+            getEdgeContainer(target).addEdge(e, source);
         }
     }
 
@@ -122,10 +122,10 @@ public class FastLookupUndirectedSpecifics<V,E>
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).removeEdge(e);
+        getEdgeContainer(source).removeEdge(e, target);
 
         if (!source.equals(target))
-            getEdgeContainer(target).removeEdge(e);
+            getEdgeContainer(target).removeEdge(e, source);
 
         //Remove the edge from the touchingVerticesToEdgeMap. If there are no more remaining edges for a pair
         //of touching vertices, remove the pair from the map.
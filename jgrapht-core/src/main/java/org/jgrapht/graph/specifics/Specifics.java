@@ -36,6 +36,7 @@ package org.jgrapht.graph.specifics;
 
 import java.io.Serializable;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * .
@@ -98,6 +99,22 @@ public abstract class Specifics<V, E>
      */
     public abstract Set<E> edgesOf(V vertex);
 
+    /**
+     * Performs the given action for each edge touching the specified vertex,
+     * in the order of {@link #edgesOf(Object)}. The default implementation
+     * iterates {@link #edgesOf(Object)}; subclasses override it to visit
+     * their edge containers without copying the edges.
+     *
+     * @param vertex
+     * @param action
+     */
+    public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        for (E e : edgesOf(vertex)) {
+            action.accept(e);
+        }
+    }
+
     /**
      * .
      *
@@ -116,6 +133,21 @@ public abstract class Specifics<V, E>
      */
     public abstract Set<E> incomingEdgesOf(V vertex);
 
+    /**
+     * Performs the given action for each edge incoming into the specified
+     * vertex. The default implementation iterates {@link
+     * #incomingEdgesOf(Object)}.
+     *
+     * @param vertex
+     * @param action
+     */
+    public void forEachIncomingEdge(V vertex, Consumer<? super E> action)
+    {
+        for (E e : incomingEdgesOf(vertex)) {
+            action.accept(e);
+        }
+    }
+
     /**
      * .
      *
@@ -134,6 +166,21 @@ public abstract class Specifics<V, E>
      */
     public abstract Set<E> outgoingEdgesOf(V vertex);
 
+    /**
+     * Performs the given action for each edge outgoing from the specified
+     * vertex. The default implementation iterates {@link
+     * #outgoingEdgesOf(Object)}.
+     *
+     * @param vertex
+     * @param action
+     */
+    public void forEachOutgoingEdge(V vertex, Consumer<? super E> action)
+    {
+        for (E e : outgoingEdgesOf(vertex)) {
+            action.accept(e);
+        }
+    }
+
     /**
      * Removes the specified edge from the edge containers of its source and
      * target vertices.
@@ -34,18 +34,22 @@
  */
 package org.jgrapht.graph.specifics;
 
+import org.jgrapht.Graph;
+import org.jgrapht.Graphs;
 import org.jgrapht.graph.EdgeSetFactory;
 
 import java.io.Serializable;
-import java.util.Collections;
 import java.util.Set;
 
 /**
  * A container for vertex edges.
  *
  * <p>In this edge container we use array lists to minimize memory toll.
- * However, for high-degree vertices we replace the entire edge container
- * with a direct access subclass (to be implemented).</p>
+ * However, once the edges of a vertex exceed {@link
+ * AdjacencyIndex#THRESHOLD}, they are indexed by their opposite vertices and
+ * array based edge sets are replaced by linked hash sets. Edge retrievals and
+ * removals then take constant time at high-degree vertices, while the
+ * iteration order of the edges is preserved.</p>
  *
  * @author Barak Naveh
  */
@@ -54,13 +58,34 @@ public class UndirectedEdgeContainer<V, E>
 {
     private static final long serialVersionUID = -6623207588411170010L;
     Set<E> vertexEdges;
+    private AdjacencyIndex<V, E> index;
+    private final V vertex;
+    private final Graph<V, E> graph;
     private transient Set<E> unmodifiableVertexEdges = null;
 
     UndirectedEdgeContainer(
             EdgeSetFactory<V, E> edgeSetFactory,
             V vertex)
+    {
+        this(edgeSetFactory, vertex, null);
+    }
+
+    /**
+     * Creates a container which indexes its edges at high degrees.
+     *
+     * @param edgeSetFactory the factory for the edge set
+     * @param vertex the vertex of the container
+     * @param graph the graph used to look up the endpoints of the edges, or
+     * <code>null</code> if the edges are never to be indexed
+     */
+    UndirectedEdgeContainer(
+            EdgeSetFactory<V, E> edgeSetFactory,
+            V vertex,
+            Graph<V, E> graph)
     {
         vertexEdges = edgeSetFactory.createEdgeSet(vertex);
+        this.vertex = vertex;
+        this.graph = graph;
     }
 
     /**
@@ -71,7 +96,12 @@ public class UndirectedEdgeContainer<V, E>
     public Set<E> getUnmodifiableVertexEdges()
     {
         if (unmodifiableVertexEdges == null) {
-            unmodifiableVertexEdges =Collections.unmodifiableSet(vertexEdges);
+            unmodifiableVertexEdges = new UnmodifiableEdgeSetView<E>() {
+                @Override Set<E> edges()
+                {
+                    return vertexEdges;
+                }
+            };
         }
         return unmodifiableVertexEdges;
     }
@@ -82,8 +112,30 @@ public class UndirectedEdgeContainer<V, E>
      * @param e
      */
     public void addEdge(E e)
+    {
+        addEdge(e, (index == null) ? null : oppositeOf(e));
+    }
+
+    /**
+     * Adds an edge, the opposite vertex of which is already known.
+     *
+     * @param e the edge
+     * @param opposite the opposite vertex of the edge
+     */
+    public void addEdge(E e, V opposite)
     {
         vertexEdges.add(e);
+        if (index != null) {
+            index.add(opposite, e);
+        } else if ((graph != null)
+            && (vertexEdges.size() > AdjacencyIndex.THRESHOLD))
+        {
+            vertexEdges = DirectedEdgeContainer.promote(vertexEdges);
+            index = new AdjacencyIndex<>(vertexEdges.size() << 1);
+            for (E edge : vertexEdges) {
+                index.add(oppositeOf(edge), edge);
+            }
+        }
     }
 
     /**
@@ -103,6 +155,59 @@ public class UndirectedEdgeContainer<V, E>
      */
     public void removeEdge(E e)
     {
-        vertexEdges.remove(e);
+        removeEdge(e, (index == null) ? null : oppositeOf(e));
+    }
+
+    /**
+     * Removes an edge, the opposite vertex of which is already known.
+     *
+     * @param e the edge
+     * @param opposite the opposite vertex of the edge
+     */
+    public void removeEdge(E e, V opposite)
+    {
+        if (vertexEdges.remove(e) && (index != null)) {
+            index.remove(opposite, e);
+        }
+    }
+
+    /**
+     * Checks whether the edges are indexed by their opposite vertices. If so,
+     * {@link #getEdge(Object)} takes constant time.
+     *
+     * @return <tt>true</tt> if the edges are indexed
+     */
+    boolean isIndexed()
+    {
+        return index != null;
+    }
+
+    /**
+     * Returns an edge connecting to the opposite vertex, using the index.
+     *
+     * @param opposite the opposite vertex
+     *
+     * @return the edge or <code>null</code> if there is no such edge
+     */
+    E getEdge(V opposite)
+    {
+        return index.get(opposite);
+    }
+
+    /**
+     * Adds all edges connecting to the opposite vertex to a set, using the
+     * index.
+     *
+     * @param opposite the opposite vertex
+     * @param edges the set to add the edges to
+     */
+    void getAllEdges(V opposite, Set<E> edges)
+    {
+        index.getAll(opposite, edges);
+    }
+
+    private V oppositeOf(E e)
+    {
+        return Graphs.getOppositeVertex(graph, e, vertex);
     }
 }
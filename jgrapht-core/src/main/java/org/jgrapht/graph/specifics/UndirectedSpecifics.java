@@ -44,6 +44,7 @@ import java.io.Serializable;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Plain implementation of UndirectedSpecifics. This implementation requires the least amount of memory, at the expense of
@@ -102,15 +103,27 @@ public class UndirectedSpecifics<V,E>
         {
             edges = new ArrayUnenforcedSet<>();
 
-            for (E e : getEdgeContainer(sourceVertex).vertexEdges) {
-                boolean equal =
-                        isEqualsStraightOrInverted(
-                                sourceVertex,
-                                targetVertex,
-                                e);
-
-                if (equal) {
-                    edges.add(e);
+            UndirectedEdgeContainer<V, E> ec = getEdgeContainer(sourceVertex);
+            UndirectedEdgeContainer<V, E> tc =
+                vertexMapUndirected.get(targetVertex);
+
+            if (tc == null) {
+                // no edges touch the target vertex yet
+            } else if (ec.isIndexed()) {
+                ec.getAllEdges(targetVertex, edges);
+            } else if (tc.isIndexed()) {
+                tc.getAllEdges(sourceVertex, edges);
+            } else {
+                for (E e : getShorterEdgeSet(ec, tc)) {
+                    boolean equal =
+                            isEqualsStraightOrInverted(
+                                    sourceVertex,
+                                    targetVertex,
+                                    e);
+
+                    if (equal) {
+                        edges.add(e);
+                    }
                 }
             }
         }
@@ -126,8 +139,19 @@ public class UndirectedSpecifics<V,E>
         if (abstractBaseGraph.containsVertex(sourceVertex)
             && abstractBaseGraph.containsVertex(targetVertex))
         {
+            UndirectedEdgeContainer<V, E> ec = getEdgeContainer(sourceVertex);
+            UndirectedEdgeContainer<V, E> tc =
+                vertexMapUndirected.get(targetVertex);
+
+            if (tc == null) {
+                return null;
+            } else if (ec.isIndexed()) {
+                return ec.getEdge(targetVertex);
+            } else if (tc.isIndexed()) {
+                return tc.getEdge(sourceVertex);
+            }
 
-            for (E e : getEdgeContainer(sourceVertex).vertexEdges) {
+            for (E e : getShorterEdgeSet(ec, tc)) {
                 boolean equal =
                         isEqualsStraightOrInverted(
                                 sourceVertex,
@@ -143,6 +167,18 @@ public class UndirectedSpecifics<V,E>
         return null;
     }
 
+    /**
+     * Both edge sets contain the edges between the two vertices in the same
+     * order, so either of them can be scanned for these edges.
+     */
+    private Set<E> getShorterEdgeSet(
+        UndirectedEdgeContainer<V, E> ec,
+        UndirectedEdgeContainer<V, E> tc)
+    {
+        return (tc.edgeCount() < ec.edgeCount()) ? tc.vertexEdges
+            : ec.vertexEdges;
+    }
+
     private boolean isEqualsStraightOrInverted(
         Object sourceVertex,
         Object targetVertex,
@@ -163,10 +199,10 @@ public class UndirectedSpecifics<V,E>
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).addEdge(e);
+        getEdgeContainer(source).addEdge(e, target);
 
         if (!source.equals(target)) {
-            getEdgeContainer(target).addEdge(e);
+            getEdgeContainer(target).addEdge(e, source);
         }
     }
 
@@ -199,6 +235,14 @@ public class UndirectedSpecifics<V,E>
         return getEdgeContainer(vertex).getUnmodifiableVertexEdges();
     }
 
+    /**
+     * @see Graph#forEachEdgeOf(Object, Consumer)
+     */
+    @Override public void forEachEdgeOf(V vertex, Consumer<? super E> action)
+    {
+        getEdgeContainer(vertex).vertexEdges.forEach(action);
+    }
+
     /**
      * @see DirectedGraph#inDegreeOf(Object)
      */
@@ -215,6 +259,16 @@ public class UndirectedSpecifics<V,E>
         throw new UnsupportedOperationException(NOT_IN_UNDIRECTED_GRAPH);
     }
 
+    /**
+     * @see DirectedGraph#forEachIncomingEdge(Object, Consumer)
+     */
+    @Override public void forEachIncomingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        throw new UnsupportedOperationException(NOT_IN_UNDIRECTED_GRAPH);
+    }
+
     /**
      * @see DirectedGraph#outDegreeOf(Object)
      */
@@ -231,15 +285,25 @@ public class UndirectedSpecifics<V,E>
         throw new UnsupportedOperationException(NOT_IN_UNDIRECTED_GRAPH);
     }
 
+    /**
+     * @see DirectedGraph#forEachOutgoingEdge(Object, Consumer)
+     */
+    @Override public void forEachOutgoingEdge(
+        V vertex,
+        Consumer<? super E> action)
+    {
+        throw new UnsupportedOperationException(NOT_IN_UNDIRECTED_GRAPH);
+    }
+
     @Override public void removeEdgeFromTouchingVertices(E e)
     {
         V source = abstractBaseGraph.getEdgeSource(e);
         V target = abstractBaseGraph.getEdgeTarget(e);
 
-        getEdgeContainer(source).removeEdge(e);
+        getEdgeContainer(source).removeEdge(e, target);
 
         if (!source.equals(target)) {
-            getEdgeContainer(target).removeEdge(e);
+            getEdgeContainer(target).removeEdge(e, source);
         }
     }
 
@@ -259,7 +323,8 @@ public class UndirectedSpecifics<V,E>
         if (ec == null) {
             ec = new UndirectedEdgeContainer<>(
                     edgeSetFactory,
-                    vertex);
+                    vertex,
+                    abstractBaseGraph);
             vertexMapUndirected.put(vertex, ec);
         }
 
@@ -0,0 +1,121 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * UnmodifiableEdgeSetView.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph.specifics;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * An unmodifiable view of an edge set of an edge container. Unlike
+ * {@link Collections#unmodifiableSet(Set)}, the view reads the set from its
+ * container on every access, so it stays valid when the container replaces
+ * the set by a different implementation.
+ *
+ * @param <E> the graph edge type
+ */
+abstract class UnmodifiableEdgeSetView<E>
+    extends AbstractSet<E>
+{
+    /**
+     * Returns the current edge set of the container.
+     *
+     * @return the edge set
+     */
+    abstract Set<E> edges();
+
+    @Override public Iterator<E> iterator()
+    {
+        return Collections.unmodifiableSet(edges()).iterator();
+    }
+
+    @Override public void forEach(Consumer<? super E> action)
+    {
+        edges().forEach(action);
+    }
+
+    @Override public int size()
+    {
+        return edges().size();
+    }
+
+    @Override public boolean isEmpty()
+    {
+        return edges().isEmpty();
+    }
+
+    @Override public boolean contains(Object o)
+    {
+        return edges().contains(o);
+    }
+
+    @Override public Object [] toArray()
+    {
+        return edges().toArray();
+    }
+
+    @Override public <T> T [] toArray(T [] a)
+    {
+        return edges().toArray(a);
+    }
+
+    @Override public boolean add(E e)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override public boolean remove(Object o)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override public boolean removeAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override public boolean retainAll(Collection<?> c)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override public void clear()
+    {
+        throw new UnsupportedOperationException();
+    }
+}
+
+// End UnmodifiableEdgeSetView.java
@@ -40,6 +40,7 @@
 package org.jgrapht.traverse;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
@@ -310,6 +311,18 @@ public abstract class AbstractGraphIterator<V, E>
          * undirected graph.
          */
         public abstract Set<? extends EE> edgesOf(VV vertex);
+
+        /**
+         * Performs the given action for each edge outgoing from the specified
+         * vertex in case of directed graph, and for each edge touching the
+         * specified vertex in case of undirected graph.
+         *
+         * @param vertex the vertex whose outgoing edges are to be visited.
+         * @param action the action to be performed for each edge.
+         */
+        public abstract void forEachEdgeOf(
+            VV vertex,
+            Consumer<? super EE> action);
     }
 
     /**
@@ -337,6 +350,17 @@ public abstract class AbstractGraphIterator<V, E>
         {
             return graph.outgoingEdgesOf(vertex);
         }
+
+        /**
+         * @see CrossComponentIterator.Specifics#forEachEdgeOf(Object,
+         * Consumer)
+         */
+        @Override public void forEachEdgeOf(
+            VV vertex,
+            Consumer<? super EE> action)
+        {
+            graph.forEachOutgoingEdge(vertex, action);
+        }
     }
 
     /**
@@ -365,6 +389,17 @@ public abstract class AbstractGraphIterator<V, E>
         {
             return graph.edgesOf(vertex);
         }
+
+        /**
+         * @see CrossComponentIterator.Specifics#forEachEdgeOf(Object,
+         * Consumer)
+         */
+        @Override public void forEachEdgeOf(
+            VV vertex,
+            Consumer<? super EE> action)
+        {
+            graph.forEachEdgeOf(vertex, action);
+        }
     }
 }
 
@@ -59,13 +59,12 @@ import org.jgrapht.util.*;
  */
 public class ClosestFirstIterator<V, E>
     extends CrossComponentIterator<V,
-        E, FibonacciHeapNode<ClosestFirstIterator.QueueEntry<V, E>>>
+        E, AddressableHeap.Handle<ClosestFirstIterator.QueueEntry<V, E>>>
 {
     /**
      * Priority queue of fringe vertices.
      */
-    private FibonacciHeap<QueueEntry<V, E>> heap =
-            new FibonacciHeap<>();
+    private AddressableHeap<QueueEntry<V, E>> heap;
 
     /**
      * Maximum distance to search.
@@ -113,8 +112,30 @@ public class ClosestFirstIterator<V, E>
      * for unbounded search.
      */
     public ClosestFirstIterator(Graph<V, E> g, V startVertex, double radius)
+    {
+        this(g, startVertex, radius, AddressableHeapFactory.FIBONACCI_HEAP);
+    }
+
+    /**
+     * Creates a new radius-bounded closest-first iterator for the specified
+     * graph, which keeps the fringe vertices in a heap created by the given
+     * factory. Otherwise, the iterator behaves like the one created by {@link
+     * #ClosestFirstIterator(Graph, Object, double)}.
+     *
+     * @param g the graph to be iterated.
+     * @param startVertex the vertex iteration to be started.
+     * @param radius limit on weighted path length, or Double.POSITIVE_INFINITY
+     * for unbounded search.
+     * @param heapFactory the factory of the priority queue of fringe vertices
+     */
+    public ClosestFirstIterator(
+        Graph<V, E> g,
+        V startVertex,
+        double radius,
+        AddressableHeapFactory heapFactory)
     {
         super(g, startVertex);
+        this.heap = heapFactory.createHeap();
         this.radius = radius;
         checkRadiusTraversal(isCrossComponentTraversal());
         initialized = true;
@@ -142,7 +163,7 @@ public class ClosestFirstIterator<V, E>
      */
     public double getShortestPathLength(V vertex)
     {
-        FibonacciHeapNode<QueueEntry<V, E>> node = getSeenData(vertex);
+        AddressableHeap.Handle<QueueEntry<V, E>> node = getSeenData(vertex);
 
         if (node == null) {
             return Double.POSITIVE_INFINITY;
@@ -165,7 +186,7 @@ public class ClosestFirstIterator<V, E>
      */
     public E getSpanningTreeEdge(V vertex)
     {
-        FibonacciHeapNode<QueueEntry<V, E>> node = getSeenData(vertex);
+        AddressableHeap.Handle<QueueEntry<V, E>> node = getSeenData(vertex);
 
         if (node == null) {
             return null;
@@ -203,9 +224,9 @@ public class ClosestFirstIterator<V, E>
         } else {
             shortestPathLength = calculatePathLength(vertex, edge);
         }
-        FibonacciHeapNode<QueueEntry<V, E>> node = createSeenData(vertex, edge);
-        putSeenData(vertex, node);
-        heap.insert(node, shortestPathLength);
+        putSeenData(
+            vertex,
+            heap.insert(createQueueEntry(vertex, edge), shortestPathLength));
     }
 
     /**
@@ -217,7 +238,7 @@ public class ClosestFirstIterator<V, E>
      */
     @Override protected void encounterVertexAgain(V vertex, E edge)
     {
-        FibonacciHeapNode<QueueEntry<V, E>> node = getSeenData(vertex);
+        AddressableHeap.Handle<QueueEntry<V, E>> node = getSeenData(vertex);
 
         if (node.getData().frozen) {
             // no improvement for this vertex possible
@@ -237,7 +258,7 @@ public class ClosestFirstIterator<V, E>
      */
     @Override protected V provideNextVertex()
     {
-        FibonacciHeapNode<QueueEntry<V, E>> node = heap.removeMin();
+        AddressableHeap.Handle<QueueEntry<V, E>> node = heap.removeMin();
         node.getData().frozen = true;
 
         return node.getData().vertex;
@@ -265,7 +286,7 @@ public class ClosestFirstIterator<V, E>
         assertNonNegativeEdge(edge);
 
         V otherVertex = Graphs.getOppositeVertex(getGraph(), edge, vertex);
-        FibonacciHeapNode<QueueEntry<V, E>> otherEntry =
+        AddressableHeap.Handle<QueueEntry<V, E>> otherEntry =
             getSeenData(otherVertex);
 
         return otherEntry.getKey()
@@ -281,14 +302,14 @@ public class ClosestFirstIterator<V, E>
     }
 
     /**
-     * The first time we see a vertex, make up a new heap node for it.
+     * The first time we see a vertex, make up a new queue entry for it.
      *
      * @param vertex a vertex which has just been encountered.
      * @param edge the edge via which the vertex was encountered.
      *
-     * @return the new heap node.
+     * @return the new queue entry.
      */
-    private FibonacciHeapNode<QueueEntry<V, E>> createSeenData(
+    private QueueEntry<V, E> createQueueEntry(
         V vertex,
         E edge)
     {
@@ -296,7 +317,7 @@ public class ClosestFirstIterator<V, E>
         entry.vertex = vertex;
         entry.spanningTreeEdge = edge;
 
-        return new FibonacciHeapNode<>(entry);
+        return entry;
     }
 
     /**
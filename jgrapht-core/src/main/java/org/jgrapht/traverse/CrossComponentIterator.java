@@ -44,6 +44,7 @@
 package org.jgrapht.traverse;
 
 import java.util.*;
+import java.util.function.*;
 
 import org.jgrapht.*;
 import org.jgrapht.event.*;
@@ -111,6 +112,13 @@ public abstract class CrossComponentIterator<V, E, D>
 
     private final Graph<V, E> graph;
 
+    /**
+     * The vertex whose edges are visited by {@link #edgeVisitor}, kept in a
+     * field so that a single visitor can be reused for all vertices.
+     */
+    private V currentVertex;
+    private final Consumer<E> edgeVisitor = this::visitEdge;
+
     /**
      * The connected component state
      */
@@ -327,18 +335,23 @@ public abstract class CrossComponentIterator<V, E, D>
 
     private void addUnseenChildrenOf(V vertex)
     {
-        for (E edge : specifics.edgesOf(vertex)) {
-            if (nListeners != 0) {
-                fireEdgeTraversed(createEdgeTraversalEvent(edge));
-            }
+        currentVertex = vertex;
+        specifics.forEachEdgeOf(vertex, edgeVisitor);
+        currentVertex = null;
+    }
 
-            V oppositeV = Graphs.getOppositeVertex(graph, edge, vertex);
+    private void visitEdge(E edge)
+    {
+        if (nListeners != 0) {
+            fireEdgeTraversed(createEdgeTraversalEvent(edge));
+        }
 
-            if (isSeenVertex(oppositeV)) {
-                encounterVertexAgain(oppositeV, edge);
-            } else {
-                encounterVertex(oppositeV, edge);
-            }
+        V oppositeV = Graphs.getOppositeVertex(graph, edge, currentVertex);
+
+        if (isSeenVertex(oppositeV)) {
+            encounterVertexAgain(oppositeV, edge);
+        } else {
+            encounterVertex(oppositeV, edge);
         }
     }
 
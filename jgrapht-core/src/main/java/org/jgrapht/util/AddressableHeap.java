@@ -0,0 +1,134 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------
+ * AddressableHeap.java
+ * --------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.util;
+
+/**
+ * A priority queue with <code>double</code> keys whose elements can be
+ * addressed after their insertion, in order to decrease their keys. This is the
+ * kind of priority queue used by Dijkstra's algorithm and related graph
+ * searches, which can thus be run on any of the implementations.
+ *
+ * <p>Inserting an element returns a handle, which stays valid until the element
+ * is removed from the heap and which is used to decrease the key of the
+ * element. The heap which created a handle must be passed the handle.</p>
+ *
+ * @param <T> the type of the data stored with the keys
+ *
+ * @see AddressableHeapFactory
+ */
+public interface AddressableHeap<T>
+{
+    /**
+     * Inserts a new element into the heap.
+     *
+     * @param data the data of the element
+     * @param key the key of the element
+     *
+     * @return the handle of the element
+     */
+    Handle<T> insert(T data, double key);
+
+    /**
+     * Returns the element with the minimum key, without removing it.
+     *
+     * @return the handle of the minimum element, or <code>null</code> if the
+     * heap is empty
+     */
+    Handle<T> min();
+
+    /**
+     * Removes the element with the minimum key from the heap.
+     *
+     * @return the handle of the removed element, or <code>null</code> if the
+     * heap is empty
+     */
+    Handle<T> removeMin();
+
+    /**
+     * Decreases the key of an element of the heap.
+     *
+     * @param handle the handle of the element
+     * @param key the new key of the element
+     *
+     * @throws IllegalArgumentException if the new key is larger than the
+     * current key of the element
+     */
+    void decreaseKey(Handle<T> handle, double key);
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * @return the number of elements
+     */
+    int size();
+
+    /**
+     * Tests whether the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all elements from the heap.
+     */
+    void clear();
+
+    /**
+     * A handle to an element of an {@link AddressableHeap}.
+     *
+     * @param <T> the type of the data stored with the keys
+     */
+    interface Handle<T>
+    {
+        /**
+         * Returns the current key of the element.
+         *
+         * @return the key
+         */
+        double getKey();
+
+        /**
+         * Returns the data of the element.
+         *
+         * @return the data
+         */
+        T getData();
+    }
+}
+
+// End AddressableHeap.java
@@ -0,0 +1,108 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------
+ * AddressableHeapFactory.java
+ * ---------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.util;
+
+/**
+ * Creates empty {@link AddressableHeap addressable heaps}. Algorithms which are
+ * built on an addressable heap accept a factory, so that the heap best suited
+ * for an input can be chosen. Factories for the heaps of this package are
+ * provided as constants.
+ *
+ * <p>As a rule of thumb, the array based {@link DaryHeap d-ary heaps} are
+ * considerably faster than the {@link FibonacciHeap} in practice, despite the
+ * better asymptotic bound of the latter, since they allocate less and access
+ * memory more locally. The {@link RadixHeap} is fastest when its restrictions
+ * are met, which is the case for Dijkstra's algorithm.</p>
+ */
+public interface AddressableHeapFactory
+{
+    /**
+     * Creates {@link FibonacciHeap Fibonacci heaps}.
+     */
+    AddressableHeapFactory FIBONACCI_HEAP =
+        new AddressableHeapFactory() {
+            @Override public <T> AddressableHeap<T> createHeap()
+            {
+                return new FibonacciHeap<>();
+            }
+        };
+
+    /**
+     * Creates {@link DaryHeap binary heaps}.
+     */
+    AddressableHeapFactory BINARY_HEAP =
+        new AddressableHeapFactory() {
+            @Override public <T> AddressableHeap<T> createHeap()
+            {
+                return new DaryHeap<>(2);
+            }
+        };
+
+    /**
+     * Creates {@link DaryHeap 4-ary heaps}.
+     */
+    AddressableHeapFactory QUATERNARY_HEAP =
+        new AddressableHeapFactory() {
+            @Override public <T> AddressableHeap<T> createHeap()
+            {
+                return new DaryHeap<>(4);
+            }
+        };
+
+    /**
+     * Creates {@link RadixHeap radix heaps}, which only accept non-negative
+     * keys and require the keys to be monotone.
+     */
+    AddressableHeapFactory RADIX_HEAP =
+        new AddressableHeapFactory() {
+            @Override public <T> AddressableHeap<T> createHeap()
+            {
+                return new RadixHeap<>();
+            }
+        };
+
+    /**
+     * Creates a new empty heap.
+     *
+     * @param <T> the type of the data stored with the keys
+     *
+     * @return the new heap
+     */
+    <T> AddressableHeap<T> createHeap();
+}
+
+// End AddressableHeapFactory.java
@@ -0,0 +1,292 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------
+ * DaryHeap.java
+ * -------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+
+/**
+ * An addressable d-ary heap. The heap is an implicit tree stored in an array,
+ * in which every node has up to d children. Inserting an element and
+ * decreasing its key take O(log<sub>d</sub> n) time, removing the minimum
+ * O(d log<sub>d</sub> n). Besides the handle of every element, which records
+ * its position in the array, the heap allocates no objects.
+ *
+ * <p>The keys are kept in a separate <code>double</code> array, so that
+ * comparisons do not need to dereference the handles. A 4-ary heap usually
+ * outperforms a binary heap, since its tree is shallower and the children of
+ * a node share a cache line.</p>
+ *
+ * <p><b>Note that this implementation is not synchronized.</b></p>
+ *
+ * @param <T> the type of the data stored with the keys
+ */
+public class DaryHeap<T>
+    implements AddressableHeap<T>
+{
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private Node<T> [] nodes;
+    private double [] keys;
+    private int size;
+
+    /**
+     * Creates a new empty 4-ary heap.
+     */
+    public DaryHeap()
+    {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Creates a new empty heap.
+     *
+     * @param arity the maximum number of children of a node
+     *
+     * @throws IllegalArgumentException if the arity is smaller than 2
+     */
+    public DaryHeap(int arity)
+    {
+        this(arity, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty heap which is able to hold the given number of
+     * elements without growing its arrays.
+     *
+     * @param arity the maximum number of children of a node
+     * @param capacity the expected number of elements
+     *
+     * @throws IllegalArgumentException if the arity is smaller than 2
+     */
+    public DaryHeap(int arity, int capacity)
+    {
+        if (arity < 2) {
+            throw new IllegalArgumentException("arity must be at least 2");
+        }
+        this.arity = arity;
+        this.nodes = TypeUtil.uncheckedCast(
+            new Node<?>[Math.max(capacity, 1)],
+            null);
+        this.keys = new double[nodes.length];
+    }
+
+    /**
+     * @see AddressableHeap#insert(Object, double)
+     */
+    @Override public Handle<T> insert(T data, double key)
+    {
+        if (size == nodes.length) {
+            int capacity = size + (size >> 1) + 1;
+            nodes = Arrays.copyOf(nodes, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        Node<T> node = new Node<>(data);
+        node.key = key;
+        siftUp(size++, node);
+        return node;
+    }
+
+    /**
+     * @see AddressableHeap#min()
+     */
+    @Override public Handle<T> min()
+    {
+        return (size == 0) ? null : nodes[0];
+    }
+
+    /**
+     * @see AddressableHeap#removeMin()
+     */
+    @Override public Handle<T> removeMin()
+    {
+        if (size == 0) {
+            return null;
+        }
+        Node<T> min = nodes[0];
+        Node<T> last = nodes[--size];
+        nodes[size] = null;
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        min.index = -1;
+        return min;
+    }
+
+    /**
+     * @see AddressableHeap#decreaseKey(AddressableHeap.Handle, double)
+     */
+    @Override public void decreaseKey(Handle<T> handle, double key)
+    {
+        Node<T> node = nodeOf(handle);
+        if (key > node.key) {
+            throw new IllegalArgumentException(
+                "decreaseKey() got larger key value. Current key: "
+                + node.key + " new key: " + key);
+        }
+        node.key = key;
+        siftUp(node.index, node);
+    }
+
+    /**
+     * @see AddressableHeap#size()
+     */
+    @Override public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @see AddressableHeap#isEmpty()
+     */
+    @Override public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @see AddressableHeap#clear()
+     */
+    @Override public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            nodes[i].index = -1;
+            nodes[i] = null;
+        }
+        size = 0;
+    }
+
+    private Node<T> nodeOf(Handle<T> handle)
+    {
+        Node<T> node = null;
+        if (handle instanceof Node<?>) {
+            node = TypeUtil.uncheckedCast(handle, null);
+        }
+        if ((node == null) || (node.index < 0) || (nodes[node.index] != node)) {
+            throw new IllegalArgumentException("no such element in heap");
+        }
+        return node;
+    }
+
+    /**
+     * Moves the node up from the given position until its parent has a
+     * smaller or equal key.
+     */
+    private void siftUp(int i, Node<T> node)
+    {
+        double key = node.key;
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            if (keys[parent] <= key) {
+                break;
+            }
+            place(i, nodes[parent], keys[parent]);
+            i = parent;
+        }
+        place(i, node, key);
+    }
+
+    /**
+     * Moves the node down from the given position until all its children have
+     * larger or equal keys.
+     */
+    private void siftDown(int i, Node<T> node)
+    {
+        double key = node.key;
+        for (;;) {
+            int first = (arity * i) + 1;
+            if (first >= size) {
+                break;
+            }
+            int min = first;
+            int end = Math.min(first + arity, size);
+            for (int child = first + 1; child < end; child++) {
+                if (keys[child] < keys[min]) {
+                    min = child;
+                }
+            }
+            if (keys[min] >= key) {
+                break;
+            }
+            place(i, nodes[min], keys[min]);
+            i = min;
+        }
+        place(i, node, key);
+    }
+
+    private void place(int i, Node<T> node, double key)
+    {
+        nodes[i] = node;
+        keys[i] = key;
+        node.index = i;
+    }
+
+    /**
+     * The handle of an element, recording its position in the heap.
+     */
+    private static final class Node<T>
+        implements Handle<T>
+    {
+        final T data;
+        double key;
+        int index;
+
+        Node(T data)
+        {
+            this.data = data;
+        }
+
+        @Override public double getKey()
+        {
+            return key;
+        }
+
+        @Override public T getData()
+        {
+            return data;
+        }
+
+        @Override public String toString()
+        {
+            return Double.toString(key);
+        }
+    }
+}
+
+// End DaryHeap.java
@@ -74,6 +74,7 @@ import java.util.*;
  * @author Nathan Fiedler
  */
 public class FibonacciHeap<T>
+    implements AddressableHeap<T>
 {
     private static final double oneOverLogPhi =
         1.0 / Math.log((1.0 + Math.sqrt(5.0)) / 2.0);
@@ -157,6 +158,21 @@ public class FibonacciHeap<T>
 
     // decreaseKey
 
+    /**
+     * Decreases the key value for a heap node, which must have been created by
+     * this heap.
+     *
+     * @see AddressableHeap#decreaseKey(AddressableHeap.Handle, double)
+     */
+    @Override public void decreaseKey(Handle<T> handle, double key)
+    {
+        if (!(handle instanceof FibonacciHeapNode<?>)) {
+            throw new IllegalArgumentException("no such element in heap");
+        }
+        FibonacciHeapNode<T> x = TypeUtil.uncheckedCast(handle, null);
+        decreaseKey(x, key);
+    }
+
     /**
      * Deletes a node from the heap given the reference to the node. The trees
      * in the heap will be consolidated, if necessary. This operation may fail
@@ -211,6 +227,23 @@ public class FibonacciHeap<T>
 
     // insert
 
+    /**
+     * Inserts a new data element into the heap, creating a new node for it.
+     *
+     * <p>Running time: O(1) actual</p>
+     *
+     * @param data data of the new element
+     * @param key key value associated with data object
+     *
+     * @return the node of the new element
+     */
+    @Override public FibonacciHeapNode<T> insert(T data, double key)
+    {
+        FibonacciHeapNode<T> node = new FibonacciHeapNode<>(data);
+        insert(node, key);
+        return node;
+    }
+
     /**
      * Returns the smallest element in the heap. This smallest element is the
      * one with the minimum key value.
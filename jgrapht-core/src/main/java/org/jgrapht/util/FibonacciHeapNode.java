@@ -56,6 +56,7 @@ package org.jgrapht.util;
  * @author Nathan Fiedler
  */
 public class FibonacciHeapNode<T>
+    implements AddressableHeap.Handle<T>
 {
     /**
      * Node data.
@@ -116,7 +117,7 @@ public class FibonacciHeapNode<T>
      *
      * @return the key
      */
-    public final double getKey()
+    @Override public final double getKey()
     {
         return key;
     }
@@ -124,7 +125,7 @@ public class FibonacciHeapNode<T>
     /**
      * Obtain the data for this node.
      */
-    public final T getData()
+    @Override public final T getData()
     {
         return data;
     }
@@ -0,0 +1,288 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------
+ * IndexedDaryHeap.java
+ * --------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+
+/**
+ * A 4-ary heap of the integers from zero to a fixed capacity, prioritized by
+ * <code>double</code> keys. Unlike an {@link AddressableHeap}, the heap needs
+ * no handles to address its elements, since the position of every element is
+ * kept in an array indexed by the element. Thus it does not allocate at all
+ * after its construction, which makes it the heap of choice for algorithms
+ * working on vertex or edge indices, such as the ones offered by {@link
+ * org.jgrapht.graph.CsrGraph}.
+ *
+ * <p>Inserting an element and decreasing its key take O(log n) time, removing
+ * the minimum O(log n) time as well. The heap can be cleared in time
+ * proportional to the number of contained elements.</p>
+ *
+ * <p><b>Note that this implementation is not synchronized.</b></p>
+ */
+public class IndexedDaryHeap
+{
+    private static final int ARITY = 4;
+
+    private final int [] elements;
+    private final double [] keys;
+    private final int [] positions;
+    private int size;
+
+    /**
+     * Creates a new empty heap for the elements from zero to
+     * <code>capacity - 1</code>.
+     *
+     * @param capacity the number of possible elements
+     */
+    public IndexedDaryHeap(int capacity)
+    {
+        elements = new int[capacity];
+        keys = new double[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * Returns the number of possible elements.
+     *
+     * @return the capacity of the heap
+     */
+    public int capacity()
+    {
+        return positions.length;
+    }
+
+    /**
+     * Returns the number of elements in the heap.
+     *
+     * @return the number of elements
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Tests whether the heap is empty.
+     *
+     * @return true if the heap is empty, false otherwise
+     */
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Tests whether an element is contained in the heap.
+     *
+     * @param element the element
+     *
+     * @return true if the element is contained, false otherwise
+     */
+    public boolean contains(int element)
+    {
+        return positions[element] >= 0;
+    }
+
+    /**
+     * Returns the key of an element contained in the heap.
+     *
+     * @param element the element
+     *
+     * @return the key of the element
+     *
+     * @throws IllegalArgumentException if the element is not contained
+     */
+    public double getKey(int element)
+    {
+        return keys[positionOf(element)];
+    }
+
+    /**
+     * Inserts an element into the heap.
+     *
+     * @param element the element, between zero and the capacity
+     * @param key the key of the element
+     *
+     * @throws IllegalArgumentException if the element is already contained
+     */
+    public void insert(int element, double key)
+    {
+        if (positions[element] >= 0) {
+            throw new IllegalArgumentException(
+                "element already contained: " + element);
+        }
+        siftUp(size++, element, key);
+    }
+
+    /**
+     * Decreases the key of an element contained in the heap.
+     *
+     * @param element the element
+     * @param key the new key of the element
+     *
+     * @throws IllegalArgumentException if the element is not contained or if
+     * the new key is larger than its current key
+     */
+    public void decreaseKey(int element, double key)
+    {
+        int i = positionOf(element);
+        if (key > keys[i]) {
+            throw new IllegalArgumentException(
+                "decreaseKey() got larger key value. Current key: " + keys[i]
+                + " new key: " + key);
+        }
+        siftUp(i, element, key);
+    }
+
+    /**
+     * Returns the element with the minimum key, without removing it.
+     *
+     * @return the minimum element
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int min()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return elements[0];
+    }
+
+    /**
+     * Returns the minimum key.
+     *
+     * @return the key of the minimum element
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public double minKey()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return keys[0];
+    }
+
+    /**
+     * Removes the element with the minimum key from the heap.
+     *
+     * @return the removed element
+     *
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int removeMin()
+    {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        int min = elements[0];
+        positions[min] = -1;
+        if (--size > 0) {
+            siftDown(0, elements[size], keys[size]);
+        }
+        return min;
+    }
+
+    /**
+     * Removes all elements from the heap.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++) {
+            positions[elements[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private int positionOf(int element)
+    {
+        int i = positions[element];
+        if (i < 0) {
+            throw new IllegalArgumentException(
+                "no such element in heap: " + element);
+        }
+        return i;
+    }
+
+    private void siftUp(int i, int element, double key)
+    {
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            if (keys[parent] <= key) {
+                break;
+            }
+            place(i, elements[parent], keys[parent]);
+            i = parent;
+        }
+        place(i, element, key);
+    }
+
+    private void siftDown(int i, int element, double key)
+    {
+        for (;;) {
+            int first = (ARITY * i) + 1;
+            if (first >= size) {
+                break;
+            }
+            int min = first;
+            int end = Math.min(first + ARITY, size);
+            for (int child = first + 1; child < end; child++) {
+                if (keys[child] < keys[min]) {
+                    min = child;
+                }
+            }
+            if (keys[min] >= key) {
+                break;
+            }
+            place(i, elements[min], keys[min]);
+            i = min;
+        }
+        place(i, element, key);
+    }
+
+    private void place(int i, int element, double key)
+    {
+        elements[i] = element;
+        keys[i] = key;
+        positions[element] = i;
+    }
+}
+
+// End IndexedDaryHeap.java
@@ -0,0 +1,306 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------
+ * RadixHeap.java
+ * --------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+
+/**
+ * An addressable radix heap for monotone priority queue applications, such as
+ * Dijkstra's algorithm with non-negative edge weights. The keys must be
+ * non-negative and, as long as the heap is not empty, no key may be smaller
+ * than the key of the last minimum returned by {@link #min()} or {@link
+ * #removeMin()}.
+ *
+ * <p>The heap compares keys by their binary representation, which orders
+ * non-negative doubles like their values. An element is kept in the bucket
+ * given by the most significant bit in which its key differs from the last
+ * minimum, of which there are 65. Removing the minimum from an empty lowest
+ * bucket scans the smallest non-empty bucket and redistributes it to lower
+ * buckets, thus every element is moved at most 64 times until it is removed.
+ * Inserting an element and decreasing its key take constant time, removing the
+ * minimum takes amortized constant time per move.</p>
+ *
+ * <p><b>Note that this implementation is not synchronized.</b></p>
+ *
+ * @param <T> the type of the data stored with the keys
+ */
+public class RadixHeap<T>
+    implements AddressableHeap<T>
+{
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private final Node<T> [][] buckets;
+    private final int [] sizes;
+    private int size;
+
+    /* the binary representation of the last minimum */
+    private long last;
+
+    /**
+     * Creates a new empty radix heap.
+     */
+    public RadixHeap()
+    {
+        buckets = TypeUtil.uncheckedCast(new Node<?>[BUCKETS][], null);
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = TypeUtil.uncheckedCast(new Node<?>[4], null);
+        }
+        sizes = new int[BUCKETS];
+    }
+
+    /**
+     * @see AddressableHeap#insert(Object, double)
+     *
+     * @throws IllegalArgumentException if the key is negative or smaller than
+     * the last minimum
+     */
+    @Override public Handle<T> insert(T data, double key)
+    {
+        Node<T> node = new Node<>(data);
+        node.key = key;
+        node.bits = bitsOf(key);
+        add(node, bucketOf(node.bits));
+        size++;
+        return node;
+    }
+
+    /**
+     * @see AddressableHeap#min()
+     */
+    @Override public Handle<T> min()
+    {
+        if (size == 0) {
+            return null;
+        } else if (sizes[0] == 0) {
+            redistribute();
+        }
+        return buckets[0][sizes[0] - 1];
+    }
+
+    /**
+     * @see AddressableHeap#removeMin()
+     */
+    @Override public Handle<T> removeMin()
+    {
+        if (size == 0) {
+            return null;
+        } else if (sizes[0] == 0) {
+            redistribute();
+        }
+
+        // all elements of the lowest bucket have the minimum key
+        int i = --sizes[0];
+        Node<T> min = buckets[0][i];
+        buckets[0][i] = null;
+        min.bucket = -1;
+        if (--size == 0) {
+            // an empty heap accepts any key
+            last = 0;
+        }
+        return min;
+    }
+
+    /**
+     * @see AddressableHeap#decreaseKey(AddressableHeap.Handle, double)
+     *
+     * @throws IllegalArgumentException if the new key is larger than the
+     * current key of the element, or smaller than the last minimum
+     */
+    @Override public void decreaseKey(Handle<T> handle, double key)
+    {
+        Node<T> node = null;
+        if (handle instanceof Node<?>) {
+            node = TypeUtil.uncheckedCast(handle, null);
+        }
+        if ((node == null)
+            || (node.bucket < 0)
+            || (buckets[node.bucket][node.index] != node))
+        {
+            throw new IllegalArgumentException("no such element in heap");
+        }
+        if (key > node.key) {
+            throw new IllegalArgumentException(
+                "decreaseKey() got larger key value. Current key: "
+                + node.key + " new key: " + key);
+        }
+        long bits = bitsOf(key);
+        node.key = key;
+        node.bits = bits;
+        int bucket = bucketOf(bits);
+        if (bucket != node.bucket) {
+            remove(node);
+            add(node, bucket);
+        }
+    }
+
+    /**
+     * @see AddressableHeap#size()
+     */
+    @Override public int size()
+    {
+        return size;
+    }
+
+    /**
+     * @see AddressableHeap#isEmpty()
+     */
+    @Override public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * @see AddressableHeap#clear()
+     */
+    @Override public void clear()
+    {
+        for (int b = 0; b < BUCKETS; b++) {
+            for (int i = 0; i < sizes[b]; i++) {
+                buckets[b][i].bucket = -1;
+                buckets[b][i] = null;
+            }
+            sizes[b] = 0;
+        }
+        size = 0;
+        last = 0;
+    }
+
+    private long bitsOf(double key)
+    {
+        if (!(key >= 0.0)) {
+            throw new IllegalArgumentException("negative key: " + key);
+        }
+
+        // adding zero turns -0.0 into 0.0
+        long bits = Double.doubleToLongBits(key + 0.0);
+        if (bits < last) {
+            throw new IllegalArgumentException(
+                "key " + key + " is smaller than the last minimum "
+                + Double.longBitsToDouble(last));
+        }
+        return bits;
+    }
+
+    private int bucketOf(long bits)
+    {
+        return (bits == last)
+            ? 0 : (Long.SIZE - Long.numberOfLeadingZeros(bits ^ last));
+    }
+
+    /**
+     * Makes the smallest key the last minimum, which moves the elements of
+     * the smallest non-empty bucket to lower buckets.
+     */
+    private void redistribute()
+    {
+        int b = 1;
+        while (sizes[b] == 0) {
+            b++;
+        }
+        Node<T> [] bucket = buckets[b];
+        int n = sizes[b];
+        long min = bucket[0].bits;
+        for (int i = 1; i < n; i++) {
+            min = Math.min(min, bucket[i].bits);
+        }
+        last = min;
+        sizes[b] = 0;
+        for (int i = 0; i < n; i++) {
+            Node<T> node = bucket[i];
+            bucket[i] = null;
+            add(node, bucketOf(node.bits));
+        }
+    }
+
+    private void add(Node<T> node, int b)
+    {
+        int i = sizes[b]++;
+        if (i == buckets[b].length) {
+            buckets[b] = Arrays.copyOf(buckets[b], i << 1);
+        }
+        buckets[b][i] = node;
+        node.bucket = b;
+        node.index = i;
+    }
+
+    private void remove(Node<T> node)
+    {
+        // move the last node of the bucket into the freed slot
+        Node<T> [] bucket = buckets[node.bucket];
+        int last = --sizes[node.bucket];
+        Node<T> moved = bucket[last];
+        bucket[node.index] = moved;
+        moved.index = node.index;
+        bucket[last] = null;
+    }
+
+    /**
+     * The handle of an element, recording its bucket and position.
+     */
+    private static final class Node<T>
+        implements Handle<T>
+    {
+        final T data;
+        double key;
+        long bits;
+        int bucket;
+        int index;
+
+        Node(T data)
+        {
+            this.data = data;
+        }
+
+        @Override public double getKey()
+        {
+            return key;
+        }
+
+        @Override public T getData()
+        {
+            return data;
+        }
+
+        @Override public String toString()
+        {
+            return Double.toString(key);
+        }
+    }
+}
+
+// End RadixHeap.java
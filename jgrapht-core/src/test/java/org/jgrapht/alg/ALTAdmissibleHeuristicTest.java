@@ -0,0 +1,180 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------
+ * ALTAdmissibleHeuristicTest.java
+ * -------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.ALTAdmissibleHeuristic.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+
+
+public class ALTAdmissibleHeuristicTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testConsistent()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(g, 60, 240, 5, r -> r.nextInt(10));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            List<ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge>> hs =
+                Arrays.asList(
+                    new ALTAdmissibleHeuristic<>(g, 4),
+                    new ALTAdmissibleHeuristic<>(
+                        g,
+                        4,
+                        LandmarkSelection.AVOID,
+                        pool),
+                    new ALTAdmissibleHeuristic<>(g, Arrays.asList(3, 7), pool));
+            for (ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> h : hs) {
+                for (Integer t : g.vertexSet()) {
+                    DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra;
+                    for (Integer s : g.vertexSet()) {
+                        dijkstra = new DijkstraShortestPath<>(g, s, t);
+                        double estimate = h.getCostEstimate(s, t);
+                        assertTrue(estimate >= 0.0);
+                        assertTrue(estimate <= dijkstra.getPathLength());
+                    }
+                    for (DefaultWeightedEdge e : g.edgeSet()) {
+                        double estimate =
+                            h.getCostEstimate(g.getEdgeSource(e), t);
+                        if (!Double.isInfinite(estimate)) {
+                            assertTrue(
+                                estimate
+                                <= (g.getEdgeWeight(e)
+                                    + h.getCostEstimate(
+                                        g.getEdgeTarget(e),
+                                        t)));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testFewerExpandedNodes()
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(40, 40)
+            .generateGraph(g, RandomWeightedGraphs.createVertexFactory(), null);
+        Random rnd = new Random(17);
+        RandomWeightedGraphs.setWeights(g, rnd, r -> 1.0 + r.nextDouble());
+
+        ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> alt =
+            new ALTAdmissibleHeuristic<>(g, 8);
+        assertEquals(8, new HashSet<>(alt.getLandmarks()).size());
+
+        AStarShortestPath<Integer, DefaultWeightedEdge> aStar =
+            new AStarShortestPath<>(g);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        int withLandmarks = 0;
+        int withoutLandmarks = 0;
+        for (int i = 0; i < 20; i++) {
+            Integer s = vertices.get(rnd.nextInt(vertices.size()));
+            Integer t = vertices.get(rnd.nextInt(vertices.size()));
+            double expected =
+                new DijkstraShortestPath<>(g, s, t).getPathLength();
+
+            assertEquals(
+                expected,
+                aStar.getShortestPath(s, t, alt).getWeight(),
+                1e-9);
+            withLandmarks += aStar.getNumberOfExpandedNodes();
+
+            assertEquals(
+                expected,
+                aStar.getShortestPath(s, t, (v1, v2) -> 0.0).getWeight(),
+                1e-9);
+            withoutLandmarks += aStar.getNumberOfExpandedNodes();
+        }
+        assertTrue(withLandmarks * 5 < withoutLandmarks);
+    }
+
+    public void testLandmarks()
+    {
+        SimpleDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        Graphs.addEdge(g, "b", "c", 2.0);
+        Graphs.addEdge(g, "c", "a", 3.0);
+
+        ALTAdmissibleHeuristic<String, DefaultWeightedEdge> h =
+            new ALTAdmissibleHeuristic<>(g, 10);
+        assertEquals(
+            new HashSet<>(g.vertexSet()),
+            new HashSet<>(h.getLandmarks()));
+        assertEquals(3.0, h.getCostEstimate("a", "c"));
+        assertEquals(5.0, h.getCostEstimate("b", "a"));
+        assertEquals(0.0, h.getCostEstimate("a", "a"));
+        assertEquals(Double.POSITIVE_INFINITY, h.getCostEstimate("a", "d"));
+        assertEquals(0.0, h.getCostEstimate("a", "e"));
+
+        h = new ALTAdmissibleHeuristic<>(g, Collections.singleton("a"), null);
+        assertEquals(Collections.singletonList("a"), h.getLandmarks());
+        assertEquals(3.0, h.getCostEstimate("a", "c"));
+
+        try {
+            new ALTAdmissibleHeuristic<>(g, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new ALTAdmissibleHeuristic<>(g, Collections.singleton("e"), null);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        assertTrue(
+            new ALTAdmissibleHeuristic<>(
+                new SimpleGraph<String, DefaultEdge>(DefaultEdge.class),
+                2).getLandmarks().isEmpty());
+    }
+}
+
+// End ALTAdmissibleHeuristicTest.java
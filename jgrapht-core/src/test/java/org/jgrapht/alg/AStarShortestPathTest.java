@@ -42,6 +42,8 @@ import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleWeightedGraph;
 import org.jgrapht.graph.WeightedMultigraph;
+import org.jgrapht.util.AddressableHeapFactory;
+import org.jgrapht.util.FibonacciHeapNode;
 
 /**
  * .Test class for AStarShortestPath implementation
@@ -138,12 +140,38 @@ public class AStarShortestPathTest extends TestCase{
         assertEquals(path.getEdgeList().size(), 47);
         assertEquals(path.getLength()+1, 48);
 
+        //The default open list is exposed to subclasses as a Fibonacci heap
+        FibonacciHeapNode<Node> sourceHeapNode=aStarShortestPath.vertexToHeapNodeMap.get(sourceNode);
+        assertSame(sourceNode, sourceHeapNode.getData());
+        assertTrue(aStarShortestPath.openList.size() > 0);
+
         path=aStarShortestPath.getShortestPath(sourceNode, targetNode, new EuclideanDistance());
         assertNotNull(path);
         assertEquals((int)path.getWeight(), 47);
         assertEquals(path.getEdgeList().size(), 47);
     }
 
+    /**
+     * Test the search with the different open lists. A radix heap requires a
+     * consistent heuristic, note that horizontal edges span two columns.
+     */
+    public void testHeapFactories(){
+        this.readLabyrinth(labyrinth1);
+        AddressableHeapFactory[] factories={
+            AddressableHeapFactory.BINARY_HEAP,
+            AddressableHeapFactory.QUATERNARY_HEAP,
+            AddressableHeapFactory.RADIX_HEAP
+        };
+        for(AddressableHeapFactory factory : factories){
+            AStarShortestPath<Node, DefaultWeightedEdge> aStarShortestPath= new AStarShortestPath<>(graph, factory);
+            GraphPath<Node, DefaultWeightedEdge> path=aStarShortestPath.getShortestPath(sourceNode, targetNode, new ConsistentDistance());
+            assertNotNull(path);
+            assertEquals((int)path.getWeight(), 47);
+            assertEquals(path.getEdgeList().size(), 47);
+            assertNull(aStarShortestPath.openList);
+        }
+    }
+
     /**
      * Test on a graph where there is no path from the source node to the target node.
      */
@@ -195,6 +223,13 @@ public class AStarShortestPathTest extends TestCase{
         }
     }
 
+    private class ConsistentDistance implements AStarAdmissibleHeuristic<Node> {
+        @Override
+        public double getCostEstimate(Node sourceVertex, Node targetVertex) {
+            return Math.abs(sourceVertex.x- targetVertex.x)+Math.abs(sourceVertex.y- targetVertex.y)/2.0;
+        }
+    }
+
     private class Node{
         public final int x;
         public final int y;
@@ -36,8 +36,12 @@
  */
 package org.jgrapht.alg;
 
+import org.jgrapht.alg.flow.DinicMaximumFlowTest;
 import org.jgrapht.alg.flow.EdmondsKarpMaximumFlowTest;
+import org.jgrapht.alg.flow.GusfieldGomoryHuCutTreeTest;
+import org.jgrapht.alg.flow.HighestLabelPushRelabelMaximumFlowTest;
 import org.jgrapht.alg.flow.PushRelabelMaximumFlowTest;
+import org.jgrapht.alg.flow.SuccessiveShortestPathMinimumCostFlowTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -48,24 +52,36 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+    ALTAdmissibleHeuristicTest.class,
     AStarShortestPathTest.class,
     AllDirectedPathsTest.class,
     BellmanFordShortestPathTest.class,
     BiconnectivityInspectorTest.class,
+    BidirectionalAStarShortestPathTest.class,
     BidirectionalDijkstraShortestPathTest.class,
     BlockCutpointGraphTest.class,
     BronKerboschCliqueFinderTest.class,
     ChromaticNumberTest.class,
     ConnectivityInspectorTest.class,
+    ContractionHierarchyManyToManyShortestPathsTest.class,
+    ContractionHierarchyTest.class,
     CycleDetectorTest.class,
+    DeltaSteppingShortestPathsTest.class,
     DijkstraShortestPathTest.class,
     EdmondsBlossomShrinkingTest.class,
+    DinicMaximumFlowTest.class,
     EdmondsKarpMaximumFlowTest.class,
+    GusfieldGomoryHuCutTreeTest.class,
+    HighestLabelPushRelabelMaximumFlowTest.class,
     PushRelabelMaximumFlowTest.class,
+    SuccessiveShortestPathMinimumCostFlowTest.class,
     EulerianCircuitTest.class,
     FloydWarshallShortestPathsTest.class,
     HamiltonianCycleTest.class,
     HopcroftKarpBipartiteMatchingTest.class,
+    IndexedBellmanFordShortestPathsTest.class,
+    IndexedDijkstraShortestPathsTest.class,
+    JohnsonShortestPathsTest.class,
     KShortestPathCostTest.class,
     KShortestPathKValuesTest.class,
     KSPDiscardsValidPathsTest.class,
@@ -75,11 +91,13 @@ import org.junit.runners.Suite;
     MinSourceSinkCutTest.class,
     NaiveLcaFinderTest.class,
     NeighborIndexTest.class,
+    ShortestPathCacheTest.class,
     StoerWagnerMinimumCutTest.class,
     StrongConnectivityAlgorithmTest.class,
     TarjanLowestCommonAncestorTest.class,
     TransitiveClosureTest.class,
-    VertexCoversTest.class })
+    VertexCoversTest.class,
+    YenShortestPathIteratorTest.class })
 public final class AllAlgTests
 {
 }
@@ -37,6 +37,7 @@ package org.jgrapht.alg;
 import junit.framework.TestCase;
 
 import java.util.*;
+import java.util.stream.*;
 
 import org.jgrapht.*;
 import org.jgrapht.graph.*;
@@ -120,6 +121,107 @@ public class AllDirectedPathsTest
         }
     }
 
+    public void testStreamMatchesList () {
+        DirectedGraph<String, DefaultEdge> toyGraph = toyGraph();
+        toyGraph.addEdge(D, A);
+
+        AllDirectedPaths<String, DefaultEdge> pathFindingAlg =
+            new AllDirectedPaths<>(toyGraph);
+
+        Set<String> sources = new HashSet<>(Arrays.asList(I1, I2, A));
+        Set<String> targets = new HashSet<>(Arrays.asList(O1, O2, E));
+
+        for (Integer maxPathLength : Arrays.asList(null, 1, 3, 8)) {
+            for (boolean simplePathsOnly : new boolean[] { true, false }) {
+                if (!simplePathsOnly && maxPathLength == null) {
+                    continue;
+                }
+                List<List<DefaultEdge>> expected = edgeLists(
+                    pathFindingAlg.getAllPaths(sources, targets, simplePathsOnly, maxPathLength).stream());
+                List<List<DefaultEdge>> sequential = edgeLists(
+                    pathFindingAlg.streamAllPaths(sources, targets, simplePathsOnly, maxPathLength));
+                List<List<DefaultEdge>> parallel = edgeLists(
+                    pathFindingAlg.streamAllPaths(sources, targets, simplePathsOnly, maxPathLength).parallel());
+
+                assertFalse(expected.isEmpty());
+                assertEquals(expected, sequential);
+                assertEquals(expected, parallel);
+            }
+        }
+    }
+
+    public void testStreamIsLazy () {
+        // the number of simple paths through a chain of diamonds doubles with
+        // every diamond
+        DirectedGraph<Integer, DefaultEdge> graph =
+            new DefaultDirectedGraph<>(DefaultEdge.class);
+        graph.addVertex(0);
+        for (int i = 0; i < 40; i++) {
+            Graphs.addAllVertices(graph, Arrays.asList(3 * i + 1, 3 * i + 2, 3 * i + 3));
+            graph.addEdge(3 * i, 3 * i + 1);
+            graph.addEdge(3 * i, 3 * i + 2);
+            graph.addEdge(3 * i + 1, 3 * i + 3);
+            graph.addEdge(3 * i + 2, 3 * i + 3);
+        }
+
+        Iterator<GraphPath<Integer, DefaultEdge>> paths =
+            new AllDirectedPaths<>(graph).streamAllPaths(0, 120, true, null).iterator();
+        for (int i = 0; i < 1000; i++) {
+            GraphPath<Integer, DefaultEdge> path = paths.next();
+            assertEquals(80, path.getEdgeList().size());
+            assertEquals(Integer.valueOf(120), path.getEndVertex());
+        }
+        assertTrue(paths.hasNext());
+
+        assertEquals(1L << 6, new AllDirectedPaths<>(graph).streamAllPaths(0, 18, true, null).parallel().count());
+    }
+
+    public void testSingleEdgesAndLoops () {
+        DirectedGraph<String, DefaultEdge> graph =
+            new DirectedPseudograph<>(DefaultEdge.class);
+        graph.addVertex(A);
+        graph.addVertex(B);
+        DefaultEdge loop = graph.addEdge(A, A);
+        DefaultEdge ab = graph.addEdge(A, B);
+
+        AllDirectedPaths<String, DefaultEdge> pathFindingAlg =
+            new AllDirectedPaths<>(graph);
+
+        // a path of one edge is reported, a self-loop at the source is not
+        // part of a simple path
+        List<GraphPath<String, DefaultEdge>> paths =
+            pathFindingAlg.getAllPaths(A, B, true, null);
+        assertEquals(1, paths.size());
+        assertEquals(Collections.singletonList(ab), paths.get(0).getEdgeList());
+        assertEquals(1, pathFindingAlg.streamAllPaths(A, B, true, null).count());
+
+        paths = pathFindingAlg.getAllPaths(A, B, true, 1);
+        assertEquals(1, paths.size());
+        assertEquals(Collections.singletonList(ab), paths.get(0).getEdgeList());
+
+        paths = pathFindingAlg.getAllPaths(A, B, false, 2);
+        assertEquals(
+            new HashSet<>(Arrays.asList(
+                Collections.singletonList(ab),
+                Arrays.asList(loop, ab))),
+            new HashSet<>(Arrays.asList(
+                paths.get(0).getEdgeList(),
+                paths.get(1).getEdgeList())));
+        assertEquals(2, paths.size());
+        assertEquals(2, pathFindingAlg.streamAllPaths(A, B, false, 2).count());
+    }
+
+    private static <V, E> List<List<E>> edgeLists (Stream<GraphPath<V, E>> paths) {
+        List<List<E>> edgeLists = new ArrayList<>();
+        paths.forEach(path -> {
+            synchronized (edgeLists) {
+                edgeLists.add(path.getEdgeList());
+            }
+        });
+        edgeLists.sort(Comparator.comparing(Object::toString));
+        return edgeLists;
+    }
+
     private static DirectedGraph<String, DefaultEdge> toyGraph () {
         DirectedGraph<String, DefaultEdge> graph =
             new DefaultDirectedGraph<>(DefaultEdge.class);
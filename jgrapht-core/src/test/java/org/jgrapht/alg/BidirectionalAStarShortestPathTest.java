@@ -0,0 +1,175 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------------------
+ * BidirectionalAStarShortestPathTest.java
+ * ---------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+
+
+public class BidirectionalAStarShortestPathTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testDirected()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(g, 60, 240, 3, r -> r.nextInt(10));
+
+        BidirectionalAStarShortestPath<Integer, DefaultWeightedEdge> alt =
+            new BidirectionalAStarShortestPath<>(
+                g,
+                new ALTAdmissibleHeuristic<>(g, 4),
+                new ALTAdmissibleHeuristic<>(new EdgeReversedGraph<>(g), 4));
+        BidirectionalAStarShortestPath<Integer, DefaultWeightedEdge> zero =
+            new BidirectionalAStarShortestPath<>(g, (v1, v2) -> 0.0);
+        for (Integer s : g.vertexSet()) {
+            for (Integer t : g.vertexSet()) {
+                double expected =
+                    new DijkstraShortestPath<>(g, s, t).getPathLength();
+                assertPath(g, s, t, expected, alt.getShortestPath(s, t));
+                assertPath(g, s, t, expected, zero.getShortestPath(s, t));
+            }
+        }
+    }
+
+    public void testFewerExpandedNodes()
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> g =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(40, 40)
+            .generateGraph(g, RandomWeightedGraphs.createVertexFactory(), null);
+        Random rnd = new Random(17);
+        RandomWeightedGraphs.setWeights(g, rnd, r -> 1.0 + r.nextDouble());
+
+        BidirectionalAStarShortestPath<Integer, DefaultWeightedEdge> alt =
+            new BidirectionalAStarShortestPath<>(
+                g,
+                new ALTAdmissibleHeuristic<>(g, 8));
+        BidirectionalAStarShortestPath<Integer, DefaultWeightedEdge> zero =
+            new BidirectionalAStarShortestPath<>(g, (v1, v2) -> 0.0);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        int withLandmarks = 0;
+        int withoutLandmarks = 0;
+        for (int i = 0; i < 20; i++) {
+            Integer s = vertices.get(rnd.nextInt(vertices.size()));
+            Integer t = vertices.get(rnd.nextInt(vertices.size()));
+            double expected =
+                new BidirectionalDijkstraShortestPath<>(g, s, t)
+                .getPathLength();
+
+            assertPath(g, s, t, expected, alt.getShortestPath(s, t));
+            withLandmarks += alt.getNumberOfExpandedNodes();
+
+            assertPath(g, s, t, expected, zero.getShortestPath(s, t));
+            withoutLandmarks += zero.getNumberOfExpandedNodes();
+        }
+        assertTrue(withLandmarks * 5 < withoutLandmarks);
+    }
+
+    public void testSpecialCases()
+    {
+        SimpleDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+
+        BidirectionalAStarShortestPath<String, DefaultWeightedEdge> alg =
+            new BidirectionalAStarShortestPath<>(
+                g,
+                new ALTAdmissibleHeuristic<>(g, 2),
+                new ALTAdmissibleHeuristic<>(new EdgeReversedGraph<>(g), 2));
+        assertNull(alg.getShortestPath("b", "a"));
+        assertNull(alg.getShortestPath("a", "c"));
+        assertEquals(1.0, alg.getShortestPath("a", "b").getWeight());
+
+        GraphPath<String, DefaultWeightedEdge> path =
+            alg.getShortestPath("c", "c");
+        assertEquals(Collections.singletonList("c"), path.getVertexList());
+        assertEquals(0.0, path.getWeight());
+
+        try {
+            alg.getShortestPath("a", "d");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new BidirectionalAStarShortestPath<>(g, null);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static <V, E> void assertPath(
+        Graph<V, E> g,
+        V s,
+        V t,
+        double expected,
+        GraphPath<V, E> path)
+    {
+        if (Double.isInfinite(expected)) {
+            assertNull(path);
+            return;
+        }
+        assertEquals(expected, path.getWeight(), 1e-9);
+        assertEquals(s, path.getStartVertex());
+        assertEquals(t, path.getEndVertex());
+        List<V> vertices = path.getVertexList();
+        assertEquals(s, vertices.get(0));
+        double weight = 0.0;
+        int i = 0;
+        for (E e : path.getEdgeList()) {
+            V v = vertices.get(i);
+            V u = vertices.get(++i);
+            assertEquals(u, Graphs.getOppositeVertex(g, e, v));
+            if (g instanceof DirectedGraph) {
+                assertEquals(v, g.getEdgeSource(e));
+            }
+            weight += g.getEdgeWeight(e);
+        }
+        assertEquals(t, vertices.get(i));
+        assertEquals(expected, weight, 1e-9);
+    }
+}
+
+// End BidirectionalAStarShortestPathTest.java
@@ -0,0 +1,169 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------------------------------
+ * ContractionHierarchyManyToManyShortestPathsTest.java
+ * ----------------------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+
+
+public class ContractionHierarchyManyToManyShortestPathsTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testDirected()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(g, 150, 600, 5, r -> r.nextInt(8));
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            ContractionHierarchy<Integer, DefaultWeightedEdge> ch =
+                new ContractionHierarchy<>(g, pool);
+            assertSameDistances(
+                g,
+                new ContractionHierarchyManyToManyShortestPaths<>(ch),
+                vertices,
+                vertices);
+            assertSameDistances(
+                g,
+                new ContractionHierarchyManyToManyShortestPaths<>(ch, pool),
+                vertices,
+                vertices);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testUndirectedSubsets()
+    {
+        WeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(20, 20)
+            .generateGraph(g, RandomWeightedGraphs.createVertexFactory(), null);
+        Random rnd = new Random(7);
+        RandomWeightedGraphs.setWeights(g, rnd, r -> 1.0 + r.nextDouble());
+        // an isolated vertex is not reachable
+        g.addVertex(-1);
+
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        List<Integer> sources = new ArrayList<>();
+        List<Integer> targets = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            sources.add(vertices.get(rnd.nextInt(vertices.size())));
+        }
+        for (int i = 0; i < 50; i++) {
+            targets.add(vertices.get(rnd.nextInt(vertices.size())));
+        }
+        sources.add(-1);
+        targets.add(sources.get(0));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            assertSameDistances(
+                g,
+                new ContractionHierarchyManyToManyShortestPaths<>(
+                    new ContractionHierarchy<>(g),
+                    pool),
+                sources,
+                targets);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testInvalid()
+    {
+        SimpleDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        Graphs.addEdge(g, "a", "b", 2.0);
+        ContractionHierarchyManyToManyShortestPaths<String, DefaultWeightedEdge>
+            alg =
+                new ContractionHierarchyManyToManyShortestPaths<>(
+                    new ContractionHierarchy<>(g));
+
+        double [][] table =
+            alg.getDistances(
+                Arrays.asList("a", "b"),
+                Collections.singletonList("b"));
+        assertEquals(2, table.length);
+        assertEquals(2.0, table[0][0]);
+        assertEquals(0.0, table[1][0]);
+        assertEquals(
+            0,
+            alg.getDistances(Collections.emptyList(), Arrays.asList("a"))
+            .length);
+
+        try {
+            alg.getDistances(Arrays.asList("a"), Arrays.asList("c"));
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static <V, E> void assertSameDistances(
+        Graph<V, E> g,
+        ContractionHierarchyManyToManyShortestPaths<V, E> alg,
+        List<V> sources,
+        List<V> targets)
+    {
+        double [][] table = alg.getDistances(sources, targets);
+        assertEquals(sources.size(), table.length);
+        for (int i = 0; i < sources.size(); i++) {
+            assertEquals(targets.size(), table[i].length);
+            for (int j = 0; j < targets.size(); j++) {
+                double expected =
+                    new DijkstraShortestPath<>(
+                        g,
+                        sources.get(i),
+                        targets.get(j)).getPathLength();
+                assertEquals(expected, table[i][j], 1e-9);
+            }
+        }
+    }
+}
+
+// End ContractionHierarchyManyToManyShortestPathsTest.java
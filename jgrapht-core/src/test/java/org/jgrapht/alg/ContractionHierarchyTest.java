@@ -0,0 +1,210 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------
+ * ContractionHierarchyTest.java
+ * -----------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+import org.jgrapht.graph.*;
+
+
+public class ContractionHierarchyTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testDirected()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(g, 150, 600, 3, r -> r.nextInt(8));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            assertSameDistances(g, new ContractionHierarchy<>(g));
+            assertSameDistances(g, new ContractionHierarchy<>(g, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testUndirected()
+    {
+        WeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        new GridGraphGenerator<Integer, DefaultWeightedEdge>(15, 12)
+            .generateGraph(g, RandomWeightedGraphs.createVertexFactory(), null);
+        Random rnd = new Random(11);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        for (int i = 0; i < 40; i++) {
+            g.addEdge(
+                vertices.get(rnd.nextInt(vertices.size())),
+                vertices.get(rnd.nextInt(vertices.size())));
+        }
+        RandomWeightedGraphs.setWeights(g, rnd, r -> 1.0 + r.nextDouble());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ContractionHierarchy<Integer, DefaultWeightedEdge> ch =
+                new ContractionHierarchy<>(g, pool);
+            assertTrue(ch.getShortcutCount() > 0);
+            assertSameDistances(g, ch);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        SimpleDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d", "e"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        Graphs.addEdge(g, "b", "c", 1.0);
+        Graphs.addEdge(g, "c", "d", 1.0);
+        Graphs.addEdge(g, "a", "d", 5.0);
+        Graphs.addEdge(g, "d", "a", 1.0);
+
+        ContractionHierarchy<String, DefaultWeightedEdge> ch =
+            new ContractionHierarchy<>(g);
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        out.writeObject(ch);
+        out.flush();
+        ObjectInputStream in =
+            new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()));
+        @SuppressWarnings("unchecked")
+        ContractionHierarchy<String, DefaultWeightedEdge> copy =
+            (ContractionHierarchy<String, DefaultWeightedEdge>) in
+            .readObject();
+
+        assertEquals(ch.getShortcutCount(), copy.getShortcutCount());
+        ContractionHierarchyShortestPath<String, DefaultWeightedEdge> query =
+            new ContractionHierarchyShortestPath<>(copy);
+        GraphPath<String, DefaultWeightedEdge> path = query.getPath("a", "d");
+        assertEquals(3.0, path.getWeight());
+        assertEquals(
+            Arrays.asList("a", "b", "c", "d"),
+            path.getVertexList());
+        assertEquals("d", copy.getGraph().getEdgeTarget(
+            path.getEdgeList().get(2)));
+        assertEquals(3.0, query.getPathLength("d", "c"));
+        assertEquals(0.0, query.getPathLength("b", "b"));
+        assertEquals(
+            Collections.singletonList("b"),
+            query.getPath("b", "b").getVertexList());
+        assertNull(query.getPath("a", "e"));
+        assertEquals(
+            Double.POSITIVE_INFINITY,
+            query.getPathLength("e", "a"));
+
+        try {
+            query.getPath("a", "f");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testNegativeWeights()
+    {
+        SimpleDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        Graphs.addEdge(g, "a", "b", -1.0);
+        try {
+            new ContractionHierarchy<>(g);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static <E> void assertSameDistances(
+        Graph<Integer, E> g,
+        ContractionHierarchy<Integer, E> ch)
+    {
+        Set<Integer> ranks = new HashSet<>();
+        for (Integer v : g.vertexSet()) {
+            ranks.add(ch.getRank(v));
+        }
+        assertEquals(g.vertexSet().size(), ranks.size());
+
+        ContractionHierarchyShortestPath<Integer, E> query =
+            new ContractionHierarchyShortestPath<>(ch);
+        for (Integer s : g.vertexSet()) {
+            for (Integer t : g.vertexSet()) {
+                double expected =
+                    new BidirectionalDijkstraShortestPath<>(g, s, t)
+                    .getPathLength();
+                assertEquals(expected, query.getPathLength(s, t), 1e-9);
+
+                GraphPath<Integer, E> path = query.getPath(s, t);
+                if (Double.isInfinite(expected)) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(expected, path.getWeight(), 1e-9);
+                assertEquals(s, path.getStartVertex());
+                assertEquals(t, path.getEndVertex());
+                double sum = 0.0;
+                List<Integer> vertices = path.getVertexList();
+                List<E> edges = path.getEdgeList();
+                assertEquals(vertices.size(), edges.size() + 1);
+                for (int i = 0; i < edges.size(); i++) {
+                    E e = edges.get(i);
+                    Integer u = vertices.get(i);
+                    assertEquals(
+                        vertices.get(i + 1),
+                        Graphs.getOppositeVertex(g, e, u));
+                    if (g instanceof DirectedGraph<?, ?>) {
+                        assertEquals(u, g.getEdgeSource(e));
+                    }
+                    sum += g.getEdgeWeight(e);
+                }
+                assertEquals(expected, sum, 1e-9);
+            }
+        }
+    }
+}
+
+// End ContractionHierarchyTest.java
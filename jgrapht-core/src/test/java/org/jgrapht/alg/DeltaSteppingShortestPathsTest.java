@@ -0,0 +1,190 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------------
+ * DeltaSteppingShortestPathsTest.java
+ * -----------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+import org.jgrapht.traverse.*;
+
+
+public class DeltaSteppingShortestPathsTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testCompareWithClosestFirstIterator()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> directed =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(directed, 300, 1500, 7);
+        WeightedPseudograph<Integer, DefaultWeightedEdge> undirected =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(undirected, 300, 700, 7);
+
+        Random rnd = new Random(7);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (Graph<Integer, DefaultWeightedEdge> g
+                : Arrays.<Graph<Integer, DefaultWeightedEdge>> asList(
+                    directed,
+                    undirected))
+            {
+                RandomWeightedGraphs.setWeights(
+                    (WeightedGraph<Integer, DefaultWeightedEdge>) g,
+                    rnd,
+                    r -> 10.0 * r.nextDouble());
+                List<DeltaSteppingShortestPaths<Integer, DefaultWeightedEdge>>
+                    algs =
+                        Arrays.asList(
+                            new DeltaSteppingShortestPaths<>(g, null),
+                            new DeltaSteppingShortestPaths<>(g, pool),
+                            new DeltaSteppingShortestPaths<>(g, 0.001, pool),
+                            new DeltaSteppingShortestPaths<>(g, 100.0, pool));
+                for (int source = 0; source < 300; source += 37) {
+                    ClosestFirstIterator<Integer, DefaultWeightedEdge> it =
+                        new ClosestFirstIterator<>(g, source);
+                    while (it.hasNext()) {
+                        it.next();
+                    }
+                    for (DeltaSteppingShortestPaths<Integer,
+                            DefaultWeightedEdge> alg : algs)
+                    {
+                        alg.compute(source);
+                        assertEquals(Integer.valueOf(source), alg.getSource());
+                        for (Integer v : g.vertexSet()) {
+                            double expected = it.getShortestPathLength(v);
+                            assertEquals(expected, alg.getDistance(v), 1e-9);
+                            assertEquals(
+                                it.getSpanningTreeEdge(v),
+                                alg.getSpanningTreeEdge(v));
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testZeroWeights()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(
+            g,
+            2000,
+            8000,
+            3,
+            r -> (r.nextInt(3) == 0) ? 0.0 : r.nextInt(3));
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            DeltaSteppingShortestPaths<Integer, DefaultWeightedEdge> alg =
+                new DeltaSteppingShortestPaths<>(g, 1.0, pool);
+            alg.compute(0);
+            DijkstraShortestPath<Integer, DefaultWeightedEdge> dijkstra;
+            for (Integer v : g.vertexSet()) {
+                dijkstra = new DijkstraShortestPath<>(g, 0, v);
+                double expected = dijkstra.getPathLength();
+                assertEquals(expected, alg.getDistance(v));
+
+                // the tree has no cycles and its paths are shortest paths
+                GraphPath<Integer, DefaultWeightedEdge> path = alg.getPath(v);
+                if (Double.isInfinite(expected)) {
+                    assertNull(path);
+                    continue;
+                }
+                assertEquals(Integer.valueOf(0), path.getStartVertex());
+                assertEquals(
+                    path.getEdgeList().size() + 1,
+                    new HashSet<>(path.getVertexList()).size());
+                double sum = 0.0;
+                for (DefaultWeightedEdge e : path.getEdgeList()) {
+                    sum += g.getEdgeWeight(e);
+                }
+                assertEquals(expected, sum);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testInvalid()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        DefaultWeightedEdge e = Graphs.addEdge(g, "a", "b", 2.0);
+
+        DeltaSteppingShortestPaths<String, DefaultWeightedEdge> alg =
+            new DeltaSteppingShortestPaths<>(g, null);
+        try {
+            alg.getPath("b");
+            fail();
+        } catch (IllegalStateException ex) {
+        }
+        try {
+            alg.compute("c");
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        alg.compute("b");
+        assertEquals(Double.POSITIVE_INFINITY, alg.getDistance("a"));
+        assertNull(alg.getSpanningTreeEdge("a"));
+        assertNull(alg.getPath("a"));
+        assertEquals(0.0, alg.getDistance("b"));
+
+        try {
+            new DeltaSteppingShortestPaths<>(g, 0.0, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        g.setEdgeWeight(e, -1.0);
+        try {
+            new DeltaSteppingShortestPaths<>(g, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+}
+
+// End DeltaSteppingShortestPathsTest.java
@@ -40,7 +40,9 @@ package org.jgrapht.alg;
 import java.util.*;
 
 import org.jgrapht.*;
+import org.jgrapht.generate.*;
 import org.jgrapht.graph.*;
+import org.jgrapht.util.*;
 
 
 /**
@@ -87,6 +89,64 @@ public class DijkstraShortestPathTest
         assertEquals(Double.POSITIVE_INFINITY, path.getPathLength(), 0);
     }
 
+    /**
+     * Tests that the searches find paths of the same lengths with all heaps.
+     */
+    public void testHeapFactories()
+    {
+        AddressableHeapFactory [] factories = {
+            AddressableHeapFactory.FIBONACCI_HEAP,
+            AddressableHeapFactory.BINARY_HEAP,
+            AddressableHeapFactory.QUATERNARY_HEAP,
+            AddressableHeapFactory.RADIX_HEAP
+        };
+
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        VertexFactory<Integer> f =
+            new VertexFactory<Integer>() {
+                int gid;
+
+                @Override public Integer createVertex()
+                {
+                    return gid++;
+                }
+            };
+        new RandomGraphGenerator<Integer, DefaultWeightedEdge>(30, 150, 3)
+            .generateGraph(g, f, null);
+        Random rnd = new Random(3);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rnd.nextInt(10));
+        }
+
+        for (Integer v : g.vertexSet()) {
+            for (Integer u : g.vertexSet()) {
+                double expected =
+                    new DijkstraShortestPath<>(g, v, u).getPathLength();
+                for (AddressableHeapFactory factory : factories) {
+                    assertEquals(
+                        expected,
+                        new DijkstraShortestPath<>(
+                            g,
+                            v,
+                            u,
+                            Double.POSITIVE_INFINITY,
+                            factory).getPathLength(),
+                        0);
+                    assertEquals(
+                        expected,
+                        new BidirectionalDijkstraShortestPath<>(
+                            g,
+                            v,
+                            u,
+                            Double.POSITIVE_INFINITY,
+                            factory).getPathLength(),
+                        0);
+                }
+            }
+        }
+    }
+
     @Override
     protected List findPathBetween(
         Graph<String, DefaultWeightedEdge> g,
@@ -38,6 +38,7 @@
 package org.jgrapht.alg;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import junit.framework.*;
 
@@ -125,6 +126,74 @@ public class FloydWarshallShortestPathsTest
         }
     }
 
+    public void testBlocked()
+    {
+        RandomGraphGenerator<Integer, DefaultWeightedEdge> gen =
+                new RandomGraphGenerator<>(150, 1500, 5);
+        VertexFactory<Integer> f =
+            new VertexFactory<Integer>() {
+                int gid;
+
+                @Override
+                public Integer createVertex()
+                {
+                    return gid++;
+                }
+            };
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+                new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        gen.generateGraph(g, f, null);
+        Random rnd = new Random(5);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, rnd.nextInt(100));
+        }
+
+        FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> plain =
+                new FloydWarshallShortestPaths<>(g);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<FloydWarshallShortestPaths<Integer, DefaultWeightedEdge>> blocked =
+                Arrays.asList(
+                    new FloydWarshallShortestPaths<>(g, null, true),
+                    new FloydWarshallShortestPaths<>(g, pool, true),
+                    new FloydWarshallShortestPaths<>(g, pool, false));
+            for (FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> fw : blocked) {
+                assertEquals(plain.getDiameter(), fw.getDiameter());
+                for (Integer v1 : g.vertexSet()) {
+                    for (Integer v2 : g.vertexSet()) {
+                        double expected = plain.shortestDistance(v1, v2);
+                        assertEquals(expected, fw.shortestDistance(v1, v2));
+                        if (!fw.isStoringPaths() || v1.equals(v2)) {
+                            continue;
+                        }
+                        GraphPath<Integer, DefaultWeightedEdge> path = fw.getShortestPath(v1, v2);
+                        if (plain.getShortestPath(v1, v2) == null) {
+                            assertNull(path);
+                        } else {
+                            this.verifyPath(g, path, expected);
+                        }
+                    }
+                }
+            }
+
+            FloydWarshallShortestPaths<Integer, DefaultWeightedEdge> distancesOnly =
+                blocked.get(2);
+            assertFalse(distancesOnly.isStoringPaths());
+            try {
+                distancesOnly.getShortestPath(0, 1);
+                fail();
+            } catch (UnsupportedOperationException e) {
+            }
+            try {
+                distancesOnly.getFirstHop(0, 1);
+                fail();
+            } catch (UnsupportedOperationException e) {
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /**
      * Verify whether the path calculated by FloydWarshallShortestPaths is an actual valid path.
      */
@@ -0,0 +1,268 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------------------
+ * IndexedBellmanFordShortestPathsTest.java
+ * ----------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.IndexedBellmanFordShortestPaths.*;
+import org.jgrapht.graph.*;
+
+
+public class IndexedBellmanFordShortestPathsTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testCompareWithBellmanFord()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            createRandomGraph(0);
+        for (QueueDiscipline discipline : QueueDiscipline.values()) {
+            IndexedBellmanFordShortestPaths<Integer, DefaultWeightedEdge> alg =
+                new IndexedBellmanFordShortestPaths<>(g, discipline, 1e-9);
+            for (Integer source : g.vertexSet()) {
+                assertTrue(alg.compute(source));
+                assertFalse(alg.hasNegativeCycle());
+                assertNull(alg.getNegativeCycle());
+                assertEquals(source, alg.getSource());
+
+                BellmanFordShortestPath<Integer, DefaultWeightedEdge> bf =
+                    new BellmanFordShortestPath<>(g, source);
+                for (Integer target : g.vertexSet()) {
+                    double expected =
+                        source.equals(target) ? 0.0 : bf.getCost(target);
+                    assertEquals(expected, alg.getDistance(target), 1e-9);
+
+                    GraphPath<Integer, DefaultWeightedEdge> path =
+                        alg.getPath(target);
+                    if (Double.isInfinite(expected)) {
+                        assertNull(path);
+                        assertNull(alg.getSpanningTreeEdge(target));
+                        continue;
+                    }
+                    assertEquals(expected, path.getWeight(), 1e-9);
+                    assertEquals(expected, sumWeights(g, path), 1e-9);
+                    assertEquals(source, path.getStartVertex());
+                    assertEquals(target, path.getEndVertex());
+                    List<DefaultWeightedEdge> edges = path.getEdgeList();
+                    if (edges.isEmpty()) {
+                        assertNull(alg.getSpanningTreeEdge(target));
+                    } else {
+                        assertEquals(
+                            edges.get(edges.size() - 1),
+                            alg.getSpanningTreeEdge(target));
+                    }
+                }
+            }
+        }
+    }
+
+    public void testNegativeCycle()
+    {
+        for (int seed = 0; seed < 10; seed++) {
+            DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+                createRandomGraph(seed);
+            List<Integer> vertices = new ArrayList<>(g.vertexSet());
+            Random rnd = new Random(seed);
+            Integer a = vertices.get(rnd.nextInt(vertices.size()));
+            Integer b = vertices.get(rnd.nextInt(vertices.size()));
+            Graphs.addEdge(g, a, b, -1000.0);
+            Graphs.addEdge(g, b, a, 0.0);
+
+            for (QueueDiscipline discipline : QueueDiscipline.values()) {
+                IndexedBellmanFordShortestPaths<Integer, DefaultWeightedEdge>
+                    alg =
+                        new IndexedBellmanFordShortestPaths<>(
+                            g,
+                            discipline,
+                            1e-9);
+                assertFalse(alg.compute(a));
+                assertTrue(alg.hasNegativeCycle());
+                GraphPath<Integer, DefaultWeightedEdge> cycle =
+                    alg.getNegativeCycle();
+                assertEquals(cycle.getStartVertex(), cycle.getEndVertex());
+                assertTrue(cycle.getWeight() < 0.0);
+                assertEquals(cycle.getWeight(), sumWeights(g, cycle), 1e-9);
+
+                try {
+                    alg.getDistance(a);
+                    fail();
+                } catch (IllegalStateException e) {
+                }
+                try {
+                    alg.getPath(b);
+                    fail();
+                } catch (IllegalStateException e) {
+                }
+            }
+        }
+    }
+
+    public void testArbitrage()
+    {
+        // exchange rates as negative logarithms, EUR -> USD -> JPY -> EUR
+        // gains about 0.8 percent
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("CHF", "EUR", "USD", "JPY"));
+        Graphs.addEdge(g, "CHF", "EUR", -Math.log(0.93));
+        Graphs.addEdge(g, "EUR", "CHF", -Math.log(1.07));
+        Graphs.addEdge(g, "EUR", "USD", -Math.log(1.10));
+        Graphs.addEdge(g, "USD", "EUR", -Math.log(0.90));
+        Graphs.addEdge(g, "USD", "JPY", -Math.log(110.0));
+        Graphs.addEdge(g, "JPY", "USD", -Math.log(0.0090));
+        Graphs.addEdge(g, "JPY", "EUR", -Math.log(0.00833));
+
+        IndexedBellmanFordShortestPaths<String, DefaultWeightedEdge> alg =
+            new IndexedBellmanFordShortestPaths<>(g);
+        assertFalse(alg.compute("CHF"));
+        GraphPath<String, DefaultWeightedEdge> cycle = alg.getNegativeCycle();
+        assertEquals(3, cycle.getEdgeList().size());
+        assertEquals(
+            new HashSet<>(Arrays.asList("EUR", "USD", "JPY")),
+            new HashSet<>(cycle.getVertexList()));
+        assertEquals(-Math.log(1.1 * 110.0 * 0.00833), cycle.getWeight(), 1e-9);
+
+        g.removeEdge("JPY", "EUR");
+        assertTrue(new IndexedBellmanFordShortestPaths<>(g).compute("CHF"));
+    }
+
+    public void testSelfLoopAndUndirected()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        DefaultWeightedEdge loop = Graphs.addEdge(g, "b", "b", -1.0);
+        IndexedBellmanFordShortestPaths<String, DefaultWeightedEdge> alg =
+            new IndexedBellmanFordShortestPaths<>(g);
+        assertFalse(alg.compute("a"));
+        assertEquals(
+            Collections.singletonList(loop),
+            alg.getNegativeCycle().getEdgeList());
+
+        // cycles which are not reachable are not found
+        g.addVertex("c");
+        Graphs.addEdge(g, "b", "c", 1.0);
+        alg = new IndexedBellmanFordShortestPaths<>(g);
+        assertTrue(alg.compute("c"));
+        assertEquals(Double.POSITIVE_INFINITY, alg.getDistance("b"));
+
+        WeightedPseudograph<String, DefaultWeightedEdge> u =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(u, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(u, "a", "b", 1.0);
+        DefaultWeightedEdge bc = Graphs.addEdge(u, "b", "c", 2.0);
+        alg = new IndexedBellmanFordShortestPaths<>(u);
+        assertTrue(alg.compute("c"));
+        assertEquals(3.0, alg.getDistance("a"));
+
+        u.setEdgeWeight(bc, -2.0);
+        alg = new IndexedBellmanFordShortestPaths<>(u);
+        assertFalse(alg.compute("a"));
+        assertEquals(
+            Arrays.asList(bc, bc),
+            alg.getNegativeCycle().getEdgeList());
+    }
+
+    public void testInvalid()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        g.addVertex("a");
+        IndexedBellmanFordShortestPaths<String, DefaultWeightedEdge> alg =
+            new IndexedBellmanFordShortestPaths<>(g);
+        assertNull(alg.getSource());
+        try {
+            alg.getDistance("a");
+            fail();
+        } catch (IllegalStateException e) {
+        }
+        try {
+            alg.compute("b");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new IndexedBellmanFordShortestPaths<>(g, null, 1e-9);
+            fail();
+        } catch (NullPointerException e) {
+        }
+        for (double epsilon : new double[] { 0.0, -1e-9, Double.NaN }) {
+            try {
+                new IndexedBellmanFordShortestPaths<>(
+                    g,
+                    QueueDiscipline.FIFO,
+                    epsilon);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+        }
+    }
+
+    private static <V, E> double sumWeights(
+        Graph<V, E> g,
+        GraphPath<V, E> path)
+    {
+        double sum = 0.0;
+        V v = path.getStartVertex();
+        for (E e : path.getEdgeList()) {
+            v = Graphs.getOppositeVertex(g, e, v);
+            sum += g.getEdgeWeight(e);
+        }
+        assertEquals(path.getEndVertex(), v);
+        return sum;
+    }
+
+    /**
+     * Creates a graph with negative edge weights but without negative cycles.
+     */
+    private static DirectedWeightedPseudograph<Integer, DefaultWeightedEdge>
+    createRandomGraph(long seed)
+    {
+        return RandomWeightedGraphs.generateWithPotentials(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class),
+            40,
+            200,
+            seed);
+    }
+}
+
+// End IndexedBellmanFordShortestPathsTest.java
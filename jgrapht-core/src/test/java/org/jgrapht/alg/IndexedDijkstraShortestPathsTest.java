@@ -0,0 +1,218 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------------
+ * IndexedDijkstraShortestPathsTest.java
+ * -------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+public class IndexedDijkstraShortestPathsTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testDirected()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            RandomWeightedGraphs.generate(
+                new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class),
+                25,
+                80,
+                11,
+                r -> r.nextInt(10));
+        IndexedDijkstraShortestPaths<Integer, DefaultWeightedEdge> forward =
+            new IndexedDijkstraShortestPaths<>(g);
+        IndexedDijkstraShortestPaths<Integer, DefaultWeightedEdge> backward =
+            new IndexedDijkstraShortestPaths<>(g, true);
+
+        for (Integer v : g.vertexSet()) {
+            forward.compute(v);
+            assertEquals(v, forward.getSource());
+            for (Integer u : g.vertexSet()) {
+                GraphPath<Integer, DefaultWeightedEdge> expected =
+                    new DijkstraShortestPath<>(g, v, u).getPath();
+                GraphPath<Integer, DefaultWeightedEdge> path =
+                    forward.getPath(u);
+                if (expected == null) {
+                    assertNull(path);
+                    assertEquals(
+                        Double.POSITIVE_INFINITY,
+                        forward.getDistance(u));
+                } else {
+                    assertPath(g, v, u, expected.getWeight(), path);
+                    assertEquals(expected.getWeight(), forward.getDistance(u));
+                }
+
+                backward.compute(u);
+                path = backward.getPath(v);
+                if (expected == null) {
+                    assertNull(path);
+                } else {
+                    assertPath(g, v, u, expected.getWeight(), path);
+                }
+            }
+        }
+    }
+
+    public void testUndirected()
+    {
+        WeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            RandomWeightedGraphs.generate(
+                new WeightedPseudograph<>(DefaultWeightedEdge.class),
+                25,
+                80,
+                11,
+                r -> r.nextInt(10));
+        IndexedDijkstraShortestPaths<Integer, DefaultWeightedEdge> sp =
+            new IndexedDijkstraShortestPaths<>(Graphs.freeze(g));
+
+        for (Integer v : g.vertexSet()) {
+            sp.compute(v);
+            for (Integer u : g.vertexSet()) {
+                GraphPath<Integer, DefaultWeightedEdge> expected =
+                    new DijkstraShortestPath<>(g, v, u).getPath();
+                if (expected == null) {
+                    assertNull(sp.getPath(u));
+                } else {
+                    assertPath(g, v, u, expected.getWeight(), sp.getPath(u));
+                }
+            }
+        }
+    }
+
+    public void testTarget()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        Graphs.addEdge(g, "b", "c", 1.0);
+        Graphs.addEdge(g, "a", "d", 5.0);
+        Graphs.addEdge(g, "c", "d", 1.0);
+
+        IndexedDijkstraShortestPaths<String, DefaultWeightedEdge> sp =
+            new IndexedDijkstraShortestPaths<>(g);
+        try {
+            sp.getPath("a");
+            fail();
+        } catch (IllegalStateException e) {
+        }
+
+        sp.compute("a", "b");
+        assertEquals(1.0, sp.getDistance("b"));
+        assertEquals(5.0, sp.getDistance("d"));
+        assertEquals(Double.POSITIVE_INFINITY, sp.getDistance("c"));
+
+        sp.compute("a");
+        assertEquals(3.0, sp.getDistance("d"));
+        assertEquals(
+            Arrays.asList("a", "b", "c", "d"),
+            sp.getPath("d").getVertexList());
+        assertEquals(0, sp.getPath("a").getLength());
+        assertEquals(
+            -1,
+            sp.getPredecessorEdgeAt(sp.getGraph().indexOfVertex("a")));
+
+        sp.compute("c");
+        assertEquals(Double.POSITIVE_INFINITY, sp.getDistance("a"));
+        assertEquals(1.0, sp.getDistance("d"));
+
+        sp.reset();
+        assertNull(sp.getSource());
+        assertEquals(Double.POSITIVE_INFINITY, sp.getDistance("d"));
+
+        try {
+            sp.compute("e");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testNegativeWeight()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        Graphs.addEdge(g, "a", "b", -1.0);
+        IndexedDijkstraShortestPaths<String, DefaultWeightedEdge> sp =
+            new IndexedDijkstraShortestPaths<>(g);
+        try {
+            sp.compute("a");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        // the instance is still usable
+        sp.compute("b");
+        assertEquals(Double.POSITIVE_INFINITY, sp.getDistance("a"));
+    }
+
+    private static void assertPath(
+        Graph<Integer, DefaultWeightedEdge> g,
+        Integer start,
+        Integer end,
+        double weight,
+        GraphPath<Integer, DefaultWeightedEdge> path)
+    {
+        assertEquals(start, path.getStartVertex());
+        assertEquals(end, path.getEndVertex());
+        assertEquals(weight, path.getWeight());
+
+        List<Integer> vertices = path.getVertexList();
+        List<DefaultWeightedEdge> edges = path.getEdgeList();
+        assertEquals(edges.size() + 1, vertices.size());
+        double sum = 0.0;
+        for (int i = 0; i < edges.size(); i++) {
+            DefaultWeightedEdge e = edges.get(i);
+            assertTrue(g.containsEdge(e));
+            assertEquals(
+                vertices.get(i + 1),
+                Graphs.getOppositeVertex(g, e, vertices.get(i)));
+            if (g instanceof DirectedGraph<?, ?>) {
+                assertEquals(vertices.get(i), g.getEdgeSource(e));
+            }
+            sum += g.getEdgeWeight(e);
+        }
+        assertEquals(weight, sum);
+    }
+}
+
+// End IndexedDijkstraShortestPathsTest.java
@@ -0,0 +1,191 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------
+ * JohnsonShortestPathsTest.java
+ * -----------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+public class JohnsonShortestPathsTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testCompareWithBellmanFord()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            RandomWeightedGraphs.generateWithPotentials(
+                new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class),
+                40,
+                200,
+                13);
+        Map<Integer, BellmanFordShortestPath<Integer, DefaultWeightedEdge>>
+            bellmanFord = new HashMap<>();
+        for (Integer v : g.vertexSet()) {
+            bellmanFord.put(v, new BellmanFordShortestPath<>(g, v));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            List<JohnsonShortestPaths<Integer, DefaultWeightedEdge>> algs =
+                Arrays.asList(
+                    new JohnsonShortestPaths<>(g),
+                    new JohnsonShortestPaths<>(g, pool));
+            for (JohnsonShortestPaths<Integer, DefaultWeightedEdge> alg
+                : algs)
+            {
+                Map<Integer, double []> rows = new ConcurrentHashMap<>();
+                alg.computeAllDistances((v, row) -> rows.put(v, row.clone()));
+                assertEquals(g.vertexSet().size(), rows.size());
+
+                CsrGraph<Integer, DefaultWeightedEdge> indexed =
+                    alg.getIndexedGraph();
+                for (Integer v1 : g.vertexSet()) {
+                    double [] row = rows.get(v1);
+                    for (Integer v2 : g.vertexSet()) {
+                        double expected =
+                            v1.equals(v2) ? 0.0
+                            : bellmanFord.get(v1).getCost(v2);
+                        assertEquals(
+                            expected,
+                            row[indexed.indexOfVertex(v2)],
+                            1e-9);
+                        assertEquals(
+                            expected,
+                            alg.shortestDistance(v1, v2),
+                            1e-9);
+
+                        GraphPath<Integer, DefaultWeightedEdge> path =
+                            alg.getShortestPath(v1, v2);
+                        if (Double.isInfinite(expected)) {
+                            assertNull(path);
+                            continue;
+                        }
+                        assertEquals(expected, path.getWeight(), 1e-9);
+                        double sum = 0.0;
+                        Integer v = v1;
+                        for (DefaultWeightedEdge e : path.getEdgeList()) {
+                            assertEquals(v, g.getEdgeSource(e));
+                            v = g.getEdgeTarget(e);
+                            sum += g.getEdgeWeight(e);
+                        }
+                        assertEquals(v2, v);
+                        assertEquals(expected, sum, 1e-9);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testSources()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(g, "a", "b", 4.0);
+        Graphs.addEdge(g, "b", "c", -3.0);
+        Graphs.addEdge(g, "a", "c", 2.0);
+
+        JohnsonShortestPaths<String, DefaultWeightedEdge> alg =
+            new JohnsonShortestPaths<>(g);
+        CsrGraph<String, DefaultWeightedEdge> indexed = alg.getIndexedGraph();
+        List<String> visited = new ArrayList<>();
+        alg.computeDistances(
+            Collections.singleton("a"),
+            (v, row) -> {
+                visited.add(v);
+                assertEquals(0.0, row[indexed.indexOfVertex("a")]);
+                assertEquals(4.0, row[indexed.indexOfVertex("b")]);
+                assertEquals(1.0, row[indexed.indexOfVertex("c")]);
+            });
+        assertEquals(Collections.singletonList("a"), visited);
+        assertEquals(
+            Double.POSITIVE_INFINITY,
+            alg.shortestDistance("c", "a"));
+        assertNull(alg.getShortestPath("c", "a"));
+
+        try {
+            alg.computeDistances(Collections.singleton("d"), (v, row) -> {
+            });
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testNegativeCycle()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        Graphs.addEdge(g, "b", "c", -3.0);
+        Graphs.addEdge(g, "c", "a", 1.0);
+        try {
+            new JohnsonShortestPaths<>(g).shortestDistance("a", "c");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testUndirected()
+    {
+        WeightedPseudograph<String, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c"));
+        Graphs.addEdge(g, "a", "b", 1.0);
+        DefaultWeightedEdge bc = Graphs.addEdge(g, "b", "c", 2.0);
+        assertEquals(
+            3.0,
+            new JohnsonShortestPaths<>(g).shortestDistance("c", "a"));
+
+        g.setEdgeWeight(bc, -2.0);
+        try {
+            new JohnsonShortestPaths<>(g).shortestDistance("a", "c");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+}
+
+// End JohnsonShortestPathsTest.java
@@ -0,0 +1,172 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------
+ * RandomWeightedGraphs.java
+ * -------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.jgrapht.*;
+import org.jgrapht.generate.*;
+
+
+/**
+ * Random graphs with integer vertices, shared by the tests which compare the
+ * results of algorithms on such graphs. Weights are drawn from a random number
+ * generator seeded with the seed of the graph, so that each test works on a
+ * reproducible graph.
+ */
+public final class RandomWeightedGraphs
+{
+    //~ Constructors -----------------------------------------------------------
+
+    private RandomWeightedGraphs()
+    {
+    }
+
+    //~ Methods ----------------------------------------------------------------
+
+    /**
+     * Creates a factory of the vertices 0, 1, 2, and so on.
+     *
+     * @return the vertex factory
+     */
+    public static VertexFactory<Integer> createVertexFactory()
+    {
+        return new VertexFactory<Integer>() {
+            int gid;
+
+            @Override public Integer createVertex()
+            {
+                return gid++;
+            }
+        };
+    }
+
+    /**
+     * Adds random vertices and edges to a graph, by a {@link
+     * RandomGraphGenerator}.
+     *
+     * @param g the graph to add to
+     * @param vertices the number of vertices
+     * @param edges the number of edges
+     * @param seed the seed of the generator
+     *
+     * @return the graph
+     */
+    public static <E, G extends Graph<Integer, E>> G generate(
+        G g,
+        int vertices,
+        int edges,
+        long seed)
+    {
+        new RandomGraphGenerator<Integer, E>(vertices, edges, seed)
+            .generateGraph(g, createVertexFactory(), null);
+        return g;
+    }
+
+    /**
+     * Adds random vertices and edges to a graph, and weights the edges.
+     *
+     * @param g the graph to add to
+     * @param vertices the number of vertices
+     * @param edges the number of edges
+     * @param seed the seed of the generator and of the weights
+     * @param weight draws the weight of an edge from the random numbers
+     *
+     * @return the graph
+     */
+    public static <E, G extends WeightedGraph<Integer, E>> G generate(
+        G g,
+        int vertices,
+        int edges,
+        long seed,
+        ToDoubleFunction<Random> weight)
+    {
+        generate(g, vertices, edges, seed);
+        setWeights(g, new Random(seed), weight);
+        return g;
+    }
+
+    /**
+     * Adds random vertices and edges to a graph, with negative weights but
+     * without negative cycles. The weights are the differences of random
+     * potentials of the endpoints, added to random non-negative weights.
+     *
+     * @param g the graph to add to
+     * @param vertices the number of vertices
+     * @param edges the number of edges
+     * @param seed the seed of the generator, the potentials and the weights
+     *
+     * @return the graph
+     */
+    public static <E, G extends WeightedGraph<Integer, E>> G
+    generateWithPotentials(G g, int vertices, int edges, long seed)
+    {
+        generate(g, vertices, edges, seed);
+        Random rnd = new Random(seed);
+        Map<Integer, Integer> potentials = new HashMap<>();
+        for (Integer v : g.vertexSet()) {
+            potentials.put(v, rnd.nextInt(20));
+        }
+        for (E e : g.edgeSet()) {
+            g.setEdgeWeight(
+                e,
+                rnd.nextInt(10) + potentials.get(g.getEdgeSource(e))
+                - potentials.get(g.getEdgeTarget(e)));
+        }
+        return g;
+    }
+
+    /**
+     * Weights all edges of a graph.
+     *
+     * @param g the graph
+     * @param rnd the random numbers
+     * @param weight draws the weight of an edge from the random numbers
+     */
+    public static <E> void setWeights(
+        WeightedGraph<?, E> g,
+        Random rnd,
+        ToDoubleFunction<Random> weight)
+    {
+        for (E e : g.edgeSet()) {
+            g.setEdgeWeight(e, weight.applyAsDouble(rnd));
+        }
+    }
+}
+
+// End RandomWeightedGraphs.java
@@ -0,0 +1,253 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------
+ * ShortestPathCacheTest.java
+ * --------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+public class ShortestPathCacheTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testDirectedUpdates()
+    {
+        assertUpdates(
+            new ListenableDirectedWeightedGraph<>(DefaultWeightedEdge.class),
+            11);
+    }
+
+    public void testUndirectedUpdates()
+    {
+        assertUpdates(
+            new ListenableUndirectedWeightedGraph<>(
+                DefaultWeightedEdge.class),
+            12);
+    }
+
+    public void testSelectiveInvalidation()
+    {
+        ListenableDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new ListenableDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "x", "y"));
+        DefaultWeightedEdge ab = Graphs.addEdge(g, "a", "b", 1.0);
+        DefaultWeightedEdge bc = Graphs.addEdge(g, "b", "c", 1.0);
+        DefaultWeightedEdge ac = Graphs.addEdge(g, "a", "c", 5.0);
+        Graphs.addEdge(g, "x", "y", 1.0);
+
+        ShortestPathCache<String, DefaultWeightedEdge> cache =
+            new ShortestPathCache<>(g, 4);
+        assertEquals(2.0, cache.getPathLength("a", "c"));
+        assertEquals(1.0, cache.getPathLength("x", "y"));
+        assertEquals(2, cache.getMissCount());
+
+        // changes off the tree of a, or out of its reach, keep it
+        g.setEdgeWeight(ac, 7.0);
+        g.addVertex("z");
+        g.addEdge("z", "a");
+        g.addEdge("c", "b");
+        assertTrue(cache.isCached("a"));
+        assertTrue(cache.isCached("x"));
+        g.removeEdge(ac);
+        assertTrue(cache.isCached("a"));
+
+        // a shortcut or a removed tree edge evicts the tree of a only
+        DefaultWeightedEdge shortcut = Graphs.addEdge(g, "a", "c", 1.5);
+        assertFalse(cache.isCached("a"));
+        assertTrue(cache.isCached("x"));
+        assertEquals(1.5, cache.getPathLength("a", "c"));
+        g.removeEdge(bc);
+        assertTrue(cache.isCached("a"));
+        assertEquals(1.0, cache.getPathLength("a", "b"));
+        g.setEdgeWeight(shortcut, 2.5);
+        assertFalse(cache.isCached("a"));
+        assertEquals(2.5, cache.getPathLength("a", "c"));
+        g.setEdgeWeight(ab, 0.5);
+        assertFalse(cache.isCached("a"));
+        assertEquals(0.5, cache.getPathLength("a", "b"));
+
+        g.removeVertex("x");
+        assertFalse(cache.isCached("x"));
+        assertEquals(4, cache.getInvalidationCount());
+        assertEquals(5, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(0, cache.getEvictionCount());
+
+        g.removeGraphListener(cache);
+        g.removeEdge(ab);
+        assertEquals(0.5, cache.getPathLength("a", "b"));
+    }
+
+    public void testEvictionPolicies()
+    {
+        ListenableDirectedWeightedGraph<Integer, DefaultWeightedEdge> g =
+            new ListenableDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(0, 1, 2));
+
+        ShortestPathCache<Integer, DefaultWeightedEdge> lru =
+            new ShortestPathCache<>(g, 2);
+        ShortestPathCache<Integer, DefaultWeightedEdge> lfu =
+            new ShortestPathCache<>(
+                g,
+                2,
+                ShortestPathCache.EvictionPolicy.LEAST_FREQUENTLY_USED);
+        for (int s : new int[] { 0, 0, 0, 1, 0, 1, 2 }) {
+            lru.getPath(s, s);
+            lfu.getPath(s, s);
+        }
+        assertFalse(lru.isCached(0));
+        assertTrue(lru.isCached(1));
+        assertTrue(lfu.isCached(0));
+        assertFalse(lfu.isCached(1));
+        assertTrue(lru.isCached(2) && lfu.isCached(2));
+        assertEquals(2, lru.size());
+        assertEquals(1, lru.getEvictionCount());
+        assertEquals(4, lru.getHitCount());
+        assertEquals(3, lru.getMissCount());
+
+        lru.resetCounters();
+        lru.invalidate(2);
+        assertEquals(1, lru.size());
+        assertEquals(0, lru.getHitCount() + lru.getMissCount());
+        lru.clear();
+        assertEquals(0, lru.size());
+    }
+
+    public void testInvalid()
+    {
+        ListenableDirectedWeightedGraph<Integer, DefaultWeightedEdge> g =
+            new ListenableDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        g.addVertex(0);
+        ShortestPathCache<Integer, DefaultWeightedEdge> cache =
+            new ShortestPathCache<>(g, 1);
+        try {
+            cache.getPath(0, 1);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            cache.getPathLength(1, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new ShortestPathCache<>(g, 0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            new ShortestPathCache<>(g, 1, null);
+            fail();
+        } catch (NullPointerException e) {
+        }
+    }
+
+    /**
+     * Mixes queries with random changes of the graph and compares every answer
+     * of the cache to a fresh search.
+     */
+    private static void assertUpdates(
+        DefaultListenableGraph<Integer, DefaultWeightedEdge> g,
+        long seed)
+    {
+        RandomWeightedGraphs.generate(g, 40, 120, seed);
+        Random rnd = new Random(seed);
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            g.setEdgeWeight(e, 1 + rnd.nextInt(10));
+        }
+
+        ShortestPathCache<Integer, DefaultWeightedEdge> cache =
+            new ShortestPathCache<>(
+                g,
+                8,
+                ShortestPathCache.EvictionPolicy.LEAST_FREQUENTLY_USED);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        for (int i = 0; i < 2000; i++) {
+            Integer u = vertices.get(rnd.nextInt(12));
+            Integer v = vertices.get(rnd.nextInt(vertices.size()));
+            List<DefaultWeightedEdge> edges = new ArrayList<>(g.edgeSet());
+            DefaultWeightedEdge e = edges.get(rnd.nextInt(edges.size()));
+            switch (rnd.nextInt(edges.size() < 60 ? 7 : 8)) {
+            case 0:
+                if (!u.equals(v) && !g.containsEdge(u, v)) {
+                    Graphs.addEdge(g, u, v, 1 + rnd.nextInt(10));
+                }
+                break;
+            case 1:
+                g.setEdgeWeight(e, 1 + rnd.nextInt(10));
+                break;
+            case 7:
+                g.removeEdge(e);
+                break;
+            default:
+                GraphPath<Integer, DefaultWeightedEdge> expected =
+                    new DijkstraShortestPath<>(g, u, v).getPath();
+                GraphPath<Integer, DefaultWeightedEdge> path =
+                    cache.getPath(u, v);
+                if (expected == null) {
+                    assertNull(path);
+                    assertEquals(
+                        Double.POSITIVE_INFINITY,
+                        cache.getPathLength(u, v));
+                    break;
+                }
+                assertEquals(expected.getWeight(), path.getWeight(), 1e-9);
+                assertEquals(
+                    expected.getWeight(),
+                    cache.getPathLength(u, v),
+                    1e-9);
+                double weight = 0.0;
+                Integer w = u;
+                for (DefaultWeightedEdge f : path.getEdgeList()) {
+                    w = Graphs.getOppositeVertex(g, f, w);
+                    weight += g.getEdgeWeight(f);
+                }
+                assertEquals(v, w);
+                assertEquals(path.getWeight(), weight, 1e-9);
+            }
+        }
+        assertTrue(cache.getHitCount() > cache.getMissCount());
+        assertTrue(cache.getInvalidationCount() > 0);
+    }
+}
+
+// End ShortestPathCacheTest.java
@@ -0,0 +1,189 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------------
+ * YenShortestPathIteratorTest.java
+ * --------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg;
+
+import java.util.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.graph.*;
+
+
+public class YenShortestPathIteratorTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testCompareWithAllDirectedPaths()
+    {
+        for (long seed = 0; seed < 5; seed++) {
+            DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+                createRandomGraph(seed);
+            List<Integer> vertices = new ArrayList<>(g.vertexSet());
+            Integer source = vertices.get(0);
+            Integer target = vertices.get(vertices.size() - 1);
+
+            List<GraphPath<Integer, DefaultWeightedEdge>> expected =
+                new AllDirectedPaths<>(g).getAllPaths(
+                    source,
+                    target,
+                    true,
+                    null);
+            Set<List<DefaultWeightedEdge>> expectedEdges = new HashSet<>();
+            for (GraphPath<Integer, DefaultWeightedEdge> path : expected) {
+                expectedEdges.add(path.getEdgeList());
+            }
+
+            Set<List<DefaultWeightedEdge>> actualEdges = new HashSet<>();
+            YenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+                new YenShortestPathIterator<>(g, source, target);
+            double previous = 0.0;
+            while (it.hasNext()) {
+                GraphPath<Integer, DefaultWeightedEdge> path = it.next();
+                assertTrue(path.getWeight() >= previous);
+                previous = path.getWeight();
+                assertSimplePath(g, source, target, path);
+                assertTrue(actualEdges.add(path.getEdgeList()));
+            }
+            assertEquals(expectedEdges, actualEdges);
+            assertEquals(expected.size(), it.getCount());
+            try {
+                it.next();
+                fail();
+            } catch (NoSuchElementException e) {
+            }
+        }
+    }
+
+    public void testCompareWithKShortestPaths()
+    {
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            createRandomGraph(7);
+        List<Integer> vertices = new ArrayList<>(g.vertexSet());
+        Integer source = vertices.get(1);
+        Integer target = vertices.get(2);
+
+        List<GraphPath<Integer, DefaultWeightedEdge>> expected =
+            new KShortestPaths<>(g, source, 20).getPaths(target);
+        YenShortestPathIterator<Integer, DefaultWeightedEdge> it =
+            new YenShortestPathIterator<>(g, source, target);
+        for (GraphPath<Integer, DefaultWeightedEdge> path : expected) {
+            assertEquals(path.getWeight(), it.next().getWeight(), 1e-9);
+        }
+    }
+
+    public void testUndirectedMultigraph()
+    {
+        WeightedPseudograph<String, DefaultWeightedEdge> g =
+            new WeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b", "c", "d"));
+        DefaultWeightedEdge ab1 = Graphs.addEdge(g, "a", "b", 1.0);
+        DefaultWeightedEdge ab2 = Graphs.addEdge(g, "a", "b", 4.0);
+        DefaultWeightedEdge bc = Graphs.addEdge(g, "c", "b", 1.0);
+        DefaultWeightedEdge cd = Graphs.addEdge(g, "c", "d", 1.0);
+        DefaultWeightedEdge ad = Graphs.addEdge(g, "d", "a", 1.0);
+        Graphs.addEdge(g, "b", "b", 0.0);
+
+        YenShortestPathIterator<String, DefaultWeightedEdge> it =
+            new YenShortestPathIterator<>(g, "a", "c");
+        assertEquals(Arrays.asList(ab1, bc), it.next().getEdgeList());
+        assertEquals(Arrays.asList(ad, cd), it.next().getEdgeList());
+        GraphPath<String, DefaultWeightedEdge> path = it.next();
+        assertEquals(Arrays.asList(ab2, bc), path.getEdgeList());
+        assertEquals(Arrays.asList("a", "b", "c"), path.getVertexList());
+        assertEquals(5.0, path.getWeight());
+        assertFalse(it.hasNext());
+        assertEquals(3, it.getCount());
+
+        it = new YenShortestPathIterator<>(g, "a", "a");
+        assertEquals(0, it.next().getEdgeList().size());
+        assertFalse(it.hasNext());
+    }
+
+    public void testInvalid()
+    {
+        DirectedWeightedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList("a", "b"));
+        assertFalse(new YenShortestPathIterator<>(g, "b", "a").hasNext());
+        try {
+            new YenShortestPathIterator<>(g, "a", "c");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        Graphs.addEdge(g, "a", "b", -1.0);
+        try {
+            new YenShortestPathIterator<>(g, "a", "b");
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    private static <V, E> void assertSimplePath(
+        Graph<V, E> g,
+        V source,
+        V target,
+        GraphPath<V, E> path)
+    {
+        Set<V> visited = new HashSet<>();
+        visited.add(source);
+        V v = source;
+        double weight = 0.0;
+        for (E e : path.getEdgeList()) {
+            assertEquals(v, g.getEdgeSource(e));
+            v = g.getEdgeTarget(e);
+            assertTrue(visited.add(v));
+            weight += g.getEdgeWeight(e);
+        }
+        assertEquals(target, v);
+        assertEquals(weight, path.getWeight(), 1e-9);
+    }
+
+    private static DirectedWeightedPseudograph<Integer, DefaultWeightedEdge>
+    createRandomGraph(long seed)
+    {
+        return RandomWeightedGraphs.generate(
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class),
+            10,
+            30,
+            seed,
+            r -> r.nextInt(10));
+    }
+}
+
+// End YenShortestPathIteratorTest.java
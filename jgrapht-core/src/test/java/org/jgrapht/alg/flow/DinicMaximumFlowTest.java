@@ -0,0 +1,219 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------
+ * DinicMaximumFlowTest.java
+ * -------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+
+
+public class DinicMaximumFlowTest
+    extends MaximumFlowAlgorithmTestBase
+{
+    @Override MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new DinicMaximumFlow<>(network);
+    }
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testRandomNetworks()
+    {
+        for (long seed = 0; seed < 10; seed++) {
+            DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+                new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+            RandomWeightedGraphs.generate(network, 50, 300, seed);
+            Random rnd = new Random(seed);
+            RandomWeightedGraphs.setWeights(network, rnd, r -> r.nextInt(20));
+
+            DinicMaximumFlow<Integer, DefaultWeightedEdge> dinic =
+                new DinicMaximumFlow<>(network);
+            EdmondsKarpMaximumFlow<Integer, DefaultWeightedEdge> edmondsKarp =
+                new EdmondsKarpMaximumFlow<>(network);
+            for (int i = 0; i < 10; i++) {
+                int source = rnd.nextInt(50);
+                int sink = (source + 1 + rnd.nextInt(49)) % 50;
+                verifyDirected(
+                    source,
+                    sink,
+                    edmondsKarp.calculateMaximumFlow(source, sink),
+                    network,
+                    dinic.buildMaximumFlow(source, sink));
+                assertEquals(source, (int) dinic.getCurrentSource());
+                assertEquals(sink, (int) dinic.getCurrentSink());
+            }
+        }
+    }
+
+    public void testLongPath()
+    {
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        network.addVertex(0);
+        for (int i = 1; i <= 100000; i++) {
+            network.addVertex(i);
+            Graphs.addEdge(network, i - 1, i, 1 + (i % 7));
+        }
+        assertEquals(
+            1.0,
+            new DinicMaximumFlow<>(network).calculateMaximumFlow(0, 100000));
+    }
+
+    public void testCornerCases()
+    {
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        network.addVertex(0);
+        network.addVertex(1);
+        DefaultWeightedEdge e = network.addEdge(0, 1);
+
+        DinicMaximumFlow<Integer, DefaultWeightedEdge> solver =
+            new DinicMaximumFlow<>(network);
+        assertNull(solver.getMaximumFlow());
+        assertNull(solver.getCurrentSource());
+        assertEquals(0.0, solver.calculateMaximumFlow(1, 0));
+        assertEquals(1.0, solver.calculateMaximumFlow(0, 1));
+        assertEquals(1.0, solver.getMaximumFlowValue());
+        assertEquals(1.0, solver.getMaximumFlow().get(e));
+        assertEquals((Integer) 1, solver.getFlowDirection(e));
+        try {
+            solver.getMaximumFlow().put(e, 2.0);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+        }
+        try {
+            solver.buildMaximumFlow(0, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            solver.buildMaximumFlow(null, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            solver.buildMaximumFlow(0, 2);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            new DinicMaximumFlow<>(network, 0.0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            network.setEdgeWeight(e, -1.0);
+            new DinicMaximumFlow<>(network);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            new DinicMaximumFlow<Integer, DefaultWeightedEdge>(null);
+            fail();
+        } catch (NullPointerException ex) {
+        }
+    }
+
+    public void testCapacityUpdates()
+    {
+        DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(network, 40, 200, 7, r -> r.nextInt(20));
+        verifyCapacityUpdates(
+            network,
+            new DinicMaximumFlow<>(network),
+            0,
+            39,
+            7);
+    }
+
+    public void testUndirectedCapacityUpdates()
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(network, 30, 90, 8, r -> r.nextInt(20));
+        verifyCapacityUpdates(
+            network,
+            new DinicMaximumFlow<>(network),
+            3,
+            17,
+            8);
+    }
+
+    public void testInvalidCapacityUpdates()
+    {
+        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        network.addVertex(0);
+        network.addVertex(1);
+        DefaultWeightedEdge e = Graphs.addEdge(network, 0, 1, 2.0);
+        DinicMaximumFlow<Integer, DefaultWeightedEdge> solver =
+            new DinicMaximumFlow<>(network);
+        try {
+            solver.updateMaximumFlow(Collections.singletonMap(e, 1.0));
+            fail();
+        } catch (IllegalStateException ex) {
+        }
+        assertEquals(2.0, solver.calculateMaximumFlow(0, 1));
+        Map<DefaultWeightedEdge, Double> deltas = new HashMap<>();
+        deltas.put(e, -3.0);
+        try {
+            solver.updateMaximumFlow(deltas);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        deltas.put(e, 1.0);
+        deltas.put(new DefaultWeightedEdge(), 1.0);
+        try {
+            solver.updateMaximumFlow(deltas);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        assertEquals(2.0, solver.getCapacity(e));
+        assertEquals(
+            1.5,
+            solver.updateMaximumFlow(Collections.singletonMap(e, -0.5)));
+        assertEquals(1.5, solver.getMaximumFlow().get(e));
+        assertEquals(2.0, network.getEdgeWeight(e));
+    }
+}
+
+// End DinicMaximumFlowTest.java
@@ -0,0 +1,230 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------------
+ * GusfieldGomoryHuCutTreeTest.java
+ * --------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import junit.framework.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.*;
+import org.jgrapht.graph.*;
+
+
+public class GusfieldGomoryHuCutTreeTest
+    extends TestCase
+{
+    //~ Methods ----------------------------------------------------------------
+
+    public void testRandomNetworks()
+    {
+        for (long seed = 0; seed < 10; seed++) {
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+                createNetwork(30, 80, seed);
+            GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge> tree =
+                new GusfieldGomoryHuCutTree<>(network);
+            verifyTree(network, tree);
+        }
+    }
+
+    public void testParallel()
+    {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed = 0; seed < 5; seed++) {
+                SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+                    createNetwork(60, 150, seed);
+                GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge> tree =
+                    new GusfieldGomoryHuCutTree<>(network, pool);
+                verifyTree(network, tree);
+
+                GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge>
+                    sequential = new GusfieldGomoryHuCutTree<>(network);
+                for (Integer a : network.vertexSet()) {
+                    for (Integer b : network.vertexSet()) {
+                        if (!a.equals(b)) {
+                            assertEquals(
+                                sequential.minCutWeight(a, b),
+                                tree.minCutWeight(a, b),
+                                1e-9);
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public void testDisconnectedNetwork()
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addEdgeWithVertices(network, 0, 1, 3);
+        Graphs.addEdgeWithVertices(network, 1, 2, 2);
+        Graphs.addEdgeWithVertices(network, 3, 4, 5);
+        network.addVertex(5);
+
+        GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge> tree =
+            new GusfieldGomoryHuCutTree<>(network);
+        assertEquals(3.0, tree.minCutWeight(0, 1), 1e-9);
+        assertEquals(2.0, tree.minCutWeight(0, 2), 1e-9);
+        assertEquals(5.0, tree.minCutWeight(4, 3), 1e-9);
+        assertEquals(0.0, tree.minCutWeight(0, 3), 1e-9);
+        assertEquals(0.0, tree.minCutWeight(5, 4), 1e-9);
+        Set<Integer> cut = tree.minCut(1, 2);
+        assertTrue(cut.containsAll(Arrays.asList(0, 1)));
+        assertFalse(cut.contains(2));
+        cut = tree.minCut(5, 2);
+        assertTrue(cut.contains(5));
+        assertFalse(cut.containsAll(Arrays.asList(0, 1, 2)));
+        assertEquals(5, tree.getGomoryHuTree().edgeSet().size());
+    }
+
+    public void testCornerCases()
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        assertEquals(
+            0,
+            new GusfieldGomoryHuCutTree<>(network).getGomoryHuTree()
+                .vertexSet().size());
+        network.addVertex(0);
+        assertEquals(
+            0,
+            new GusfieldGomoryHuCutTree<>(network).getGomoryHuTree()
+                .edgeSet().size());
+
+        DefaultWeightedEdge e = Graphs.addEdgeWithVertices(network, 0, 1, 2);
+        GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge> tree =
+            new GusfieldGomoryHuCutTree<>(network);
+        try {
+            tree.minCutWeight(0, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            tree.minCutWeight(0, 2);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            tree.minCut(null, 1);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            new GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge>(null);
+            fail();
+        } catch (NullPointerException ex) {
+        }
+        try {
+            new GusfieldGomoryHuCutTree<>(network, 0.0, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            network.setEdgeWeight(e, -1.0);
+            new GusfieldGomoryHuCutTree<>(network);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+
+    /**
+     * Checks the tree against separate maximum flow computations for all
+     * pairs of vertices, and checks that the cuts have the reported weights.
+     */
+    private static void verifyTree(
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> network,
+        GusfieldGomoryHuCutTree<Integer, DefaultWeightedEdge> tree)
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> gomoryHuTree =
+            tree.getGomoryHuTree();
+        assertEquals(network.vertexSet(), gomoryHuTree.vertexSet());
+        assertEquals(
+            network.vertexSet().size() - 1,
+            gomoryHuTree.edgeSet().size());
+        assertTrue(
+            new ConnectivityInspector<>(gomoryHuTree).isGraphConnected());
+
+        DinicMaximumFlow<Integer, DefaultWeightedEdge> maxFlow =
+            new DinicMaximumFlow<>(network);
+        for (Integer a : network.vertexSet()) {
+            for (Integer b : network.vertexSet()) {
+                if (a.equals(b)) {
+                    continue;
+                }
+                double weight = tree.minCutWeight(a, b);
+                assertEquals(
+                    maxFlow.calculateMaximumFlow(a, b),
+                    weight,
+                    1e-9);
+
+                Set<Integer> cut = tree.minCut(a, b);
+                assertTrue(cut.contains(a));
+                assertFalse(cut.contains(b));
+                double cutWeight = 0.0;
+                for (DefaultWeightedEdge e : network.edgeSet()) {
+                    if (cut.contains(network.getEdgeSource(e))
+                        != cut.contains(network.getEdgeTarget(e)))
+                    {
+                        cutWeight += network.getEdgeWeight(e);
+                    }
+                }
+                assertEquals(weight, cutWeight, 1e-9);
+            }
+        }
+    }
+
+    private static SimpleWeightedGraph<Integer, DefaultWeightedEdge>
+    createNetwork(int vertices, int edges, long seed)
+    {
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(
+            network,
+            vertices,
+            edges,
+            seed,
+            r -> r.nextInt(20));
+        return network;
+    }
+}
+
+// End GusfieldGomoryHuCutTreeTest.java
@@ -0,0 +1,131 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------------------
+ * HighestLabelPushRelabelMaximumFlowTest.java
+ * -------------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.graph.*;
+
+
+public class HighestLabelPushRelabelMaximumFlowTest
+    extends MaximumFlowAlgorithmTestBase
+{
+    @Override MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        return new HighestLabelPushRelabelMaximumFlow<>(network);
+    }
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testRandomDirectedNetworks()
+    {
+        for (long seed = 0; seed < 20; seed++) {
+            DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+                new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+            RandomWeightedGraphs.generate(
+                network,
+                60,
+                200 + (10 * (int) seed),
+                seed);
+            Random rnd = new Random(seed);
+            RandomWeightedGraphs.setWeights(
+                network,
+                rnd,
+                r -> r.nextInt(5) * r.nextDouble());
+
+            HighestLabelPushRelabelMaximumFlow<Integer, DefaultWeightedEdge>
+                pushRelabel = new HighestLabelPushRelabelMaximumFlow<>(network);
+            DinicMaximumFlow<Integer, DefaultWeightedEdge> dinic =
+                new DinicMaximumFlow<>(network);
+            for (int i = 0; i < 10; i++) {
+                int source = rnd.nextInt(60);
+                int sink = (source + 1 + rnd.nextInt(59)) % 60;
+                verifyDirected(
+                    source,
+                    sink,
+                    dinic.calculateMaximumFlow(source, sink),
+                    network,
+                    pushRelabel.buildMaximumFlow(source, sink));
+            }
+        }
+    }
+
+    public void testRandomUndirectedNetworks()
+    {
+        for (long seed = 0; seed < 10; seed++) {
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+                new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+            RandomWeightedGraphs.generate(network, 40, 120, seed);
+            Random rnd = new Random(seed);
+            RandomWeightedGraphs.setWeights(network, rnd, r -> r.nextInt(10));
+
+            HighestLabelPushRelabelMaximumFlow<Integer, DefaultWeightedEdge>
+                pushRelabel = new HighestLabelPushRelabelMaximumFlow<>(network);
+            EdmondsKarpMaximumFlow<Integer, DefaultWeightedEdge> edmondsKarp =
+                new EdmondsKarpMaximumFlow<>(network);
+            for (int i = 0; i < 10; i++) {
+                int source = rnd.nextInt(40);
+                int sink = (source + 1 + rnd.nextInt(39)) % 40;
+                verifyUndirected(
+                    network,
+                    source,
+                    sink,
+                    (int) edmondsKarp.calculateMaximumFlow(source, sink),
+                    pushRelabel);
+            }
+        }
+    }
+
+    public void testCapacityUpdates()
+    {
+        DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        RandomWeightedGraphs.generate(network, 40, 200, 7, r -> r.nextInt(20));
+        verifyCapacityUpdates(
+            network,
+            new HighestLabelPushRelabelMaximumFlow<>(network),
+            0,
+            39,
+            7);
+    }
+}
+
+// End HighestLabelPushRelabelMaximumFlowTest.java
@@ -40,6 +40,8 @@ import org.jgrapht.DirectedGraph;
 import org.jgrapht.Graph;
 import org.jgrapht.Graphs;
 import org.jgrapht.VertexFactory;
+import org.jgrapht.WeightedGraph;
+import org.jgrapht.alg.interfaces.IncrementalMaximumFlowAlgorithm;
 import org.jgrapht.alg.interfaces.MaximumFlowAlgorithm;
 import org.jgrapht.generate.RandomGraphGenerator;
 import org.jgrapht.graph.DefaultWeightedEdge;
@@ -47,7 +49,11 @@ import org.jgrapht.graph.DirectedWeightedMultigraph;
 import org.jgrapht.graph.SimpleDirectedWeightedGraph;
 import org.jgrapht.graph.SimpleWeightedGraph;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 public abstract class MaximumFlowAlgorithmTestBase extends TestCase {
 
@@ -153,11 +159,16 @@ public abstract class MaximumFlowAlgorithmTestBase extends TestCase {
 
     static void verifyUndirected(SimpleWeightedGraph<Integer, DefaultWeightedEdge> graph, int source, int sink, int expectedResult, MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> solver) {
         MaximumFlowAlgorithm.MaximumFlow<DefaultWeightedEdge> maxFlow=solver.buildMaximumFlow(source, sink);
+
+        assertEquals(expectedResult, maxFlow.getValue().intValue());
+
+        verifyUndirected(graph, source, sink, maxFlow, solver);
+    }
+
+    static void verifyUndirected(SimpleWeightedGraph<Integer, DefaultWeightedEdge> graph, int source, int sink, MaximumFlowAlgorithm.MaximumFlow<DefaultWeightedEdge> maxFlow, MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> solver) {
         Double flowValue = maxFlow.getValue();
         Map<DefaultWeightedEdge, Double> flow = maxFlow.getFlow();
 
-        assertEquals(expectedResult, flowValue.intValue());
-
         //Verify that every edge is contained in the flow map
         for (DefaultWeightedEdge e : graph.edgeSet())
             assertTrue(flow.containsKey(e));
@@ -204,6 +215,39 @@ public abstract class MaximumFlowAlgorithmTestBase extends TestCase {
     }
 
 
+    /**
+     * Changes random capacities of a network in small batches, and compares
+     * the flow updated by the solver to a fresh computation after each batch.
+     */
+    static void verifyCapacityUpdates(Graph<Integer, DefaultWeightedEdge> network, IncrementalMaximumFlowAlgorithm<Integer, DefaultWeightedEdge> solver, int source, int sink, long seed) {
+        Random rnd = new Random(seed);
+        List<DefaultWeightedEdge> edges = new ArrayList<>(network.edgeSet());
+        solver.calculateMaximumFlow(source, sink);
+        for (int i = 0; i < 50; i++) {
+            Map<DefaultWeightedEdge, Double> deltas = new HashMap<>();
+            for (int j = rnd.nextInt(5); j >= 0; j--) {
+                DefaultWeightedEdge e = edges.get(rnd.nextInt(edges.size()));
+                double capacity = network.getEdgeWeight(e);
+                double delta = rnd.nextBoolean() ? -capacity : rnd.nextInt(10) - capacity / 2;
+                deltas.merge(e, delta, Double::sum);
+                ((WeightedGraph<Integer, DefaultWeightedEdge>) network).setEdgeWeight(e, capacity + delta);
+            }
+            double value = solver.updateMaximumFlow(deltas);
+            for (DefaultWeightedEdge e : deltas.keySet())
+                assertEquals(network.getEdgeWeight(e), solver.getCapacity(e), MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+
+            double expected = new EdmondsKarpMaximumFlow<>(network).calculateMaximumFlow(source, sink);
+            assertEquals(value, solver.getMaximumFlowValue());
+            MaximumFlowAlgorithm.MaximumFlow<DefaultWeightedEdge> maxFlow = new MaximumFlowAlgorithm.MaximumFlowImpl<>(value, solver.getMaximumFlow());
+            if (network instanceof DirectedGraph) {
+                verifyDirected(source, sink, expected, (DirectedGraph<Integer, DefaultWeightedEdge>) network, maxFlow);
+            } else {
+                assertEquals(expected, value, MaximumFlowAlgorithmBase.DEFAULT_EPSILON);
+                verifyUndirected((SimpleWeightedGraph<Integer, DefaultWeightedEdge>) network, source, sink, maxFlow, solver);
+            }
+        }
+    }
+
     /*************** TEST CASES FOR DIRECTED GRAPHS ***************/
 
     public void testDirectedN0()
@@ -0,0 +1,408 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------------------------
+ * SuccessiveShortestPathMinimumCostFlowTest.java
+ * ----------------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.alg.flow;
+
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.alg.*;
+import org.jgrapht.alg.interfaces.*;
+import org.jgrapht.alg.interfaces.MinimumCostFlowAlgorithm.MinimumCostFlow;
+import org.jgrapht.graph.*;
+
+
+public class SuccessiveShortestPathMinimumCostFlowTest
+    extends MaximumFlowAlgorithmTestBase
+{
+    @Override MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(
+        Graph<Integer, DefaultWeightedEdge> network)
+    {
+        Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+        for (DefaultWeightedEdge e : network.edgeSet()) {
+            costs.put(e, 0.0);
+        }
+        return new SuccessiveShortestPathMinimumCostFlow<>(network, costs);
+    }
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testSmallNetwork()
+    {
+        DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+        addArc(network, costs, 0, 1, 2, 1);
+        addArc(network, costs, 0, 2, 2, 2);
+        addArc(network, costs, 1, 2, 1, 1);
+        addArc(network, costs, 1, 3, 1, 3);
+        addArc(network, costs, 2, 3, 3, 1);
+
+        SuccessiveShortestPathMinimumCostFlow<Integer, DefaultWeightedEdge>
+            solver = new SuccessiveShortestPathMinimumCostFlow<>(
+                network,
+                costs);
+        MinimumCostFlow<DefaultWeightedEdge> flow =
+            solver.buildMinimumCostMaximumFlow(0, 3);
+        assertEquals(4.0, flow.getValue(), 1e-9);
+        assertEquals(13.0, flow.getCost(), 1e-9);
+        assertEquals(13.0, solver.getFlowCost(), 1e-9);
+        assertEquals(4.0, solver.getMaximumFlowValue(), 1e-9);
+        assertEquals(flow.getFlow(), solver.getMaximumFlow());
+        verifyDirected(0, 3, 4.0, network, flow);
+
+        flow = solver.buildMinimumCostFlow(0, 3, 2.0);
+        assertEquals(2.0, flow.getValue(), 1e-9);
+        assertEquals(6.0, flow.getCost(), 1e-9);
+        assertEquals(0.0, flow.getFlow().get(network.getEdge(1, 3)), 1e-9);
+        verifyDirected(0, 3, 2.0, network, flow);
+
+        flow = solver.buildMinimumCostFlow(0, 3, 3.0);
+        assertEquals(9.0, flow.getCost(), 1e-9);
+        flow = solver.buildMinimumCostFlow(0, 3, 0.0);
+        assertEquals(0.0, flow.getValue(), 1e-9);
+        assertEquals(0.0, flow.getCost(), 1e-9);
+        assertEquals(4.0, solver.calculateMaximumFlow(0, 3), 1e-9);
+        assertEquals(13.0, solver.getFlowCost(), 1e-9);
+    }
+
+    public void testNegativeCosts()
+    {
+        DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+        addArc(network, costs, 0, 1, 2, 1);
+        addArc(network, costs, 0, 2, 2, 2);
+        addArc(network, costs, 1, 2, 1, -5);
+        addArc(network, costs, 1, 3, 1, 3);
+        addArc(network, costs, 2, 3, 3, 1);
+        addArc(network, costs, 2, 1, 1, 6);
+
+        SuccessiveShortestPathMinimumCostFlow<Integer, DefaultWeightedEdge>
+            solver = new SuccessiveShortestPathMinimumCostFlow<>(
+                network,
+                costs);
+        MinimumCostFlow<DefaultWeightedEdge> flow =
+            solver.buildMinimumCostFlow(0, 3, 1.0);
+        assertEquals(-3.0, flow.getCost(), 1e-9);
+        flow = solver.buildMinimumCostMaximumFlow(0, 3);
+        assertEquals(7.0, flow.getCost(), 1e-9);
+        verifyDirected(0, 3, 4.0, network, flow);
+        verifyOptimality(network, costs, flow, solver);
+
+        costs.put(network.getEdge(2, 1), 4.0);
+        try {
+            new SuccessiveShortestPathMinimumCostFlow<>(network, costs)
+                .buildMinimumCostMaximumFlow(0, 3);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        // a negative cycle which the source does not reach is harmless
+        assertEquals(
+            0.0,
+            new SuccessiveShortestPathMinimumCostFlow<>(network, costs)
+                .buildMinimumCostMaximumFlow(3, 0).getValue(),
+            1e-9);
+    }
+
+    public void testAssignment()
+    {
+        Random rnd = new Random(17);
+        for (int n = 1; n <= 8; n++) {
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> bipartite =
+                new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+            DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+                new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+            Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+            List<Integer> workers = new ArrayList<>();
+            List<Integer> tasks = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                workers.add(i);
+                tasks.add(n + i);
+                addArc(network, costs, 2 * n, i, 1, 0);
+                addArc(network, costs, n + i, 2 * n + 1, 1, 0);
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    int cost = rnd.nextInt(100);
+                    Graphs.addEdgeWithVertices(bipartite, i, n + j, cost);
+                    addArc(network, costs, i, n + j, 1, cost);
+                }
+            }
+
+            MinimumCostFlow<DefaultWeightedEdge> flow =
+                new SuccessiveShortestPathMinimumCostFlow<>(network, costs)
+                .buildMinimumCostMaximumFlow(2 * n, 2 * n + 1);
+            assertEquals((double) n, flow.getValue(), 1e-9);
+            assertEquals(
+                new KuhnMunkresMinimalWeightBipartitePerfectMatching<>(
+                    bipartite,
+                    workers,
+                    tasks).getMatchingWeight(),
+                flow.getCost(),
+                1e-9);
+        }
+    }
+
+    public void testRandomNetworks()
+    {
+        for (long seed = 0; seed < 10; seed++) {
+            DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+                new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+            RandomWeightedGraphs.generate(network, 50, 300, seed);
+            Random rnd = new Random(seed);
+            Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rnd.nextInt(20));
+                costs.put(e, (double) rnd.nextInt(10));
+            }
+
+            SuccessiveShortestPathMinimumCostFlow<Integer, DefaultWeightedEdge>
+                solver = new SuccessiveShortestPathMinimumCostFlow<>(
+                    network,
+                    costs);
+            EdmondsKarpMaximumFlow<Integer, DefaultWeightedEdge> edmondsKarp =
+                new EdmondsKarpMaximumFlow<>(network);
+            for (int i = 0; i < 10; i++) {
+                int source = rnd.nextInt(50);
+                int sink = (source + 1 + rnd.nextInt(49)) % 50;
+                double value =
+                    edmondsKarp.calculateMaximumFlow(source, sink);
+                double limit = rnd.nextBoolean()
+                    ? Double.POSITIVE_INFINITY : rnd.nextInt(30);
+                MinimumCostFlow<DefaultWeightedEdge> flow =
+                    solver.buildMinimumCostFlow(source, sink, limit);
+                verifyDirected(
+                    source,
+                    sink,
+                    Math.min(value, limit),
+                    network,
+                    flow);
+                verifyOptimality(network, costs, flow, solver);
+            }
+        }
+    }
+
+    public void testRandomUndirectedNetworks()
+    {
+        for (long seed = 0; seed < 10; seed++) {
+            SimpleWeightedGraph<Integer, DefaultWeightedEdge> network =
+                new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+            RandomWeightedGraphs.generate(network, 30, 100, seed);
+            Random rnd = new Random(seed);
+            Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, rnd.nextInt(20));
+                costs.put(e, (double) rnd.nextInt(10));
+            }
+
+            SuccessiveShortestPathMinimumCostFlow<Integer, DefaultWeightedEdge>
+                solver = new SuccessiveShortestPathMinimumCostFlow<>(
+                    network,
+                    costs);
+            for (int i = 0; i < 10; i++) {
+                int source = rnd.nextInt(30);
+                int sink = (source + 1 + rnd.nextInt(29)) % 30;
+                MinimumCostFlow<DefaultWeightedEdge> flow =
+                    solver.buildMinimumCostMaximumFlow(source, sink);
+                assertEquals(
+                    new EdmondsKarpMaximumFlow<>(network).calculateMaximumFlow(
+                        source,
+                        sink),
+                    flow.getValue(),
+                    1e-9);
+                verifyUndirected(network, source, sink, flow, solver);
+                verifyOptimality(network, costs, flow, solver);
+            }
+        }
+    }
+
+    public void testCornerCases()
+    {
+        DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network =
+            new DirectedWeightedMultigraph<>(DefaultWeightedEdge.class);
+        Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+        DefaultWeightedEdge e = addArc(network, costs, 0, 1, 1, 1);
+        network.addVertex(2);
+        try {
+            new SuccessiveShortestPathMinimumCostFlow<>(network, null);
+            fail();
+        } catch (NullPointerException ex) {
+        }
+        try {
+            new SuccessiveShortestPathMinimumCostFlow<Integer,
+                DefaultWeightedEdge>(null, costs);
+            fail();
+        } catch (NullPointerException ex) {
+        }
+        try {
+            new SuccessiveShortestPathMinimumCostFlow<>(
+                network,
+                new HashMap<>());
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            new SuccessiveShortestPathMinimumCostFlow<>(network, costs, 0.0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            network.setEdgeWeight(e, -1.0);
+            new SuccessiveShortestPathMinimumCostFlow<>(network, costs);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        network.setEdgeWeight(e, 1.0);
+
+        SuccessiveShortestPathMinimumCostFlow<Integer, DefaultWeightedEdge>
+            solver = new SuccessiveShortestPathMinimumCostFlow<>(
+                network,
+                costs);
+        assertNull(solver.getCurrentSource());
+        try {
+            solver.buildMinimumCostMaximumFlow(0, 3);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            solver.buildMinimumCostMaximumFlow(0, 0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        try {
+            solver.buildMinimumCostFlow(0, 1, -1.0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        assertEquals(
+            0.0,
+            solver.buildMinimumCostMaximumFlow(0, 2).getValue(),
+            1e-9);
+        assertEquals(0.0, solver.getFlowCost(), 1e-9);
+        assertEquals(Integer.valueOf(0), solver.getCurrentSource());
+        assertEquals(Integer.valueOf(2), solver.getCurrentSink());
+
+        SimpleWeightedGraph<Integer, DefaultWeightedEdge> undirected =
+            new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+        DefaultWeightedEdge u = Graphs.addEdgeWithVertices(undirected, 0, 1);
+        try {
+            new SuccessiveShortestPathMinimumCostFlow<>(
+                undirected,
+                Collections.singletonMap(u, -1.0));
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+    }
+
+    private static DefaultWeightedEdge addArc(
+        DirectedWeightedMultigraph<Integer, DefaultWeightedEdge> network,
+        Map<DefaultWeightedEdge, Double> costs,
+        int source,
+        int target,
+        double capacity,
+        double cost)
+    {
+        DefaultWeightedEdge e =
+            Graphs.addEdgeWithVertices(network, source, target, capacity);
+        costs.put(e, cost);
+        return e;
+    }
+
+    /**
+     * Checks that the cost of a flow is reported correctly, and that the flow
+     * is a cheapest one of its value, which is the case if and only if its
+     * residual network has no cycle of negative cost.
+     */
+    private static void verifyOptimality(
+        Graph<Integer, DefaultWeightedEdge> network,
+        Map<DefaultWeightedEdge, Double> costs,
+        MinimumCostFlow<DefaultWeightedEdge> flow,
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> solver)
+    {
+        double cost = 0.0;
+        List<int []> arcs = new ArrayList<>();
+        List<Double> arcCosts = new ArrayList<>();
+        for (DefaultWeightedEdge e : network.edgeSet()) {
+            double f = flow.getFlow().get(e);
+            double c = costs.get(e);
+            cost += f * c;
+            int u = network.getEdgeSource(e);
+            int v = network.getEdgeTarget(e);
+            if (!(network instanceof DirectedGraph)
+                && (solver.getFlowDirection(e) == u))
+            {
+                u = v;
+                v = solver.getFlowDirection(e);
+            }
+            double capacity = network.getEdgeWeight(e);
+            if (f < (capacity - 1e-9)) {
+                arcs.add(new int[] { u, v });
+                arcCosts.add(c);
+            }
+            if (f > 1e-9) {
+                arcs.add(new int[] { v, u });
+                arcCosts.add(-c);
+            } else if (!(network instanceof DirectedGraph)
+                && (capacity > 1e-9))
+            {
+                arcs.add(new int[] { v, u });
+                arcCosts.add(c);
+            }
+        }
+        assertEquals(cost, flow.getCost(), 1e-6);
+
+        Map<Integer, Double> distances = new HashMap<>();
+        for (Integer v : network.vertexSet()) {
+            distances.put(v, 0.0);
+        }
+        boolean changed = true;
+        for (int i = 0; changed; i++) {
+            assertTrue(i <= network.vertexSet().size());
+            changed = false;
+            for (int j = 0; j < arcs.size(); j++) {
+                int [] arc = arcs.get(j);
+                double d = distances.get(arc[0]) + arcCosts.get(j);
+                if (d < (distances.get(arc[1]) - 1e-6)) {
+                    distances.put(arc[1], d);
+                    changed = true;
+                }
+            }
+        }
+    }
+}
+
+// End SuccessiveShortestPathMinimumCostFlowTest.java
@@ -51,6 +51,9 @@ import org.junit.runners.*;
     AsUnweightedGraphTest.class,
     AsWeightedGraphTest.class,
     CloneTest.class,
+    CompactDirectedWeightedGraphTest.class,
+    ConcurrentDirectedGraphTest.class,
+    CsrGraphTest.class,
     DefaultDirectedGraphTest.class,
     EqualsAndHashCodeTest.class,
     GenericGraphsTest.class,
@@ -62,7 +65,8 @@ import org.junit.runners.*;
     GraphWalkTest.class,
     SubgraphTest.class,
     SimpleIdentityDirectedGraphTest.class,
-    UnionGraphTest.class
+    UnionGraphTest.class,
+    VersionedDirectedWeightedGraphTest.class
 })
 public final class AllGraphTests
 {
@@ -0,0 +1,348 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * CompactDirectedWeightedGraphTest.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+
+import org.jgrapht.*;
+import org.jgrapht.util.*;
+
+
+/**
+ * Tests for {@link CompactDirectedWeightedGraph}.
+ */
+public class CompactDirectedWeightedGraphTest
+    extends EnhancedTestCase
+{
+    //~ Instance fields --------------------------------------------------------
+
+    private String v1 = "v1";
+    private String v2 = "v2";
+    private String v3 = "v3";
+    private String v4 = "v4";
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testAddAndQuery()
+    {
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        assertTrue(g.addVertex(v1));
+        assertTrue(g.addVertex(v2));
+        assertTrue(g.addVertex(v3));
+        assertFalse(g.addVertex(v1));
+
+        DefaultWeightedEdge e12 = Graphs.addEdge(g, v1, v2, 2.0);
+        DefaultWeightedEdge e23 = Graphs.addEdge(g, v2, v3, 3.0);
+        DefaultWeightedEdge e33 = g.addEdge(v3, v3);
+
+        // multiple edges are not allowed, loops are
+        assertNull(g.addEdge(v1, v2));
+        assertNotNull(e33);
+
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(3, g.edgeSet().size());
+        assertEquals(2.0, g.getEdgeWeight(e12));
+        assertEquals(WeightedGraph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e33));
+        g.setEdgeWeight(e33, 7.0);
+        assertEquals(7.0, g.getEdgeWeight(e33));
+
+        assertEquals(v1, g.getEdgeSource(e12));
+        assertEquals(v2, g.getEdgeTarget(e12));
+        assertSame(e23, g.getEdge(v2, v3));
+        assertNull(g.getEdge(v3, v2));
+        assertNull(g.getEdge(v1, v4));
+        assertTrue(g.containsEdge(v1, v2));
+        assertFalse(g.containsEdge(v2, v1));
+        assertEquals(Collections.singleton(e12), g.getAllEdges(v1, v2));
+        assertTrue(g.getAllEdges(v2, v1).isEmpty());
+        assertNull(g.getAllEdges(v1, v4));
+
+        assertEquals(1, g.outDegreeOf(v2));
+        assertEquals(1, g.inDegreeOf(v2));
+        assertEquals(2, g.inDegreeOf(v3));
+        assertEquals(1, g.outDegreeOf(v3));
+        assertEquals(
+            new HashSet<>(Arrays.asList(e12, e23)),
+            new HashSet<>(g.edgesOf(v2)));
+        assertEquals(2, g.edgesOf(v3).size());
+        assertTrue(g.outgoingEdgesOf(v2).contains(e23));
+        assertFalse(g.outgoingEdgesOf(v2).contains(e12));
+        assertTrue(g.incomingEdgesOf(v2).contains(e12));
+
+        try {
+            g.outgoingEdgesOf(v4);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            g.addEdge(v1, v4);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            g.outgoingEdgesOf(v1).clear();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+    }
+
+    public void testRemove()
+    {
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3, v4));
+        DefaultWeightedEdge e12 = g.addEdge(v1, v2);
+        DefaultWeightedEdge e13 = g.addEdge(v1, v3);
+        DefaultWeightedEdge e14 = g.addEdge(v1, v4);
+        DefaultWeightedEdge e44 = g.addEdge(v4, v4);
+        DefaultWeightedEdge e43 = g.addEdge(v4, v3);
+
+        // views stay attached to their vertex
+        Set<DefaultWeightedEdge> out4 = g.outgoingEdgesOf(v4);
+
+        assertTrue(g.removeEdge(e13));
+        assertFalse(g.removeEdge(e13));
+        assertEquals(Arrays.asList(e12, e14), new ArrayList<>(
+            g.outgoingEdgesOf(v1)));
+
+        assertTrue(g.removeVertex(v1));
+        assertFalse(g.containsEdge(e12));
+        assertFalse(g.containsEdge(e14));
+        assertEquals(3, g.vertexSet().size());
+        assertEquals(2, g.edgeSet().size());
+        assertEquals(v4, g.getEdgeSource(e43));
+        assertEquals(v3, g.getEdgeTarget(e43));
+        assertEquals(new HashSet<>(Arrays.asList(e44, e43)), new HashSet<>(
+            out4));
+
+        assertSame(e44, g.removeEdge(v4, v4));
+        assertNull(g.removeEdge(v4, v4));
+        assertEquals(Collections.singleton(e43), new HashSet<>(out4));
+        assertTrue(g.removeVertex(v3));
+        assertTrue(out4.isEmpty());
+        assertEquals(0, g.edgeSet().size());
+    }
+
+    public void testIteratorFailsFast()
+    {
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        try {
+            for (String v : g.vertexSet()) {
+                g.removeVertex(v);
+            }
+            fail();
+        } catch (ConcurrentModificationException e) {
+        }
+    }
+
+    /**
+     * Applies the same random modifications to a compact and a default graph
+     * and compares them.
+     */
+    public void testRandomModifications()
+    {
+        Random rnd = new Random(17);
+        CompactDirectedWeightedGraph<Integer, DefaultWeightedEdge> compact =
+            new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        DefaultDirectedWeightedGraph<Integer, DefaultWeightedEdge> reference =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+
+        for (int step = 0; step < 5000; step++) {
+            int u = rnd.nextInt(50);
+            int v = rnd.nextInt(50);
+            switch (rnd.nextInt(6)) {
+            case 0:
+                assertEquals(reference.addVertex(u), compact.addVertex(u));
+                break;
+            case 1:
+                assertEquals(
+                    reference.removeVertex(u),
+                    compact.removeVertex(u));
+                break;
+            case 2:
+            case 3:
+                if (reference.containsVertex(u)
+                    && reference.containsVertex(v))
+                {
+                    DefaultWeightedEdge e = new DefaultWeightedEdge();
+                    assertEquals(
+                        reference.addEdge(u, v, e),
+                        compact.addEdge(u, v, e));
+                }
+                break;
+            case 4:
+                assertEquals(
+                    reference.removeEdge(u, v),
+                    compact.removeEdge(u, v));
+                break;
+            default:
+                assertEquals(
+                    reference.getEdge(u, v),
+                    compact.getEdge(u, v));
+            }
+        }
+        assertSameGraph(reference, compact);
+        CompactDirectedWeightedGraph<Integer, DefaultWeightedEdge> copy =
+            TypeUtil.uncheckedCast(compact.clone(), null);
+        assertSameGraph(reference, copy);
+    }
+
+    public void testAddEdges()
+    {
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3, v4));
+        DefaultWeightedEdge e12 = g.addEdge(v1, v2);
+
+        g.addEdges(
+            4,
+            Arrays.stream(new int[] { 1, 2, 3, 0 }).iterator()::nextInt,
+            Arrays.stream(new int[] { 2, 2, 0, 3 }).iterator()::nextInt,
+            Arrays.stream(new double[] { 1, 2, 3, 4 }).iterator()::nextDouble);
+        assertEquals(5, g.edgeSet().size());
+        assertEquals(3.0, g.getEdgeWeight(g.getEdge(v4, v1)));
+        assertEquals(v3, g.getEdgeSource(g.getEdge(v3, v3)));
+        assertEquals(
+            Arrays.asList(e12, g.getEdge(v1, v4)),
+            new ArrayList<>(g.outgoingEdgesOf(v1)));
+        assertEquals(2, g.inDegreeOf(v3));
+
+        g.addEdges(0, null, null, null);
+        String expected = g.toString();
+
+        // parallel to an existing edge, within the batch and invalid vertex
+        int [][][] invalid = {
+            { { 2, 0 }, { 1, 1 } },
+            { { 1, 1 }, { 0, 0 } },
+            { { 3, 4 }, { 3, 1 } },
+        };
+        for (int [][] batch : invalid) {
+            try {
+                g.addEdges(
+                    2,
+                    Arrays.stream(batch[0]).iterator()::nextInt,
+                    Arrays.stream(batch[1]).iterator()::nextInt,
+                    null);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+            assertEquals(expected, g.toString());
+            assertEquals(2, g.outDegreeOf(v1));
+            assertEquals(1, g.inDegreeOf(v2));
+        }
+
+        // the same edge twice
+        DefaultWeightedEdge e = new DefaultWeightedEdge();
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> h =
+            new CompactDirectedWeightedGraph<>((s, t) -> e);
+        Graphs.addAllVertices(h, Arrays.asList(v1, v2));
+        try {
+            h.addEdges(2, () -> 0, () -> 1, null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        assertTrue(h.edgeSet().isEmpty());
+        assertEquals(0, h.outDegreeOf(v1));
+        h.addEdges(1, () -> 1, () -> 0, null);
+        assertSame(e, h.getEdge(v2, v1));
+
+        // a rejected batch keeps the weight of the edge already in the graph
+        try {
+            h.addEdges(1, () -> 0, () -> 1, () -> 7.0);
+            fail();
+        } catch (IllegalArgumentException ex) {
+        }
+        assertEquals(1, h.edgeSet().size());
+        assertEquals(WeightedGraph.DEFAULT_EDGE_WEIGHT, h.getEdgeWeight(e));
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        Graphs.addEdge(g, v1, v2, 5.0);
+        Graphs.addEdge(g, v2, v3, 1.0);
+        g.removeVertex(v1);
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        out.writeObject(g);
+        out.flush();
+        ObjectInputStream in =
+            new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()));
+        @SuppressWarnings("unchecked")
+        CompactDirectedWeightedGraph<String, DefaultWeightedEdge> copy =
+            (CompactDirectedWeightedGraph<String, DefaultWeightedEdge>) in
+            .readObject();
+
+        assertEquals(g.toString(), copy.toString());
+        assertTrue(copy.containsEdge(v2, v3));
+        assertTrue(copy.containsEdge(copy.getEdge(v2, v3)));
+        assertTrue(copy.addVertex(v1));
+        assertNotNull(copy.addEdge(v1, v2));
+    }
+
+    private static <V, E> void assertSameGraph(
+        DirectedGraph<V, E> expected,
+        DirectedGraph<V, E> actual)
+    {
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+        for (V v : expected.vertexSet()) {
+            assertEquals(
+                expected.outgoingEdgesOf(v),
+                actual.outgoingEdgesOf(v));
+            assertEquals(
+                expected.incomingEdgesOf(v),
+                actual.incomingEdgesOf(v));
+            assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+        }
+        for (E e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+        }
+    }
+}
+
+// End CompactDirectedWeightedGraphTest.java
@@ -0,0 +1,294 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------------
+ * ConcurrentDirectedGraphTest.java
+ * --------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.jgrapht.*;
+
+
+/**
+ * Tests for {@link ConcurrentDirectedGraph}.
+ */
+public class ConcurrentDirectedGraphTest
+    extends EnhancedTestCase
+{
+    //~ Instance fields --------------------------------------------------------
+
+    private String v1 = "v1";
+    private String v2 = "v2";
+    private String v3 = "v3";
+    private String v4 = "v4";
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testAddAndQuery()
+    {
+        ConcurrentDirectedGraph<String, DefaultEdge> g =
+            new ConcurrentDirectedGraph<>(DefaultEdge.class);
+        assertTrue(g.addVertex(v1));
+        assertTrue(g.addVertex(v2));
+        assertTrue(g.addVertex(v3));
+        assertFalse(g.addVertex(v1));
+
+        DefaultEdge e12 = g.addEdge(v1, v2);
+        DefaultEdge e23 = g.addEdge(v2, v3);
+        DefaultEdge e33 = g.addEdge(v3, v3);
+
+        // multiple edges are not allowed, loops are
+        assertNull(g.addEdge(v1, v2));
+        assertNotNull(e33);
+        assertEquals("(v1 : v2)", e12.toString());
+
+        assertEquals(3, g.edgeSet().size());
+        assertEquals(v1, g.getEdgeSource(e12));
+        assertEquals(v2, g.getEdgeTarget(e12));
+        assertSame(e23, g.getEdge(v2, v3));
+        assertNull(g.getEdge(v3, v2));
+        assertNull(g.getEdge(v1, v4));
+        assertEquals(Collections.singleton(e12), g.getAllEdges(v1, v2));
+        assertNull(g.getAllEdges(v1, v4));
+        assertEquals(2, g.inDegreeOf(v3));
+        assertEquals(Arrays.asList(e23, e33), new ArrayList<>(g.edgesOf(v3)));
+
+        // the edge sets are snapshots
+        Set<DefaultEdge> outgoing = g.outgoingEdgesOf(v2);
+        assertSame(e23, g.removeEdge(v2, v3));
+        assertEquals(Collections.singleton(e23), outgoing);
+        assertTrue(g.outgoingEdgesOf(v2).isEmpty());
+        assertFalse(g.removeEdge(e23));
+        try {
+            outgoing.clear();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            g.getEdgeSource(e23);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            g.addEdge(v1, v4);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        assertTrue(g.removeVertex(v2));
+        assertFalse(g.removeVertex(v2));
+        assertFalse(g.containsEdge(e12));
+        assertTrue(g.outgoingEdgesOf(v1).isEmpty());
+        assertEquals("([v1, v3], [(v3 : v3)])", sortedString(g));
+
+        ConcurrentDirectedGraph<String, DefaultEdge> multigraph =
+            new ConcurrentDirectedGraph<>(
+                new ClassBasedEdgeFactory<>(DefaultEdge.class),
+                true,
+                false);
+        Graphs.addAllVertices(multigraph, Arrays.asList(v1, v2));
+        assertNotNull(multigraph.addEdge(v1, v2));
+        assertNotNull(multigraph.addEdge(v1, v2));
+        assertEquals(2, multigraph.getAllEdges(v1, v2).size());
+        try {
+            multigraph.addEdge(v1, v1);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Applies the same random modifications to a concurrent and a default
+     * graph and compares them.
+     */
+    public void testRandomModifications()
+    {
+        Random rnd = new Random(17);
+        ConcurrentDirectedGraph<Integer, DefaultEdge> concurrent =
+            new ConcurrentDirectedGraph<>(DefaultEdge.class);
+        DefaultDirectedGraph<Integer, DefaultEdge> reference =
+            new DefaultDirectedGraph<>(DefaultEdge.class);
+
+        for (int step = 0; step < 5000; step++) {
+            int u = rnd.nextInt(50);
+            int v = rnd.nextInt(50);
+            switch (rnd.nextInt(6)) {
+            case 0:
+                assertEquals(reference.addVertex(u), concurrent.addVertex(u));
+                break;
+            case 1:
+                assertEquals(
+                    reference.removeVertex(u),
+                    concurrent.removeVertex(u));
+                break;
+            case 2:
+            case 3:
+                if (reference.containsVertex(u)
+                    && reference.containsVertex(v))
+                {
+                    DefaultEdge e = new DefaultEdge();
+                    assertEquals(
+                        reference.addEdge(u, v, e),
+                        concurrent.addEdge(u, v, e));
+                }
+                break;
+            case 4:
+                assertEquals(
+                    reference.removeEdge(u, v),
+                    concurrent.removeEdge(u, v));
+                break;
+            default:
+                assertEquals(
+                    reference.getEdge(u, v),
+                    concurrent.getEdge(u, v));
+            }
+        }
+
+        assertEquals(reference.vertexSet(), concurrent.vertexSet());
+        assertEquals(reference.edgeSet(), concurrent.edgeSet());
+        for (Integer v : reference.vertexSet()) {
+            assertEquals(
+                reference.outgoingEdgesOf(v),
+                concurrent.outgoingEdgesOf(v));
+            assertEquals(
+                reference.incomingEdgesOf(v),
+                concurrent.incomingEdgesOf(v));
+            assertEquals(
+                new ArrayList<>(reference.edgesOf(v)),
+                new ArrayList<>(concurrent.edgesOf(v)));
+        }
+    }
+
+    /**
+     * Lets several threads add and remove edges and vertices while others
+     * read, and checks that the graph is consistent, both while being read
+     * and afterwards.
+     */
+    public void testConcurrentModifications()
+        throws Exception
+    {
+        int vertices = 64;
+        int threads = 8;
+        ConcurrentDirectedGraph<Integer, DefaultEdge> g =
+            new ConcurrentDirectedGraph<>(DefaultEdge.class);
+        for (int v = 0; v < vertices; v++) {
+            g.addVertex(v);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        AtomicInteger readErrors = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            boolean reader = (t % 4 == 3);
+            futures.add(executor.submit(() -> {
+                Random rnd = new Random(seed);
+                for (int step = 0; step < 20000; step++) {
+                    int u = rnd.nextInt(vertices);
+                    int v = rnd.nextInt(vertices);
+                    try {
+                        if (reader) {
+                            for (DefaultEdge e : g.outgoingEdgesOf(u)) {
+                                if (!Integer.valueOf(u).equals(
+                                        e.getSource()))
+                                {
+                                    readErrors.incrementAndGet();
+                                }
+
+                                // edges are detached before their endpoints
+                                if (!g.containsVertex((Integer) e.getTarget())
+                                    && g.containsEdge(e))
+                                {
+                                    readErrors.incrementAndGet();
+                                }
+                            }
+                            continue;
+                        }
+                        switch (rnd.nextInt(10)) {
+                        case 0:
+                            g.removeVertex(u);
+                            break;
+                        case 1:
+                            g.addVertex(u);
+                            break;
+                        case 2:
+                        case 3:
+                        case 4:
+                            g.removeEdge(u, v);
+                            break;
+                        default:
+                            g.addEdge(u, v);
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // an endpoint was removed concurrently
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(0, readErrors.get());
+        int outDegrees = 0;
+        int inDegrees = 0;
+        for (Integer v : g.vertexSet()) {
+            outDegrees += g.outDegreeOf(v);
+            inDegrees += g.inDegreeOf(v);
+            for (DefaultEdge e : g.outgoingEdgesOf(v)) {
+                assertEquals(v, g.getEdgeSource(e));
+                assertTrue(g.incomingEdgesOf(g.getEdgeTarget(e)).contains(e));
+                assertEquals(1, g.getAllEdges(v, g.getEdgeTarget(e)).size());
+            }
+        }
+        assertEquals(g.edgeSet().size(), outDegrees);
+        assertEquals(g.edgeSet().size(), inDegrees);
+        for (DefaultEdge e : g.edgeSet()) {
+            assertTrue(g.containsVertex(g.getEdgeSource(e)));
+            assertTrue(g.containsVertex(g.getEdgeTarget(e)));
+        }
+    }
+
+    private static String sortedString(Graph<String, DefaultEdge> g)
+    {
+        return "(" + new TreeSet<>(g.vertexSet()) + ", " + g.edgeSet() + ")";
+    }
+}
+
+// End ConcurrentDirectedGraphTest.java
@@ -0,0 +1,272 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * CsrGraphTest.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+
+import org.jgrapht.*;
+
+
+/**
+ * Tests for {@link CsrDirectedGraph} and {@link CsrUndirectedGraph}.
+ */
+public class CsrGraphTest
+    extends EnhancedTestCase
+{
+    //~ Instance fields --------------------------------------------------------
+
+    private String v1 = "v1";
+    private String v2 = "v2";
+    private String v3 = "v3";
+    private String v4 = "v4";
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testFreezeDirected()
+    {
+        DirectedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3, v4));
+        DefaultWeightedEdge e12 = g.addEdge(v1, v2);
+        DefaultWeightedEdge e12b = g.addEdge(v1, v2);
+        DefaultWeightedEdge e23 = g.addEdge(v2, v3);
+        DefaultWeightedEdge e33 = g.addEdge(v3, v3);
+        DefaultWeightedEdge e31 = g.addEdge(v3, v1);
+        g.setEdgeWeight(e23, 4.0);
+
+        CsrDirectedGraph<String, DefaultWeightedEdge> frozen =
+            Graphs.freeze(g);
+        assertSame(frozen, Graphs.freeze(frozen));
+        assertSame(frozen, Graphs.freeze((Graph<String, DefaultWeightedEdge>)
+            frozen));
+        assertSameGraph(g, frozen);
+
+        // the weights are a snapshot
+        g.setEdgeWeight(e23, 5.0);
+        assertEquals(4.0, frozen.getEdgeWeight(e23));
+        assertEquals(
+            WeightedGraph.DEFAULT_EDGE_WEIGHT,
+            frozen.getEdgeWeight(e12));
+
+        assertEquals(
+            new HashSet<>(Arrays.asList(e12, e12b)),
+            frozen.getAllEdges(v1, v2));
+        assertTrue(frozen.getAllEdges(v2, v1).isEmpty());
+        assertNull(frozen.getAllEdges(v1, "v5"));
+        assertSame(e23, frozen.getEdge(v2, v3));
+        assertNull(frozen.getEdge(v3, v2));
+        assertSame(e33, frozen.getEdge(v3, v3));
+        assertEquals(3, frozen.edgesOf(v3).size());
+        assertTrue(frozen.edgesOf(v4).isEmpty());
+        assertTrue(frozen.edgesOf(v1).contains(e31));
+        assertFalse(frozen.edgesOf(v1).contains(e23));
+        assertSame(frozen.outgoingEdgesOf(v1), frozen.outgoingEdgesOf(v1));
+
+        // index based access
+        int v = frozen.indexOfVertex(v1);
+        assertEquals(v1, frozen.getVertexAt(v));
+        assertEquals(-1, frozen.indexOfVertex("v5"));
+        Set<DefaultWeightedEdge> out = new HashSet<>();
+        for (int p = frozen.outgoingStart(v); p < frozen.outgoingEnd(v); p++)
+        {
+            int e = frozen.outgoingEdge(p);
+            assertEquals(
+                frozen.indexOfVertex(v2),
+                frozen.getOppositeVertexAt(e, v));
+            out.add(frozen.getEdgeAt(e));
+        }
+        assertEquals(g.outgoingEdgesOf(v1), out);
+        int e = frozen.indexOfEdge(e23);
+        assertEquals(frozen.indexOfVertex(v2), frozen.getEdgeSourceAt(e));
+        assertEquals(frozen.indexOfVertex(v3), frozen.getEdgeTargetAt(e));
+        assertEquals(4.0, frozen.getEdgeWeightAt(e));
+    }
+
+    public void testFreezeUndirected()
+    {
+        Pseudograph<String, DefaultEdge> g =
+            new Pseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3, v4));
+        DefaultEdge e12 = g.addEdge(v1, v2);
+        g.addEdge(v2, v1);
+        DefaultEdge e22 = g.addEdge(v2, v2);
+        DefaultEdge e23 = g.addEdge(v2, v3);
+
+        CsrUndirectedGraph<String, DefaultEdge> frozen = Graphs.freeze(g);
+        assertSame(frozen, Graphs.freeze(frozen));
+        assertEquals(g.vertexSet(), frozen.vertexSet());
+        assertEquals(g.edgeSet(), frozen.edgeSet());
+        for (String v : g.vertexSet()) {
+            assertEquals(g.degreeOf(v), frozen.degreeOf(v));
+            assertEquals(g.edgesOf(v), frozen.edgesOf(v));
+        }
+        assertEquals(5, frozen.degreeOf(v2));
+        assertEquals(g.getAllEdges(v2, v1), frozen.getAllEdges(v2, v1));
+        assertSame(e22, frozen.getEdge(v2, v2));
+        assertSame(e23, frozen.getEdge(v3, v2));
+        assertNull(frozen.getEdge(v1, v3));
+        assertTrue(frozen.containsEdge(v2, v1));
+
+        int v = frozen.indexOfVertex(v1);
+        assertEquals(
+            frozen.outgoingEnd(v) - frozen.outgoingStart(v),
+            frozen.incomingEnd(v) - frozen.incomingStart(v));
+        assertEquals(
+            frozen.indexOfVertex(v2),
+            frozen.getOppositeVertexAt(frozen.indexOfEdge(e12), v));
+    }
+
+    public void testUnmodifiable()
+    {
+        DefaultDirectedGraph<String, DefaultEdge> g =
+            new DefaultDirectedGraph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2));
+        DefaultEdge e12 = g.addEdge(v1, v2);
+        CsrGraph<String, DefaultEdge> frozen =
+            Graphs.freeze((Graph<String, DefaultEdge>) g);
+        assertTrue(frozen instanceof DirectedGraph<?, ?>);
+
+        try {
+            frozen.addVertex(v3);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            frozen.removeEdge(e12);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            frozen.edgesOf(v1).clear();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            frozen.edgesOf(v3);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            frozen.getEdgeSource(new DefaultEdge());
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testRandomGraph()
+    {
+        Random rnd = new Random(29);
+        DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g =
+            new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+        for (int i = 0; i < 100; i++) {
+            g.addVertex(i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Graphs.addEdge(g, rnd.nextInt(100), rnd.nextInt(100), i);
+        }
+        assertSameGraph(g, Graphs.freeze(g));
+
+        UndirectedGraph<Integer, DefaultWeightedEdge> undirected =
+            new AsUndirectedGraph<>(g);
+        CsrUndirectedGraph<Integer, DefaultWeightedEdge> frozen =
+            Graphs.freeze(undirected);
+        for (Integer v : undirected.vertexSet()) {
+            assertEquals(undirected.degreeOf(v), frozen.degreeOf(v));
+            assertEquals(
+                new HashSet<>(undirected.edgesOf(v)),
+                frozen.edgesOf(v));
+        }
+        for (DefaultWeightedEdge e : g.edgeSet()) {
+            assertEquals(g.getEdgeWeight(e), frozen.getEdgeWeight(e));
+        }
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        DefaultDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        Graphs.addEdge(g, v1, v2, 5.0);
+        Graphs.addEdge(g, v2, v3, 1.0);
+        CsrDirectedGraph<String, DefaultWeightedEdge> frozen =
+            Graphs.freeze(g);
+        frozen.outgoingEdgesOf(v1);
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        out.writeObject(frozen);
+        out.flush();
+        ObjectInputStream in =
+            new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()));
+        @SuppressWarnings("unchecked")
+        CsrDirectedGraph<String, DefaultWeightedEdge> copy =
+            (CsrDirectedGraph<String, DefaultWeightedEdge>) in.readObject();
+
+        assertEquals(frozen.toString(), copy.toString());
+        assertEquals(5.0, copy.getEdgeWeight(copy.getEdge(v1, v2)));
+        assertEquals(1, copy.incomingEdgesOf(v3).size());
+    }
+
+    private static <V, E> void assertSameGraph(
+        DirectedGraph<V, E> expected,
+        DirectedGraph<V, E> actual)
+    {
+        assertEquals(expected.vertexSet(), actual.vertexSet());
+        assertEquals(expected.edgeSet(), actual.edgeSet());
+        for (V v : expected.vertexSet()) {
+            assertEquals(
+                expected.outgoingEdgesOf(v),
+                actual.outgoingEdgesOf(v));
+            assertEquals(
+                expected.incomingEdgesOf(v),
+                actual.incomingEdgesOf(v));
+            assertEquals(expected.edgesOf(v), actual.edgesOf(v));
+            assertEquals(expected.outDegreeOf(v), actual.outDegreeOf(v));
+            assertEquals(expected.inDegreeOf(v), actual.inDegreeOf(v));
+        }
+        for (E e : expected.edgeSet()) {
+            assertEquals(expected.getEdgeSource(e), actual.getEdgeSource(e));
+            assertEquals(expected.getEdgeTarget(e), actual.getEdgeTarget(e));
+            assertEquals(expected.getEdgeWeight(e), actual.getEdgeWeight(e));
+        }
+    }
+}
+
+// End CsrGraphTest.java
@@ -39,6 +39,7 @@ package org.jgrapht.graph;
 import java.util.*;
 
 import org.jgrapht.*;
+import org.jgrapht.graph.specifics.*;
 
 
 /**
@@ -116,6 +117,189 @@ public class DefaultDirectedGraphTest
         assertEquals(2, g.edgesOf(v3).size());
     }
 
+    /**
+     * .
+     */
+    public void testEdgesOfWithLoops()
+    {
+        DirectedPseudograph<String, DefaultEdge> g =
+            new DirectedPseudograph<>(DefaultEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        DefaultEdge e11 = g.addEdge(v1, v1);
+        DefaultEdge e21 = g.addEdge(v2, v1);
+        DefaultEdge e12 = g.addEdge(v1, v2);
+        DefaultEdge e11b = g.addEdge(v1, v1);
+        DefaultEdge e31 = g.addEdge(v3, v1);
+
+        // incoming edges without loops, followed by the outgoing edges
+        assertEquals(
+            Arrays.asList(e21, e31, e11, e12, e11b),
+            new ArrayList<>(g.edgesOf(v1)));
+    }
+
+    /**
+     * .
+     */
+    public void testForEachEdge()
+    {
+        DirectedPseudograph<String, DefaultWeightedEdge> g =
+            new DirectedPseudograph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        g.addEdge(v1, v2);
+        g.addEdge(v2, v1);
+        g.addEdge(v1, v1);
+        g.addEdge(v2, v3);
+        g.addEdge(v3, v1);
+        g.addEdge(v1, v2);
+
+        List<DirectedGraph<String, DefaultWeightedEdge>> graphs =
+            Arrays.asList(
+                g,
+                new EdgeReversedGraph<>(g),
+                new UnmodifiableDirectedGraph<>(g),
+                Graphs.freeze(g));
+        for (DirectedGraph<String, DefaultWeightedEdge> graph : graphs) {
+            for (String v : graph.vertexSet()) {
+                List<DefaultWeightedEdge> visited = new ArrayList<>();
+                graph.forEachEdgeOf(v, visited::add);
+                assertEquals(new ArrayList<>(graph.edgesOf(v)), visited);
+
+                visited.clear();
+                graph.forEachOutgoingEdge(v, visited::add);
+                assertEquals(
+                    new ArrayList<>(graph.outgoingEdgesOf(v)),
+                    visited);
+
+                visited.clear();
+                graph.forEachIncomingEdge(v, visited::add);
+                assertEquals(
+                    new ArrayList<>(graph.incomingEdgesOf(v)),
+                    visited);
+            }
+        }
+
+        UndirectedGraph<String, DefaultWeightedEdge> undirected =
+            new AsUndirectedGraph<>(g);
+        List<DefaultWeightedEdge> visited = new ArrayList<>();
+        undirected.forEachEdgeOf(v1, visited::add);
+        assertEquals(new ArrayList<>(undirected.edgesOf(v1)), visited);
+
+        try {
+            g.forEachOutgoingEdge("v4", visited::add);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Tests the edge retrieval at vertices whose edges are indexed.
+     */
+    public void testHighDegreeVertices()
+    {
+        DirectedPseudograph<Integer, DefaultEdge> directed =
+            new DirectedPseudograph<>(DefaultEdge.class);
+        Pseudograph<Integer, DefaultEdge> undirected =
+            new Pseudograph<>(DefaultEdge.class);
+
+        // graphs which only index the edges of high-degree vertices
+        DirectedPseudograph<Integer, DefaultEdge> plainDirected =
+            new DirectedPseudograph<Integer, DefaultEdge>(DefaultEdge.class) {
+                private static final long serialVersionUID = 1L;
+
+                @Override protected Specifics<Integer, DefaultEdge>
+                createDirectedSpecifics()
+                {
+                    return new DirectedSpecifics<>(this);
+                }
+            };
+        Pseudograph<Integer, DefaultEdge> plainUndirected =
+            new Pseudograph<Integer, DefaultEdge>(DefaultEdge.class) {
+                private static final long serialVersionUID = 1L;
+
+                @Override protected Specifics<Integer, DefaultEdge>
+                createUndirectedSpecifics()
+                {
+                    return new UndirectedSpecifics<>(this);
+                }
+            };
+        List<Graph<Integer, DefaultEdge>> graphs =
+            Arrays.asList(directed, undirected, plainDirected, plainUndirected);
+        Random rnd = new Random(7);
+
+        for (Graph<Integer, DefaultEdge> g : graphs) {
+            for (int i = 0; i < 10; i++) {
+                g.addVertex(i);
+            }
+            Set<DefaultEdge> hubEdges = (g instanceof DirectedGraph<?, ?>)
+                ? ((DirectedGraph<Integer, DefaultEdge>) g).outgoingEdgesOf(0)
+                : g.edgesOf(0);
+            List<DefaultEdge> expected = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int u = (i % 3 == 0) ? rnd.nextInt(10) : 0;
+                int v = (i % 3 == 0) ? 0 : rnd.nextInt(10);
+                expected.add(g.addEdge(u, v));
+            }
+            for (int i = 0; i < 100; i++) {
+                DefaultEdge e = expected.remove(rnd.nextInt(expected.size()));
+                assertTrue(g.removeEdge(e));
+                assertFalse(g.edgesOf(0).contains(e));
+            }
+
+            // views handed out before the vertex got indexed stay valid
+            Set<DefaultEdge> expectedHubEdges = new HashSet<>();
+            for (int v = 0; v < 10; v++) {
+                expectedHubEdges.addAll(g.getAllEdges(0, v));
+            }
+            assertEquals(expectedHubEdges, hubEdges);
+            try {
+                hubEdges.iterator().remove();
+                fail();
+            } catch (UnsupportedOperationException e) {
+            } catch (IllegalStateException e) {
+                fail();
+            }
+
+            for (int u = 0; u < 10; u++) {
+                for (int v = 0; v < 10; v++) {
+                    Set<DefaultEdge> all = new LinkedHashSet<>();
+                    for (DefaultEdge e : expected) {
+                        if (connects(g, e, u, v)) {
+                            all.add(e);
+                        }
+                    }
+                    assertEquals(all, g.getAllEdges(u, v));
+                    if (all.isEmpty()) {
+                        assertNull(g.getEdge(u, v));
+                    } else {
+                        assertSame(all.iterator().next(), g.getEdge(u, v));
+                    }
+                }
+            }
+        }
+
+        // the relative order of the edges is preserved
+        List<DefaultEdge> outgoing = new ArrayList<>();
+        for (DefaultEdge e : directed.edgeSet()) {
+            if (directed.getEdgeSource(e) == 0) {
+                outgoing.add(e);
+            }
+        }
+        assertEquals(outgoing, new ArrayList<>(directed.outgoingEdgesOf(0)));
+    }
+
+    private static boolean connects(
+        Graph<Integer, DefaultEdge> g,
+        DefaultEdge e,
+        int u,
+        int v)
+    {
+        int source = g.getEdgeSource(e);
+        int target = g.getEdgeTarget(e);
+        return ((source == u) && (target == v))
+            || (!(g instanceof DirectedGraph<?, ?>) && (source == v)
+                && (target == u));
+    }
+
     /**
      * .
      */
@@ -56,6 +56,7 @@ public class ListenableGraphTest
 
     DefaultEdge lastAddedEdge;
     DefaultEdge lastRemovedEdge;
+    DefaultEdge lastUpdatedEdge;
     Object lastAddedVertex;
     Object lastRemovedVertex;
 
@@ -219,9 +220,11 @@ public class ListenableGraphTest
         init();
 
         DefaultWeightedEdge e = g.addEdge(v1, v2);
+        assertEquals(null, lastUpdatedEdge);
         g.setEdgeWeight(e, 10.0);
         assertEquals(10.0, g.getEdgeWeight(e));
         assertEquals(e, lastAddedEdge);
+        assertEquals(e, lastUpdatedEdge);
         assertEquals(null, lastRemovedEdge);
     }
 
@@ -231,6 +234,7 @@ public class ListenableGraphTest
         lastAddedVertex = null;
         lastRemovedEdge = null;
         lastRemovedVertex = null;
+        lastUpdatedEdge = null;
     }
 
     //~ Inner Classes ----------------------------------------------------------
@@ -262,6 +266,15 @@ public class ListenableGraphTest
             lastRemovedEdge = e.getEdge();
         }
 
+        /**
+         * @see GraphListener#edgeWeightUpdated(GraphEdgeChangeEvent)
+         */
+        @Override
+        public void edgeWeightUpdated(GraphEdgeChangeEvent<Object, E> e)
+        {
+            lastUpdatedEdge = e.getEdge();
+        }
+
         /**
          * @see VertexSetListener#vertexAdded(GraphVertexChangeEvent)
          */
@@ -0,0 +1,343 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------------------
+ * VersionedDirectedWeightedGraphTest.java
+ * ---------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.graph;
+
+import java.io.*;
+import java.util.*;
+
+import org.jgrapht.*;
+
+
+/**
+ * Tests for {@link VersionedDirectedWeightedGraph}.
+ */
+public class VersionedDirectedWeightedGraphTest
+    extends EnhancedTestCase
+{
+    //~ Instance fields --------------------------------------------------------
+
+    private String v1 = "v1";
+    private String v2 = "v2";
+    private String v3 = "v3";
+    private String v4 = "v4";
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testAddAndQuery()
+    {
+        VersionedDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new VersionedDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        assertTrue(g.addVertex(v1));
+        assertTrue(g.addVertex(v2));
+        assertTrue(g.addVertex(v3));
+        assertFalse(g.addVertex(v1));
+        assertEquals(3, g.getVersion());
+
+        DefaultWeightedEdge e12 = Graphs.addEdge(g, v1, v2, 2.0);
+        DefaultWeightedEdge e23 = g.addEdge(v2, v3);
+        DefaultWeightedEdge e33 = g.addEdge(v3, v3);
+
+        // multiple edges are not allowed, loops are
+        assertNull(g.addEdge(v1, v2));
+        assertNotNull(e33);
+
+        assertEquals(3, g.edgeSet().size());
+        assertEquals(2.0, g.getEdgeWeight(e12));
+        assertEquals(WeightedGraph.DEFAULT_EDGE_WEIGHT, g.getEdgeWeight(e23));
+        assertEquals(v1, g.getEdgeSource(e12));
+        assertEquals(v2, g.getEdgeTarget(e12));
+        assertSame(e23, g.getEdge(v2, v3));
+        assertNull(g.getEdge(v3, v2));
+        assertNull(g.getEdge(v1, v4));
+        assertEquals(Collections.singleton(e12), g.getAllEdges(v1, v2));
+        assertTrue(g.getAllEdges(v2, v1).isEmpty());
+        assertNull(g.getAllEdges(v1, v4));
+        assertEquals(2, g.inDegreeOf(v3));
+        assertEquals(Arrays.asList(e23, e33), new ArrayList<>(g.edgesOf(v3)));
+        assertEquals(Arrays.asList(e12, e23), new ArrayList<>(g.edgesOf(v2)));
+
+        try {
+            g.addEdge(v1, v4);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            g.outgoingEdgesOf(v1).clear();
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+
+        assertTrue(g.removeVertex(v3));
+        assertFalse(g.removeVertex(v3));
+        assertFalse(g.containsEdge(e23));
+        assertFalse(g.containsEdge(e33));
+        assertTrue(g.outgoingEdgesOf(v2).isEmpty());
+        assertEquals(Collections.singleton(e12), g.edgeSet());
+        assertSame(e12, g.removeEdge(v1, v2));
+        assertNull(g.removeEdge(v1, v2));
+        assertTrue(g.edgeSet().isEmpty());
+    }
+
+    public void testSnapshots()
+    {
+        VersionedDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new VersionedDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        DefaultWeightedEdge e12 = Graphs.addEdge(g, v1, v2, 2.0);
+        DefaultWeightedEdge e23 = Graphs.addEdge(g, v2, v3, 3.0);
+
+        VersionedDirectedWeightedGraph.Snapshot<String, DefaultWeightedEdge>
+            snapshot = g.snapshot();
+        String expected = snapshot.toString();
+        assertEquals(g.getVersion(), snapshot.getVersion());
+        assertEquals(g.snapshot(), snapshot);
+
+        // neither modifications nor weight changes show in the snapshot
+        Iterator<String> vertices = g.vertexSet().iterator();
+        g.setEdgeWeight(e12, 5.0);
+        g.removeVertex(v3);
+        g.addVertex(v4);
+        g.addEdge(v4, v1);
+        vertices.next();
+        vertices.next();
+        vertices.next();
+        assertFalse(vertices.hasNext());
+
+        assertEquals(expected, snapshot.toString());
+        assertEquals(2.0, snapshot.getEdgeWeight(e12));
+        assertEquals(5.0, g.getEdgeWeight(e12));
+        assertEquals(3.0, snapshot.getEdgeWeight(e23));
+        assertTrue(snapshot.containsVertex(v3));
+        assertFalse(snapshot.containsVertex(v4));
+        assertEquals(1, snapshot.inDegreeOf(v3));
+        assertEquals(0, snapshot.inDegreeOf(v1));
+        assertEquals(1, g.inDegreeOf(v1));
+        assertTrue(snapshot.getVersion() < g.getVersion());
+
+        try {
+            snapshot.addVertex(v4);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            snapshot.setEdgeWeight(e12, 1.0);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        try {
+            g.getEdgeWeight(e23);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    /**
+     * Applies the same random modifications to a versioned and a default
+     * graph, takes snapshots in between and compares them to copies of the
+     * default graph.
+     */
+    public void testRandomModifications()
+    {
+        Random rnd = new Random(17);
+        VersionedDirectedWeightedGraph<Integer, DefaultWeightedEdge> versioned =
+            new VersionedDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        DefaultDirectedWeightedGraph<Integer, DefaultWeightedEdge> reference =
+            new DefaultDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        List<DirectedGraph<Integer, DefaultWeightedEdge>> snapshots =
+            new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int u = rnd.nextInt(50);
+            int v = rnd.nextInt(50);
+            switch (rnd.nextInt(6)) {
+            case 0:
+                assertEquals(reference.addVertex(u), versioned.addVertex(u));
+                break;
+            case 1:
+                assertEquals(
+                    reference.removeVertex(u),
+                    versioned.removeVertex(u));
+                break;
+            case 2:
+            case 3:
+                if (reference.containsVertex(u)
+                    && reference.containsVertex(v))
+                {
+                    DefaultWeightedEdge e = new DefaultWeightedEdge();
+                    assertEquals(
+                        reference.addEdge(u, v, e),
+                        versioned.addEdge(u, v, e));
+                }
+                break;
+            case 4:
+                assertEquals(
+                    reference.removeEdge(u, v),
+                    versioned.removeEdge(u, v));
+                break;
+            default:
+                assertEquals(
+                    reference.getEdge(u, v),
+                    versioned.getEdge(u, v));
+            }
+            if (step % 500 == 0) {
+                snapshots.add(versioned.snapshot());
+                expected.add(describe(reference));
+            }
+        }
+
+        assertEquals(describe(reference), describe(versioned));
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertEquals(expected.get(i), describe(snapshots.get(i)));
+        }
+    }
+
+    /**
+     * Tests vertices whose hash codes collide in the underlying tries.
+     */
+    public void testHashCollisions()
+    {
+        VersionedDirectedWeightedGraph<Collider, DefaultWeightedEdge> g =
+            new VersionedDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        List<Collider> vertices = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Collider v = new Collider(i, (i % 3 == 0) ? 42 : (i * 31));
+            vertices.add(v);
+            assertTrue(g.addVertex(v));
+        }
+        for (int i = 0; i < 300; i++) {
+            g.addEdge(vertices.get(i), vertices.get((i * 7) % 300));
+        }
+        assertEquals(new HashSet<>(vertices), new HashSet<>(g.vertexSet()));
+        assertEquals(300, g.edgeSet().size());
+
+        VersionedDirectedWeightedGraph.Snapshot<Collider, DefaultWeightedEdge>
+            snapshot = g.snapshot();
+        for (int i = 0; i < 300; i += 2) {
+            assertTrue(g.removeVertex(vertices.get(i)));
+        }
+        for (int i = 0; i < 300; i++) {
+            Collider v = vertices.get(i);
+            assertEquals((i % 2) != 0, g.containsVertex(v));
+            assertTrue(snapshot.containsVertex(v));
+            assertNotNull(snapshot.getEdge(v, vertices.get((i * 7) % 300)));
+        }
+        assertEquals(150, g.vertexSet().size());
+        assertEquals(300, snapshot.vertexSet().size());
+        int count = 0;
+        for (Collider v : g.vertexSet()) {
+            assertTrue(g.containsVertex(v));
+            count++;
+        }
+        assertEquals(150, count);
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        VersionedDirectedWeightedGraph<String, DefaultWeightedEdge> g =
+            new VersionedDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+        Graphs.addAllVertices(g, Arrays.asList(v1, v2, v3));
+        Graphs.addEdge(g, v1, v2, 5.0);
+        Graphs.addEdge(g, v2, v3, 1.0);
+
+        ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bout);
+        out.writeObject(g);
+        out.flush();
+        ObjectInputStream in =
+            new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()));
+        @SuppressWarnings("unchecked")
+        VersionedDirectedWeightedGraph<String, DefaultWeightedEdge> copy =
+            (VersionedDirectedWeightedGraph<String, DefaultWeightedEdge>) in
+            .readObject();
+
+        assertEquals(describe(g), describe(copy));
+        DefaultWeightedEdge e12 = copy.getEdge(v1, v2);
+        assertTrue(copy.containsEdge(e12));
+        assertEquals(5.0, copy.getEdgeWeight(e12));
+        assertTrue(copy.removeEdge(e12));
+        assertNotNull(copy.addEdge(v3, v1));
+    }
+
+    private static <V, E> String describe(DirectedGraph<V, E> g)
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append(new TreeSet<>(g.vertexSet()));
+        for (V v : new TreeSet<>(g.vertexSet())) {
+            sb.append(' ').append(v).append(':');
+            for (E e : g.outgoingEdgesOf(v)) {
+                sb.append(g.getEdgeTarget(e)).append(',');
+            }
+            sb.append('/');
+            for (E e : g.incomingEdgesOf(v)) {
+                sb.append(g.getEdgeSource(e)).append(',');
+            }
+        }
+        return sb.toString();
+    }
+
+    //~ Inner Classes ----------------------------------------------------------
+
+    /**
+     * A vertex with a chosen hash code.
+     */
+    private static class Collider
+    {
+        private final int id;
+        private final int hash;
+
+        Collider(int id, int hash)
+        {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override public boolean equals(Object obj)
+        {
+            return (obj instanceof Collider) && (((Collider) obj).id == id);
+        }
+
+        @Override public int hashCode()
+        {
+            return hash;
+        }
+    }
+}
+
+// End VersionedDirectedWeightedGraphTest.java
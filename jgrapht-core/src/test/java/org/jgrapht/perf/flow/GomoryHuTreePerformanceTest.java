@@ -0,0 +1,119 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------------
+ * GomoryHuTreePerformanceTest.java
+ * --------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.flow;
+
+import junit.framework.TestCase;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.flow.GusfieldGomoryHuCutTree;
+import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of Gomory-Hu trees on a random network over the number of threads, where zero threads
+ * stands for the sequential construction.
+ */
+public class GomoryHuTreePerformanceTest extends TestCase {
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 500;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 5000;
+    public static final int PERF_BENCHMARK_MAX_CAPACITY     = 100;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class GomoryHuTreeBenchmark {
+
+        @Param({"0", "2", "4", "8"})
+        public int parallelism;
+
+        private SimpleWeightedGraph<Integer, DefaultWeightedEdge> network;
+        private ForkJoinPool pool;
+
+        @Setup
+        public void setup() {
+            network = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            new RandomGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED)
+                .generateGraph(network, vertexFactory, null);
+            Random rand = new Random(SEED);
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, 1 + rand.nextInt(PERF_BENCHMARK_MAX_CAPACITY));
+            }
+            pool = parallelism == 0 ? null : new ForkJoinPool(parallelism);
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+
+        @Benchmark
+        public double run() {
+            return new GusfieldGomoryHuCutTree<>(network, pool).minCutWeight(0, PERF_BENCHMARK_VERTICES_COUNT - 1);
+        }
+    }
+
+    public void testGomoryHuTreeBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + GomoryHuTreeBenchmark.class.getSimpleName() + ".*")
+
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End GomoryHuTreePerformanceTest.java
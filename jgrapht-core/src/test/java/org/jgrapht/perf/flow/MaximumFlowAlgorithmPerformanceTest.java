@@ -38,7 +38,9 @@ package org.jgrapht.perf.flow;
 import junit.framework.TestCase;
 import org.jgrapht.DirectedGraph;
 import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.flow.DinicMaximumFlow;
 import org.jgrapht.alg.flow.EdmondsKarpMaximumFlow;
+import org.jgrapht.alg.flow.HighestLabelPushRelabelMaximumFlow;
 import org.jgrapht.alg.flow.PushRelabelMaximumFlow;
 import org.jgrapht.alg.interfaces.MaximumFlowAlgorithm;
 import org.jgrapht.generate.RandomGraphGenerator;
@@ -120,10 +122,26 @@ public class MaximumFlowAlgorithmPerformanceTest extends TestCase {
         }
     }
 
+    public static class DinicMaximumFlowRandomGraphBenchmark extends RandomGraphBenchmarkBase {
+        @Override
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(DirectedGraph<Integer, DefaultWeightedEdge> network) {
+            return new DinicMaximumFlow<>(network);
+        }
+    }
+
+    public static class HighestLabelPushRelabelMaximumFlowRandomGraphBenchmark extends RandomGraphBenchmarkBase {
+        @Override
+        MaximumFlowAlgorithm<Integer, DefaultWeightedEdge> createSolver(DirectedGraph<Integer, DefaultWeightedEdge> network) {
+            return new HighestLabelPushRelabelMaximumFlow<>(network);
+        }
+    }
+
     public void testRandomGraphBenchmark() throws RunnerException {
         Options opt = new OptionsBuilder()
             .include(".*" + EdmondsKarpMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
             .include(".*" + PushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + DinicMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
+            .include(".*" + HighestLabelPushRelabelMaximumFlowRandomGraphBenchmark.class.getSimpleName() + ".*")
 
             .mode(Mode.AverageTime)
             .timeUnit(TimeUnit.NANOSECONDS)
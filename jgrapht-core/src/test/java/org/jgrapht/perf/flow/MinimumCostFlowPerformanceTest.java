@@ -0,0 +1,125 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------------------------
+ * MinimumCostFlowPerformanceTest.java
+ * -----------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.flow;
+
+import junit.framework.TestCase;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.flow.SuccessiveShortestPathMinimumCostFlow;
+import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleDirectedWeightedGraph;
+import org.jgrapht.util.AddressableHeapFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures minimum-cost maximum flows on random networks, with random capacities and costs, for the heaps which can be
+ * plugged into the shortest path searches.
+ */
+public class MinimumCostFlowPerformanceTest extends TestCase {
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 1000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 10000;
+    public static final int PERF_BENCHMARK_MAX_CAPACITY     = 100;
+    public static final int PERF_BENCHMARK_MAX_COST         = 100;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class MinimumCostFlowBenchmark {
+
+        @Param({"BINARY_HEAP", "QUATERNARY_HEAP", "FIBONACCI_HEAP"})
+        public String heap;
+
+        private SuccessiveShortestPathMinimumCostFlow<Integer, DefaultWeightedEdge> solver;
+
+        private Integer source;
+        private Integer sink;
+
+        @Setup
+        public void setup() throws ReflectiveOperationException {
+            AddressableHeapFactory heapFactory = (AddressableHeapFactory) AddressableHeapFactory.class.getField(heap).get(null);
+
+            SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> network = new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            new RandomGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED)
+                .generateGraph(network, vertexFactory, null);
+
+            Random rand = new Random(SEED);
+            Map<DefaultWeightedEdge, Double> costs = new HashMap<>();
+            for (DefaultWeightedEdge e : network.edgeSet()) {
+                network.setEdgeWeight(e, 1 + rand.nextInt(PERF_BENCHMARK_MAX_CAPACITY));
+                costs.put(e, (double) rand.nextInt(PERF_BENCHMARK_MAX_COST));
+            }
+            solver = new SuccessiveShortestPathMinimumCostFlow<>(network, costs, SuccessiveShortestPathMinimumCostFlow.DEFAULT_EPSILON, heapFactory);
+
+            source = 0;
+            sink = PERF_BENCHMARK_VERTICES_COUNT - 1;
+        }
+
+        @Benchmark
+        public double run() {
+            return solver.buildMinimumCostMaximumFlow(source, sink).getCost();
+        }
+    }
+
+    public void testMinimumCostFlowBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + MinimumCostFlowBenchmark.class.getSimpleName() + ".*")
+
+            .mode(Mode.AverageTime)
+            .timeUnit(TimeUnit.MILLISECONDS)
+            .warmupIterations(3)
+            .measurementIterations(5)
+            .forks(1)
+            .shouldFailOnError(true)
+            .shouldDoGC(true)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End MinimumCostFlowPerformanceTest.java
@@ -0,0 +1,160 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * BulkLoadPerformanceTest.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.graph;
+
+import junit.framework.TestCase;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.WeightedGraph;
+import org.jgrapht.graph.CompactDirectedWeightedGraph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.SimpleDirectedWeightedGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many edges per second can be loaded into a graph, comparing edge by edge insertion with the bulk
+ * loading of {@link CompactDirectedWeightedGraph#addEdges}.
+ */
+public class BulkLoadPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 100000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 1000000;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class BulkLoadBenchmark {
+
+        private int[] sources;
+        private int[] targets;
+        private double[] weights;
+
+        /**
+         * Draws a random simple graph, such that no insertion is rejected.
+         */
+        @Setup
+        public void setup() {
+            Random rand = new Random(SEED);
+            Set<Long> pairs = new HashSet<>();
+            sources = new int[PERF_BENCHMARK_EDGES_COUNT];
+            targets = new int[PERF_BENCHMARK_EDGES_COUNT];
+            weights = new double[PERF_BENCHMARK_EDGES_COUNT];
+            for (int i = 0; i < PERF_BENCHMARK_EDGES_COUNT; ) {
+                int u = rand.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+                int v = rand.nextInt(PERF_BENCHMARK_VERTICES_COUNT);
+                if (pairs.add(((long) u << 32) | v)) {
+                    sources[i] = u;
+                    targets[i] = v;
+                    weights[i++] = rand.nextDouble();
+                }
+            }
+        }
+
+        /**
+         * Inserts the edges one by one into a hash based graph.
+         */
+        @Benchmark
+        @OperationsPerInvocation(PERF_BENCHMARK_EDGES_COUNT)
+        public Object fastLookupAddEdge() {
+            return addEdges(new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        }
+
+        /**
+         * Inserts the edges one by one into a compact graph.
+         */
+        @Benchmark
+        @OperationsPerInvocation(PERF_BENCHMARK_EDGES_COUNT)
+        public Object compactAddEdge() {
+            return addEdges(new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class));
+        }
+
+        /**
+         * Loads all edges at once into a compact graph.
+         */
+        @Benchmark
+        @OperationsPerInvocation(PERF_BENCHMARK_EDGES_COUNT)
+        public Object compactBulkLoad() {
+            CompactDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph=new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+            for (int v = 0; v < PERF_BENCHMARK_VERTICES_COUNT; v++) {
+                graph.addVertex(v);
+            }
+            int[] next = new int[3];
+            graph.addEdges(
+                    PERF_BENCHMARK_EDGES_COUNT,
+                    () -> sources[next[0]++],
+                    () -> targets[next[1]++],
+                    () -> weights[next[2]++]);
+            return graph;
+        }
+
+        private <G extends DirectedGraph<Integer, DefaultWeightedEdge> & WeightedGraph<Integer, DefaultWeightedEdge>> Object addEdges(G graph) {
+            for (int v = 0; v < PERF_BENCHMARK_VERTICES_COUNT; v++) {
+                graph.addVertex(v);
+            }
+            for (int i = 0; i < PERF_BENCHMARK_EDGES_COUNT; i++) {
+                DefaultWeightedEdge e = graph.addEdge(sources[i], targets[i]);
+                graph.setEdgeWeight(e, weights[i]);
+            }
+            return graph;
+        }
+    }
+
+    public void testBulkLoadBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + BulkLoadBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.Throughput)
+                .timeUnit(TimeUnit.SECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End BulkLoadPerformanceTest.java
@@ -0,0 +1,191 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -----------------
+ * ConcurrentGraphPerformanceTest.java
+ * -----------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.graph;
+
+import junit.framework.TestCase;
+import org.jgrapht.DirectedGraph;
+import org.jgrapht.graph.ConcurrentDirectedGraph;
+import org.jgrapht.graph.DefaultDirectedGraph;
+import org.jgrapht.graph.DefaultEdge;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Measures the read throughput of a graph shared between threads while a writer keeps adding and removing edges. The
+ * benchmark is repeated with an increasing number of reader threads, comparing the {@link ConcurrentDirectedGraph}
+ * with a {@link DefaultDirectedGraph} guarded by a global read-write lock.
+ */
+public class ConcurrentGraphPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 10000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 100000;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Group)
+    private static abstract class SharedGraphBenchmarkBase {
+
+        protected DirectedGraph<Integer, DefaultEdge> graph;
+
+        abstract DirectedGraph<Integer, DefaultEdge> createGraph();
+
+        abstract int readLocked(Integer v);
+
+        abstract void writeLocked(Integer u, Integer v);
+
+        @Setup
+        public void setup() {
+            graph = createGraph();
+            Random rand = new Random(SEED);
+            for (int v = 0; v < PERF_BENCHMARK_VERTICES_COUNT; v++) {
+                graph.addVertex(v);
+            }
+            for (int i = 0; i < PERF_BENCHMARK_EDGES_COUNT; i++) {
+                graph.addEdge(rand.nextInt(PERF_BENCHMARK_VERTICES_COUNT), rand.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+            }
+        }
+
+        /**
+         * Sums the degrees of the successors of a random vertex.
+         */
+        @Benchmark
+        @Group("shared")
+        public int read() {
+            return readLocked(ThreadLocalRandom.current().nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+        }
+
+        /**
+         * Adds or removes an edge between random vertices.
+         */
+        @Benchmark
+        @Group("shared")
+        public void write() {
+            ThreadLocalRandom rand = ThreadLocalRandom.current();
+            writeLocked(rand.nextInt(PERF_BENCHMARK_VERTICES_COUNT), rand.nextInt(PERF_BENCHMARK_VERTICES_COUNT));
+        }
+
+        protected int sumOfSuccessorDegrees(Integer v) {
+            int sum = 0;
+            for (DefaultEdge e : graph.outgoingEdgesOf(v)) {
+                sum += graph.outDegreeOf(graph.getEdgeTarget(e));
+            }
+            return sum;
+        }
+
+        protected void addOrRemoveEdge(Integer u, Integer v) {
+            if (graph.removeEdge(u, v) == null) {
+                graph.addEdge(u, v);
+            }
+        }
+    }
+
+    public static class ConcurrentGraphBenchmark extends SharedGraphBenchmarkBase {
+        @Override
+        DirectedGraph<Integer, DefaultEdge> createGraph() {
+            return new ConcurrentDirectedGraph<>(DefaultEdge.class);
+        }
+
+        @Override
+        int readLocked(Integer v) {
+            return sumOfSuccessorDegrees(v);
+        }
+
+        @Override
+        void writeLocked(Integer u, Integer v) {
+            addOrRemoveEdge(u, v);
+        }
+    }
+
+    public static class GlobalLockGraphBenchmark extends SharedGraphBenchmarkBase {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        @Override
+        DirectedGraph<Integer, DefaultEdge> createGraph() {
+            return new DefaultDirectedGraph<>(DefaultEdge.class);
+        }
+
+        @Override
+        int readLocked(Integer v) {
+            lock.readLock().lock();
+            try {
+                return sumOfSuccessorDegrees(v);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        void writeLocked(Integer u, Integer v) {
+            lock.writeLock().lock();
+            try {
+                addOrRemoveEdge(u, v);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void testReadScalingBenchmark() throws RunnerException {
+        for (int readers = 1; readers <= Runtime.getRuntime().availableProcessors(); readers <<= 1) {
+            Options opt = new OptionsBuilder()
+                    .include(".*" + ConcurrentGraphBenchmark.class.getSimpleName() + ".*")
+                    .include(".*" + GlobalLockGraphBenchmark.class.getSimpleName() + ".*")
+                    .threadGroups(readers, 1)
+
+                    .mode(Mode.Throughput)
+                    .timeUnit(TimeUnit.MILLISECONDS)
+                    .warmupIterations(3)
+                    .measurementIterations(5)
+                    .forks(1)
+                    .shouldFailOnError(true)
+                    .shouldDoGC(true)
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+}
+
+// End ConcurrentGraphPerformanceTest.java
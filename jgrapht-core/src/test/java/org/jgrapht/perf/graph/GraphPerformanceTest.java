@@ -35,12 +35,14 @@
 package org.jgrapht.perf.graph;
 
 import junit.framework.TestCase;
+import org.jgrapht.DirectedGraph;
 import org.jgrapht.VertexFactory;
 import org.jgrapht.alg.DijkstraShortestPath;
 import org.jgrapht.alg.GabowStrongConnectivityInspector;
 import org.jgrapht.alg.flow.EdmondsKarpMaximumFlow;
 import org.jgrapht.alg.interfaces.StrongConnectivityAlgorithm;
 import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.graph.CompactDirectedWeightedGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.jgrapht.graph.SimpleDirectedWeightedGraph;
 import org.jgrapht.graph.specifics.DirectedSpecifics;
@@ -73,14 +75,14 @@ public class GraphPerformanceTest extends TestCase{
 
         private Blackhole blackhole;
         protected RandomGraphGenerator<Integer, DefaultWeightedEdge> rgg;
-        private SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph;
+        private DirectedGraph<Integer, DefaultWeightedEdge> graph;
 
 
         /**
          * Creates a random graph using the Random Graph Generator
          * @return random graph
          */
-        abstract SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> constructGraph();
+        abstract DirectedGraph<Integer, DefaultWeightedEdge> constructGraph();
 
         @Setup
         public void setup() {
@@ -129,22 +131,22 @@ public class GraphPerformanceTest extends TestCase{
             }
         }
 
-        private double calculateShorestPath(SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph, Integer source, Integer sink){
+        private double calculateShorestPath(DirectedGraph<Integer, DefaultWeightedEdge> graph, Integer source, Integer sink){
             DijkstraShortestPath<Integer, DefaultWeightedEdge> shortestPathAlg=new DijkstraShortestPath<>(graph, source, sink);
             return shortestPathAlg.getPathLength();
         }
 
-        private double calculateMaxFlow(SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph, Integer source, Integer sink){
+        private double calculateMaxFlow(DirectedGraph<Integer, DefaultWeightedEdge> graph, Integer source, Integer sink){
             EdmondsKarpMaximumFlow<Integer, DefaultWeightedEdge> maximumFlowAlg= new EdmondsKarpMaximumFlow<>(graph);
             return maximumFlowAlg.buildMaximumFlow(source, sink).getValue();
         }
 
-        private boolean isStronglyConnected(SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph){
+        private boolean isStronglyConnected(DirectedGraph<Integer, DefaultWeightedEdge> graph){
             StrongConnectivityAlgorithm<Integer, DefaultWeightedEdge> strongConnectivityAlg=new GabowStrongConnectivityInspector<>(graph);
             return strongConnectivityAlg.isStronglyConnected();
         }
 
-        private void destroyRandomEdges(SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph){
+        private void destroyRandomEdges(DirectedGraph<Integer, DefaultWeightedEdge> graph){
             int nrVertices=graph.vertexSet().size();
             Random rand=new Random(SEED);
             for(int i=0; i<PERF_BENCHMARK_EDGES_COUNT/2; i++){
@@ -162,7 +164,7 @@ public class GraphPerformanceTest extends TestCase{
      */
     public static class MemoryEfficientDirectedGraphBenchmark extends DirectedGraphBenchmarkBase {
         @Override
-        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> constructGraph() {
+        DirectedGraph<Integer, DefaultWeightedEdge> constructGraph() {
             SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph=new MemoryEfficientDirectedWeightedGraph<>(DefaultWeightedEdge.class);
             rgg.generateGraph(
                     graph,
@@ -184,7 +186,7 @@ public class GraphPerformanceTest extends TestCase{
      */
     public static class FastLookupDirectedGraphBenchmark extends DirectedGraphBenchmarkBase {
         @Override
-        SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> constructGraph() {
+        DirectedGraph<Integer, DefaultWeightedEdge> constructGraph() {
             SimpleDirectedWeightedGraph<Integer, DefaultWeightedEdge> graph=new SimpleDirectedWeightedGraph<>(DefaultWeightedEdge.class);
             rgg.generateGraph(
                     graph,
@@ -201,10 +203,34 @@ public class GraphPerformanceTest extends TestCase{
         }
     }
 
+    /**
+     * Graph class which stores its adjacency in primitive arrays. This class is optimized for low memory usage and fast
+     * traversals of large graphs.
+     */
+    public static class CompactDirectedGraphBenchmark extends DirectedGraphBenchmarkBase {
+        @Override
+        DirectedGraph<Integer, DefaultWeightedEdge> constructGraph() {
+            DirectedGraph<Integer, DefaultWeightedEdge> graph=new CompactDirectedWeightedGraph<>(DefaultWeightedEdge.class);
+            rgg.generateGraph(
+                    graph,
+                    new VertexFactory<Integer>() {
+                        int i;
+                        @Override
+                        public Integer createVertex() {
+                            return ++i;
+                        }
+                    },
+                    null
+            );
+            return graph;
+        }
+    }
+
     public void testRandomGraphBenchmark() throws RunnerException {
         Options opt = new OptionsBuilder()
                 .include(".*" + MemoryEfficientDirectedGraphBenchmark.class.getSimpleName() + ".*")
                 .include(".*" + FastLookupDirectedGraphBenchmark.class.getSimpleName() + ".*")
+                .include(".*" + CompactDirectedGraphBenchmark.class.getSimpleName() + ".*")
 
                 .mode(Mode.AverageTime)
                 .timeUnit(TimeUnit.MILLISECONDS)
@@ -0,0 +1,126 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* -------------------------------
+ * BellmanFordPerformanceTest.java
+ * -------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.shortestpath;
+
+import junit.framework.TestCase;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.BellmanFordShortestPath;
+import org.jgrapht.alg.IndexedBellmanFordShortestPaths;
+import org.jgrapht.alg.IndexedBellmanFordShortestPaths.QueueDiscipline;
+import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedPseudograph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the queue-based Bellman-Ford variants with {@link BellmanFordShortestPath} on a random graph with negative
+ * edge weights but without negative cycles.
+ */
+public class BellmanFordPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 2000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 20000;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class BellmanFordBenchmark {
+
+        private DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> graph;
+        private IndexedBellmanFordShortestPaths<Integer, DefaultWeightedEdge> fifo;
+        private IndexedBellmanFordShortestPaths<Integer, DefaultWeightedEdge> smallLabelFirst;
+
+        @Setup
+        public void setup() {
+            graph = new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            new RandomGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED).generateGraph(graph, vertexFactory, null);
+            Random rand = new Random(SEED);
+            double[] potentials = new double[PERF_BENCHMARK_VERTICES_COUNT];
+            for (int i = 0; i < potentials.length; i++) {
+                potentials[i] = 100.0 * rand.nextDouble();
+            }
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, rand.nextDouble() + potentials[graph.getEdgeSource(e)] - potentials[graph.getEdgeTarget(e)]);
+            }
+            fifo = new IndexedBellmanFordShortestPaths<>(graph, QueueDiscipline.FIFO, 1e-9);
+            smallLabelFirst = new IndexedBellmanFordShortestPaths<>(graph, QueueDiscipline.SMALL_LABEL_FIRST, 1e-9);
+        }
+
+        @Benchmark
+        public double bellmanFord() {
+            return new BellmanFordShortestPath<>(graph, 0).getCost(PERF_BENCHMARK_VERTICES_COUNT - 1);
+        }
+
+        @Benchmark
+        public double fifo() {
+            fifo.compute(0);
+            return fifo.getDistance(PERF_BENCHMARK_VERTICES_COUNT - 1);
+        }
+
+        @Benchmark
+        public double smallLabelFirst() {
+            smallLabelFirst.compute(0);
+            return smallLabelFirst.getDistance(PERF_BENCHMARK_VERTICES_COUNT - 1);
+        }
+    }
+
+    public void testBellmanFordBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + BellmanFordBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End BellmanFordPerformanceTest.java
@@ -0,0 +1,166 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* --------------------------------------
+ * BidirectionalAStarPerformanceTest.java
+ * --------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.shortestpath;
+
+import junit.framework.TestCase;
+import org.jgrapht.alg.ALTAdmissibleHeuristic;
+import org.jgrapht.alg.AStarShortestPath;
+import org.jgrapht.alg.BidirectionalAStarShortestPath;
+import org.jgrapht.alg.BidirectionalDijkstraShortestPath;
+import org.jgrapht.alg.interfaces.AStarAdmissibleHeuristic;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedPseudograph;
+import org.jgrapht.graph.EdgeReversedGraph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares bidirectional A* with {@link AStarShortestPath} and {@link BidirectionalDijkstraShortestPath} on long
+ * distance queries in a grid graph, using the manhattan distance and landmarks as heuristics.
+ */
+public class BidirectionalAStarPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_GRID_SIZE        = 100;
+    public static final int PERF_BENCHMARK_QUERIES_COUNT    = 20;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class BidirectionalAStarBenchmark {
+
+        private DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> graph;
+        private AStarAdmissibleHeuristic<Integer> manhattan;
+        private ALTAdmissibleHeuristic<Integer, DefaultWeightedEdge> landmarks;
+        private AStarShortestPath<Integer, DefaultWeightedEdge> aStar;
+        private BidirectionalAStarShortestPath<Integer, DefaultWeightedEdge> bidirectionalAStar;
+        private BidirectionalAStarShortestPath<Integer, DefaultWeightedEdge> bidirectionalALT;
+        private Integer[] sources;
+        private Integer[] targets;
+        private int query;
+
+        @Setup
+        public void setup() {
+            graph = new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_GRID_SIZE, PERF_BENCHMARK_GRID_SIZE).generateGraph(graph, () -> next[0]++, null);
+            Random rand = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1.0 + rand.nextDouble());
+            }
+
+            // vertices are numbered row by row, and every edge weighs at least one
+            manhattan = (v, t) -> Math.abs(v / PERF_BENCHMARK_GRID_SIZE - t / PERF_BENCHMARK_GRID_SIZE) + Math.abs(v % PERF_BENCHMARK_GRID_SIZE - t % PERF_BENCHMARK_GRID_SIZE);
+            landmarks = new ALTAdmissibleHeuristic<>(graph, 8);
+            aStar = new AStarShortestPath<>(graph);
+            bidirectionalAStar = new BidirectionalAStarShortestPath<>(graph, manhattan);
+            // the weights differ in both directions, so the backward search needs the landmarks of the reversed graph
+            bidirectionalALT = new BidirectionalAStarShortestPath<>(graph, landmarks, new ALTAdmissibleHeuristic<>(new EdgeReversedGraph<>(graph), 8));
+
+            // queries between the left and right border, using the vertex instances of the graph since A* compares the
+            // target by identity
+            Integer[] vertices = new Integer[graph.vertexSet().size()];
+            for (Integer v : graph.vertexSet()) {
+                vertices[v] = v;
+            }
+            sources = new Integer[PERF_BENCHMARK_QUERIES_COUNT];
+            targets = new Integer[PERF_BENCHMARK_QUERIES_COUNT];
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES_COUNT; i++) {
+                sources[i] = vertices[rand.nextInt(PERF_BENCHMARK_GRID_SIZE) * PERF_BENCHMARK_GRID_SIZE];
+                targets[i] = vertices[rand.nextInt(PERF_BENCHMARK_GRID_SIZE) * PERF_BENCHMARK_GRID_SIZE + PERF_BENCHMARK_GRID_SIZE - 1];
+            }
+        }
+
+        private int nextQuery() {
+            query = (query + 1) % PERF_BENCHMARK_QUERIES_COUNT;
+            return query;
+        }
+
+        @Benchmark
+        public double aStar() {
+            int q = nextQuery();
+            return aStar.getShortestPath(sources[q], targets[q], manhattan).getWeight();
+        }
+
+        @Benchmark
+        public double aStarLandmarks() {
+            int q = nextQuery();
+            return aStar.getShortestPath(sources[q], targets[q], landmarks).getWeight();
+        }
+
+        @Benchmark
+        public double bidirectionalDijkstra() {
+            int q = nextQuery();
+            return new BidirectionalDijkstraShortestPath<>(graph, sources[q], targets[q]).getPathLength();
+        }
+
+        @Benchmark
+        public double bidirectionalAStar() {
+            int q = nextQuery();
+            return bidirectionalAStar.getShortestPath(sources[q], targets[q]).getWeight();
+        }
+
+        @Benchmark
+        public double bidirectionalAStarLandmarks() {
+            int q = nextQuery();
+            return bidirectionalALT.getShortestPath(sources[q], targets[q]).getWeight();
+        }
+    }
+
+    public void testBidirectionalAStarBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + BidirectionalAStarBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End BidirectionalAStarPerformanceTest.java
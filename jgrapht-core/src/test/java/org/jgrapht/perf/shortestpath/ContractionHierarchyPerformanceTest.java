@@ -0,0 +1,194 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------------------
+ * ContractionHierarchyPerformanceTest.java
+ * ----------------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.shortestpath;
+
+import junit.framework.TestCase;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.BidirectionalDijkstraShortestPath;
+import org.jgrapht.alg.ContractionHierarchy;
+import org.jgrapht.alg.ContractionHierarchyManyToManyShortestPaths;
+import org.jgrapht.alg.ContractionHierarchyShortestPath;
+import org.jgrapht.alg.IndexedDijkstraShortestPaths;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.WeightedPseudograph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares point-to-point queries of the bidirectional Dijkstra algorithm with queries on a contraction hierarchy,
+ * and measures the sequential and parallel preprocessing of the hierarchy. Tables of distances between the sources and
+ * targets of the queries are computed by many-to-many searches of the hierarchy, by point-to-point queries and by one
+ * Dijkstra search per source.
+ */
+public class ContractionHierarchyPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_GRID_SIZE = 200;
+    public static final int PERF_BENCHMARK_QUERIES   = 100;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class ContractionHierarchyBenchmark {
+
+        private WeightedPseudograph<Integer, DefaultWeightedEdge> graph;
+        private ContractionHierarchyShortestPath<Integer, DefaultWeightedEdge> query;
+        private ContractionHierarchyManyToManyShortestPaths<Integer, DefaultWeightedEdge> manyToMany;
+        private IndexedDijkstraShortestPaths<Integer, DefaultWeightedEdge> dijkstra;
+        private List<Integer> sourceList;
+        private List<Integer> targetList;
+        private int[] sources;
+        private int[] targets;
+        private ForkJoinPool pool;
+
+        @Setup
+        public void setup() {
+            graph = new WeightedPseudograph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            new GridGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_GRID_SIZE, PERF_BENCHMARK_GRID_SIZE).generateGraph(graph, vertexFactory, null);
+            Random rand = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, 1.0 + 9.0 * rand.nextDouble());
+            }
+            sources = new int[PERF_BENCHMARK_QUERIES];
+            targets = new int[PERF_BENCHMARK_QUERIES];
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES; i++) {
+                sources[i] = rand.nextInt(next[0]);
+                targets[i] = rand.nextInt(next[0]);
+            }
+            pool = new ForkJoinPool();
+            ContractionHierarchy<Integer, DefaultWeightedEdge> hierarchy = new ContractionHierarchy<>(graph, pool);
+            query = new ContractionHierarchyShortestPath<>(hierarchy);
+            manyToMany = new ContractionHierarchyManyToManyShortestPaths<>(hierarchy, pool);
+            dijkstra = new IndexedDijkstraShortestPaths<>(hierarchy.getGraph(), false, null);
+            sourceList = new ArrayList<>();
+            targetList = new ArrayList<>();
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES; i++) {
+                sourceList.add(sources[i]);
+                targetList.add(targets[i]);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+
+        @Benchmark
+        public double bidirectionalDijkstraQueries() {
+            double sum = 0.0;
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES; i++) {
+                sum += new BidirectionalDijkstraShortestPath<>(graph, sources[i], targets[i]).getPathLength();
+            }
+            return sum;
+        }
+
+        @Benchmark
+        public double contractionHierarchyQueries() {
+            double sum = 0.0;
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES; i++) {
+                sum += query.getPath(sources[i], targets[i]).getWeight();
+            }
+            return sum;
+        }
+
+        @Benchmark
+        public double manyToManyTable() {
+            return manyToMany.getDistances(sourceList, targetList)[0][0];
+        }
+
+        @Benchmark
+        public double contractionHierarchyQueriesTable() {
+            double sum = 0.0;
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES; i++) {
+                for (int j = 0; j < PERF_BENCHMARK_QUERIES; j++) {
+                    sum += query.getPathLength(sources[i], targets[j]);
+                }
+            }
+            return sum;
+        }
+
+        @Benchmark
+        public double dijkstraTable() {
+            double sum = 0.0;
+            for (int i = 0; i < PERF_BENCHMARK_QUERIES; i++) {
+                dijkstra.compute(sources[i]);
+                for (int j = 0; j < PERF_BENCHMARK_QUERIES; j++) {
+                    sum += dijkstra.getDistance(targets[j]);
+                }
+            }
+            return sum;
+        }
+
+        @Benchmark
+        public int sequentialPreprocessing() {
+            return new ContractionHierarchy<>(graph).getShortcutCount();
+        }
+
+        @Benchmark
+        public int parallelPreprocessing() {
+            return new ContractionHierarchy<>(graph, pool).getShortcutCount();
+        }
+    }
+
+    public void testContractionHierarchyBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + ContractionHierarchyBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End ContractionHierarchyPerformanceTest.java
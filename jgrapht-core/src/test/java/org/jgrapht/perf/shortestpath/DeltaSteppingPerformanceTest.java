@@ -0,0 +1,130 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ---------------------------------
+ * DeltaSteppingPerformanceTest.java
+ * ---------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.shortestpath;
+
+import junit.framework.TestCase;
+import org.jgrapht.Graphs;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.DeltaSteppingShortestPaths;
+import org.jgrapht.alg.IndexedDijkstraShortestPaths;
+import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.graph.CsrGraph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedPseudograph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the speedup of delta-stepping over the number of threads, compared to a sequential Dijkstra search on the
+ * same snapshot of the graph.
+ */
+public class DeltaSteppingPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 200000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 2000000;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class DeltaSteppingBenchmark {
+
+        @Param({"1", "2", "4", "8", "16"})
+        public int parallelism;
+
+        private CsrGraph<Integer, DefaultWeightedEdge> graph;
+        private ForkJoinPool pool;
+        private DeltaSteppingShortestPaths<Integer, DefaultWeightedEdge> deltaStepping;
+        private IndexedDijkstraShortestPaths<Integer, DefaultWeightedEdge> dijkstra;
+
+        @Setup
+        public void setup() {
+            DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> g = new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            new RandomGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED).generateGraph(g, vertexFactory, null);
+            Random rand = new Random(SEED);
+            for (DefaultWeightedEdge e : g.edgeSet()) {
+                g.setEdgeWeight(e, rand.nextDouble());
+            }
+            graph = Graphs.freeze(g);
+            pool = new ForkJoinPool(parallelism);
+            deltaStepping = new DeltaSteppingShortestPaths<>(graph, pool);
+            dijkstra = new IndexedDijkstraShortestPaths<>(graph, false, null);
+        }
+
+        @TearDown
+        public void tearDown() {
+            pool.shutdown();
+        }
+
+        @Benchmark
+        public double deltaStepping() {
+            deltaStepping.computeAt(0);
+            return deltaStepping.getDistanceAt(PERF_BENCHMARK_VERTICES_COUNT - 1);
+        }
+
+        @Benchmark
+        public double sequentialDijkstra() {
+            dijkstra.computeAt(0, -1);
+            return dijkstra.getDistanceAt(PERF_BENCHMARK_VERTICES_COUNT - 1);
+        }
+    }
+
+    public void testDeltaSteppingBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + DeltaSteppingBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End DeltaSteppingPerformanceTest.java
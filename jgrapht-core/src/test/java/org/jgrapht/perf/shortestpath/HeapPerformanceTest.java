@@ -0,0 +1,153 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ------------------------
+ * HeapPerformanceTest.java
+ * ------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.shortestpath;
+
+import junit.framework.TestCase;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.WeightedGraph;
+import org.jgrapht.alg.DijkstraShortestPath;
+import org.jgrapht.generate.GraphGenerator;
+import org.jgrapht.generate.GridGraphGenerator;
+import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.generate.ScaleFreeGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedPseudograph;
+import org.jgrapht.graph.SimpleWeightedGraph;
+import org.jgrapht.traverse.ClosestFirstIterator;
+import org.jgrapht.util.AddressableHeapFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link AddressableHeapFactory heaps} which can be plugged into Dijkstra's algorithm, on graphs created
+ * by the generators of {@link org.jgrapht.generate}.
+ */
+public class HeapPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_GRID_SIZE        = 300;
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 100000;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 500000;
+    public static final int PERF_BENCHMARK_SCALE_FREE_SIZE  = 10000;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class HeapBenchmark {
+
+        @Param({"FIBONACCI_HEAP", "BINARY_HEAP", "QUATERNARY_HEAP", "RADIX_HEAP"})
+        public String heap;
+
+        @Param({"grid", "random", "scaleFree"})
+        public String generator;
+
+        private AddressableHeapFactory heapFactory;
+        private WeightedGraph<Integer, DefaultWeightedEdge> graph;
+        private List<Integer> vertices;
+
+        @Setup
+        public void setup() throws ReflectiveOperationException {
+            heapFactory = (AddressableHeapFactory) AddressableHeapFactory.class.getField(heap).get(null);
+
+            GraphGenerator<Integer, DefaultWeightedEdge, Integer> gen;
+            if (generator.equals("grid")) {
+                graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+                gen = new GridGraphGenerator<>(PERF_BENCHMARK_GRID_SIZE, PERF_BENCHMARK_GRID_SIZE);
+            } else if (generator.equals("random")) {
+                graph = new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+                gen = new RandomGraphGenerator<>(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED);
+            } else {
+                graph = new SimpleWeightedGraph<>(DefaultWeightedEdge.class);
+                gen = new ScaleFreeGraphGenerator<>(PERF_BENCHMARK_SCALE_FREE_SIZE, SEED);
+            }
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            gen.generateGraph(graph, vertexFactory, null);
+
+            Random rand = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, rand.nextDouble());
+            }
+            vertices = new ArrayList<>(graph.vertexSet());
+        }
+
+        /**
+         * Computes the shortest paths from the first vertex to all other vertices.
+         */
+        @Benchmark
+        public double singleSource() {
+            ClosestFirstIterator<Integer, DefaultWeightedEdge> it = new ClosestFirstIterator<>(graph, vertices.get(0), Double.POSITIVE_INFINITY, heapFactory);
+            Integer last = null;
+            while (it.hasNext()) {
+                last = it.next();
+            }
+            return it.getShortestPathLength(last);
+        }
+
+        /**
+         * Computes a shortest path between the first and the middle vertex.
+         */
+        @Benchmark
+        public double pointToPoint() {
+            return new DijkstraShortestPath<>(graph, vertices.get(0), vertices.get(vertices.size() / 2), Double.POSITIVE_INFINITY, heapFactory).getPathLength();
+        }
+    }
+
+    public void testHeapBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + HeapBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End HeapPerformanceTest.java
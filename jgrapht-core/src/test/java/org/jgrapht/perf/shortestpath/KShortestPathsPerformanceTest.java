@@ -0,0 +1,116 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ----------------------------------
+ * KShortestPathsPerformanceTest.java
+ * ----------------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.perf.shortestpath;
+
+import junit.framework.TestCase;
+import org.jgrapht.VertexFactory;
+import org.jgrapht.alg.KShortestPaths;
+import org.jgrapht.alg.YenShortestPathIterator;
+import org.jgrapht.generate.RandomGraphGenerator;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.DirectedWeightedPseudograph;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link KShortestPaths} with iterating over the same number of paths of a {@link YenShortestPathIterator}.
+ */
+public class KShortestPathsPerformanceTest extends TestCase{
+
+    public static final int PERF_BENCHMARK_VERTICES_COUNT   = 100;
+    public static final int PERF_BENCHMARK_EDGES_COUNT      = 500;
+    public static final int PERF_BENCHMARK_PATHS_COUNT      = 10;
+    public static final long SEED = 1446523573696201013l;
+
+    @State(Scope.Benchmark)
+    public static class KShortestPathsBenchmark {
+
+        private DirectedWeightedPseudograph<Integer, DefaultWeightedEdge> graph;
+
+        @Setup
+        public void setup() {
+            graph = new DirectedWeightedPseudograph<>(DefaultWeightedEdge.class);
+            int[] next = new int[1];
+            VertexFactory<Integer> vertexFactory = () -> next[0]++;
+            new RandomGraphGenerator<Integer, DefaultWeightedEdge>(PERF_BENCHMARK_VERTICES_COUNT, PERF_BENCHMARK_EDGES_COUNT, SEED).generateGraph(graph, vertexFactory, null);
+            Random rand = new Random(SEED);
+            for (DefaultWeightedEdge e : graph.edgeSet()) {
+                graph.setEdgeWeight(e, rand.nextDouble());
+            }
+        }
+
+        @Benchmark
+        public int kShortestPaths() {
+            return new KShortestPaths<>(graph, 0, PERF_BENCHMARK_PATHS_COUNT).getPaths(PERF_BENCHMARK_VERTICES_COUNT - 1).size();
+        }
+
+        @Benchmark
+        public int yen() {
+            YenShortestPathIterator<Integer, DefaultWeightedEdge> it = new YenShortestPathIterator<>(graph, 0, PERF_BENCHMARK_VERTICES_COUNT - 1);
+            int count = 0;
+            while (count < PERF_BENCHMARK_PATHS_COUNT && it.hasNext()) {
+                it.next();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    public void testKShortestPathsBenchmark() throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(".*" + KShortestPathsBenchmark.class.getSimpleName() + ".*")
+
+                .mode(Mode.AverageTime)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .warmupIterations(3)
+                .measurementIterations(5)
+                .forks(1)
+                .shouldFailOnError(true)
+                .shouldDoGC(true)
+                .build();
+
+        new Runner(opt).run();
+    }
+}
+
+// End KShortestPathsPerformanceTest.java
@@ -0,0 +1,284 @@
+/* ==========================================
+ * JGraphT : a free Java graph-theory library
+ * ==========================================
+ *
+ * Project Info:  http://jgrapht.sourceforge.net/
+ * Project Creator:  Barak Naveh (http://sourceforge.net/users/barak_naveh)
+ *
+ * (C) Copyright 2003-2008, by Barak Naveh and Contributors.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either
+ *
+ * (a) the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation, or (at your option) any
+ * later version.
+ *
+ * or (per the licensee's choosing)
+ *
+ * (b) the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation.
+ */
+/* ------------------------
+ * AddressableHeapTest.java
+ * ------------------------
+ * (C) Copyright 2016-2016, by Barak Naveh and Contributors.
+ *
+ * Original Author:  JGraphT Contributors
+ * Contributor(s):
+ *
+ * $Id$
+ *
+ * Changes
+ * -------
+ * 18-Oct-2016 : Initial revision;
+ *
+ */
+package org.jgrapht.util;
+
+import java.util.*;
+
+import junit.framework.*;
+
+
+public class AddressableHeapTest
+    extends TestCase
+{
+    //~ Static fields/initializers ---------------------------------------------
+
+    private static final AddressableHeapFactory [] FACTORIES =
+    {
+        AddressableHeapFactory.FIBONACCI_HEAP,
+        AddressableHeapFactory.BINARY_HEAP,
+        AddressableHeapFactory.QUATERNARY_HEAP,
+        AddressableHeapFactory.RADIX_HEAP,
+        new AddressableHeapFactory() {
+            @Override public <T> AddressableHeap<T> createHeap()
+            {
+                return new DaryHeap<>(3, 1);
+            }
+        }
+    };
+
+    //~ Methods ----------------------------------------------------------------
+
+    public void testEmpty()
+    {
+        for (AddressableHeapFactory factory : FACTORIES) {
+            AddressableHeap<String> h = factory.createHeap();
+            assertTrue(h.isEmpty());
+            assertEquals(0, h.size());
+            assertNull(h.min());
+            assertNull(h.removeMin());
+
+            AddressableHeap.Handle<String> a = h.insert("A", 1.0);
+            assertSame(a, h.min());
+            assertEquals(1, h.size());
+            assertSame(a, h.removeMin());
+            assertEquals("A", a.getData());
+            assertTrue(h.isEmpty());
+        }
+    }
+
+    /**
+     * Runs random monotone operations, as performed by Dijkstra's algorithm,
+     * and compares the order of removal with a sorted list.
+     */
+    public void testRandomOperations()
+    {
+        for (AddressableHeapFactory factory : FACTORIES) {
+            Random rnd = new Random(17);
+            AddressableHeap<Integer> h = factory.createHeap();
+            List<AddressableHeap.Handle<Integer>> contained = new ArrayList<>();
+            double min = 0.0;
+            int id = 0;
+
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 2000; i++) {
+                    int op = rnd.nextInt(3);
+                    if ((op == 0) || contained.isEmpty()) {
+                        double key = min + rnd.nextInt(100);
+                        contained.add(h.insert(id++, key));
+                    } else if (op == 1) {
+                        AddressableHeap.Handle<Integer> e =
+                            contained.get(rnd.nextInt(contained.size()));
+                        double key = min + rnd.nextInt(
+                            (int) (e.getKey() - min) + 1);
+                        h.decreaseKey(e, key);
+                        assertEquals(key, e.getKey());
+                    } else {
+                        AddressableHeap.Handle<Integer> e = h.removeMin();
+                        assertEquals(minimumKey(contained), e.getKey());
+                        assertTrue(contained.remove(e));
+                        min = e.getKey();
+                    }
+                    assertEquals(contained.size(), h.size());
+                }
+
+                // drain the heap, afterwards any key is accepted again
+                while (!h.isEmpty()) {
+                    AddressableHeap.Handle<Integer> e = h.removeMin();
+                    assertEquals(minimumKey(contained), e.getKey());
+                    assertTrue(contained.remove(e));
+                }
+                assertTrue(contained.isEmpty());
+                min = 0.0;
+            }
+        }
+    }
+
+    public void testClear()
+    {
+        for (AddressableHeapFactory factory : FACTORIES) {
+            AddressableHeap<String> h = factory.createHeap();
+            h.insert("A", 5.0);
+            h.insert("B", 7.0);
+            assertEquals(5.0, h.removeMin().getKey());
+            h.clear();
+            assertTrue(h.isEmpty());
+            assertNull(h.min());
+            h.insert("C", 1.0);
+            assertEquals("C", h.min().getData());
+        }
+    }
+
+    public void testDecreaseKeyLarger()
+    {
+        for (AddressableHeapFactory factory : FACTORIES) {
+            AddressableHeap<String> h = factory.createHeap();
+            AddressableHeap.Handle<String> a = h.insert("A", 5.0);
+            try {
+                h.decreaseKey(a, 6.0);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+            assertEquals(5.0, a.getKey());
+        }
+    }
+
+    public void testDecreaseKeyOfRemoved()
+    {
+        AddressableHeap<String> [] heaps =
+            TypeUtil.uncheckedCast(
+                new AddressableHeap<?>[] {
+                    new DaryHeap<>(),
+                    new RadixHeap<>()
+                },
+                null);
+        for (AddressableHeap<String> h : heaps) {
+            AddressableHeap.Handle<String> a = h.insert("A", 5.0);
+            h.insert("B", 6.0);
+            h.removeMin();
+            try {
+                h.decreaseKey(a, 5.0);
+                fail();
+            } catch (IllegalArgumentException e) {
+            }
+        }
+    }
+
+    public void testDaryHeapArity()
+    {
+        try {
+            new DaryHeap<String>(1);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    public void testRadixHeapKeys()
+    {
+        RadixHeap<String> h = new RadixHeap<>();
+        try {
+            h.insert("A", -1.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            h.insert("A", Double.NaN);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        h.insert("A", -0.0);
+        h.insert("B", 2.0);
+        h.insert("C", Double.POSITIVE_INFINITY);
+        assertEquals("A", h.removeMin().getData());
+        assertEquals("B", h.min().getData());
+        try {
+            h.insert("D", 1.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        assertEquals(2, h.size());
+        h.insert("D", 2.0);
+        assertEquals(2.0, h.removeMin().getKey());
+        assertEquals(2.0, h.removeMin().getKey());
+        assertEquals("C", h.removeMin().getData());
+    }
+
+    public void testIndexedDaryHeap()
+    {
+        Random rnd = new Random(5);
+        IndexedDaryHeap h = new IndexedDaryHeap(500);
+        double [] keys = new double[500];
+        Set<Integer> contained = new HashSet<>();
+
+        for (int i = 0; i < 5000; i++) {
+            int element = rnd.nextInt(500);
+            if (!h.contains(element)) {
+                keys[element] = rnd.nextDouble();
+                h.insert(element, keys[element]);
+                contained.add(element);
+            } else if (rnd.nextBoolean()) {
+                keys[element] *= rnd.nextDouble();
+                h.decreaseKey(element, keys[element]);
+                assertEquals(keys[element], h.getKey(element));
+            } else {
+                double min = Double.POSITIVE_INFINITY;
+                for (int e : contained) {
+                    min = Math.min(min, keys[e]);
+                }
+                assertEquals(min, h.minKey());
+                int e = h.removeMin();
+                assertEquals(min, keys[e]);
+                assertTrue(contained.remove(e));
+                assertFalse(h.contains(e));
+            }
+            assertEquals(contained.size(), h.size());
+        }
+
+        int element = contained.iterator().next();
+        try {
+            h.insert(element, 0.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            h.decreaseKey(element, keys[element] + 1.0);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        h.clear();
+        assertTrue(h.isEmpty());
+        assertFalse(h.contains(element));
+        try {
+            h.removeMin();
+            fail();
+        } catch (NoSuchElementException e) {
+        }
+    }
+
+    private static double minimumKey(
+        List<AddressableHeap.Handle<Integer>> handles)
+    {
+        double min = Double.POSITIVE_INFINITY;
+        for (AddressableHeap.Handle<Integer> e : handles) {
+            min = Math.min(min, e.getKey());
+        }
+        return min;
+    }
+}
+
+// End AddressableHeapTest.java
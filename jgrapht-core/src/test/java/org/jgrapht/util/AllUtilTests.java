@@ -39,6 +39,7 @@ import org.junit.runners.*;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+    AddressableHeapTest.class,
     FibonacciHeapTest.class,
     PrefetchIteratorTest.class
 })